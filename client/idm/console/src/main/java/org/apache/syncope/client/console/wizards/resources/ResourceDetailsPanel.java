@@ -35,6 +35,7 @@ import org.apache.syncope.common.lib.to.ConnInstanceTO;
 import org.apache.syncope.common.lib.to.ImplementationTO;
 import org.apache.syncope.common.lib.to.ResourceTO;
 import org.apache.syncope.common.lib.types.IdMImplementationType;
+import org.apache.syncope.common.lib.types.PropagationRejectionPolicy;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.wicket.extensions.wizard.WizardStep;
 import org.apache.wicket.markup.html.WebMarkupContainer;
@@ -101,6 +102,31 @@ public class ResourceDetailsPanel extends WizardStep {
                 Integer.class,
                 new PropertyModel<>(resourceTO, "propagationPriority")));
 
+        container.add(new AjaxSpinnerFieldPanel.Builder<Integer>().min(1).build(
+                "propagationConcurrency",
+                "propagationConcurrency",
+                Integer.class,
+                new PropertyModel<>(resourceTO, "propagationConcurrency")));
+
+        container.add(new AjaxSpinnerFieldPanel.Builder<Integer>().min(0).build(
+                "propagationQueueCapacity",
+                "propagationQueueCapacity",
+                Integer.class,
+                new PropertyModel<>(resourceTO, "propagationQueueCapacity")));
+
+        container.add(new AjaxDropDownChoicePanel<>(
+                "propagationRejectionPolicy",
+                new ResourceModel("propagationRejectionPolicy", "propagationRejectionPolicy").getObject(),
+                new PropertyModel<>(resourceTO, "propagationRejectionPolicy"),
+                false).
+                setChoices(List.of(PropagationRejectionPolicy.values())).setNullValid(false));
+
+        container.add(new AjaxCheckBoxPanel(
+                "propagationDigest",
+                new ResourceModel("propagationDigest", "propagationDigest").getObject(),
+                new PropertyModel<>(resourceTO, "propagationDigest"),
+                false));
+
         container.add(new AjaxPalettePanel.Builder<String>().
                 setAllowMoveAll(true).setAllowOrder(true).
                 build("propagationActions",
@@ -25,6 +25,7 @@ import org.apache.syncope.common.lib.request.AnyObjectCR;
 import org.apache.syncope.common.lib.request.AnyObjectUR;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.rest.api.beans.AnyQuery;
 import org.apache.syncope.common.rest.api.service.AnyObjectService;
 import org.apache.syncope.common.rest.api.service.AnyService;
@@ -62,7 +63,8 @@ public class AnyObjectRestClient extends AbstractAnyRestClient<AnyObjectTO> {
     @Override
     public int count(final String realm, final String fiql, final String type) {
         return getService(AnyObjectService.class).
-                search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(1).size(0).build()).
+                search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(1).size(0).
+                        count(SearchCountMode.ESTIMATED).build()).
                 getTotalCount();
     }
 
@@ -73,6 +75,6 @@ public class AnyObjectRestClient extends AbstractAnyRestClient<AnyObjectTO> {
 
         return getService(AnyObjectService.class).search(
                 new AnyQuery.Builder().realm(realm).fiql(fiql).page(page).size(size).
-                        orderBy(toOrderBy(sort)).details(false).build()).getResult();
+                        orderBy(toOrderBy(sort)).details(false).count(SearchCountMode.NONE).build()).getResult();
     }
 }
@@ -26,6 +26,7 @@ import org.apache.syncope.common.lib.request.GroupUR;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.types.ProvisionAction;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.rest.api.beans.AnyQuery;
 import org.apache.syncope.common.rest.api.service.AnyService;
 import org.apache.syncope.common.rest.api.service.GroupService;
@@ -63,7 +64,8 @@ public class GroupRestClient extends AbstractAnyRestClient<GroupTO> {
     @Override
     public int count(final String realm, final String fiql, final String type) {
         return getService(GroupService.class).
-                search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(1).size(0).details(false).build()).
+                search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(1).size(0).details(false).
+                        count(SearchCountMode.ESTIMATED).build()).
                 getTotalCount();
     }
 
@@ -78,7 +80,7 @@ public class GroupRestClient extends AbstractAnyRestClient<GroupTO> {
 
         return getService(GroupService.class).
                 search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(page).size(size).details(false).
-                        orderBy(toOrderBy(sort)).details(false).build()).getResult();
+                        orderBy(toOrderBy(sort)).details(false).count(SearchCountMode.NONE).build()).getResult();
     }
 
     public static void provisionMembers(final String key, final ProvisionAction actionType) {
@@ -34,6 +34,7 @@ import org.apache.syncope.common.lib.request.UserUR;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.lib.types.StatusRType;
 import org.apache.syncope.common.rest.api.beans.AnyQuery;
 import org.apache.syncope.common.rest.api.service.AnyService;
@@ -71,7 +72,8 @@ public class UserRestClient extends AbstractAnyRestClient<UserTO> {
     @Override
     public int count(final String realm, final String fiql, final String type) {
         return getService(UserService.class).
-                search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(1).size(0).details(false).build()).
+                search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(1).size(0).details(false).
+                        count(SearchCountMode.ESTIMATED).build()).
                 getTotalCount();
     }
 
@@ -82,7 +84,7 @@ public class UserRestClient extends AbstractAnyRestClient<UserTO> {
 
         return getService(UserService.class).
                 search(new AnyQuery.Builder().realm(realm).fiql(fiql).page(page).size(size).details(false).
-                        orderBy(toOrderBy(sort)).details(false).build()).getResult();
+                        orderBy(toOrderBy(sort)).details(false).count(SearchCountMode.NONE).build()).getResult();
     }
 
     public ProvisioningResult<UserTO> mustChangePassword(final String etag, final boolean value, final String key) {
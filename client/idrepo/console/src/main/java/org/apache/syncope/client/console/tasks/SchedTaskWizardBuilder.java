@@ -294,6 +294,10 @@ public class SchedTaskWizardBuilder<T extends SchedTaskTO> extends BaseAjaxWizar
             }
             pushTaskSpecifics.add(sourceRealm);
 
+            AjaxCheckBoxPanel incremental = new AjaxCheckBoxPanel(
+                    "incremental", "incremental", new PropertyModel<>(taskTO, "incremental"), false);
+            pushTaskSpecifics.add(incremental);
+
             // ------------------------------
             // For push and pull tasks
             // ------------------------------
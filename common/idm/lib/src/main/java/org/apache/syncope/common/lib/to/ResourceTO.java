@@ -29,6 +29,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.PropagationRejectionPolicy;
 import org.apache.syncope.common.lib.types.TraceLevel;
 
 public class ResourceTO implements EntityTO {
@@ -53,6 +54,14 @@ public class ResourceTO implements EntityTO {
 
     private Integer propagationPriority;
 
+    private Integer propagationConcurrency;
+
+    private Integer propagationQueueCapacity;
+
+    private PropagationRejectionPolicy propagationRejectionPolicy = PropagationRejectionPolicy.ABORT;
+
+    private boolean propagationDigest;
+
     private boolean enforceMandatoryCondition;
 
     private TraceLevel createTraceLevel = TraceLevel.ALL;
@@ -130,6 +139,38 @@ public class ResourceTO implements EntityTO {
         this.propagationPriority = propagationPriority;
     }
 
+    public Integer getPropagationConcurrency() {
+        return propagationConcurrency;
+    }
+
+    public void setPropagationConcurrency(final Integer propagationConcurrency) {
+        this.propagationConcurrency = propagationConcurrency;
+    }
+
+    public Integer getPropagationQueueCapacity() {
+        return propagationQueueCapacity;
+    }
+
+    public void setPropagationQueueCapacity(final Integer propagationQueueCapacity) {
+        this.propagationQueueCapacity = propagationQueueCapacity;
+    }
+
+    public PropagationRejectionPolicy getPropagationRejectionPolicy() {
+        return propagationRejectionPolicy;
+    }
+
+    public void setPropagationRejectionPolicy(final PropagationRejectionPolicy propagationRejectionPolicy) {
+        this.propagationRejectionPolicy = propagationRejectionPolicy;
+    }
+
+    public boolean isPropagationDigest() {
+        return propagationDigest;
+    }
+
+    public void setPropagationDigest(final boolean propagationDigest) {
+        this.propagationDigest = propagationDigest;
+    }
+
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
     }
@@ -286,6 +327,10 @@ public class ResourceTO implements EntityTO {
                 append(provisions, other.provisions).
                 append(orgUnit, other.orgUnit).
                 append(propagationPriority, other.propagationPriority).
+                append(propagationConcurrency, other.propagationConcurrency).
+                append(propagationQueueCapacity, other.propagationQueueCapacity).
+                append(propagationRejectionPolicy, other.propagationRejectionPolicy).
+                append(propagationDigest, other.propagationDigest).
                 append(createTraceLevel, other.createTraceLevel).
                 append(updateTraceLevel, other.updateTraceLevel).
                 append(deleteTraceLevel, other.deleteTraceLevel).
@@ -313,6 +358,10 @@ public class ResourceTO implements EntityTO {
                 append(provisions).
                 append(orgUnit).
                 append(propagationPriority).
+                append(propagationConcurrency).
+                append(propagationQueueCapacity).
+                append(propagationRejectionPolicy).
+                append(propagationDigest).
                 append(enforceMandatoryCondition).
                 append(createTraceLevel).
                 append(updateTraceLevel).
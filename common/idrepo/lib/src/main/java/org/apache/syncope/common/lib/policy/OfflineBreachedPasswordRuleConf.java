@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.lib.policy;
+
+public class OfflineBreachedPasswordRuleConf extends AbstractPasswordRuleConf {
+
+    private static final long serialVersionUID = 4721559023218847061L;
+
+    /**
+     * Path of the breached password index, as built by the breached password index import task.
+     */
+    private String indexFile;
+
+    /**
+     * Whether the Bloom filter built alongside the index shall be checked first, for fast negatives.
+     */
+    private boolean bloomFilter = true;
+
+    public String getIndexFile() {
+        return indexFile;
+    }
+
+    public void setIndexFile(final String indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    public boolean isBloomFilter() {
+        return bloomFilter;
+    }
+
+    public void setBloomFilter(final boolean bloomFilter) {
+        this.bloomFilter = bloomFilter;
+    }
+}
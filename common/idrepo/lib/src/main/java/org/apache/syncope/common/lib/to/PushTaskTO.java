@@ -36,6 +36,8 @@ public class PushTaskTO extends ProvisioningTaskTO {
 
     private final Map<String, String> filters = new HashMap<>();
 
+    private boolean incremental;
+
     @JacksonXmlProperty(localName = "_class", isAttribute = true)
     @JsonProperty("_class")
     @Schema(name = "_class", requiredMode = Schema.RequiredMode.REQUIRED,
@@ -58,12 +60,21 @@ public class PushTaskTO extends ProvisioningTaskTO {
         return filters;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
                 appendSuper(super.hashCode()).
                 append(sourceRealm).
                 append(filters).
+                append(incremental).
                 build();
     }
 
@@ -83,6 +94,7 @@ public class PushTaskTO extends ProvisioningTaskTO {
                 appendSuper(super.equals(obj)).
                 append(sourceRealm, other.sourceRealm).
                 append(filters, other.filters).
+                append(incremental, other.incremental).
                 build();
     }
 }
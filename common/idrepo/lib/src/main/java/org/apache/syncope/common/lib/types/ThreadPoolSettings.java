@@ -34,6 +34,9 @@ public class ThreadPoolSettings implements Serializable {
 
     private int queueCapacity = Integer.MAX_VALUE;
 
+    /**
+     * @return number of workers; when processing provisioning tasks, objects are handed out to workers by key
+     */
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -42,6 +45,10 @@ public class ThreadPoolSettings implements Serializable {
         this.corePoolSize = corePoolSize;
     }
 
+    /**
+     * @return maximum number of workers; ignored when processing provisioning tasks, which always run
+     * {@link #getCorePoolSize()} workers
+     */
     public int getMaxPoolSize() {
         return maxPoolSize;
     }
@@ -50,6 +57,10 @@ public class ThreadPoolSettings implements Serializable {
         this.maxPoolSize = maxPoolSize;
     }
 
+    /**
+     * @return number of objects waiting for a worker; when processing provisioning tasks, this is capped at 1000 and
+     * split evenly among workers
+     */
     public int getQueueCapacity() {
         return queueCapacity;
     }
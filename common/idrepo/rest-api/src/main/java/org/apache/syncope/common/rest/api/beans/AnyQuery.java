@@ -23,10 +23,13 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.QueryParam;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 
 public class AnyQuery extends AbstractQuery {
@@ -60,6 +63,16 @@ public class AnyQuery extends AbstractQuery {
 
             return this;
         }
+
+        public Builder fields(final String... fields) {
+            getInstance().getFields().addAll(List.of(fields));
+            return this;
+        }
+
+        public Builder count(final SearchCountMode count) {
+            getInstance().setCount(count);
+            return this;
+        }
     }
 
     private String realm;
@@ -70,6 +83,10 @@ public class AnyQuery extends AbstractQuery {
 
     private String fiql;
 
+    private List<String> fields = new ArrayList<>();
+
+    private SearchCountMode count;
+
     @Parameter(name = JAXRSService.PARAM_REALM, description = "realms define a hierarchical security domain tree, "
             + "primarily meant for containing Users, Groups and Any Objects", schema =
             @Schema(implementation = String.class, defaultValue = SyncopeConstants.ROOT_REALM, externalDocs =
@@ -116,9 +133,9 @@ public class AnyQuery extends AbstractQuery {
         return fiql;
     }
 
-    @Parameter(name = JAXRSService.PARAM_FIQL, description = "Feed Item Query Language (FIQL, pronounced “fickle”) is "
-            + "a simple but flexible, URI-friendly syntax for expressing filters across the entries in a syndicated "
-            + "feed.", example = "username==rossini", schema =
+    @Parameter(name = JAXRSService.PARAM_FIQL, description = "Feed Item Query Language "
+            + "(FIQL, pronounced “fickle”) is a simple but flexible, URI-friendly syntax for expressing filters "
+            + "across the entries in a syndicated feed.", example = "username==rossini", schema =
             @Schema(implementation = String.class, externalDocs =
                     @ExternalDocumentation(description = "Apache Syncope Reference Guide",
                             url = "https://syncope.apache.org/docs/3.0/reference-guide.html#search")))
@@ -127,6 +144,34 @@ public class AnyQuery extends AbstractQuery {
         this.fiql = fiql;
     }
 
+    @Parameter(name = JAXRSService.PARAM_FIELDS, description = "when provided, only such fields and plain "
+            + "attributes are returned for each matching entity, read without loading the entities themselves; "
+            + "details are ignored; collections and relationships not owned by the entity are rejected",
+            example = "email", schema =
+            @Schema(implementation = String.class))
+    public List<String> getFields() {
+        return fields;
+    }
+
+    @QueryParam(JAXRSService.PARAM_FIELDS)
+    public void setFields(final List<String> fields) {
+        this.fields = fields;
+    }
+
+    @Parameter(name = JAXRSService.PARAM_COUNT, description = "how the total number of matching entities is "
+            + "computed: EXACT always counts, ESTIMATED may return a recently computed count, not reflecting changes "
+            + "made via other Core nodes until expired, NONE skips counting and reports -1", schema =
+            @Schema(implementation = SearchCountMode.class, defaultValue = "EXACT"))
+    public SearchCountMode getCount() {
+        return Optional.ofNullable(count).orElse(SearchCountMode.EXACT);
+    }
+
+    @QueryParam(JAXRSService.PARAM_COUNT)
+    @DefaultValue("EXACT")
+    public void setCount(final SearchCountMode count) {
+        this.count = count;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -144,6 +189,8 @@ public class AnyQuery extends AbstractQuery {
                 append(realm, other.realm).
                 append(details, other.details).
                 append(fiql, other.fiql).
+                append(fields, other.fields).
+                append(count, other.count).
                 build();
     }
 
@@ -154,6 +201,8 @@ public class AnyQuery extends AbstractQuery {
                 append(realm).
                 append(details).
                 append(fiql).
+                append(fields).
+                append(count).
                 build();
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.api;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a {@link ConfParamOps} by keeping a local snapshot of all conf params for each domain.
+ *
+ * Reads are served from the snapshot; a background task keeps snapshots up to date by checking the
+ * {@link ConfParamOps#version(String) version} exposed by the delegate and reloading only when changed (or always,
+ * if the delegate does not support versions).
+ * Snapshots which could not be confirmed as current for longer than the configured staleness bound are reloaded
+ * synchronously on the next read.
+ */
+public class CachingConfParamOps implements ConfParamOps, AutoCloseable {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ConfParamOps.class);
+
+    protected static final JsonMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    /**
+     * Wraps the given delegate according to the provided properties.
+     *
+     * @param delegate actual conf param operations
+     * @param props keymaster properties
+     * @return caching conf param operations, or delegate as-is if caching was disabled
+     */
+    public static ConfParamOps wrap(final ConfParamOps delegate, final KeymasterProperties props) {
+        return props.getConfParamCacheMaxStalenessMs() > 0
+                ? new CachingConfParamOps(
+                        delegate, props.getConfParamCacheRefreshMs(), props.getConfParamCacheMaxStalenessMs())
+                : delegate;
+    }
+
+    protected static final class Snapshot {
+
+        private final Map<String, Object> params;
+
+        private final String version;
+
+        private final long verified;
+
+        Snapshot(final Map<String, Object> params, final String version, final long verified) {
+            this.params = Collections.unmodifiableMap(params);
+            this.version = version;
+            this.verified = verified;
+        }
+
+        Snapshot verified(final long now) {
+            return new Snapshot(params, version, now);
+        }
+
+        Snapshot with(final String key, final Object value) {
+            Map<String, Object> updated = new TreeMap<>(params);
+            if (value == null) {
+                updated.remove(key);
+            } else {
+                updated.put(key, value);
+            }
+            return new Snapshot(updated, version, verified);
+        }
+    }
+
+    protected final ConfParamOps delegate;
+
+    protected final long maxStalenessMs;
+
+    protected final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    protected final ScheduledExecutorService refresher;
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder loads = new LongAdder();
+
+    protected final LongAdder reloads = new LongAdder();
+
+    protected final LongAdder unchanged = new LongAdder();
+
+    protected final LongAdder failures = new LongAdder();
+
+    public CachingConfParamOps(final ConfParamOps delegate, final long refreshMs, final long maxStalenessMs) {
+        this.delegate = delegate;
+        this.maxStalenessMs = maxStalenessMs;
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ConfParamCacheRefresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refresher.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    protected Snapshot load(final String domain) {
+        // read version first, so that changes occurring while listing are detected by the next refresh
+        String version = delegate.version(domain).orElse(null);
+        Snapshot snapshot = new Snapshot(delegate.list(domain), version, System.currentTimeMillis());
+        snapshots.put(domain, snapshot);
+        return snapshot;
+    }
+
+    protected Snapshot snapshot(final String domain) {
+        Snapshot snapshot = snapshots.get(domain);
+        if (snapshot == null || System.currentTimeMillis() - snapshot.verified > maxStalenessMs) {
+            loads.increment();
+            snapshot = load(domain);
+        } else {
+            hits.increment();
+        }
+        return snapshot;
+    }
+
+    protected void refresh() {
+        snapshots.forEach((domain, snapshot) -> {
+            try {
+                Optional<String> version = delegate.version(domain);
+                if (version.isPresent() && Objects.equals(version.get(), snapshot.version)) {
+                    unchanged.increment();
+                    snapshots.replace(domain, snapshot, snapshot.verified(System.currentTimeMillis()));
+                } else {
+                    reloads.increment();
+                    load(domain);
+                }
+            } catch (Exception e) {
+                failures.increment();
+                LOG.warn("Could not refresh conf params for domain {}", domain, e);
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Object> list(final String domain) {
+        return snapshot(domain).params;
+    }
+
+    @Override
+    public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+        Object value = snapshot(domain).params.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return MAPPER.convertValue(value, reference);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Could not convert {} to {}", value, reference.getName(), e);
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public <T> void set(final String domain, final String key, final T value) {
+        delegate.set(domain, key, value);
+
+        Object stored = value == null ? null : MAPPER.convertValue(value, Object.class);
+        snapshots.computeIfPresent(domain, (d, snapshot) -> snapshot.with(key, stored));
+    }
+
+    @Override
+    public void remove(final String domain, final String key) {
+        delegate.remove(domain, key);
+
+        snapshots.computeIfPresent(domain, (d, snapshot) -> snapshot.with(key, null));
+    }
+
+    @Override
+    public Optional<String> version(final String domain) {
+        return delegate.version(domain);
+    }
+
+    /**
+     * Discards the snapshot for the given domain, which will be reloaded on next read.
+     *
+     * @param domain domain
+     */
+    public void invalidate(final String domain) {
+        snapshots.remove(domain);
+    }
+
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    public Map<String, Object> getStatistics() {
+        return Map.of(
+                "domains", snapshots.size(),
+                "hits", hits.sum(),
+                "loads", loads.sum(),
+                "reloads", reloads.sum(),
+                "unchanged", unchanged.sum(),
+                "failures", failures.sum());
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
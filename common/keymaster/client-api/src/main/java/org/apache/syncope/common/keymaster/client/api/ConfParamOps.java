@@ -19,6 +19,7 @@
 package org.apache.syncope.common.keymaster.client.api;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Operations available for configuration parameters.
@@ -32,4 +33,14 @@ public interface ConfParamOps {
     <T> void set(String domain, String key, T value);
 
     void remove(String domain, String key);
+
+    /**
+     * Returns a token which changes whenever any conf param for the given domain is created, updated or removed.
+     *
+     * @param domain domain
+     * @return current version token, or empty if not supported or not available
+     */
+    default Optional<String> version(String domain) {
+        return Optional.empty();
+    }
 }
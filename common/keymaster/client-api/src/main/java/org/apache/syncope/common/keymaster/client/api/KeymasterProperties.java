@@ -33,6 +33,10 @@ public class KeymasterProperties {
 
     private int maxRetries = 3;
 
+    private long confParamCacheRefreshMs = 5000;
+
+    private long confParamCacheMaxStalenessMs = 60000;
+
     public String getAddress() {
         return address;
     }
@@ -72,4 +76,20 @@ public class KeymasterProperties {
     public void setMaxRetries(final int maxRetries) {
         this.maxRetries = maxRetries;
     }
+
+    public long getConfParamCacheRefreshMs() {
+        return confParamCacheRefreshMs;
+    }
+
+    public void setConfParamCacheRefreshMs(final long confParamCacheRefreshMs) {
+        this.confParamCacheRefreshMs = confParamCacheRefreshMs;
+    }
+
+    public long getConfParamCacheMaxStalenessMs() {
+        return confParamCacheMaxStalenessMs;
+    }
+
+    public void setConfParamCacheMaxStalenessMs(final long confParamCacheMaxStalenessMs) {
+        this.confParamCacheMaxStalenessMs = confParamCacheMaxStalenessMs;
+    }
 }
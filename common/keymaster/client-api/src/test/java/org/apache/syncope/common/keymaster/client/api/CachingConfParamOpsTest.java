@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingConfParamOpsTest {
+
+    private static final String DOMAIN = "Master";
+
+    private static final String OTHER_DOMAIN = "Two";
+
+    private static final long NO_REFRESH = 3600000L;
+
+    /**
+     * As the conf params stored by keymaster, possibly changed by other nodes.
+     */
+    private static class Delegate implements ConfParamOps {
+
+        private final Map<String, Map<String, Object>> params = new ConcurrentHashMap<>();
+
+        private final AtomicInteger lists = new AtomicInteger();
+
+        private boolean versioned = true;
+
+        private boolean failing;
+
+        private long version;
+
+        private Map<String, Object> params(final String domain) {
+            return params.computeIfAbsent(domain, k -> new ConcurrentHashMap<>());
+        }
+
+        void change(final String domain, final String key, final Object value) {
+            if (value == null) {
+                params(domain).remove(key);
+            } else {
+                params(domain).put(key, value);
+            }
+            version++;
+        }
+
+        @Override
+        public Map<String, Object> list(final String domain) {
+            lists.incrementAndGet();
+            return new HashMap<>(params(domain));
+        }
+
+        @Override
+        public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+            throw new UnsupportedOperationException("Reads shall be served by the snapshot");
+        }
+
+        @Override
+        public <T> void set(final String domain, final String key, final T value) {
+            change(domain, key, value);
+        }
+
+        @Override
+        public void remove(final String domain, final String key) {
+            change(domain, key, null);
+        }
+
+        @Override
+        public Optional<String> version(final String domain) {
+            if (failing) {
+                throw new IllegalStateException("Keymaster not available");
+            }
+            return versioned ? Optional.of(String.valueOf(version)) : Optional.empty();
+        }
+    }
+
+    private Delegate delegate;
+
+    private CachingConfParamOps cache;
+
+    private CachingConfParamOps cache(final long maxStalenessMs) {
+        cache = new CachingConfParamOps(delegate, NO_REFRESH, maxStalenessMs);
+        return cache;
+    }
+
+    @BeforeEach
+    void setup() {
+        delegate = new Delegate();
+        delegate.change(DOMAIN, "password.cipher.algorithm", "SHA1");
+        delegate.change(DOMAIN, "jwt.lifetime.minutes", 120);
+        delegate.change(DOMAIN, "return.password.value", false);
+        delegate.change(OTHER_DOMAIN, "jwt.lifetime.minutes", 60);
+    }
+
+    @AfterEach
+    void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    void readsFromSnapshot() {
+        cache(60000L);
+
+        Assertions.assertEquals("SHA1", cache.get(DOMAIN, "password.cipher.algorithm", null, String.class));
+        Assertions.assertEquals(120L, cache.get(DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+        Assertions.assertEquals(false, cache.get(DOMAIN, "return.password.value", true, Boolean.class));
+        Assertions.assertEquals(3, cache.list(DOMAIN).size());
+        // missing or not convertible
+        Assertions.assertEquals(5L, cache.get(DOMAIN, "missing", 5L, Long.class));
+        Assertions.assertEquals(5L, cache.get(DOMAIN, "password.cipher.algorithm", 5L, Long.class));
+        Assertions.assertEquals(1, delegate.lists.get());
+
+        Assertions.assertEquals(60L, cache.get(OTHER_DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+        Assertions.assertEquals(2, delegate.lists.get());
+
+        Map<String, Object> statistics = cache.getStatistics();
+        Assertions.assertEquals(2, statistics.get("domains"));
+        Assertions.assertEquals(2L, statistics.get("loads"));
+        Assertions.assertEquals(5L, statistics.get("hits"));
+    }
+
+    @Test
+    void writesThrough() {
+        cache(60000L);
+        cache.list(DOMAIN);
+
+        cache.set(DOMAIN, "jwt.lifetime.minutes", 30);
+        Assertions.assertEquals(30, delegate.params(DOMAIN).get("jwt.lifetime.minutes"));
+        Assertions.assertEquals(30L, cache.get(DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+
+        cache.remove(DOMAIN, "password.cipher.algorithm");
+        Assertions.assertFalse(delegate.params(DOMAIN).containsKey("password.cipher.algorithm"));
+        Assertions.assertNull(cache.get(DOMAIN, "password.cipher.algorithm", null, String.class));
+
+        cache.set(DOMAIN, "password.cipher.algorithm", null);
+        Assertions.assertNull(cache.get(DOMAIN, "password.cipher.algorithm", null, String.class));
+
+        // no snapshot yet for this domain: written to the delegate only
+        cache.set(OTHER_DOMAIN, "jwt.lifetime.minutes", 15);
+        Assertions.assertEquals(1, cache.getStatistics().get("domains"));
+
+        // local writes do not require reloading
+        Assertions.assertEquals(1, delegate.lists.get());
+    }
+
+    @Test
+    void refresh() {
+        cache(60000L);
+        cache.list(DOMAIN);
+
+        cache.refresh();
+        Assertions.assertEquals(1, delegate.lists.get());
+        Assertions.assertEquals(1L, cache.getStatistics().get("unchanged"));
+
+        // changed by another node
+        delegate.change(DOMAIN, "jwt.lifetime.minutes", 10);
+        Assertions.assertEquals(120L, cache.get(DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+        cache.refresh();
+        Assertions.assertEquals(2, delegate.lists.get());
+        Assertions.assertEquals(10L, cache.get(DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+        Assertions.assertEquals(1L, cache.getStatistics().get("reloads"));
+
+        // without version support, snapshots are always reloaded
+        delegate.versioned = false;
+        cache.refresh();
+        cache.refresh();
+        Assertions.assertEquals(4, delegate.lists.get());
+
+        // failures leave the current snapshot in place
+        delegate.failing = true;
+        cache.refresh();
+        Assertions.assertEquals(1L, cache.getStatistics().get("failures"));
+        Assertions.assertEquals(10L, cache.get(DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+        Assertions.assertEquals(4, delegate.lists.get());
+    }
+
+    @Test
+    void staleness() throws InterruptedException {
+        cache(50L);
+        cache.list(DOMAIN);
+
+        // keymaster not reachable: the snapshot cannot be confirmed as current
+        delegate.failing = true;
+        cache.refresh();
+        delegate.failing = false;
+        delegate.change(DOMAIN, "jwt.lifetime.minutes", 10);
+
+        Thread.sleep(100L);
+
+        // reloaded on read
+        Assertions.assertEquals(10L, cache.get(DOMAIN, "jwt.lifetime.minutes", 0L, Long.class));
+        Assertions.assertEquals(2, delegate.lists.get());
+    }
+
+    @Test
+    void invalidate() {
+        cache(60000L);
+        cache.list(DOMAIN);
+        cache.list(OTHER_DOMAIN);
+
+        cache.invalidate(DOMAIN);
+        Assertions.assertEquals(1, cache.getStatistics().get("domains"));
+        cache.list(DOMAIN);
+        Assertions.assertEquals(3, delegate.lists.get());
+
+        cache.invalidateAll();
+        Assertions.assertEquals(0, cache.getStatistics().get("domains"));
+    }
+
+    @Test
+    void wrap() {
+        KeymasterProperties props = new KeymasterProperties();
+        props.setConfParamCacheRefreshMs(NO_REFRESH);
+
+        props.setConfParamCacheMaxStalenessMs(0L);
+        Assertions.assertSame(delegate, CachingConfParamOps.wrap(delegate, props));
+
+        props.setConfParamCacheMaxStalenessMs(60000L);
+        ConfParamOps wrapped = CachingConfParamOps.wrap(delegate, props);
+        Assertions.assertTrue(wrapped instanceof CachingConfParamOps);
+        cache = (CachingConfParamOps) wrapped;
+    }
+}
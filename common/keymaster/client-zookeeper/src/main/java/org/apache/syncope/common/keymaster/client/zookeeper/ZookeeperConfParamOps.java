@@ -22,7 +22,12 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.KeymasterException;
 import org.apache.zookeeper.KeeperException;
@@ -42,6 +47,10 @@ public class ZookeeperConfParamOps implements ConfParamOps {
 
     protected final CuratorFramework client;
 
+    protected final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    protected CuratorCache cache;
+
     protected static String buildConfPath(final String... parts) {
         return CONF_PATH + '/' + String.join("/", parts);
     }
@@ -50,6 +59,25 @@ public class ZookeeperConfParamOps implements ConfParamOps {
         this.client = client;
     }
 
+    protected synchronized void watch() throws Exception {
+        if (cache == null) {
+            if (client.checkExists().forPath(CONF_PATH) == null) {
+                client.create().creatingParentContainersIfNeeded().forPath(CONF_PATH);
+            }
+
+            cache = CuratorCache.build(client, CONF_PATH);
+            cache.listenable().addListener((type, oldData, newData) -> {
+                String path = Optional.ofNullable(newData).orElse(oldData).getPath();
+                String domain = StringUtils.substringBefore(StringUtils.substringAfter(path, CONF_PATH + '/'), "/");
+                if (StringUtils.isNotBlank(domain)) {
+                    LOG.debug("Event {} received for {}", type, path);
+                    versions.computeIfAbsent(domain, k -> new AtomicLong()).incrementAndGet();
+                }
+            });
+            cache.start();
+        }
+    }
+
     @Override
     public Map<String, Object> list(final String domain) {
         try {
@@ -99,6 +127,24 @@ public class ZookeeperConfParamOps implements ConfParamOps {
         }
     }
 
+    /**
+     * Returns a counter of changes received via watch under the given domain's path, thus not requiring any
+     * network call; empty when disconnected, as changes might have been missed.
+     */
+    @Override
+    public Optional<String> version(final String domain) {
+        try {
+            watch();
+        } catch (Exception e) {
+            throw new KeymasterException(e);
+        }
+
+        if (!client.getZookeeperClient().isConnected()) {
+            return Optional.empty();
+        }
+        return Optional.of(String.valueOf(versions.computeIfAbsent(domain, k -> new AtomicLong()).get()));
+    }
+
     @Override
     public void remove(final String domain, final String key) {
         try {
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.regex.Pattern;
 import org.apache.cxf.ext.logging.LoggingFeature;
 import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.KeymasterProperties;
@@ -76,9 +77,12 @@ public class SelfKeymasterClientContext {
     @Conditional(SelfKeymasterCondition.class)
     @Bean
     @ConditionalOnMissingBean(name = "selfConfParamOps")
-    public ConfParamOps selfConfParamOps(@Qualifier("selfKeymasterRESTClientFactoryBean")
-            final JAXRSClientFactoryBean selfKeymasterRESTClientFactoryBean) {
-        return new SelfKeymasterConfParamOps(selfKeymasterRESTClientFactoryBean);
+    public ConfParamOps selfConfParamOps(
+            @Qualifier("selfKeymasterRESTClientFactoryBean")
+            final JAXRSClientFactoryBean selfKeymasterRESTClientFactoryBean,
+            final KeymasterProperties props) {
+
+        return CachingConfParamOps.wrap(new SelfKeymasterConfParamOps(selfKeymasterRESTClientFactoryBean), props);
     }
 
     @Conditional(SelfKeymasterCondition.class)
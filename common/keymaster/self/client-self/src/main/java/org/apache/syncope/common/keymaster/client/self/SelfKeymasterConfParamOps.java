@@ -19,12 +19,14 @@
 package org.apache.syncope.common.keymaster.client.self;
 
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.KeymasterException;
@@ -48,6 +50,14 @@ public class SelfKeymasterConfParamOps extends SelfKeymasterOps implements ConfP
         return client(ConfParamService.class, Map.of(RESTHeaders.DOMAIN, domain)).list();
     }
 
+    @Override
+    public Optional<String> version(final String domain) {
+        Response response = client(ConfParamService.class, Map.of(RESTHeaders.DOMAIN, domain)).version();
+        return response.getStatus() == Response.Status.OK.getStatusCode()
+                ? Optional.ofNullable(response.getEntityTag()).map(EntityTag::getValue)
+                : Optional.empty();
+    }
+
     @Override
     public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
         Response response = client(ConfParamService.class, Map.of(RESTHeaders.DOMAIN, domain)).get(key);
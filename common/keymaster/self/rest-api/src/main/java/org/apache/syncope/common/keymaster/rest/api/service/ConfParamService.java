@@ -22,6 +22,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HEAD;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -42,6 +43,15 @@ public interface ConfParamService extends Serializable {
     @Produces({ MediaType.APPLICATION_JSON })
     Map<String, Object> list();
 
+    /**
+     * Returns the current version of conf params as {@code ETag} header, changing whenever any conf param is
+     * created, updated or removed.
+     *
+     * @return response with {@code ETag} header
+     */
+    @HEAD
+    Response version();
+
     @GET
     @Path("{key}")
     @Produces({ MediaType.APPLICATION_JSON })
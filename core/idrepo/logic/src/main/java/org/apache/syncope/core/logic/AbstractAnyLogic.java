@@ -21,9 +21,13 @@ package org.apache.syncope.core.logic;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.Attr;
 import org.apache.syncope.common.lib.request.AnyCR;
 import org.apache.syncope.common.lib.request.AnyObjectCR;
 import org.apache.syncope.common.lib.request.AnyUR;
@@ -32,7 +36,9 @@ import org.apache.syncope.common.lib.request.UserCR;
 import org.apache.syncope.common.lib.to.AnyTO;
 import org.apache.syncope.common.lib.to.PropagationStatus;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.core.logic.api.LogicActions;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
@@ -40,8 +46,14 @@ import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCacheKey;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
 
 public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U extends AnyUR>
         extends AbstractResourceAssociator<TO> {
@@ -54,16 +66,45 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U exte
 
     protected final TemplateUtils templateUtils;
 
+    protected final SearchCountCache searchCountCache;
+
     protected final Map<String, LogicActions> perContextActions = new ConcurrentHashMap<>();
 
     public AbstractAnyLogic(
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
-            final TemplateUtils templateUtils) {
+            final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache) {
 
         this.realmDAO = realmDAO;
         this.anyTypeDAO = anyTypeDAO;
         this.templateUtils = templateUtils;
+        this.searchCountCache = searchCountCache;
+    }
+
+    protected int count(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind,
+            final SearchCountMode countMode,
+            final IntSupplier counter) {
+
+        if (countMode == SearchCountMode.NONE) {
+            return -1;
+        }
+
+        SearchCountCacheKey key = new SearchCountCacheKey(
+                AuthContextUtils.getDomain(), kind, base.getFullPath(), recursive, adminRealms, cond);
+        if (countMode == SearchCountMode.ESTIMATED) {
+            Integer cached = searchCountCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        return searchCountCache.put(key, counter.getAsInt());
     }
 
     protected List<LogicActions> getActions(final Realm realm) {
@@ -213,14 +254,65 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U exte
         return result;
     }
 
+    /**
+     * Fills the given (empty) instance with the values read by projected searches.
+     *
+     * @param anyTO instance to fill
+     * @param projection projected values, as returned by the search DAO
+     * @return the given instance
+     */
+    @SuppressWarnings("unchecked")
+    protected TO projectedTO(final TO anyTO, final Map<String, Object> projection) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(anyTO);
+
+        projection.forEach((field, value) -> {
+            if ("key".equals(field)) {
+                anyTO.setKey((String) value);
+            } else if (value instanceof List) {
+                anyTO.getPlainAttrs().add(new Attr.Builder(field).values((List<String>) value).build());
+            } else if ("realm".equals(field)) {
+                Optional.ofNullable(value).map(realmKey -> realmDAO.find((String) realmKey)).
+                        ifPresent(realm -> anyTO.setRealm(realm.getFullPath()));
+            } else if (value != null && wrapper.isWritableProperty(field)) {
+                Class<?> type = wrapper.getPropertyType(field);
+                try {
+                    wrapper.setPropertyValue(
+                            field,
+                            (Boolean.class.equals(type) || boolean.class.equals(type)) && value instanceof Number
+                            ? ((Number) value).intValue() == 1
+                            : value);
+                } catch (BeansException e) {
+                    LOG.debug("Could not set {} on {}", field, anyTO.getClass().getSimpleName(), e);
+                }
+            }
+        });
+
+        return anyTO;
+    }
+
     public abstract TO read(String key);
 
+    /**
+     * @param searchCond search condition, null to match all
+     * @param page search result page
+     * @param size search result page size
+     * @param orderBy ordering clauses
+     * @param realm realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param details whether detailed information is to be included
+     * @param fields when not empty, only such fields and plain attributes are read, without loading the matching
+     * entities and ignoring details
+     * @param countMode how the total number of matching entities is computed
+     * @return total number of matching entities (-1 if not counted) and the requested page
+     */
     public abstract Pair<Integer, List<TO>> search(
             SearchCond searchCond,
             int page, int size, List<OrderByClause> orderBy,
             String realm,
             boolean recursive,
-            boolean details);
+            boolean details,
+            List<String> fields,
+            SearchCountMode countMode);
 
     public abstract ProvisioningResult<TO> update(U updateReq, boolean nullPriorityAsync);
 
@@ -40,6 +40,7 @@ import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.lib.types.PatchOperation;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.core.logic.api.LogicActions;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -52,6 +53,7 @@ import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.provisioning.api.AnyObjectProvisioningManager;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
 import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
@@ -76,12 +78,13 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectCR, A
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
             final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache,
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final AnyObjectDataBinder binder,
             final AnyObjectProvisioningManager provisioningManager) {
 
-        super(realmDAO, anyTypeDAO, templateUtils);
+        super(realmDAO, anyTypeDAO, templateUtils, searchCountCache);
 
         this.anyObjectDAO = anyObjectDAO;
         this.searchDAO = searchDAO;
@@ -102,7 +105,9 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectCR, A
             final int page, final int size, final List<OrderByClause> orderBy,
             final String realm,
             final boolean recursive,
-            final boolean details) {
+            final boolean details,
+            final List<String> fields,
+            final SearchCountMode countMode) {
 
         if (searchCond.hasAnyTypeCond() == null) {
             throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
@@ -115,13 +120,21 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectCR, A
                 AuthContextUtils.getAuthorizations().get(AnyEntitlement.SEARCH.getFor(searchCond.hasAnyTypeCond())),
                 realm);
 
-        int count = searchDAO.count(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT);
+        int count = count(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT, countMode,
+                () -> searchDAO.count(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT));
 
-        List<AnyObject> matching = searchDAO.search(
-                base, recursive, authRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT);
-        List<AnyObjectTO> result = matching.stream().
-                map(anyObject -> binder.getAnyObjectTO(anyObject, details)).
-                collect(Collectors.toList());
+        List<AnyObjectTO> result;
+        if (fields.isEmpty()) {
+            List<AnyObject> matching = searchDAO.search(
+                    base, recursive, authRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT);
+            result = binder.getAnyObjectTOs(matching, details);
+        } else {
+            result = searchDAO.searchProjected(
+                    base, recursive, authRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT, fields).
+                    stream().
+                    map(projection -> projectedTO(new AnyObjectTO(), projection)).
+                    collect(Collectors.toList());
+        }
 
         return Pair.of(count, result);
     }
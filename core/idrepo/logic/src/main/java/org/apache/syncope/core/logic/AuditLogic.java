@@ -56,9 +56,11 @@ import org.apache.syncope.core.persistence.api.entity.AuditConf;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.data.AuditDataBinder;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
 import org.apache.syncope.core.provisioning.java.pushpull.PushJobDelegate;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -126,6 +128,8 @@ public class AuditLogic extends AbstractTransactionalLogic<AuditConfTO> {
                 });
         audit.setActive(auditTO.isActive());
         audit = auditConfDAO.save(audit);
+        ctx.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE_OR_UPDATE, audit, AuthContextUtils.getDomain()));
 
         setLevel(audit.getKey(), audit.isActive() ? Level.DEBUG : Level.OFF);
     }
@@ -135,6 +139,7 @@ public class AuditLogic extends AbstractTransactionalLogic<AuditConfTO> {
         AuditConf audit = Optional.ofNullable(auditConfDAO.find(key)).
                 orElseThrow(() -> new NotFoundException("Audit " + key));
         auditConfDAO.delete(audit);
+        ctx.publishEvent(new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, audit, AuthContextUtils.getDomain()));
 
         setLevel(audit.getKey(), Level.OFF);
     }
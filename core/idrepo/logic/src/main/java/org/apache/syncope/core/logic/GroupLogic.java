@@ -20,6 +20,7 @@ package org.apache.syncope.core.logic;
 
 import java.lang.reflect.Method;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +45,7 @@ import org.apache.syncope.common.lib.types.ImplementationEngine;
 import org.apache.syncope.common.lib.types.JobType;
 import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.common.lib.types.ProvisionAction;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.logic.api.LogicActions;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -62,6 +64,7 @@ import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
@@ -110,6 +113,7 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
             final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache,
             final UserDAO userDAO,
             final GroupDAO groupDAO,
             final SecurityProperties securityProperties,
@@ -123,7 +127,7 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
             final SchedulerFactoryBean scheduler,
             final EntityFactory entityFactory) {
 
-        super(realmDAO, anyTypeDAO, templateUtils);
+        super(realmDAO, anyTypeDAO, templateUtils, searchCountCache);
 
         this.userDAO = userDAO;
         this.groupDAO = groupDAO;
@@ -153,8 +157,8 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
             return List.of();
         }
 
-        return userDAO.findAllGroups(userDAO.findByUsername(AuthContextUtils.getUsername())).stream().
-                map(group -> binder.getGroupTO(group, true)).collect(Collectors.toList());
+        return binder.getGroupTOs(
+                new ArrayList<>(userDAO.findAllGroups(userDAO.findByUsername(AuthContextUtils.getUsername()))), true);
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_SEARCH + "')")
@@ -165,7 +169,9 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
             final int page, final int size, final List<OrderByClause> orderBy,
             final String realm,
             final boolean recursive,
-            final boolean details) {
+            final boolean details,
+            final List<String> fields,
+            final SearchCountMode countMode) {
 
         Realm base = Optional.ofNullable(realmDAO.findByFullPath(realm)).
                 orElseThrow(() -> new NotFoundException("Realm " + realm));
@@ -175,13 +181,21 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
 
         SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
 
-        int count = searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP);
-
-        List<Group> matching = searchDAO.search(
-                base, recursive, authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
-        List<GroupTO> result = matching.stream().
-                map(group -> binder.getGroupTO(group, details)).
-                collect(Collectors.toList());
+        int count = count(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP, countMode,
+                () -> searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP));
+
+        List<GroupTO> result;
+        if (fields.isEmpty()) {
+            List<Group> matching = searchDAO.search(
+                    base, recursive, authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
+            result = binder.getGroupTOs(matching, details);
+        } else {
+            result = searchDAO.searchProjected(
+                    base, recursive, authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP, fields).
+                    stream().
+                    map(projection -> projectedTO(new GroupTO(), projection)).
+                    collect(Collectors.toList());
+        }
 
         return Pair.of(count, result);
     }
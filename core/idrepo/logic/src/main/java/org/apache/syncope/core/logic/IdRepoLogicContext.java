@@ -77,6 +77,7 @@ import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
 import org.apache.syncope.core.provisioning.api.ImplementationLookup;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
 import org.apache.syncope.core.provisioning.api.data.AccessTokenDataBinder;
 import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
 import org.apache.syncope.core.provisioning.api.data.AnyTypeClassDataBinder;
@@ -104,6 +105,7 @@ import org.apache.syncope.core.provisioning.api.notification.NotificationManager
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
+import org.apache.syncope.core.provisioning.java.cache.EventSubscriptionIndex;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.AnyObjectWorkflowAdapter;
@@ -111,6 +113,7 @@ import org.apache.syncope.core.workflow.api.GroupWorkflowAdapter;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -124,9 +127,10 @@ public class IdRepoLogicContext {
     @Bean
     public LogicInvocationHandler logicInvocationHandler(
             final NotificationManager notificationManager,
-            final AuditManager auditManager) {
+            final AuditManager auditManager,
+            final EventSubscriptionIndex eventSubscriptionIndex) {
 
-        return new LogicInvocationHandler(notificationManager, auditManager);
+        return new LogicInvocationHandler(notificationManager, auditManager, eventSubscriptionIndex);
     }
 
     @ConditionalOnMissingBean
@@ -203,6 +207,7 @@ public class IdRepoLogicContext {
     public AnyObjectLogic anyObjectLogic(
             final AnyObjectDataBinder binder,
             final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache,
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
             final AnyObjectDAO anyObjectDAO,
@@ -213,6 +218,7 @@ public class IdRepoLogicContext {
                 realmDAO,
                 anyTypeDAO,
                 templateUtils,
+                searchCountCache,
                 anyObjectDAO,
                 anySearchDAO,
                 binder,
@@ -307,6 +313,7 @@ public class IdRepoLogicContext {
             final GroupProvisioningManager provisioningManager,
             final JobManager jobManager,
             final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache,
             final EntityFactory entityFactory,
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
@@ -324,6 +331,7 @@ public class IdRepoLogicContext {
                 realmDAO,
                 anyTypeDAO,
                 templateUtils,
+                searchCountCache,
                 userDAO,
                 groupDAO,
                 securityProperties,
@@ -380,9 +388,10 @@ public class IdRepoLogicContext {
             final JobManager jobManager,
             final JobStatusDAO jobStatusDAO,
             final SchedulerFactoryBean scheduler,
-            final NotificationDAO notificationDAO) {
+            final NotificationDAO notificationDAO,
+            final ApplicationEventPublisher publisher) {
 
-        return new NotificationLogic(jobManager, scheduler, jobStatusDAO, notificationDAO, binder);
+        return new NotificationLogic(jobManager, scheduler, jobStatusDAO, notificationDAO, binder, publisher);
     }
 
     @ConditionalOnMissingBean
@@ -542,6 +551,7 @@ public class IdRepoLogicContext {
     public UserLogic userLogic(
             final UserDataBinder binder,
             final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache,
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
             final UserDAO userDAO,
@@ -559,6 +569,7 @@ public class IdRepoLogicContext {
                 realmDAO,
                 anyTypeDAO,
                 templateUtils,
+                searchCountCache,
                 userDAO,
                 groupDAO,
                 anySearchDAO,
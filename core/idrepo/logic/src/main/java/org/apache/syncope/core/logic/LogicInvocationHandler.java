@@ -19,11 +19,13 @@
 package org.apache.syncope.core.logic;
 
 import java.lang.reflect.Method;
+import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.provisioning.java.cache.EventSubscriptionIndex;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -41,9 +43,16 @@ public class LogicInvocationHandler {
 
     protected final AuditManager auditManager;
 
-    public LogicInvocationHandler(final NotificationManager notificationManager, final AuditManager auditManager) {
+    protected final EventSubscriptionIndex eventSubscriptionIndex;
+
+    public LogicInvocationHandler(
+            final NotificationManager notificationManager,
+            final AuditManager auditManager,
+            final EventSubscriptionIndex eventSubscriptionIndex) {
+
         this.notificationManager = notificationManager;
         this.auditManager = auditManager;
+        this.eventSubscriptionIndex = eventSubscriptionIndex;
     }
 
     @Around("execution(* org.apache.syncope.core.logic.AbstractLogic+.*(..))")
@@ -59,10 +68,17 @@ public class LogicInvocationHandler {
 
         String event = joinPoint.getSignature().getName();
 
-        boolean notificationsAvailable = notificationManager.notificationsAvailable(
-                AuditElements.EventCategoryType.LOGIC, category, null, event);
-        boolean auditRequested = auditManager.auditRequested(
-                AuthContextUtils.getUsername(), AuditElements.EventCategoryType.LOGIC, category, null, event);
+        // when subscriptions are already at hand, no manager (hence no transaction) is involved
+        Optional<EventSubscriptionIndex.Subscriptions> subscriptions =
+                eventSubscriptionIndex.getIfFresh(AuthContextUtils.getDomain());
+        boolean notificationsAvailable = subscriptions.
+                map(s -> s.isNotified(AuditElements.EventCategoryType.LOGIC, category, null, event)).
+                orElseGet(() -> notificationManager.notificationsAvailable(
+                AuditElements.EventCategoryType.LOGIC, category, null, event));
+        boolean auditRequested = subscriptions.
+                map(s -> s.isAudited(AuditElements.EventCategoryType.LOGIC, category, null, event)).
+                orElseGet(() -> auditManager.auditRequested(
+                AuthContextUtils.getUsername(), AuditElements.EventCategoryType.LOGIC, category, null, event));
 
         AuditElements.Result condition = null;
         Object output = null;
@@ -33,9 +33,13 @@ import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.provisioning.api.data.NotificationDataBinder;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
 import org.apache.syncope.core.provisioning.java.job.notification.NotificationJob;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.quartz.JobKey;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
@@ -46,17 +50,21 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
     protected final NotificationDataBinder binder;
 
+    protected final ApplicationEventPublisher publisher;
+
     public NotificationLogic(
             final JobManager jobManager,
             final SchedulerFactoryBean scheduler,
             final JobStatusDAO jobStatusDAO,
             final NotificationDAO notificationDAO,
-            final NotificationDataBinder binder) {
+            final NotificationDataBinder binder,
+            final ApplicationEventPublisher publisher) {
 
         super(jobManager, scheduler, jobStatusDAO);
 
         this.notificationDAO = notificationDAO;
         this.binder = binder;
+        this.publisher = publisher;
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.NOTIFICATION_READ + "')")
@@ -80,7 +88,11 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.NOTIFICATION_CREATE + "')")
     public NotificationTO create(final NotificationTO notificationTO) {
-        return binder.getNotificationTO(notificationDAO.save(binder.create(notificationTO)));
+        Notification notification = notificationDAO.save(binder.create(notificationTO));
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE, notification, AuthContextUtils.getDomain()));
+
+        return binder.getNotificationTO(notification);
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.NOTIFICATION_UPDATE + "')")
@@ -93,6 +105,8 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
         binder.update(notification, notificationTO);
         notification = notificationDAO.save(notification);
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.UPDATE, notification, AuthContextUtils.getDomain()));
 
         return binder.getNotificationTO(notification);
     }
@@ -108,6 +122,8 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
         NotificationTO deleted = binder.getNotificationTO(notification);
         notificationDAO.delete(key);
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, notification, AuthContextUtils.getDomain()));
         return deleted;
     }
 
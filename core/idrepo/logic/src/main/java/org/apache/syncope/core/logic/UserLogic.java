@@ -47,6 +47,7 @@ import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.common.lib.types.PatchOperation;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.rest.api.beans.ComplianceQuery;
 import org.apache.syncope.core.logic.api.LogicActions;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -70,6 +71,7 @@ import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
@@ -114,6 +116,7 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
             final RealmDAO realmDAO,
             final AnyTypeDAO anyTypeDAO,
             final TemplateUtils templateUtils,
+            final SearchCountCache searchCountCache,
             final UserDAO userDAO,
             final GroupDAO groupDAO,
             final AnySearchDAO searchDAO,
@@ -126,7 +129,7 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
             final SyncopeLogic syncopeLogic,
             final RuleEnforcer ruleEnforcer) {
 
-        super(realmDAO, anyTypeDAO, templateUtils);
+        super(realmDAO, anyTypeDAO, templateUtils, searchCountCache);
 
         this.userDAO = userDAO;
         this.groupDAO = groupDAO;
@@ -166,7 +169,9 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
             final int page, final int size, final List<OrderByClause> orderBy,
             final String realm,
             final boolean recursive,
-            final boolean details) {
+            final boolean details,
+            final List<String> fields,
+            final SearchCountMode countMode) {
 
         Realm base = Optional.ofNullable(realmDAO.findByFullPath(realm)).
                 orElseThrow(() -> new NotFoundException("Realm " + realm));
@@ -176,13 +181,21 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
 
         SearchCond effectiveCond = searchCond == null ? userDAO.getAllMatchingCond() : searchCond;
 
-        int count = searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER);
+        int count = count(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER, countMode,
+                () -> searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER));
 
-        List<User> matching = searchDAO.search(
-                base, recursive, authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER);
-        List<UserTO> result = matching.stream().
-                map(user -> binder.getUserTO(user, details)).
-                collect(Collectors.toList());
+        List<UserTO> result;
+        if (fields.isEmpty()) {
+            List<User> matching = searchDAO.search(
+                    base, recursive, authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER);
+            result = binder.getUserTOs(matching, details);
+        } else {
+            result = searchDAO.searchProjected(
+                    base, recursive, authRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER, fields).
+                    stream().
+                    map(projection -> projectedTO(new UserTO(), projection)).
+                    collect(Collectors.toList());
+        }
 
         return Pair.of(count, result);
     }
@@ -21,6 +21,8 @@ package org.apache.syncope.core.logic.audit;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import javax.sql.DataSource;
 import org.apache.logging.log4j.LogManager;
@@ -39,7 +41,7 @@ public class JdbcAuditAppender extends DefaultAuditAppender {
 
         LoggerContext logCtx = (LoggerContext) LogManager.getContext(false);
 
-        ColumnMapping[] columnMappings = {
+        List<ColumnMapping> columnMappings = new ArrayList<>(List.of(
             ColumnMapping.newBuilder().
             setConfiguration(logCtx.getConfiguration()).setName("EVENT_DATE").setType(Timestamp.class).build(),
             ColumnMapping.newBuilder().
@@ -50,8 +52,10 @@ public class JdbcAuditAppender extends DefaultAuditAppender {
             setConfiguration(logCtx.getConfiguration()).
             setName(AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN).setPattern("%message").build(),
             ColumnMapping.newBuilder().
-            setConfiguration(logCtx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build()
-        };
+            setConfiguration(logCtx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build()));
+        // structured columns are valued by the audit manager via MDC, see DefaultAuditManager
+        AuditConfDAO.AUDIT_ENTRY_STRUCTURED_COLUMNS.forEach(column -> columnMappings.add(ColumnMapping.newBuilder().
+                setConfiguration(logCtx.getConfiguration()).setName(column).setPattern("%X{" + column + "}").build()));
 
         targetAppender = Optional.ofNullable(logCtx.getConfiguration().<Appender>getAppender(getTargetAppenderName())).
                 orElseGet(() -> {
@@ -61,7 +65,7 @@ public class JdbcAuditAppender extends DefaultAuditAppender {
                             setConnectionSource(new DataSourceConnectionSource(domain, domainDataSource)).
                             setBufferSize(0).
                             setTableName(AuditConfDAO.AUDIT_ENTRY_TABLE).
-                            setColumnMappings(columnMappings).
+                            setColumnMappings(columnMappings.toArray(ColumnMapping[]::new)).
                             build();
                     a.start();
                     logCtx.getConfiguration().addAppender(a);
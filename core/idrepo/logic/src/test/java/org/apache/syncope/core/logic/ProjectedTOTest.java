@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.common.lib.Attr;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ProjectedTOTest {
+
+    private static final String REALM_KEY = "c5b75db1-fce7-470f-b780-3b9934d82a9d";
+
+    private static UserLogic logic() {
+        Realm realm = mock(Realm.class);
+        when(realm.getFullPath()).thenReturn("/even/two");
+
+        RealmDAO realmDAO = mock(RealmDAO.class);
+        when(realmDAO.find(REALM_KEY)).thenReturn(realm);
+
+        return new UserLogic(
+                realmDAO, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    void fields() {
+        OffsetDateTime lastLoginDate = OffsetDateTime.now();
+
+        Map<String, Object> projection = new HashMap<>();
+        projection.put("key", "1417acbe-cbf6-4277-9372-e75e04f97000");
+        projection.put("username", "rossini");
+        projection.put("realm", REALM_KEY);
+        projection.put("lastLoginDate", lastLoginDate);
+        projection.put("failedLogins", 3);
+        // some databases report booleans as numbers
+        projection.put("suspended", 1);
+        projection.put("mustChangePassword", Boolean.TRUE);
+
+        UserTO userTO = logic().projectedTO(new UserTO(), projection);
+
+        Assertions.assertEquals("1417acbe-cbf6-4277-9372-e75e04f97000", userTO.getKey());
+        Assertions.assertEquals("rossini", userTO.getUsername());
+        Assertions.assertEquals("/even/two", userTO.getRealm());
+        Assertions.assertEquals(lastLoginDate, userTO.getLastLoginDate());
+        Assertions.assertEquals(3, userTO.getFailedLogins());
+        Assertions.assertTrue(userTO.isSuspended());
+        Assertions.assertTrue(userTO.isMustChangePassword());
+        Assertions.assertTrue(userTO.getPlainAttrs().isEmpty());
+    }
+
+    @Test
+    void plainAttrs() {
+        Map<String, Object> projection = new HashMap<>();
+        projection.put("key", "1417acbe-cbf6-4277-9372-e75e04f97000");
+        projection.put("email", List.of("rossini@apache.org"));
+        projection.put("loginDate", List.of("2009-05-26", "2010-05-26"));
+
+        UserTO userTO = logic().projectedTO(new UserTO(), projection);
+
+        Assertions.assertEquals(2, userTO.getPlainAttrs().size());
+        Assertions.assertEquals(
+                List.of("rossini@apache.org"),
+                userTO.getPlainAttr("email").map(Attr::getValues).orElseThrow());
+        Assertions.assertEquals(
+                List.of("2009-05-26", "2010-05-26"),
+                userTO.getPlainAttr("loginDate").map(Attr::getValues).orElseThrow());
+    }
+
+    @Test
+    void ignored() {
+        Map<String, Object> projection = new HashMap<>();
+        projection.put("key", "1417acbe-cbf6-4277-9372-e75e04f97000");
+        projection.put("username", null);
+        projection.put("realm", "missing");
+        // not a UserTO property
+        projection.put("cipherAlgorithm", "SHA1");
+        // not writable
+        projection.put("plainAttrs", "none");
+
+        UserTO userTO = logic().projectedTO(new UserTO(), projection);
+
+        Assertions.assertEquals("1417acbe-cbf6-4277-9372-e75e04f97000", userTO.getKey());
+        Assertions.assertNull(userTO.getUsername());
+        Assertions.assertNull(userTO.getRealm());
+        Assertions.assertTrue(userTO.getPlainAttrs().isEmpty());
+    }
+}
@@ -136,7 +136,9 @@ public abstract class AbstractAnyService<TO extends AnyTO, CR extends AnyCR, UR
                     getOrderByClauses(anyQuery.getOrderBy()),
                     realm,
                     anyQuery.getRecursive(),
-                    anyQuery.getDetails());
+                    anyQuery.getDetails(),
+                    anyQuery.getFields(),
+                    anyQuery.getCount());
 
             return buildPagedResult(result.getRight(), anyQuery.getPage(), anyQuery.getSize(), result.getLeft());
         } catch (IllegalArgumentException e) {
@@ -222,7 +222,9 @@ public abstract class AbstractService implements JAXRSService {
                     replaceQueryParam(PARAM_SIZE, size).
                     build());
         }
-        if ((result.getPage() - 1) * size + result.getSize() < totalCount) {
+        if (totalCount < 0
+                ? result.getSize() == size
+                : (result.getPage() - 1) * size + result.getSize() < totalCount) {
             result.setNext(builder.
                     replaceQueryParam(PARAM_PAGE, result.getPage() + 1).
                     replaceQueryParam(PARAM_SIZE, size).
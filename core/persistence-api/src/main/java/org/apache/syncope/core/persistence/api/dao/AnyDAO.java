@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.api.dao;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -93,6 +94,16 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<String> findAllKeys(int page, int itemsPerPage);
 
+    /**
+     * Find any objects' keys without any limitation, following the given key; differently from
+     * {@link #findAllKeys(int, int)}, the cost of each invocation does not depend on how deep the scan is.
+     *
+     * @param lastKey key of the last any object seen so far, or null to start from the beginning
+     * @param itemsPerPage maximum number of keys to return
+     * @return any objects' keys following the given key, sorted
+     */
+    List<String> findAllKeys(String lastKey, int itemsPerPage);
+
     <S extends Schema> AllowedSchemas<S> findAllowedSchemas(A any, Class<S> reference);
 
     A save(A any);
@@ -103,5 +114,13 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     List<String> findDynRealms(String key);
 
+    /**
+     * Bulk variant of {@link #findDynRealms(String)}, meant for result pages.
+     *
+     * @param keys any object keys
+     * @return dynamic realm keys, for each of the given any object keys having at least one
+     */
+    Map<String, List<String>> findDynRealms(Collection<String> keys);
+
     Collection<String> findAllResourceKeys(String key);
 }
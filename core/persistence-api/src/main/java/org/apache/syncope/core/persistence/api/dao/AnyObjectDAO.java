@@ -60,6 +60,14 @@ public interface AnyObjectDAO extends AnyDAO<AnyObject> {
 
     List<Group> findDynGroups(String key);
 
+    /**
+     * Bulk variant of {@link #findDynGroups(String)}, meant for result pages.
+     *
+     * @param keys any object keys
+     * @return dynamic groups, for each of the given any object keys having at least one
+     */
+    Map<String, List<Group>> findDynGroups(Collection<String> keys);
+
     List<Relationship<Any<?>, AnyObject>> findAllRelationships(AnyObject anyObject);
 
     Collection<Group> findAllGroups(AnyObject anyObject);
@@ -18,8 +18,13 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -81,4 +86,129 @@ public interface AnySearchDAO extends DAO<Any<?>> {
             int itemsPerPage,
             List<OrderByClause> orderBy,
             AnyTypeKind kind);
+
+    /**
+     * @param searchCondition the search condition
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition
+     */
+    List<String> searchKeys(SearchCond searchCondition, AnyTypeKind kind);
+
+    /**
+     * Same as {@link #search(Realm, boolean, Set, SearchCond, int, int, List, AnyTypeKind)} but only returns the
+     * matching keys, without loading any entity.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition (in the given page)
+     */
+    List<String> searchKeys(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            int page,
+            int itemsPerPage,
+            List<OrderByClause> orderBy,
+            AnyTypeKind kind);
+
+    /**
+     * Same as {@link #search(Realm, boolean, Set, SearchCond, int, int, List, AnyTypeKind)} but only returns, for
+     * each matching any object, its key and the values of the requested fields and plain attributes, where
+     * available; plain attribute values are reported as list of strings.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @param fields fields and / or plain schemas to read: only fields stored in a column of their own, including
+     * owned relationships, are allowed
+     * @return the projection of any objects matching the given search condition (in the given page)
+     * @throws org.apache.syncope.common.lib.SyncopeClientException if any of the requested fields cannot be projected
+     */
+    List<Map<String, Object>> searchProjected(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            int page,
+            int itemsPerPage,
+            List<OrderByClause> orderBy,
+            AnyTypeKind kind,
+            Collection<String> fields);
+
+    /**
+     * Keyset (seek) pagination: rather than skipping a number of rows, which gets slower and slower as the
+     * offset grows, returns the matching any objects whose key follows the given one, sorted by key.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param lastKey key of the last any object seen so far, or null to start from the beginning
+     * @param itemsPerPage number of results to return
+     * @param kind any object
+     * @param <T> any
+     * @return the list of any objects matching the given search condition and following the given key
+     */
+    <T extends Any<?>> List<T> searchAfter(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            String lastKey,
+            int itemsPerPage,
+            AnyTypeKind kind);
+
+    /**
+     * Lazily walks all the any objects matching the given search condition, fetching chunks of the given size
+     * via {@link #searchAfter(Realm, boolean, Set, SearchCond, String, int, AnyTypeKind)}.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param chunkSize number of any objects to fetch per round trip
+     * @param kind any object
+     * @param <T> any
+     * @return stream of any objects matching the given search condition, sorted by key
+     */
+    <T extends Any<?>> Stream<T> stream(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            int chunkSize,
+            AnyTypeKind kind);
+
+    /**
+     * Native query selecting, as {@code any_id}, the keys of any objects matching the given search condition, to be
+     * embedded in statements running on the same database, such as {@code INSERT ... SELECT}.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param kind any object
+     * @return query string and its positional parameters, or empty if search does not run on the same database
+     */
+    default Optional<Pair<String, List<Object>>> keysQuery(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            AnyTypeKind kind) {
+
+        return Optional.empty();
+    }
 }
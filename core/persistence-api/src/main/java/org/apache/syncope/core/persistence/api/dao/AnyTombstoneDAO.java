@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
+
+public interface AnyTombstoneDAO extends DAO<AnyTombstone> {
+
+    /**
+     * @return whether tombstones are recorded when users, groups and any objects are deleted
+     */
+    boolean isEnabled();
+
+    /**
+     * Finds the tombstones of the given any type recorded after the given date for entities deleted from the given
+     * realm or any of its descendants, sorted by deletion date.
+     *
+     * @param anyType any type
+     * @param realm full path of the base realm
+     * @param since lower bound (exclusive) for deletion date
+     * @param page search result page
+     * @param itemsPerPage items per search result page
+     * @return tombstones of the given any type recorded after the given date under the given realm, in the given page
+     */
+    List<AnyTombstone> findSince(String anyType, String realm, OffsetDateTime since, int page, int itemsPerPage);
+
+    AnyTombstone save(AnyTombstone tombstone);
+
+    /**
+     * Removes the tombstones recorded before the given date.
+     *
+     * @param before upper bound (exclusive) for deletion date
+     * @return number of tombstones removed
+     */
+    int deleteBefore(OffsetDateTime before);
+}
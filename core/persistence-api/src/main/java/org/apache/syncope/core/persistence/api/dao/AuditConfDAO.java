@@ -33,6 +33,32 @@ public interface AuditConfDAO extends DAO<AuditConf> {
 
     String AUDIT_ENTRY_EVENT_DATE_COLUMN = "EVENT_DATE";
 
+    String AUDIT_ENTRY_WHO_COLUMN = "WHO";
+
+    String AUDIT_ENTRY_TYPE_COLUMN = "EVENT_TYPE";
+
+    String AUDIT_ENTRY_CATEGORY_COLUMN = "CATEGORY";
+
+    String AUDIT_ENTRY_SUBCATEGORY_COLUMN = "SUBCATEGORY";
+
+    String AUDIT_ENTRY_EVENT_COLUMN = "EVENT";
+
+    String AUDIT_ENTRY_RESULT_COLUMN = "RESULT";
+
+    String AUDIT_ENTRY_ENTITY_KEY_COLUMN = "ENTITY_KEY";
+
+    /**
+     * Columns storing, for search purposes, information otherwise available only within the message.
+     */
+    List<String> AUDIT_ENTRY_STRUCTURED_COLUMNS = List.of(
+            AUDIT_ENTRY_WHO_COLUMN,
+            AUDIT_ENTRY_TYPE_COLUMN,
+            AUDIT_ENTRY_CATEGORY_COLUMN,
+            AUDIT_ENTRY_SUBCATEGORY_COLUMN,
+            AUDIT_ENTRY_EVENT_COLUMN,
+            AUDIT_ENTRY_RESULT_COLUMN,
+            AUDIT_ENTRY_ENTITY_KEY_COLUMN);
+
     AuditConf find(String key);
 
     List<AuditConf> findAll();
@@ -41,6 +67,31 @@ public interface AuditConfDAO extends DAO<AuditConf> {
 
     void delete(AuditConf auditConf);
 
+    /**
+     * Stores the given audit entries, all at once.
+     *
+     * @param entries audit entries
+     */
+    void saveEntries(List<AuditEntry> entries);
+
+    /**
+     * Fills the structured columns of up to the given number of audit entries stored before such columns were
+     * available, oldest first, among the ones with event date later than the given one.
+     *
+     * @param after only entries with event date later than this are processed; all if {@code null}
+     * @param batchSize maximum number of entries to process
+     * @return event date of the last entry processed, or {@code null} if no entry was left to process
+     */
+    OffsetDateTime backfillEntries(OffsetDateTime after, int batchSize);
+
+    /**
+     * Removes audit entries with event date earlier than the given one.
+     *
+     * @param before event date limit
+     * @return number of audit entries removed
+     */
+    int purgeEntries(OffsetDateTime before);
+
     int countEntries(
             String entityKey,
             AuditElements.EventCategoryType type,
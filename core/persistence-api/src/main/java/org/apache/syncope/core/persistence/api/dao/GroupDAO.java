@@ -77,6 +77,38 @@ public interface GroupDAO extends AnyDAO<Group> {
 
     int countUDynMembers(Group group);
 
+    /**
+     * Bulk variant of {@link #countAMembers(String)}, meant for result pages.
+     *
+     * @param groupKeys group keys
+     * @return static any object membership count, for each of the given group keys having at least one member
+     */
+    Map<String, Integer> countAMembers(Collection<String> groupKeys);
+
+    /**
+     * Bulk variant of {@link #countUMembers(String)}, meant for result pages.
+     *
+     * @param groupKeys group keys
+     * @return static user membership count, for each of the given group keys having at least one member
+     */
+    Map<String, Integer> countUMembers(Collection<String> groupKeys);
+
+    /**
+     * Bulk variant of {@link #countADynMembers(Group)}, meant for result pages.
+     *
+     * @param groupKeys group keys
+     * @return dynamic any object membership count, for each of the given group keys having at least one member
+     */
+    Map<String, Integer> countADynMembers(Collection<String> groupKeys);
+
+    /**
+     * Bulk variant of {@link #countUDynMembers(Group)}, meant for result pages.
+     *
+     * @param groupKeys group keys
+     * @return dynamic user membership count, for each of the given group keys having at least one member
+     */
+    Map<String, Integer> countUDynMembers(Collection<String> groupKeys);
+
     @Override
     Collection<String> findAllResourceKeys(String key);
 
@@ -119,7 +151,17 @@ public interface GroupDAO extends AnyDAO<Group> {
     Set<String> removeDynMemberships(User user);
 
     /**
-     * Saves the provided group and refreshes all User and AnyObject members.
+     * Rebuilds the dynamic User and AnyObject members of the given group, only writing and notifying the members
+     * added or removed since the last rebuild.
+     *
+     * @param group group
+     * @return pair of members added and removed
+     */
+    Pair<Set<String>, Set<String>> refreshDynMembers(Group group);
+
+    /**
+     * Saves the provided group and refreshes all User and AnyObject members, either in the same transaction or, if
+     * so configured, as a background job started after commit.
      *
      * @param group group to save
      * @return merged group
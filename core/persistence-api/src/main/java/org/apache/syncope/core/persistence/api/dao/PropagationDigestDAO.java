@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import org.apache.syncope.core.persistence.api.entity.PropagationDigest;
+
+public interface PropagationDigestDAO extends DAO<PropagationDigest> {
+
+    /**
+     * Builds the key for the digest of the given remote object on the given resource.
+     *
+     * @param resource resource
+     * @param connObjectKey remote object key
+     * @return digest key
+     */
+    static String key(final String resource, final String connObjectKey) {
+        return UUID.nameUUIDFromBytes((resource + '/' + connObjectKey).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    Optional<PropagationDigest> find(String resource, String connObjectKey);
+
+    PropagationDigest save(PropagationDigest digest);
+
+    void delete(String resource, String connObjectKey);
+
+    /**
+     * Removes all the digests for the given resource.
+     *
+     * @param resource resource
+     * @return number of digests removed
+     */
+    int deleteByResource(String resource);
+}
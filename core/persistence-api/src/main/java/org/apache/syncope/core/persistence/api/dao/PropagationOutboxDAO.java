@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+
+public interface PropagationOutboxDAO extends DAO<PropagationOutboxEntry> {
+
+    long count();
+
+    PropagationOutboxEntry save(PropagationOutboxEntry entry);
+
+    void delete(PropagationOutboxEntry entry);
+
+    /**
+     * Finds the (resource, group key) pairs having entries which are due and not claimed, oldest first; groups holding
+     * dead letters are skipped.
+     *
+     * @param now reference time
+     * @param max maximum number of pairs to return
+     * @return (resource, group key) pairs
+     */
+    List<Pair<String, String>> findDueGroups(OffsetDateTime now, int max);
+
+    /**
+     * Claims all the entries for the given resource and group key, unless any of them is currently claimed by another
+     * owner.
+     *
+     * @param resource resource
+     * @param groupKey group key
+     * @param owner claiming owner
+     * @param now reference time
+     * @param leaseExpiry time until which the claim holds
+     * @return claimed entries, in the order they were enqueued; empty if the group is claimed by another owner
+     */
+    List<PropagationOutboxEntry> claim(
+            String resource, String groupKey, String owner, OffsetDateTime now, OffsetDateTime leaseExpiry);
+
+    /**
+     * Releases the claims held by the given owner on the entries for the given resource and group key.
+     *
+     * @param resource resource
+     * @param groupKey group key
+     * @param owner claiming owner
+     */
+    void release(String resource, String groupKey, String owner);
+
+    /**
+     * Finds the entries given up after the maximum number of attempts, oldest first.
+     *
+     * @param max maximum number of entries to return
+     * @return dead letters
+     */
+    List<PropagationOutboxEntry> findDeadLetters(int max);
+
+    /**
+     * Schedules again the dead letters for the given resource and group key, thus resuming the group.
+     *
+     * @param resource resource
+     * @param groupKey group key
+     * @param now time of the next attempt
+     * @return number of dead letters scheduled again
+     */
+    int retryDeadLetters(String resource, String groupKey, OffsetDateTime now);
+}
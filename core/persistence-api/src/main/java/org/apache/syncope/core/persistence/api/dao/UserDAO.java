@@ -62,10 +62,26 @@ public interface UserDAO extends AnyDAO<User> {
 
     List<Role> findDynRoles(String key);
 
+    /**
+     * Bulk variant of {@link #findDynRoles(String)}, meant for result pages.
+     *
+     * @param keys user keys
+     * @return dynamic roles, for each of the given user keys having at least one
+     */
+    Map<String, List<Role>> findDynRoles(Collection<String> keys);
+
     Collection<Role> findAllRoles(User user);
 
     List<Group> findDynGroups(String key);
 
+    /**
+     * Bulk variant of {@link #findDynGroups(String)}, meant for result pages.
+     *
+     * @param keys user keys
+     * @return dynamic groups, for each of the given user keys having at least one
+     */
+    Map<String, List<Group>> findDynGroups(Collection<String> keys);
+
     Collection<Group> findAllGroups(User user);
 
     Collection<String> findAllGroupKeys(User user);
@@ -74,6 +90,15 @@ public interface UserDAO extends AnyDAO<User> {
 
     Collection<ExternalResource> findAllResources(User user);
 
+    /**
+     * Find users' keys and usernames, following the given key; meant for scanning all users in batches.
+     *
+     * @param lastKey key of the last user seen so far, or null to start from the beginning
+     * @param itemsPerPage maximum number of users to return
+     * @return key / username pairs of the users following the given key, sorted by key
+     */
+    List<Pair<String, String>> findAllUsernames(String lastKey, int itemsPerPage);
+
     boolean linkedAccountExists(String userKey, String connObjectKeyValue);
 
     Optional<? extends LinkedAccount> findLinkedAccount(ExternalResource resource, String connObjectKeyValue);
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.entity;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Trace of a deleted user, group or any object, for incremental push tasks to propagate its deletion.
+ */
+public interface AnyTombstone extends Entity {
+
+    String getAnyType();
+
+    void setAnyType(String anyType);
+
+    String getAnyKey();
+
+    void setAnyKey(String anyKey);
+
+    /**
+     * @return username for users, name for groups and any objects
+     */
+    String getName();
+
+    void setName(String name);
+
+    /**
+     * @return full path of the realm the deleted entity belonged to
+     */
+    String getRealm();
+
+    void setRealm(String realm);
+
+    OffsetDateTime getDeletionDate();
+
+    void setDeletionDate(OffsetDateTime deletionDate);
+}
@@ -25,6 +25,7 @@ import org.apache.syncope.common.lib.to.OrgUnit;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.PropagationRejectionPolicy;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
@@ -96,6 +97,22 @@ public interface ExternalResource extends ProvidedKeyEntity {
 
     void setPropagationPriority(Integer priority);
 
+    Integer getPropagationConcurrency();
+
+    void setPropagationConcurrency(Integer propagationConcurrency);
+
+    Integer getPropagationQueueCapacity();
+
+    void setPropagationQueueCapacity(Integer propagationQueueCapacity);
+
+    PropagationRejectionPolicy getPropagationRejectionPolicy();
+
+    void setPropagationRejectionPolicy(PropagationRejectionPolicy propagationRejectionPolicy);
+
+    boolean isPropagationDigest();
+
+    void setPropagationDigest(boolean propagationDigest);
+
     boolean isEnforceMandatoryCondition();
 
     void setEnforceMandatoryCondition(boolean enforce);
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.entity;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Digest of the attributes last propagated successfully to a remote object, for resources with propagation digest
+ * enabled.
+ */
+public interface PropagationDigest extends ProvidedKeyEntity {
+
+    String getResource();
+
+    void setResource(String resource);
+
+    String getConnObjectKey();
+
+    void setConnObjectKey(String connObjectKey);
+
+    /**
+     * @return digest of the values of each attribute last propagated, by (upper case) attribute name
+     */
+    Map<String, String> getAttributes();
+
+    void setAttributes(Map<String, String> attributes);
+
+    /**
+     * @return the last time the digest was rebuilt by a propagation which was not checked against it
+     */
+    OffsetDateTime getVerified();
+
+    void setVerified(OffsetDateTime verified);
+
+    OffsetDateTime getUpdated();
+
+    void setUpdated(OffsetDateTime updated);
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.entity.task;
+
+import java.time.OffsetDateTime;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+
+/**
+ * Propagation waiting in the durable outbox to be executed.
+ */
+public interface PropagationOutboxEntry extends Entity {
+
+    String getResource();
+
+    void setResource(String resource);
+
+    ResourceOperation getOperation();
+
+    void setOperation(ResourceOperation operation);
+
+    String getObjectClassName();
+
+    void setObjectClassName(String objectClassName);
+
+    AnyTypeKind getAnyTypeKind();
+
+    void setAnyTypeKind(AnyTypeKind anyTypeKind);
+
+    String getAnyType();
+
+    void setAnyType(String anyType);
+
+    String getEntityKey();
+
+    void setEntityKey(String entityKey);
+
+    String getConnObjectKey();
+
+    void setConnObjectKey(String connObjectKey);
+
+    String getOldConnObjectKey();
+
+    void setOldConnObjectKey(String oldConnObjectKey);
+
+    /**
+     * Entries with same resource and group key are executed in order; the group key is the entity key, so that order
+     * holds also when the connObjectKey is changed, or the connObjectKey if no entity key is available.
+     *
+     * @return group key
+     */
+    String getGroupKey();
+
+    PropagationData getPropagationData();
+
+    void setPropagationData(PropagationData propagationData);
+
+    String getExecutor();
+
+    void setExecutor(String executor);
+
+    OffsetDateTime getEnqueued();
+
+    void setEnqueued(OffsetDateTime enqueued);
+
+    int getAttempts();
+
+    void setAttempts(int attempts);
+
+    OffsetDateTime getNextAttempt();
+
+    void setNextAttempt(OffsetDateTime nextAttempt);
+
+    /**
+     * Entries given up after the maximum number of attempts are kept as dead letters, holding back the rest of their
+     * group until retried or removed.
+     *
+     * @return whether this entry was given up
+     */
+    boolean isDeadLetter();
+
+    void setDeadLetter(boolean deadLetter);
+}
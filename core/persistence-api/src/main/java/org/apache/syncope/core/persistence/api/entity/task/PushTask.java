@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.entity.task;
 
+import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -31,4 +32,21 @@ public interface PushTask extends ProvisioningTask<PushTask> {
     Optional<String> getFilter(String anyType);
 
     Map<String, String> getFilters();
+
+    void setIncremental(boolean incremental);
+
+    /**
+     * @return whether only the entities changed since the previous execution shall be pushed
+     */
+    boolean isIncremental();
+
+    /**
+     * @param anyType any type
+     * @return the date up to which changes to entities of the given any type were pushed, if any
+     */
+    Optional<OffsetDateTime> getWatermark(String anyType);
+
+    void setWatermark(String anyType, OffsetDateTime watermark);
+
+    void clearWatermarks();
 }
@@ -35,6 +35,8 @@ import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.AllowedSchemasCache;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipIndex;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONAnyObjectDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONGroupDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONPlainAttrDAO;
@@ -61,6 +63,7 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO,
             final @Lazy JPAJSONAnyDAO anyDAO) {
@@ -70,6 +73,7 @@ public abstract class JPAJSONPersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 userDAO,
                 groupDAO,
                 anyDAO);
@@ -83,12 +87,15 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final @Lazy AnyMatchDAO anyMatchDAO,
             final @Lazy PlainAttrDAO plainAttrDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy AnyObjectDAO anyObjectDAO,
             final @Lazy AnySearchDAO anySearchDAO,
             final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex,
+            final PersistenceProperties persistenceProperties,
             final @Lazy JPAJSONAnyDAO anyDAO) {
 
         return new JPAJSONGroupDAO(
@@ -97,12 +104,15 @@ public abstract class JPAJSONPersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 anyMatchDAO,
                 plainAttrDAO,
                 userDAO,
                 anyObjectDAO,
                 anySearchDAO,
                 searchCondVisitor,
+                dynMembershipIndex,
+                persistenceProperties.isAsyncDynMembersRefresh(),
                 anyDAO);
     }
 
@@ -125,6 +135,7 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final @Lazy RoleDAO roleDAO,
             final @Lazy AccessTokenDAO accessTokenDAO,
             final @Lazy GroupDAO groupDAO,
@@ -137,6 +148,7 @@ public abstract class JPAJSONPersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 roleDAO,
                 accessTokenDAO,
                 groupDAO,
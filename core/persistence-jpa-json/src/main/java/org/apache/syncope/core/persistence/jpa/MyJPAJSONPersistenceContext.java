@@ -32,6 +32,7 @@ import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.jpa.dao.JPAQueryPlanCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.MyJPAJSONAnyDAO;
 import org.apache.syncope.core.persistence.jpa.dao.MyJPAJSONAnySearchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.MyJPAJSONAuditConfDAO;
@@ -39,6 +40,7 @@ import org.apache.syncope.core.persistence.jpa.dao.MyJPAJSONPlainSchemaDAO;
 import org.apache.syncope.core.persistence.jpa.entity.MyJPAJSONEntityFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
 
@@ -68,7 +70,8 @@ public class MyJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO schemaDAO,
             final @Lazy EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         return new MyJPAJSONAnySearchDAO(
                 realmDAO,
@@ -79,13 +82,14 @@ public class MyJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
                 schemaDAO,
                 entityFactory,
                 anyUtilsFactory,
-                validator);
+                validator,
+                queryPlanCacheDAO);
     }
 
     @ConditionalOnMissingBean(name = "myJPAJSONAuditConfDAO")
     @Bean
-    public AuditConfDAO auditConfDAO() {
-        return new MyJPAJSONAuditConfDAO();
+    public AuditConfDAO auditConfDAO(final PersistenceProperties persistenceProperties) {
+        return new MyJPAJSONAuditConfDAO(persistenceProperties.isStructuredAuditSearch());
     }
 
     @ConditionalOnMissingBean(name = "myJPAJSONPlainSchemaDAO")
@@ -93,8 +97,9 @@ public class MyJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
     public PlainSchemaDAO plainSchemaDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final @Lazy PlainAttrDAO plainAttrDAO,
-            final @Lazy ExternalResourceDAO resourceDAO) {
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
-        return new MyJPAJSONPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO);
+        return new MyJPAJSONPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO, publisher);
     }
 }
@@ -32,6 +32,7 @@ import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.jpa.dao.JPAQueryPlanCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.OJPAJSONAnyDAO;
 import org.apache.syncope.core.persistence.jpa.dao.OJPAJSONAnySearchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.OJPAJSONAuditConfDAO;
@@ -39,6 +40,7 @@ import org.apache.syncope.core.persistence.jpa.dao.OJPAJSONPlainSchemaDAO;
 import org.apache.syncope.core.persistence.jpa.entity.OJPAJSONEntityFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
 
@@ -68,7 +70,8 @@ public class OJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO schemaDAO,
             final @Lazy EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         return new OJPAJSONAnySearchDAO(
                 realmDAO,
@@ -79,13 +82,14 @@ public class OJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
                 schemaDAO,
                 entityFactory,
                 anyUtilsFactory,
-                validator);
+                validator,
+                queryPlanCacheDAO);
     }
 
     @ConditionalOnMissingBean(name = "oJPAJSONAuditConfDAO")
     @Bean
-    public AuditConfDAO auditConfDAO() {
-        return new OJPAJSONAuditConfDAO();
+    public AuditConfDAO auditConfDAO(final PersistenceProperties persistenceProperties) {
+        return new OJPAJSONAuditConfDAO(persistenceProperties.isStructuredAuditSearch());
     }
 
     @ConditionalOnMissingBean(name = "oJPAJSONPlainSchemaDAO")
@@ -93,8 +97,9 @@ public class OJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
     public PlainSchemaDAO plainSchemaDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final @Lazy PlainAttrDAO plainAttrDAO,
-            final @Lazy ExternalResourceDAO resourceDAO) {
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
-        return new OJPAJSONPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO);
+        return new OJPAJSONPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO, publisher);
     }
 }
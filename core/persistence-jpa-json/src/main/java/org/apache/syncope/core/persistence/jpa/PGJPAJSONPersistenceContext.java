@@ -32,6 +32,7 @@ import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.jpa.dao.JPAQueryPlanCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.PGJPAJSONAnyDAO;
 import org.apache.syncope.core.persistence.jpa.dao.PGJPAJSONAnySearchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.PGJPAJSONAuditConfDAO;
@@ -39,6 +40,7 @@ import org.apache.syncope.core.persistence.jpa.dao.PGJPAJSONPlainSchemaDAO;
 import org.apache.syncope.core.persistence.jpa.entity.PGJPAJSONEntityFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
 
@@ -68,7 +70,8 @@ public class PGJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO schemaDAO,
             final @Lazy EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         return new PGJPAJSONAnySearchDAO(
                 realmDAO,
@@ -79,13 +82,14 @@ public class PGJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
                 schemaDAO,
                 entityFactory,
                 anyUtilsFactory,
-                validator);
+                validator,
+                queryPlanCacheDAO);
     }
 
     @ConditionalOnMissingBean(name = "pgJPAJSONAuditConfDAO")
     @Bean
-    public AuditConfDAO auditConfDAO() {
-        return new PGJPAJSONAuditConfDAO();
+    public AuditConfDAO auditConfDAO(final PersistenceProperties persistenceProperties) {
+        return new PGJPAJSONAuditConfDAO(persistenceProperties.isStructuredAuditSearch());
     }
 
     @ConditionalOnMissingBean(name = "pgJPAJSONPlainSchemaDAO")
@@ -93,8 +97,9 @@ public class PGJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
     public PlainSchemaDAO plainSchemaDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final @Lazy PlainAttrDAO plainAttrDAO,
-            final @Lazy ExternalResourceDAO resourceDAO) {
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
-        return new PGJPAJSONPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO);
+        return new PGJPAJSONPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO, publisher);
     }
 }
@@ -122,4 +122,8 @@ public abstract class AbstractJPAJSONLoggerDAO extends JPAAuditConfDAO {
             return doBuild(containers);
         }
     }
+
+    protected AbstractJPAJSONLoggerDAO(final boolean structuredSearch) {
+        super(structuredSearch);
+    }
 }
@@ -27,15 +27,17 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.APlainAttr;
 import org.apache.syncope.core.persistence.api.entity.group.GPlainAttr;
+import org.springframework.context.ApplicationEventPublisher;
 
 abstract class AbstractJPAJSONPlainSchemaDAO extends JPAPlainSchemaDAO {
 
     protected AbstractJPAJSONPlainSchemaDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrDAO plainAttrDAO,
-            final ExternalResourceDAO resourceDAO) {
+            final ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
-        super(anyUtilsFactory, plainAttrDAO, resourceDAO);
+        super(anyUtilsFactory, plainAttrDAO, resourceDAO, publisher);
     }
 
     @Override
@@ -34,6 +34,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrUniqueValue;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.jpa.dao.AllowedSchemasCache;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAJSONAnyObject;
 
 public class JPAJSONAnyObjectDAO extends JPAAnyObjectDAO {
@@ -45,11 +46,12 @@ public class JPAJSONAnyObjectDAO extends JPAAnyObjectDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final UserDAO userDAO,
             final GroupDAO groupDAO,
             final JPAJSONAnyDAO anyDAO) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, userDAO, groupDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, allowedSchemasCache, userDAO, groupDAO);
         this.anyDAO = anyDAO;
     }
 
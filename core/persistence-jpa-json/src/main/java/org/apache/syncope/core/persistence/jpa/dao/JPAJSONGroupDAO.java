@@ -36,6 +36,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.AllowedSchemasCache;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -49,12 +50,15 @@ public class JPAJSONGroupDAO extends JPAGroupDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final AnyMatchDAO anyMatchDAO,
             final PlainAttrDAO plainAttrDAO,
             final UserDAO userDAO,
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex,
+            final boolean asyncDynMembersRefresh,
             final JPAJSONAnyDAO anyDAO) {
 
         super(anyUtilsFactory,
@@ -62,12 +66,15 @@ public class JPAJSONGroupDAO extends JPAGroupDAO {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 anyMatchDAO,
                 plainAttrDAO,
                 userDAO,
                 anyObjectDAO,
                 searchDAO,
-                searchCondVisitor);
+                searchCondVisitor,
+                dynMembershipIndex,
+                asyncDynMembersRefresh);
         this.anyDAO = anyDAO;
     }
 
@@ -37,6 +37,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrUniqueValue;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.dao.AllowedSchemasCache;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAJSONUser;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 
@@ -49,6 +50,7 @@ public class JPAJSONUserDAO extends JPAUserDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final RoleDAO roleDAO,
             final AccessTokenDAO accessTokenDAO,
             final GroupDAO groupDAO,
@@ -61,6 +63,7 @@ public class JPAJSONUserDAO extends JPAUserDAO {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 roleDAO,
                 accessTokenDAO,
                 groupDAO,
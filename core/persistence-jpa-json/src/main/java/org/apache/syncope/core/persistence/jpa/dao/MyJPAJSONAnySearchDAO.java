@@ -56,7 +56,8 @@ public class MyJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             final PlainSchemaDAO schemaDAO,
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         super(
                 realmDAO,
@@ -67,7 +68,18 @@ public class MyJPAJSONAnySearchDAO extends JPAAnySearchDAO {
                 schemaDAO,
                 entityFactory,
                 anyUtilsFactory,
-                validator);
+                validator,
+                queryPlanCacheDAO);
+    }
+
+    @Override
+    protected boolean isQueryPlanCacheable() {
+        return false;
+    }
+
+    @Override
+    protected boolean isProjectionFromViews() {
+        return false;
     }
 
     @Override
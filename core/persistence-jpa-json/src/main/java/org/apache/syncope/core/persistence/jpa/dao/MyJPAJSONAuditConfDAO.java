@@ -52,6 +52,10 @@ public class MyJPAJSONAuditConfDAO extends AbstractJPAJSONLoggerDAO {
         }
     }
 
+    public MyJPAJSONAuditConfDAO(final boolean structuredSearch) {
+        super(structuredSearch);
+    }
+
     @Override
     protected MessageCriteriaBuilder messageCriteriaBuilder(final String entityKey) {
         return new MyMessageCriteriaBuilder().entityKey(entityKey);
@@ -53,7 +53,8 @@ public class OJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             final PlainSchemaDAO schemaDAO,
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         super(
                 realmDAO,
@@ -64,7 +65,18 @@ public class OJPAJSONAnySearchDAO extends JPAAnySearchDAO {
                 schemaDAO,
                 entityFactory,
                 anyUtilsFactory,
-                validator);
+                validator,
+                queryPlanCacheDAO);
+    }
+
+    @Override
+    protected boolean isQueryPlanCacheable() {
+        return false;
+    }
+
+    @Override
+    protected boolean isProjectionFromViews() {
+        return false;
     }
 
     @Override
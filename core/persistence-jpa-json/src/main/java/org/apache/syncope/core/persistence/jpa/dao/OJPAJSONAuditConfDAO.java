@@ -72,6 +72,10 @@ public class OJPAJSONAuditConfDAO extends AbstractJPAJSONLoggerDAO {
         }
     }
 
+    public OJPAJSONAuditConfDAO(final boolean structuredSearch) {
+        super(structuredSearch);
+    }
+
     @Override
     protected MessageCriteriaBuilder messageCriteriaBuilder(final String entityKey) {
         return new OMessageCriteriaBuilder().entityKey(entityKey);
@@ -54,7 +54,6 @@ import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
@@ -91,7 +90,8 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             final PlainSchemaDAO schemaDAO,
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         super(
                 realmDAO,
@@ -102,7 +102,18 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
                 schemaDAO,
                 entityFactory,
                 anyUtilsFactory,
-                validator);
+                validator,
+                queryPlanCacheDAO);
+    }
+
+    @Override
+    protected boolean isQueryPlanCacheable() {
+        return false;
+    }
+
+    @Override
+    protected boolean isProjectionFromViews() {
+        return false;
     }
 
     @Override
@@ -641,6 +652,31 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
         return "realm_id IN (" + realmKeysArg + ')';
     }
 
+    @Override
+    protected String buildKeysQuery(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind,
+            final List<Object> parameters) {
+
+        SearchSupport svs = buildSearchSupport(kind);
+
+        Triple<String, Set<String>, Set<String>> filter =
+                getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
+
+        Pair<StringBuilder, Set<String>> queryInfo =
+                getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
+
+        StringBuilder queryString =
+                new StringBuilder("SELECT ").append(svs.table().alias).append(".id AS any_id");
+
+        buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, null);
+
+        return queryString.toString();
+    }
+
     @Override
     protected int doCount(
             final Realm base,
@@ -671,8 +707,7 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> doSearch(
+    protected List<String> doSearchKeys(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
@@ -723,7 +758,7 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             fillWithParameters(query, parameters);
 
             // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
+            return toKeys(query.getResultList());
         } catch (SyncopeClientException e) {
             throw e;
         } catch (Exception e) {
@@ -53,6 +53,10 @@ public class PGJPAJSONAuditConfDAO extends AbstractJPAJSONLoggerDAO {
         }
     }
 
+    public PGJPAJSONAuditConfDAO(final boolean structuredSearch) {
+        super(structuredSearch);
+    }
+
     @Override
     protected String select() {
         return AUDIT_ENTRY_MESSAGE_COLUMN + "::text";
@@ -20,6 +20,26 @@ CREATE TABLE IF NOT EXISTS AuditEntry (
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE JSONB NOT NULL,
-  THROWABLE TEXT
+  THROWABLE TEXT,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  CATEGORY VARCHAR(255),
+  SUBCATEGORY VARCHAR(255),
+  EVENT VARCHAR(255),
+  RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 );
-CREATE INDEX AuditEntry_idx ON AuditEntry USING gin ((MESSAGE) jsonb_path_ops)
+CREATE INDEX AuditEntry_idx ON AuditEntry USING gin ((MESSAGE) jsonb_path_ops);
+
+-- structured columns, added for upgrades of existing tables; see AuditEntryMaintenance for backfilling
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS WHO VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS EVENT_TYPE VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS CATEGORY VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS SUBCATEGORY VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS EVENT VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS RESULT VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN IF NOT EXISTS ENTITY_KEY VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS AuditEntry_date_idx ON AuditEntry(EVENT_DATE);
+CREATE INDEX IF NOT EXISTS AuditEntry_entity_idx ON AuditEntry(ENTITY_KEY, EVENT_DATE);
+CREATE INDEX IF NOT EXISTS AuditEntry_event_idx ON AuditEntry(CATEGORY, EVENT, EVENT_DATE);
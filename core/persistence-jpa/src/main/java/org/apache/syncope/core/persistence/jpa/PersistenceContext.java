@@ -31,6 +31,7 @@ import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyTombstoneDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeClassDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ApplicationDAO;
@@ -58,6 +59,8 @@ import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrValueDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RelationshipTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
@@ -68,6 +71,7 @@ import org.apache.syncope.core.persistence.api.dao.SAML2IdPEntityDAO;
 import org.apache.syncope.core.persistence.api.dao.SAML2SPClientAppDAO;
 import org.apache.syncope.core.persistence.api.dao.SAML2SPEntityDAO;
 import org.apache.syncope.core.persistence.api.dao.SRARouteDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchTableDAO;
 import org.apache.syncope.core.persistence.api.dao.SecurityQuestionDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
@@ -82,12 +86,16 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
 import org.apache.syncope.core.persistence.jpa.attrvalue.validation.DefaultPlainAttrValidationManager;
 import org.apache.syncope.core.persistence.jpa.content.KeymasterConfParamLoader;
+import org.apache.syncope.core.persistence.jpa.content.SearchTableLoader;
 import org.apache.syncope.core.persistence.jpa.content.XMLContentExporter;
 import org.apache.syncope.core.persistence.jpa.content.XMLContentLoader;
+import org.apache.syncope.core.persistence.jpa.dao.AllowedSchemasCache;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipIndex;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAccessTokenDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyMatchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyObjectDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnyTombstoneDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyTypeClassDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyTypeDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAApplicationDAO;
@@ -115,6 +123,9 @@ import org.apache.syncope.core.persistence.jpa.dao.JPAPlainAttrDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAPlainAttrValueDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAPlainSchemaDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAPolicyDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAPropagationDigestDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAPropagationOutboxDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAQueryPlanCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPARealmDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPARelationshipTypeDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPARemediationDAO;
@@ -125,6 +136,8 @@ import org.apache.syncope.core.persistence.jpa.dao.JPASAML2IdPEntityDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPASAML2SPClientAppDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPASAML2SPEntityDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPASRARouteDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchTableAnySearchDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchTableDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPASecurityQuestionDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPATaskDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPATaskExecDAO;
@@ -228,6 +241,18 @@ public class PersistenceContext {
                 env);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public SearchTableLoader searchTableLoader(
+            final PersistenceProperties persistenceProperties,
+            final ResourceLoader resourceLoader,
+            final SearchTableDAO searchTableDAO) {
+
+        return new SearchTableLoader(
+                searchTableDAO,
+                resourceLoader.getResource(persistenceProperties.getSearchTablesXML()));
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public XMLContentExporter xmlContentExporter(final DomainHolder domainHolder, final RealmDAO realmDAO) {
@@ -311,8 +336,8 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public AccessTokenDAO accessTokenDAO() {
-        return new JPAAccessTokenDAO();
+    public AccessTokenDAO accessTokenDAO(final ApplicationEventPublisher publisher) {
+        return new JPAAccessTokenDAO(publisher);
     }
 
     @ConditionalOnMissingBean
@@ -349,6 +374,7 @@ public class PersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO) {
 
@@ -357,6 +383,7 @@ public class PersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 userDAO,
                 groupDAO);
     }
@@ -372,18 +399,51 @@ public class PersistenceContext {
             final PlainSchemaDAO schemaDAO,
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO,
+            final SearchTableDAO searchTableDAO) {
 
-        return new JPAAnySearchDAO(
-                realmDAO,
-                dynRealmDAO,
-                userDAO,
-                groupDAO,
-                anyObjectDAO,
-                schemaDAO,
-                entityFactory,
-                anyUtilsFactory,
-                validator);
+        return searchTableDAO.isEnabled()
+                ? new JPASearchTableAnySearchDAO(
+                        realmDAO,
+                        dynRealmDAO,
+                        userDAO,
+                        groupDAO,
+                        anyObjectDAO,
+                        schemaDAO,
+                        entityFactory,
+                        anyUtilsFactory,
+                        validator,
+                        queryPlanCacheDAO)
+                : new JPAAnySearchDAO(
+                        realmDAO,
+                        dynRealmDAO,
+                        userDAO,
+                        groupDAO,
+                        anyObjectDAO,
+                        schemaDAO,
+                        entityFactory,
+                        anyUtilsFactory,
+                        validator,
+                        queryPlanCacheDAO);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public SearchTableDAO searchTableDAO(final PersistenceProperties persistenceProperties) {
+        return new JPASearchTableDAO(persistenceProperties.isSearchTables());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public JPAQueryPlanCacheDAO queryPlanCacheDAO(final PersistenceProperties persistenceProperties) {
+        return new JPAQueryPlanCacheDAO(persistenceProperties.getQueryPlanCacheSpec());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public AllowedSchemasCache allowedSchemasCache(final PersistenceProperties persistenceProperties) {
+        return new AllowedSchemasCache(persistenceProperties.getAllowedSchemasCacheSpec());
     }
 
     @ConditionalOnMissingBean
@@ -400,15 +460,17 @@ public class PersistenceContext {
             final DerSchemaDAO derSchemaDAO,
             final VirSchemaDAO virSchemaDAO,
             final @Lazy GroupDAO groupDAO,
-            final ExternalResourceDAO resourceDAO) {
+            final ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
-        return new JPAAnyTypeClassDAO(anyTypeDAO, plainSchemaDAO, derSchemaDAO, virSchemaDAO, groupDAO, resourceDAO);
+        return new JPAAnyTypeClassDAO(
+                anyTypeDAO, plainSchemaDAO, derSchemaDAO, virSchemaDAO, groupDAO, resourceDAO, publisher);
     }
 
     @ConditionalOnMissingBean
     @Bean
-    public AuditConfDAO auditConfDAO() {
-        return new JPAAuditConfDAO();
+    public AuditConfDAO auditConfDAO(final PersistenceProperties persistenceProperties) {
+        return new JPAAuditConfDAO(persistenceProperties.isStructuredAuditSearch());
     }
 
     @ConditionalOnMissingBean
@@ -435,6 +497,27 @@ public class PersistenceContext {
         return new JPABatchDAO();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutboxDAO propagationOutboxDAO() {
+        return new JPAPropagationOutboxDAO();
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationDigestDAO propagationDigestDAO() {
+        return new JPAPropagationDigestDAO();
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public AnyTombstoneDAO anyTombstoneDAO(
+            final PersistenceProperties persistenceProperties,
+            final EntityFactory entityFactory) {
+
+        return new JPAAnyTombstoneDAO(persistenceProperties.isAnyTombstones(), entityFactory);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public CASSPClientAppDAO casSPClientAppDAO() {
@@ -461,8 +544,11 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public DerSchemaDAO derSchemaDAO(final @Lazy ExternalResourceDAO resourceDAO) {
-        return new JPADerSchemaDAO(resourceDAO);
+    public DerSchemaDAO derSchemaDAO(
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
+
+        return new JPADerSchemaDAO(resourceDAO, publisher);
     }
 
     @ConditionalOnMissingBean
@@ -474,7 +560,8 @@ public class PersistenceContext {
             final @Lazy AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final AnyMatchDAO anyMatchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex) {
 
         return new JPADynRealmDAO(
                 publisher,
@@ -483,7 +570,17 @@ public class PersistenceContext {
                 anyObjectDAO,
                 searchDAO,
                 anyMatchDAO,
-                searchCondVisitor);
+                searchCondVisitor,
+                dynMembershipIndex);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public DynMembershipIndex dynMembershipIndex(
+            final SearchCondVisitor searchCondVisitor,
+            final PersistenceProperties persistenceProperties) {
+
+        return new DynMembershipIndex(searchCondVisitor, persistenceProperties.getDynMembershipCondCacheSpec());
     }
 
     @ConditionalOnMissingBean
@@ -494,12 +591,15 @@ public class PersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final AnyMatchDAO anyMatchDAO,
             final PlainAttrDAO plainAttrDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy AnyObjectDAO anyObjectDAO,
             final AnySearchDAO anySearchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex,
+            final PersistenceProperties persistenceProperties) {
 
         return new JPAGroupDAO(
                 anyUtilsFactory,
@@ -507,12 +607,15 @@ public class PersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 anyMatchDAO,
                 plainAttrDAO,
                 userDAO,
                 anyObjectDAO,
                 anySearchDAO,
-                searchCondVisitor);
+                searchCondVisitor,
+                dynMembershipIndex,
+                persistenceProperties.isAsyncDynMembersRefresh());
     }
 
     @ConditionalOnMissingBean
@@ -571,9 +674,10 @@ public class PersistenceContext {
     public PlainSchemaDAO plainSchemaDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrDAO plainAttrDAO,
-            final @Lazy ExternalResourceDAO resourceDAO) {
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
-        return new JPAPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO);
+        return new JPAPlainSchemaDAO(anyUtilsFactory, plainAttrDAO, resourceDAO, publisher);
     }
 
     @ConditionalOnMissingBean
@@ -634,9 +738,11 @@ public class PersistenceContext {
             final GroupDAO groupDAO,
             final PolicyDAO policyDAO,
             final VirSchemaDAO virSchemaDAO,
-            final RealmDAO realmDAO) {
+            final RealmDAO realmDAO,
+            final PropagationDigestDAO propagationDigestDAO) {
 
-        return new JPAExternalResourceDAO(taskDAO, anyObjectDAO, userDAO, groupDAO, policyDAO, virSchemaDAO, realmDAO);
+        return new JPAExternalResourceDAO(
+                taskDAO, anyObjectDAO, userDAO, groupDAO, policyDAO, virSchemaDAO, realmDAO, propagationDigestDAO);
     }
 
     @ConditionalOnMissingBean
@@ -646,9 +752,11 @@ public class PersistenceContext {
             final @Lazy AnyMatchDAO anyMatchDAO,
             final @Lazy AnySearchDAO anySearchDAO,
             final DelegationDAO delegationDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex) {
 
-        return new JPARoleDAO(anyMatchDAO, publisher, anySearchDAO, delegationDAO, searchCondVisitor);
+        return new JPARoleDAO(
+                anyMatchDAO, publisher, anySearchDAO, delegationDAO, searchCondVisitor, dynMembershipIndex);
     }
 
     @ConditionalOnMissingBean
@@ -706,6 +814,7 @@ public class PersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final RoleDAO roleDAO,
             final AccessTokenDAO accessTokenDAO,
             final @Lazy GroupDAO groupDAO,
@@ -717,6 +826,7 @@ public class PersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                allowedSchemasCache,
                 roleDAO,
                 accessTokenDAO,
                 groupDAO,
@@ -727,8 +837,11 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public VirSchemaDAO virSchemaDAO(final @Lazy ExternalResourceDAO resourceDAO) {
-        return new JPAVirSchemaDAO(resourceDAO);
+    public VirSchemaDAO virSchemaDAO(
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
+
+        return new JPAVirSchemaDAO(resourceDAO, publisher);
     }
 
     @ConditionalOnMissingBean
@@ -34,6 +34,22 @@ public class PersistenceProperties {
 
     private String indexesXML = "classpath:indexes.xml";
 
+    private String queryPlanCacheSpec = "maximumSize=1000,recordStats";
+
+    private String allowedSchemasCacheSpec = "maximumSize=1000";
+
+    private String dynMembershipCondCacheSpec = "maximumSize=5000";
+
+    private boolean asyncDynMembersRefresh = false;
+
+    private boolean searchTables = false;
+
+    private boolean structuredAuditSearch = true;
+
+    private boolean anyTombstones = false;
+
+    private String searchTablesXML = "classpath:searchTables.xml";
+
     @NestedConfigurationProperty
     private final List<DomainProperties> domain = new ArrayList<>();
 
@@ -69,6 +85,70 @@ public class PersistenceProperties {
         this.indexesXML = indexesXML;
     }
 
+    public String getQueryPlanCacheSpec() {
+        return queryPlanCacheSpec;
+    }
+
+    public void setQueryPlanCacheSpec(final String queryPlanCacheSpec) {
+        this.queryPlanCacheSpec = queryPlanCacheSpec;
+    }
+
+    public String getAllowedSchemasCacheSpec() {
+        return allowedSchemasCacheSpec;
+    }
+
+    public void setAllowedSchemasCacheSpec(final String allowedSchemasCacheSpec) {
+        this.allowedSchemasCacheSpec = allowedSchemasCacheSpec;
+    }
+
+    public String getDynMembershipCondCacheSpec() {
+        return dynMembershipCondCacheSpec;
+    }
+
+    public void setDynMembershipCondCacheSpec(final String dynMembershipCondCacheSpec) {
+        this.dynMembershipCondCacheSpec = dynMembershipCondCacheSpec;
+    }
+
+    public boolean isAsyncDynMembersRefresh() {
+        return asyncDynMembersRefresh;
+    }
+
+    public void setAsyncDynMembersRefresh(final boolean asyncDynMembersRefresh) {
+        this.asyncDynMembersRefresh = asyncDynMembersRefresh;
+    }
+
+    public boolean isStructuredAuditSearch() {
+        return structuredAuditSearch;
+    }
+
+    public void setStructuredAuditSearch(final boolean structuredAuditSearch) {
+        this.structuredAuditSearch = structuredAuditSearch;
+    }
+
+    public boolean isAnyTombstones() {
+        return anyTombstones;
+    }
+
+    public void setAnyTombstones(final boolean anyTombstones) {
+        this.anyTombstones = anyTombstones;
+    }
+
+    public boolean isSearchTables() {
+        return searchTables;
+    }
+
+    public void setSearchTables(final boolean searchTables) {
+        this.searchTables = searchTables;
+    }
+
+    public String getSearchTablesXML() {
+        return searchTablesXML;
+    }
+
+    public void setSearchTablesXML(final String searchTablesXML) {
+        this.searchTablesXML = searchTablesXML;
+    }
+
     public List<DomainProperties> getDomain() {
         return domain;
     }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.content;
+
+import java.io.IOException;
+import java.util.Properties;
+import javax.sql.DataSource;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.SyncopeCoreLoader;
+import org.apache.syncope.core.persistence.api.dao.SearchTableDAO;
+import org.apache.syncope.core.persistence.jpa.dao.SearchTableSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Create and fill the search tables, when enabled and not found.
+ */
+public class SearchTableLoader implements SyncopeCoreLoader {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(SearchTableLoader.class);
+
+    protected final SearchTableDAO searchTableDAO;
+
+    protected final Resource searchTablesXML;
+
+    public SearchTableLoader(final SearchTableDAO searchTableDAO, final Resource searchTablesXML) {
+        this.searchTableDAO = searchTableDAO;
+        this.searchTablesXML = searchTablesXML;
+    }
+
+    @Override
+    public int getOrder() {
+        return 450;
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        if (!searchTableDAO.isEnabled()) {
+            return;
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
+
+        String probe = new SearchTableSupport(AnyTypeKind.USER).attr().name;
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(0) FROM " + probe, Integer.class);
+            LOG.info("[{}] Search tables found, leaving untouched", domain);
+            return;
+        } catch (DataAccessException e) {
+            LOG.info("[{}] Search tables not found, creating", domain);
+            LOG.debug("[{}] Could not access table {}", domain, probe, e);
+        }
+
+        try {
+            createSearchTables(domain, jdbcTemplate);
+        } catch (IOException e) {
+            LOG.error("[{}] While creating search tables", domain, e);
+            return;
+        }
+
+        for (AnyTypeKind kind : AnyTypeKind.values()) {
+            SearchTableSupport sts = new SearchTableSupport(kind);
+            sts.searchTables().keySet().forEach(table -> {
+                try {
+                    int rows = jdbcTemplate.update(sts.insertFromView(table));
+                    LOG.debug("[{}] Filled search table {} with {} rows", domain, table, rows);
+                } catch (DataAccessException e) {
+                    LOG.error("[{}] Could not fill search table {}", domain, table, e);
+                }
+            });
+        }
+    }
+
+    protected void createSearchTables(final String domain, final JdbcTemplate jdbcTemplate) throws IOException {
+        Properties searchTables = PropertiesLoaderUtils.loadProperties(searchTablesXML);
+        searchTables.stringPropertyNames().stream().sorted().forEach(idx -> {
+            LOG.debug("[{}] Creating search table or index {}", domain, searchTables.get(idx).toString());
+            try {
+                jdbcTemplate.execute(searchTables.getProperty(idx).replaceAll("\\n", " "));
+            } catch (DataAccessException e) {
+                LOG.error("[{}] Could not create search table or index", domain, e);
+            }
+        });
+    }
+}
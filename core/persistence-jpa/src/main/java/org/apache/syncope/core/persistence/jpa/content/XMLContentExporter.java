@@ -77,6 +77,8 @@ import org.apache.syncope.core.persistence.api.content.ContentExporter;
 import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAnyTombstone;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPropagationDigest;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.apache.syncope.core.persistence.jpa.entity.JPAReportExec;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
@@ -86,6 +88,7 @@ import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttrVal
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAARelationship;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPANotificationTaskExec;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxEntry;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationTaskExec;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPullTaskExec;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPushTaskExec;
@@ -119,7 +122,8 @@ public class XMLContentExporter implements ContentExporter {
             JPAUser.TABLE, JPAUPlainAttr.TABLE, JPAUPlainAttrValue.TABLE,
             JPAUPlainAttrUniqueValue.TABLE, JPAURelationship.TABLE, JPAUMembership.TABLE,
             JPAAnyObject.TABLE, JPAAPlainAttr.TABLE, JPAAPlainAttrValue.TABLE, JPAAPlainAttrUniqueValue.TABLE,
-            JPAARelationship.TABLE, JPAAMembership.TABLE, JPAAccessToken.TABLE
+            JPAARelationship.TABLE, JPAAMembership.TABLE, JPAAccessToken.TABLE,
+            JPAPropagationOutboxEntry.TABLE, JPAPropagationDigest.TABLE, JPAAnyTombstone.TABLE
     ).collect(Collectors.toCollection(HashSet::new));
 
     protected static final Map<String, String> TABLES_TO_BE_FILTERED =
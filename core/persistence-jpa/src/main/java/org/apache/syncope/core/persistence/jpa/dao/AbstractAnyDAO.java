@@ -33,7 +33,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
 import org.apache.commons.jexl3.parser.Token;
@@ -63,12 +68,20 @@ import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAVirSchema;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
-import org.springframework.transaction.annotation.Propagation;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> implements AnyDAO<A> {
 
+    /**
+     * Maximum number of keys bound to a single IN clause, within the limits of all supported DBMSes.
+     */
+    protected static final int IN_CHUNK_SIZE = 500;
+
     protected final AnyUtilsFactory anyUtilsFactory;
 
     protected final PlainSchemaDAO plainSchemaDAO;
@@ -77,18 +90,22 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
 
     protected final DynRealmDAO dynRealmDAO;
 
+    protected final AllowedSchemasCache allowedSchemasCache;
+
     private AnyUtils anyUtils;
 
     public AbstractAnyDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
-            final DynRealmDAO dynRealmDAO) {
+            final DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache) {
 
         this.anyUtilsFactory = anyUtilsFactory;
         this.plainSchemaDAO = plainSchemaDAO;
         this.derSchemaDAO = derSchemaDAO;
         this.dynRealmDAO = dynRealmDAO;
+        this.allowedSchemasCache = allowedSchemasCache;
     }
 
     protected abstract AnyUtils init();
@@ -133,6 +150,22 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return result;
     }
 
+    protected List<String> findAllKeys(final String table, final String lastKey, final int itemsPerPage) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT id FROM " + table + (lastKey == null ? "" : " WHERE id>?") + " ORDER BY id", String.class);
+        if (lastKey != null) {
+            query.setParameter(1, lastKey);
+        }
+        query.setMaxResults(itemsPerPage);
+
+        List<String> result = new ArrayList<>();
+        query.getResultList().stream().map(resultKey -> resultKey instanceof Object[]
+                ? (String) ((Object[]) resultKey)[0]
+                : ((String) resultKey)).
+                forEach(actualKey -> result.add(actualKey.toString()));
+        return result;
+    }
+
     protected OffsetDateTime findLastChange(final String key, final String table) {
         OffsetDateTime creationDate = null;
         OffsetDateTime lastChangeDate = null;
@@ -466,54 +499,88 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return SearchCond.getLeaf(idCond);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    @Override
+    protected static Stream<String> schemaKeys(final AnyTypeClass typeClass, final Class<? extends Schema> reference) {
+        List<? extends Schema> schemas = List.of();
+        if (reference.equals(PlainSchema.class)) {
+            schemas = typeClass.getPlainSchemas();
+        } else if (reference.equals(DerSchema.class)) {
+            schemas = typeClass.getDerSchemas();
+        } else if (reference.equals(VirSchema.class)) {
+            schemas = typeClass.getVirSchemas();
+        }
+        return schemas.stream().map(Schema::getKey);
+    }
+
+    protected static String signature(final Collection<? extends AnyTypeClass> typeClasses) {
+        return typeClasses.stream().map(AnyTypeClass::getKey).sorted().collect(Collectors.joining(","));
+    }
+
     @SuppressWarnings("unchecked")
-    public <S extends Schema> AllowedSchemas<S> findAllowedSchemas(final A any, final Class<S> reference) {
-        AllowedSchemas<S> result = new AllowedSchemas<>();
+    protected <S extends Schema> Optional<S> findSchema(final String key, final Class<S> reference) {
+        Class<? extends Schema> entityReference = null;
+        if (reference.equals(PlainSchema.class)) {
+            entityReference = JPAPlainSchema.class;
+        } else if (reference.equals(DerSchema.class)) {
+            entityReference = JPADerSchema.class;
+        } else if (reference.equals(VirSchema.class)) {
+            entityReference = JPAVirSchema.class;
+        }
+        return Optional.ofNullable(entityReference).map(r -> (S) entityManager().find(r, key));
+    }
 
-        // schemas given by type and aux classes
+    @Transactional(readOnly = true)
+    @Override
+    public <S extends Schema> AllowedSchemas<S> findAllowedSchemas(final A any, final Class<S> reference) {
+        // type and aux classes
         Set<AnyTypeClass> typeOwnClasses = new HashSet<>();
         typeOwnClasses.addAll(any.getType().getClasses());
         typeOwnClasses.addAll(any.getAuxClasses());
 
-        typeOwnClasses.forEach(typeClass -> {
-            if (reference.equals(PlainSchema.class)) {
-                result.getForSelf().addAll((Collection<? extends S>) typeClass.getPlainSchemas());
-            } else if (reference.equals(DerSchema.class)) {
-                result.getForSelf().addAll((Collection<? extends S>) typeClass.getDerSchemas());
-            } else if (reference.equals(VirSchema.class)) {
-                result.getForSelf().addAll((Collection<? extends S>) typeClass.getVirSchemas());
-            }
-        });
-
-        // schemas given by type extensions
-        Map<Group, List<? extends AnyTypeClass>> typeExtensionClasses = new HashMap<>();
+        // type extensions
+        Map<String, Group> groups = new HashMap<>();
+        Map<String, List<? extends AnyTypeClass>> typeExtensionClasses = new TreeMap<>();
         if (any instanceof User) {
             ((User) any).getMemberships().forEach(memb -> memb.getRightEnd().getTypeExtensions().
-                    forEach(typeExt -> typeExtensionClasses.put(memb.getRightEnd(), typeExt.getAuxClasses())));
+                    forEach(typeExt -> {
+                        groups.put(memb.getRightEnd().getKey(), memb.getRightEnd());
+                        typeExtensionClasses.put(memb.getRightEnd().getKey(), typeExt.getAuxClasses());
+                    }));
         } else if (any instanceof AnyObject) {
             ((AnyObject) any).getMemberships().forEach(memb -> memb.getRightEnd().getTypeExtensions().stream().
                     filter(typeExt -> any.getType().equals(typeExt.getAnyType())).
-                    forEach(typeExt -> typeExtensionClasses.put(memb.getRightEnd(), typeExt.getAuxClasses())));
+                    forEach(typeExt -> {
+                        groups.put(memb.getRightEnd().getKey(), memb.getRightEnd());
+                        typeExtensionClasses.put(memb.getRightEnd().getKey(), typeExt.getAuxClasses());
+                    }));
         }
 
-        typeExtensionClasses.entrySet().stream().map(entry -> {
-            result.getForMemberships().put(entry.getKey(), new HashSet<>());
-            return entry;
-        }).forEach(entry -> entry.getValue().forEach(typeClass -> {
-            if (reference.equals(PlainSchema.class)) {
-                result.getForMemberships().get(entry.getKey()).
-                        addAll((Collection<? extends S>) typeClass.getPlainSchemas());
-            } else if (reference.equals(DerSchema.class)) {
-                result.getForMemberships().get(entry.getKey()).
-                        addAll((Collection<? extends S>) typeClass.getDerSchemas());
-            } else if (reference.equals(VirSchema.class)) {
-                result.getForMemberships().get(entry.getKey()).
-                        addAll((Collection<? extends S>) typeClass.getVirSchemas());
-            }
-        }));
+        // the signature carries the class keys, so changes to aux classes and type extensions lead to new entries
+        StringBuilder signature = new StringBuilder(AuthContextUtils.getDomain()).
+                append('|').append(reference.getSimpleName()).
+                append('|').append(signature(typeOwnClasses));
+        typeExtensionClasses.forEach((group, classes) -> signature.
+                append('|').append(group).append('=').append(signature(classes)));
+
+        AllowedSchemasCache.Entry entry = allowedSchemasCache.get(signature.toString(), k -> {
+            Set<String> forSelf = typeOwnClasses.stream().
+                    flatMap(typeClass -> schemaKeys(typeClass, reference)).
+                    collect(Collectors.toUnmodifiableSet());
+            Map<String, Set<String>> forMemberships = typeExtensionClasses.entrySet().stream().
+                    collect(Collectors.toUnmodifiableMap(
+                            Map.Entry::getKey,
+                            e -> e.getValue().stream().
+                                    flatMap(typeClass -> schemaKeys(typeClass, reference)).
+                                    collect(Collectors.toUnmodifiableSet())));
+            return new AllowedSchemasCache.Entry(forSelf, forMemberships);
+        });
 
+        AllowedSchemas<S> result = new AllowedSchemas<>();
+        entry.getForSelf().forEach(key -> findSchema(key, reference).ifPresent(result.getForSelf()::add));
+        groups.forEach((key, group) -> {
+            Set<S> forMembership = new HashSet<>();
+            entry.getForMembership(key).forEach(schema -> findSchema(schema, reference).ifPresent(forMembership::add));
+            result.getForMemberships().put(group, forMembership);
+        });
         return result;
     }
 
@@ -555,4 +622,92 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
                 });
         return result;
     }
+
+    /**
+     * Runs the given native query once per chunk of {@link #IN_CHUNK_SIZE} keys, binding each chunk to an IN clause
+     * placed between the given head and tail.
+     *
+     * @param head query part before the IN clause, ending with the column to match
+     * @param tail query part after the IN clause
+     * @param keys keys to match
+     * @return rows from all chunks
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Object[]> findInChunks(final String head, final String tail, final Collection<String> keys) {
+        List<Object[]> result = new ArrayList<>();
+
+        List<String> distinct = keys.stream().distinct().collect(Collectors.toList());
+        for (int i = 0; i < distinct.size(); i += IN_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(i, Math.min(i + IN_CHUNK_SIZE, distinct.size()));
+
+            Query query = entityManager().createNativeQuery(head + " IN ("
+                    + IntStream.rangeClosed(1, chunk.size()).mapToObj(n -> "?" + n).collect(Collectors.joining(","))
+                    + ')' + tail);
+            for (int n = 0; n < chunk.size(); n++) {
+                query.setParameter(n + 1, chunk.get(n));
+            }
+
+            result.addAll(query.getResultList());
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the given column of a dynamic membership table for all the given any keys.
+     *
+     * @param table dynamic membership table
+     * @param column column to read, besides any_id
+     * @param keys any keys
+     * @return column values, for each of the given any keys having at least one
+     */
+    protected Map<String, List<String>> findDynMembershipsByAny(
+            final String table, final String column, final Collection<String> keys) {
+
+        Map<String, List<String>> result = new HashMap<>();
+        findInChunks("SELECT any_id, " + column + " FROM " + table + " WHERE any_id", "", keys).forEach(row -> {
+            List<String> values = result.computeIfAbsent(row[0].toString(), k -> new ArrayList<>());
+            if (!values.contains(row[1].toString())) {
+                values.add(row[1].toString());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Resolves the given keys via the given finder, logging and skipping the ones not found.
+     *
+     * @param <E> entity type
+     * @param keysByAny keys to resolve, for each any key
+     * @param finder entity finder
+     * @return resolved entities, for each any key
+     */
+    protected static <E> Map<String, List<E>> resolve(
+            final Map<String, List<String>> keysByAny, final Function<String, E> finder) {
+
+        Map<String, E> resolved = new HashMap<>();
+        keysByAny.values().stream().flatMap(List::stream).distinct().forEach(key -> {
+            E entity = finder.apply(key);
+            if (entity == null) {
+                LOG.error("Could not find {}, even though returned by the native query", key);
+            } else {
+                resolved.put(key, entity);
+            }
+        });
+
+        Map<String, List<E>> result = new HashMap<>();
+        keysByAny.forEach((any, keys) -> result.put(any, keys.stream().
+                filter(resolved::containsKey).map(resolved::get).collect(Collectors.toList())));
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<String>> findDynRealms(final Collection<String> keys) {
+        Map<String, List<String>> result = new HashMap<>();
+        resolve(findDynMembershipsByAny(JPADynRealmDAO.DYNMEMB_TABLE, "dynRealm_id", keys), dynRealmDAO::find).
+                forEach((any, dynRealms) -> result.put(
+                any, dynRealms.stream().map(DynRealm::getKey).collect(Collectors.toList())));
+        return result;
+    }
 }
@@ -18,23 +18,36 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Transient;
 import jakarta.validation.ValidationException;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -55,11 +68,14 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.springframework.beans.BeanUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO {
@@ -152,6 +168,7 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
     protected abstract int doCount(
             Realm base, boolean recursive, Set<String> adminRealms, SearchCond cond, AnyTypeKind kind);
 
+    @Transactional(readOnly = true)
     @Override
     public int count(
             final Realm base,
@@ -160,14 +177,7 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             final SearchCond cond,
             final AnyTypeKind kind) {
 
-        if (CollectionUtils.isEmpty(adminRealms)) {
-            LOG.error("No realms provided");
-            return 0;
-        }
-
-        LOG.debug("Search condition:\n{}", cond);
-        if (cond == null || !cond.isValid()) {
-            LOG.error("Invalid search condition:\n{}", cond);
+        if (!isValid(adminRealms, cond)) {
             return 0;
         }
 
@@ -186,7 +196,7 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return search(realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, -1, -1, orderBy, kind);
     }
 
-    protected abstract <T extends Any<?>> List<T> doSearch(
+    protected abstract List<String> doSearchKeys(
             Realm base,
             boolean recursive,
             Set<String> adminRealms,
@@ -196,6 +206,27 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             List<OrderByClause> orderBy,
             AnyTypeKind kind);
 
+    /**
+     * Parses the expression of the given condition into the given value, for all condition types comparing values.
+     *
+     * @param schema schema
+     * @param cond condition
+     * @param attrValue value to parse the expression into
+     */
+    protected void validate(final PlainSchema schema, final AttrCond cond, final PlainAttrValue attrValue) {
+        if (cond.getType() != AttrCond.Type.LIKE
+                && cond.getType() != AttrCond.Type.ILIKE
+                && cond.getType() != AttrCond.Type.ISNULL
+                && cond.getType() != AttrCond.Type.ISNOTNULL) {
+
+            try {
+                validator.validate(schema, cond.getExpression(), attrValue);
+            } catch (ValidationException e) {
+                throw new IllegalArgumentException("Could not validate expression " + cond.getExpression());
+            }
+        }
+    }
+
     protected Pair<PlainSchema, PlainAttrValue> check(final AttrCond cond, final AnyTypeKind kind) {
         AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
 
@@ -207,17 +238,7 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         PlainAttrValue attrValue = schema.isUniqueConstraint()
                 ? anyUtils.newPlainAttrUniqueValue()
                 : anyUtils.newPlainAttrValue();
-        try {
-            if (cond.getType() != AttrCond.Type.LIKE
-                    && cond.getType() != AttrCond.Type.ILIKE
-                    && cond.getType() != AttrCond.Type.ISNULL
-                    && cond.getType() != AttrCond.Type.ISNOTNULL) {
-
-                validator.validate(schema, cond.getExpression(), attrValue);
-            }
-        } catch (ValidationException e) {
-            throw new IllegalArgumentException("Could not validate expression " + cond.getExpression());
-        }
+        validate(schema, cond, attrValue);
 
         return Pair.of(schema, attrValue);
     }
@@ -269,17 +290,7 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         }
 
         PlainAttrValue attrValue = anyUtils.newPlainAttrValue();
-        if (computed.getType() != AttrCond.Type.LIKE
-                && computed.getType() != AttrCond.Type.ILIKE
-                && computed.getType() != AttrCond.Type.ISNULL
-                && computed.getType() != AttrCond.Type.ISNOTNULL) {
-
-            try {
-                validator.validate(schema, computed.getExpression(), attrValue);
-            } catch (ValidationException e) {
-                throw new IllegalArgumentException("Could not validate expression " + computed.getExpression());
-            }
-        }
+        validate(schema, computed, attrValue);
 
         return Triple.of(schema, attrValue, computed);
     }
@@ -332,24 +343,62 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return memberKey;
     }
 
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind kind) {
-        List<String> keys = raw.stream().
+    protected static List<String> toKeys(final List<?> raw) {
+        return raw.stream().
                 map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : ((String) key)).
                 collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T extends Any<?>> List<T> buildResult(final List<String> keys, final AnyTypeKind kind) {
+        Map<String, Any<?>> anys = new HashMap<>(keys.size());
+        anyUtilsFactory.getInstance(kind).dao().findByKeys(keys).forEach(any -> anys.put(any.getKey(), any));
 
         // sort anys according to keys' sorting, as their ordering is same as raw, e.g. the actual sql query results
-        List<Any<?>> anys = anyUtilsFactory.getInstance(kind).dao().findByKeys(keys).stream().
-                sorted(Comparator.comparing(any -> keys.indexOf(any.getKey()))).collect(Collectors.toList());
+        List<T> result = new ArrayList<>(keys.size());
+        keys.forEach(key -> Optional.ofNullable(anys.get(key)).ifPresentOrElse(
+                any -> result.add((T) any),
+                () -> LOG.error("Could not find {} with id {}, even if returned by native query", kind, key)));
+        return result;
+    }
+
+    protected boolean isValid(final Set<String> adminRealms, final SearchCond cond) {
+        if (CollectionUtils.isEmpty(adminRealms)) {
+            LOG.error("No realms provided");
+            return false;
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return false;
+        }
+
+        return true;
+    }
 
-        keys.stream().filter(key -> !anys.stream().anyMatch(any -> key.equals(any.getKey()))).
-                forEach(key -> LOG.error("Could not find {} with id {}, even if returned by native query", kind, key));
+    protected List<OrderByClause> effectiveOrderBy(final List<OrderByClause> orderBy, final AnyTypeKind kind) {
+        if (orderBy.isEmpty()) {
+            OrderByClause keyClause = new OrderByClause();
+            keyClause.setField(kind == AnyTypeKind.USER ? "username" : "name");
+            keyClause.setDirection(OrderByClause.Direction.ASC);
+            return List.of(keyClause);
+        }
 
-        return (List<T>) anys;
+        return orderBy.stream().
+                filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getField())).
+                collect(Collectors.toList());
     }
 
     @Override
-    public <T extends Any<?>> List<T> search(
+    public List<String> searchKeys(final SearchCond cond, final AnyTypeKind kind) {
+        return searchKeys(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, -1, -1, List.of(), kind);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<String> searchKeys(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
@@ -359,29 +408,180 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             final List<OrderByClause> orderBy,
             final AnyTypeKind kind) {
 
-        if (CollectionUtils.isEmpty(adminRealms)) {
-            LOG.error("No realms provided");
+        if (!isValid(adminRealms, cond)) {
             return List.of();
         }
 
-        LOG.debug("Search condition:\n{}", cond);
-        if (cond == null || !cond.isValid()) {
-            LOG.error("Invalid search condition:\n{}", cond);
+        return doSearchKeys(
+                base, recursive, adminRealms, cond, page, itemsPerPage, effectiveOrderBy(orderBy, kind), kind);
+    }
+
+    @Override
+    public <T extends Any<?>> List<T> search(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        return buildResult(searchKeys(base, recursive, adminRealms, cond, page, itemsPerPage, orderBy, kind), kind);
+    }
+
+    /**
+     * @param field entity field
+     * @return the column backing the given field in the entity table, hence in the search views, if any: only scalar
+     * fields and relationships to single entities owned by the entity have one
+     */
+    protected static Optional<String> column(final Field field) {
+        if (Collection.class.isAssignableFrom(field.getType())
+                || Map.class.isAssignableFrom(field.getType())
+                || field.isAnnotationPresent(Transient.class)) {
+
+            return Optional.empty();
+        }
+
+        if (Entity.class.isAssignableFrom(field.getType())) {
+            OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+            // relationship fields are mapped as many-to-one via orm.xml
+            boolean owned = field.isAnnotationPresent(ManyToOne.class)
+                    || (oneToOne != null && StringUtils.isBlank(oneToOne.mappedBy()))
+                    || ArrayUtils.contains(RELATIONSHIP_FIELDS, field.getName());
+            if (!owned) {
+                return Optional.empty();
+            }
+
+            return Optional.ofNullable(field.getAnnotation(JoinColumn.class)).
+                    map(JoinColumn::name).filter(StringUtils::isNotBlank).
+                    or(() -> Optional.of(field.getName() + "_id"));
+        }
+
+        return Optional.ofNullable(field.getAnnotation(Column.class)).
+                map(Column::name).filter(StringUtils::isNotBlank).
+                or(() -> Optional.of(field.getName()));
+    }
+
+    /**
+     * Reads the given fields and plain attributes for the given any objects: this implementation loads the
+     * matching entities, subclasses are expected to provide more efficient means.
+     *
+     * @param keys any object keys
+     * @param fields fields and / or plain schemas to read
+     * @param kind any object
+     * @return projected any objects, in the same order as the given keys
+     */
+    protected List<Map<String, Object>> doProject(
+            final List<String> keys,
+            final Set<String> fields,
+            final AnyTypeKind kind) {
+
+        AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
+
+        return buildResult(keys, kind).stream().map(any -> {
+            Map<String, Object> projection = new HashMap<>();
+            projection.put("key", any.getKey());
+
+            fields.forEach(field -> {
+                if (anyUtils.getField(field) == null) {
+                    any.getPlainAttr(field).ifPresent(attr -> projection.put(field, attr.getValuesAsStrings()));
+                } else {
+                    Optional.ofNullable(BeanUtils.getPropertyDescriptor(any.getClass(), field)).
+                            map(PropertyDescriptor::getReadMethod).
+                            ifPresent(getter -> {
+                                try {
+                                    Object value = getter.invoke(any);
+                                    projection.put(field, value instanceof Entity ? ((Entity) value).getKey() : value);
+                                } catch (Exception e) {
+                                    LOG.error("Could not read {} from {}", field, any, e);
+                                }
+                            });
+                }
+            });
+
+            return projection;
+        }).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Map<String, Object>> searchProjected(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final Collection<String> fields) {
+
+        Set<String> effectiveFields = fields.stream().
+                filter(field -> !"key".equals(field) && !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, field)).
+                collect(Collectors.toCollection(LinkedHashSet::new));
+
+        // only fields with a column of their own and plain schemas can be projected
+        AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
+        List<String> invalid = effectiveFields.stream().
+                filter(field -> Optional.ofNullable(anyUtils.getField(field)).
+                map(anyField -> column(anyField).isEmpty()).
+                orElseGet(() -> plainSchemaDAO.find(field) == null)).
+                collect(Collectors.toList());
+        if (!invalid.isEmpty()) {
+            SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidSearchParameters);
+            sce.getElements().add("Cannot project " + invalid + ": only fields and plain schemas are allowed");
+            throw sce;
+        }
+
+        List<String> keys = searchKeys(base, recursive, adminRealms, cond, page, itemsPerPage, orderBy, kind);
+        if (keys.isEmpty()) {
             return List.of();
         }
 
-        List<OrderByClause> effectiveOrderBy;
-        if (orderBy.isEmpty()) {
-            OrderByClause keyClause = new OrderByClause();
-            keyClause.setField(kind == AnyTypeKind.USER ? "username" : "name");
-            keyClause.setDirection(OrderByClause.Direction.ASC);
-            effectiveOrderBy = List.of(keyClause);
-        } else {
-            effectiveOrderBy = orderBy.stream().
-                    filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getField())).
-                    collect(Collectors.toList());
+        return doProject(keys, effectiveFields, kind);
+    }
+
+    @Override
+    public <T extends Any<?>> List<T> searchAfter(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String lastKey,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
+        SearchCond effectiveCond = cond;
+        if (lastKey != null) {
+            AnyCond keyCond = new AnyCond(AttrCond.Type.GT);
+            keyCond.setSchema("key");
+            keyCond.setExpression(lastKey);
+            effectiveCond = SearchCond.getAnd(cond, SearchCond.getLeaf(keyCond));
         }
 
-        return doSearch(base, recursive, adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        OrderByClause keyClause = new OrderByClause();
+        keyClause.setField("key");
+        keyClause.setDirection(OrderByClause.Direction.ASC);
+
+        return search(base, recursive, adminRealms, effectiveCond, 1, itemsPerPage, List.of(keyClause), kind);
+    }
+
+    @Override
+    public <T extends Any<?>> Stream<T> stream(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int chunkSize,
+            final AnyTypeKind kind) {
+
+        return Stream.<List<T>>iterate(
+                searchAfter(base, recursive, adminRealms, cond, null, chunkSize, kind),
+                chunk -> !chunk.isEmpty(),
+                chunk -> chunk.size() < chunkSize
+                ? List.of()
+                : searchAfter(
+                        base, recursive, adminRealms, cond, chunk.get(chunk.size() - 1).getKey(), chunkSize, kind)).
+                flatMap(List::stream);
     }
 }
@@ -20,7 +20,18 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
 import org.apache.syncope.core.persistence.api.dao.DAO;
 import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -44,6 +55,115 @@ public abstract class AbstractDAO<E extends Entity> implements DAO<E> {
                 "Could not find EntityManager for domain " + AuthContextUtils.getDomain()));
     }
 
+    /**
+     * Reads the owners (groups, roles or dynamic realms) of the dynamic memberships of the given any object.
+     *
+     * @param table dynamic membership table
+     * @param ownerColumn owner column in table
+     * @param anyKey any object key
+     * @return owner keys
+     */
+    protected Set<String> findDynMemberships(final String table, final String ownerColumn, final String anyKey) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT " + ownerColumn + " FROM " + table + " WHERE any_id=?");
+        query.setParameter(1, anyKey);
+
+        @SuppressWarnings("unchecked")
+        List<Object> result = query.getResultList();
+        return result.stream().map(owner -> owner instanceof Object[]
+                ? ((Object[]) owner)[0].toString()
+                : owner.toString()).
+                collect(Collectors.toSet());
+    }
+
+    /**
+     * Binds the given positional parameters to the given native query; booleans are bound as {@code 1} / {@code 0}.
+     *
+     * @param query native query
+     * @param parameters positional parameters
+     */
+    protected void fillWithParameters(final Query query, final List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i) instanceof Boolean) {
+                query.setParameter(i + 1, ((Boolean) parameters.get(i)) ? 1 : 0);
+            } else {
+                query.setParameter(i + 1, parameters.get(i));
+            }
+        }
+    }
+
+    /**
+     * Writes the differences in the dynamic memberships of the given any object: one statement removes all the
+     * memberships lost, one batch inserts all the memberships gained; pending changes are flushed first.
+     *
+     * @param table dynamic membership table
+     * @param ownerColumn owner column in table
+     * @param anyKey any object key
+     * @param removed owners of the memberships lost
+     * @param added rows to insert, with values in table column order
+     */
+    protected void updateDynMemberships(
+            final String table,
+            final String ownerColumn,
+            final String anyKey,
+            final Collection<String> removed,
+            final Collection<List<Object>> added) {
+
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+
+        entityManager().flush();
+
+        if (!removed.isEmpty()) {
+            Query delete = entityManager().createNativeQuery(
+                    "DELETE FROM " + table + " WHERE any_id=?1 AND " + ownerColumn + " IN ("
+                    + IntStream.rangeClosed(2, removed.size() + 1).mapToObj(n -> "?" + n).
+                            collect(Collectors.joining(",")) + ")");
+            delete.setParameter(1, anyKey);
+            int idx = 2;
+            for (String owner : removed) {
+                delete.setParameter(idx++, owner);
+            }
+            delete.executeUpdate();
+        }
+
+        if (!added.isEmpty()) {
+            batchInsert(table, added);
+        }
+    }
+
+    /**
+     * Inserts the given rows into the given table as a single JDBC batch, on the connection bound to the current
+     * transaction; pending changes are flushed first, so that the inserted rows can reference them.
+     *
+     * @param table table
+     * @param rows rows to insert, with values in table column order
+     */
+    protected void batchInsert(final String table, final Collection<List<Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        entityManager().flush();
+
+        String insert = "INSERT INTO " + table + " VALUES("
+                + rows.iterator().next().stream().map(value -> "?").collect(Collectors.joining(", ")) + ")";
+        try (Connection conn = (Connection) OpenJPAPersistence.cast(entityManager()).getConnection();
+                PreparedStatement stmt = conn.prepareStatement(insert)) {
+
+            for (List<Object> row : rows) {
+                for (int i = 0; i < row.size(); i++) {
+                    stmt.setObject(i + 1, row.get(i));
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new PersistenceException("While inserting " + rows.size() + " rows into " + table, e);
+        }
+    }
+
     @Override
     public void refresh(final E entity) {
         entityManager().refresh(entity);
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.Schema;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keys of the schemas allowed for any objects sharing the same signature: any type classes, aux classes and
+ * classes provided by group type extensions.
+ * Only keys are cached, so that entities are always read from the calling persistence context.
+ */
+public class AllowedSchemasCache {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AllowedSchemasCache.class);
+
+    public static class Entry {
+
+        private final Set<String> forSelf;
+
+        private final Map<String, Set<String>> forMemberships;
+
+        public Entry(final Set<String> forSelf, final Map<String, Set<String>> forMemberships) {
+            this.forSelf = forSelf;
+            this.forMemberships = forMemberships;
+        }
+
+        public Set<String> getForSelf() {
+            return forSelf;
+        }
+
+        public Set<String> getForMembership(final String group) {
+            return forMemberships.getOrDefault(group, Set.of());
+        }
+    }
+
+    protected final Cache<String, Entry> cache;
+
+    public AllowedSchemasCache(final String cacheSpec) {
+        cache = Caffeine.from(cacheSpec).build();
+    }
+
+    public Entry get(final String signature, final Function<String, Entry> compute) {
+        return cache.get(signature, compute);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (event.getEntity() instanceof Schema || event.getEntity() instanceof AnyTypeClass) {
+            LOG.debug("{} {} was {}: clearing allowed schemas",
+                    event.getEntity().getClass().getSimpleName(), event.getEntity().getKey(), event.getType());
+
+            clear();
+        }
+    }
+}
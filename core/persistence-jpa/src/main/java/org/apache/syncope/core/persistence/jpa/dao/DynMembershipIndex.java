@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.openjpa.enhance.PersistenceCapable;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+import org.apache.openjpa.meta.FieldMetaData;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.RelationshipCond;
+import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+
+/**
+ * Compiles the FIQL conditions of dynamic memberships once and tells which of them need to be evaluated again when
+ * an any object is saved.
+ * Conditions on attributes, fields, relationships and any type only depend on the inputs they reference; all other
+ * conditions (memberships, roles, resources, dynamic realms, ...) are evaluated at every save.
+ */
+public class DynMembershipIndex {
+
+    /**
+     * Input name meaning that everything must be evaluated.
+     */
+    public static final String ALWAYS = "*";
+
+    protected static final String PLAIN_ATTRS = "plainAttrs";
+
+    protected static final String RELATIONSHIPS = "relationships";
+
+    public static class Compiled {
+
+        private final SearchCond cond;
+
+        private final Set<String> inputs;
+
+        public Compiled(final SearchCond cond, final Set<String> inputs) {
+            this.cond = cond;
+            this.inputs = inputs;
+        }
+
+        public SearchCond getCond() {
+            return cond;
+        }
+
+        public Set<String> getInputs() {
+            return inputs;
+        }
+
+        public boolean isAffected(final Set<String> changed) {
+            return inputs.contains(ALWAYS) || changed.contains(ALWAYS) || inputs.stream().anyMatch(changed::contains);
+        }
+    }
+
+    protected static void inputs(final SearchCond cond, final Set<String> inputs) {
+        switch (cond.getType()) {
+            case LEAF:
+            case NOT_LEAF:
+                if (cond.getLeaf(AnyCond.class).isPresent()) {
+                    String schema = cond.getLeaf(AnyCond.class).get().getSchema();
+                    inputs.add("key".equals(schema) ? "id" : schema);
+                } else if (cond.getLeaf(AttrCond.class).isPresent()) {
+                    // attributes removed from the owning entity cannot be told apart, see changedInputs()
+                    inputs.add(cond.getLeaf(AttrCond.class).get().getSchema());
+                    inputs.add(PLAIN_ATTRS);
+                } else if (cond.getLeaf(RelationshipCond.class).isPresent()
+                        || cond.getLeaf(RelationshipTypeCond.class).isPresent()) {
+
+                    inputs.add(RELATIONSHIPS);
+                } else if (cond.getLeaf(AnyTypeCond.class).isPresent()) {
+                    inputs.add("type");
+                } else {
+                    inputs.add(ALWAYS);
+                }
+                break;
+
+            case AND:
+            case OR:
+                inputs(cond.getLeft(), inputs);
+                inputs(cond.getRight(), inputs);
+                break;
+
+            default:
+                inputs.add(ALWAYS);
+        }
+    }
+
+    protected static OpenJPAStateManager stateManager(final Object entity) {
+        return entity instanceof PersistenceCapable
+                && ((PersistenceCapable) entity).pcGetStateManager() instanceof OpenJPAStateManager
+                ? (OpenJPAStateManager) ((PersistenceCapable) entity).pcGetStateManager()
+                : null;
+    }
+
+    protected static boolean isDirty(final Object entity) {
+        OpenJPAStateManager sm = stateManager(entity);
+        return sm != null && (sm.isNew() || sm.isDirty());
+    }
+
+    protected static boolean isChanged(final PlainAttr<?> attr) {
+        return isDirty(attr)
+                || attr.getValues().stream().anyMatch(DynMembershipIndex::isDirty)
+                || (attr.getUniqueValue() != null && isDirty(attr.getUniqueValue()));
+    }
+
+    protected final SearchCondVisitor searchCondVisitor;
+
+    protected final Cache<String, Compiled> compiled;
+
+    public DynMembershipIndex(final SearchCondVisitor searchCondVisitor, final String cacheSpec) {
+        this.searchCondVisitor = searchCondVisitor;
+        this.compiled = Caffeine.from(cacheSpec).build();
+    }
+
+    /**
+     * Parses the given FIQL condition and finds out the inputs it depends on; results are cached by FIQL, so that
+     * changes to dynamic memberships are picked up without any explicit invalidation.
+     *
+     * @param fiql FIQL condition
+     * @return compiled condition
+     */
+    public Compiled compile(final String fiql) {
+        return compiled.get(fiql, k -> {
+            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, fiql);
+
+            Set<String> inputs = new HashSet<>();
+            inputs(cond, inputs);
+            return new Compiled(cond, Collections.unmodifiableSet(inputs));
+        });
+    }
+
+    /**
+     * Tells which inputs were changed on the given any object within the current transaction, according to the
+     * persistence context; when this cannot be established, as for new or detached instances, {@link #ALWAYS} is
+     * returned.
+     * Pending changes are flushed to the database before returning.
+     *
+     * @param any any object being saved
+     * @return names of the fields and plain schemas changed, or {@link #ALWAYS}
+     */
+    public Set<String> changedInputs(final Any<?> any) {
+        OpenJPAStateManager sm = stateManager(any);
+        if (sm == null || sm.isNew()) {
+            return Set.of(ALWAYS);
+        }
+
+        Set<String> changed = new HashSet<>();
+
+        BitSet dirty = sm.getDirty();
+        FieldMetaData[] fields = sm.getMetaData().getFields();
+        dirty.stream().filter(i -> i < fields.length).forEach(i -> changed.add(fields[i].getName()));
+
+        any.getPlainAttrs().stream().filter(DynMembershipIndex::isChanged).
+                forEach(attr -> changed.add(attr.getSchema().getKey()));
+
+        // dynamic memberships are evaluated and written via SQL: pending changes must reach the database first;
+        // dirty state read above is kept by OpenJPA until commit
+        sm.getContext().flush();
+
+        return changed;
+    }
+}
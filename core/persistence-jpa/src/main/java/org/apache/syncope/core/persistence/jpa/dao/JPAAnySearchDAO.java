@@ -19,12 +19,22 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import jakarta.persistence.Query;
+import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -42,6 +52,7 @@ import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AbstractSearchCond;
 import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
 import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
@@ -56,7 +67,6 @@ import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
@@ -65,6 +75,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 
 /**
  * Search engine implementation for users, groups and any objects, based on self-updating SQL views.
@@ -76,6 +87,27 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             + "lastChangeDate,lastModifier,status,changePwdDate,cipherAlgorithm,failedLogins,"
             + "lastLoginDate,mustChangePassword,suspended,username";
 
+    protected static final int PROJECTION_CHUNK_SIZE = 500;
+
+    /**
+     * Search conditions whose native query only depends on their shape, with values bound as parameters.
+     */
+    protected static final Set<Class<? extends AbstractSearchCond>> SHAPED_CONDS = Set.of(
+            AnyTypeCond.class,
+            AuxClassCond.class,
+            RelationshipTypeCond.class,
+            RelationshipCond.class,
+            MembershipCond.class,
+            MemberCond.class,
+            RoleCond.class,
+            PrivilegeCond.class,
+            DynRealmCond.class,
+            ResourceCond.class,
+            AnyCond.class,
+            AttrCond.class);
+
+    protected final JPAQueryPlanCacheDAO queryPlanCacheDAO;
+
     public JPAAnySearchDAO(
             final RealmDAO realmDAO,
             final DynRealmDAO dynRealmDAO,
@@ -85,7 +117,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
-            final PlainAttrValidationManager validator) {
+            final PlainAttrValidationManager validator,
+            final JPAQueryPlanCacheDAO queryPlanCacheDAO) {
 
         super(
                 realmDAO,
@@ -97,6 +130,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 entityFactory,
                 anyUtilsFactory,
                 validator);
+
+        this.queryPlanCacheDAO = queryPlanCacheDAO;
     }
 
     protected String buildAdminRealmsFilter(
@@ -165,15 +200,303 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return new SearchViewSupport(kind);
     }
 
-    @Override
-    protected int doCount(
+    /**
+     * @return whether native queries compiled from search conditions can be cached by condition shape, as values
+     * are only ever bound as parameters
+     */
+    protected boolean isQueryPlanCacheable() {
+        return true;
+    }
+
+    /**
+     * Appends the shape of the given condition - leaf types, schemas and operators, but no values - to the given
+     * builder.
+     *
+     * @param cond search condition
+     * @param shape shape builder
+     * @return whether the native query for the given condition only depends on its shape
+     */
+    protected boolean shape(final SearchCond cond, final StringBuilder shape) {
+        switch (cond.getType()) {
+            case LEAF:
+            case NOT_LEAF:
+                AbstractSearchCond leaf = cond.getLeaf(AbstractSearchCond.class).orElse(null);
+                if (leaf == null || !SHAPED_CONDS.contains(leaf.getClass())) {
+                    return false;
+                }
+                // group name patterns can match a varying number of groups, hence of parameters
+                if (leaf instanceof MembershipCond && ((MembershipCond) leaf).getGroup().indexOf('%') != -1) {
+                    return false;
+                }
+
+                shape.append(cond.getType()).append('(').append(leaf.getClass().getSimpleName());
+                if (leaf instanceof AttrCond) {
+                    shape.append(':').append(((AttrCond) leaf).getSchema()).
+                            append(':').append(((AttrCond) leaf).getType());
+                }
+                shape.append(')');
+                return true;
+
+            case AND:
+            case OR:
+                shape.append(cond.getType()).append('(');
+                if (!shape(cond.getLeft(), shape)) {
+                    return false;
+                }
+                shape.append(',');
+                if (!shape(cond.getRight(), shape)) {
+                    return false;
+                }
+                shape.append(')');
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Adds the leaves of the given condition to the given list, in the order they are compiled by
+     * {@link #getQuery(SearchCond, List, SearchSupport)}.
+     *
+     * @param cond search condition
+     * @param leaves leaves
+     */
+    protected void leaves(final SearchCond cond, final List<SearchCond> leaves) {
+        switch (cond.getType()) {
+            case LEAF:
+            case NOT_LEAF:
+                leaves.add(cond);
+                break;
+
+            case AND:
+            case OR:
+                leaves(cond.getLeft(), leaves);
+                leaves(cond.getRight(), leaves);
+                break;
+
+            default:
+        }
+    }
+
+    protected void fillAttrParameters(
+            final PlainAttrValue attrValue,
+            final PlainSchema schema,
+            final AttrCond cond,
+            final List<Object> parameters) {
+
+        switch (cond.getType()) {
+            case ISNULL:
+            case ISNOTNULL:
+                break;
+
+            case ILIKE:
+            case LIKE:
+                if (schema.getType() == AttrSchemaType.String || schema.getType() == AttrSchemaType.Enum) {
+                    setParameter(parameters, cond.getExpression());
+                }
+                break;
+
+            default:
+                setParameter(parameters, attrValue.getValue());
+        }
+    }
+
+    protected static <T extends AbstractSearchCond> JPAQueryPlanCacheDAO.LeafBinder binder(
+            final Class<T> reference, final BiConsumer<T, List<Object>> bind) {
+
+        return (cond, parameters) -> cond.getLeaf(reference).ifPresent(leaf -> bind.accept(leaf, parameters));
+    }
+
+    /**
+     * Builds the binder of the values of the leaves with the same shape as the given one, binding parameters as
+     * {@link #getLeafQuery(SearchCond, List, SearchSupport)} does; schemas are looked up once, here, as compiled
+     * queries are cleared whenever any schema changes.
+     * Subclasses compiling leaves differently shall override this method accordingly: queries whose parameters are not
+     * bound the same way by the returned binder are not cached.
+     *
+     * @param cond leaf search condition
+     * @param svs search support
+     * @return binder for leaves with the same shape as the given one
+     */
+    protected JPAQueryPlanCacheDAO.LeafBinder getLeafBinder(final SearchCond cond, final SearchSupport svs) {
+        AnyTypeKind kind = svs.anyTypeKind;
+        AbstractSearchCond leaf = cond.getLeaf(AbstractSearchCond.class).orElse(null);
+
+        if (leaf instanceof AnyTypeCond && kind == AnyTypeKind.ANY_OBJECT) {
+            return binder(AnyTypeCond.class, (other, parameters) -> setParameter(parameters, other.getAnyTypeKey()));
+        }
+
+        if (leaf instanceof AuxClassCond) {
+            return binder(AuxClassCond.class, (other, parameters) -> setParameter(parameters, other.getAuxClass()));
+        }
+
+        if (leaf instanceof RelationshipTypeCond && kind != AnyTypeKind.GROUP) {
+            return binder(RelationshipTypeCond.class, (other, parameters) -> {
+                setParameter(parameters, other.getRelationshipTypeKey());
+                setParameter(parameters, other.getRelationshipTypeKey());
+            });
+        }
+
+        if (leaf instanceof RelationshipCond && kind != AnyTypeKind.GROUP) {
+            return binder(RelationshipCond.class, (other, parameters) -> setParameter(parameters, check(other)));
+        }
+
+        if (leaf instanceof MembershipCond && kind != AnyTypeKind.GROUP) {
+            return binder(MembershipCond.class,
+                    (other, parameters) -> check(other).forEach(key -> setParameter(parameters, key)));
+        }
+
+        if (leaf instanceof MemberCond && kind == AnyTypeKind.GROUP) {
+            return binder(MemberCond.class, (other, parameters) -> {
+                String memberKey = check(other);
+                setParameter(parameters, memberKey);
+                setParameter(parameters, memberKey);
+            });
+        }
+
+        if (leaf instanceof RoleCond && kind == AnyTypeKind.USER) {
+            return binder(RoleCond.class, (other, parameters) -> {
+                setParameter(parameters, other.getRole());
+                setParameter(parameters, other.getRole());
+            });
+        }
+
+        if (leaf instanceof PrivilegeCond && kind == AnyTypeKind.USER) {
+            return binder(PrivilegeCond.class, (other, parameters) -> {
+                setParameter(parameters, other.getPrivilege());
+                setParameter(parameters, other.getPrivilege());
+            });
+        }
+
+        if (leaf instanceof DynRealmCond) {
+            return binder(DynRealmCond.class, (other, parameters) -> setParameter(parameters, other.getDynRealm()));
+        }
+
+        if (leaf instanceof ResourceCond) {
+            return binder(ResourceCond.class, (other, parameters) -> {
+                setParameter(parameters, other.getResource());
+                if (kind == AnyTypeKind.USER || kind == AnyTypeKind.ANY_OBJECT) {
+                    setParameter(parameters, other.getResource());
+                }
+            });
+        }
+
+        if (leaf instanceof AnyCond) {
+            PlainSchema schema = check((AnyCond) leaf, kind).getLeft();
+            return binder(AnyCond.class, (other, parameters) -> {
+                resolveRealm(other);
+                PlainAttrValue attrValue = anyUtilsFactory.getInstance(kind).newPlainAttrValue();
+                validate(schema, other, attrValue);
+                fillAttrParameters(attrValue, schema, other, parameters);
+            });
+        }
+
+        if (leaf instanceof AttrCond) {
+            PlainSchema schema = check((AttrCond) leaf, kind).getLeft();
+            return binder(AttrCond.class, (other, parameters) -> {
+                AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
+                PlainAttrValue attrValue = schema.isUniqueConstraint()
+                        ? anyUtils.newPlainAttrUniqueValue()
+                        : anyUtils.newPlainAttrValue();
+                validate(schema, other, attrValue);
+                fillAttrParameters(attrValue, schema, other, parameters);
+            });
+        }
+
+        return (other, parameters) -> {
+            // not compiled for the current any type kind: nothing to bind
+        };
+    }
+
+    protected static void bind(
+            final List<SearchCond> leaves,
+            final List<JPAQueryPlanCacheDAO.LeafBinder> binders,
+            final List<Object> parameters) {
+
+        for (int i = 0; i < leaves.size() && i < binders.size(); i++) {
+            binders.get(i).bind(leaves.get(i), parameters);
+        }
+    }
+
+    /**
+     * Returns the native query for the given condition, binding its values to the given parameters; queries are
+     * reused across conditions with the same shape, when possible, only binding the values of their leaves.
+     *
+     * @param cond search condition
+     * @param parameters query parameters
+     * @param svs search support
+     * @return native query for the given condition
+     */
+    protected StringBuilder getCompiledQuery(
+            final SearchCond cond, final List<Object> parameters, final SearchSupport svs) {
+
+        StringBuilder shape = new StringBuilder();
+        if (!isQueryPlanCacheable() || !shape(cond, shape)) {
+            return getQuery(cond, parameters, svs).getLeft();
+        }
+
+        // parameters are numbered, hence the compiled query depends on how many were bound before
+        int offset = parameters.size();
+        String key = AuthContextUtils.getDomain() + '|' + svs.anyTypeKind + '|' + offset + '|' + shape;
+
+        List<SearchCond> leaves = new ArrayList<>();
+        leaves(cond, leaves);
+
+        JPAQueryPlanCacheDAO.CompiledQuery compiled = queryPlanCacheDAO.get(key);
+        if (compiled != null) {
+            List<Object> bound = new ArrayList<>();
+            bind(leaves, compiled.getBinders(), bound);
+            if (bound.size() == compiled.getParameterCount()) {
+                parameters.addAll(bound);
+                return new StringBuilder(compiled.getQuery());
+            }
+
+            LOG.debug("Parameters {} do not fit the query compiled for {}, compiling", bound, shape);
+        }
+
+        String query = getQuery(cond, parameters, svs).getLeft().toString();
+
+        if (compiled == null) {
+            // only cache when binders bind the very same parameters as compiling
+            List<JPAQueryPlanCacheDAO.LeafBinder> binders = leaves.stream().
+                    map(leaf -> getLeafBinder(leaf, svs)).
+                    collect(Collectors.toList());
+            List<Object> bound = new ArrayList<>();
+            bind(leaves, binders, bound);
+
+            List<Object> compiledParameters = parameters.subList(offset, parameters.size());
+            if (bound.size() == compiledParameters.size() && IntStream.range(0, bound.size()).
+                    allMatch(i -> Objects.deepEquals(bound.get(i), compiledParameters.get(i)))) {
+
+                queryPlanCacheDAO.put(key, new JPAQueryPlanCacheDAO.CompiledQuery(query, binders, bound.size()));
+            } else {
+                LOG.debug("Not caching query for {}: parameters {} differ from {}", shape, bound, compiledParameters);
+            }
+        }
+
+        return new StringBuilder(query);
+    }
+
+    /**
+     * Builds the native query selecting, as {@code any_id}, the keys of any objects matching the given condition
+     * within the given realms.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param kind any object
+     * @param parameters positional parameters, filled while building the query
+     * @return query string
+     */
+    protected String buildKeysQuery(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
             final SearchCond cond,
-            final AnyTypeKind kind) {
-
-        List<Object> parameters = new ArrayList<>();
+            final AnyTypeKind kind,
+            final List<Object> parameters) {
 
         SearchSupport svs = buildSearchSupport(kind);
 
@@ -181,18 +504,46 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
 
         // 1. get the query string from the search condition
-        Pair<StringBuilder, Set<String>> queryInfo =
-                getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
-
-        StringBuilder queryString = queryInfo.getLeft();
+        StringBuilder queryString = getCompiledQuery(
+                buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
 
         // 2. take realms into account
         queryString.insert(0, "SELECT u.any_id FROM (");
         queryString.append(") u WHERE ").append(filter.getLeft());
 
-        // 3. prepare the COUNT query
-        queryString.insert(0, "SELECT COUNT(any_id) FROM (");
-        queryString.append(") count_any_id");
+        return queryString.toString();
+    }
+
+    @Override
+    public Optional<Pair<String, List<Object>>> keysQuery(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        if (!isValid(adminRealms, cond)) {
+            return Optional.empty();
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        String queryString = buildKeysQuery(base, recursive, adminRealms, cond, kind, parameters);
+        return Optional.of(Pair.of(queryString, parameters));
+    }
+
+    @Override
+    protected int doCount(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        List<Object> parameters = new ArrayList<>();
+
+        StringBuilder queryString = new StringBuilder("SELECT COUNT(any_id) FROM (").
+                append(buildKeysQuery(base, recursive, adminRealms, cond, kind, parameters)).
+                append(") count_any_id");
 
         Query countQuery = entityManager().createNativeQuery(queryString.toString());
         fillWithParameters(countQuery, parameters);
@@ -201,8 +552,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> doSearch(
+    protected List<String> doSearchKeys(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
@@ -221,10 +571,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                     getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
 
             // 1. get the query string from the search condition
-            Pair<StringBuilder, Set<String>> queryInfo =
-                    getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
-
-            StringBuilder queryString = queryInfo.getLeft();
+            StringBuilder queryString = getCompiledQuery(
+                    buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
 
             LOG.debug("Query: {}, parameters: {}", queryString, parameters);
 
@@ -257,7 +605,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             fillWithParameters(query, parameters);
 
             // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
+            return toKeys(query.getResultList());
         } catch (SyncopeClientException e) {
             throw e;
         } catch (Exception e) {
@@ -267,19 +615,125 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return List.of();
     }
 
-    protected int setParameter(final List<Object> parameters, final Object parameter) {
-        parameters.add(parameter);
-        return parameters.size();
+    /**
+     * @return whether projections can be read straight from the {@code *_search}, {@code *_search_attr} and
+     * {@code *_search_unique_attr} views
+     */
+    protected boolean isProjectionFromViews() {
+        return true;
     }
 
-    protected void fillWithParameters(final Query query, final List<Object> parameters) {
-        for (int i = 0; i < parameters.size(); i++) {
-            if (parameters.get(i) instanceof Boolean) {
-                query.setParameter(i + 1, ((Boolean) parameters.get(i)) ? 1 : 0);
-            } else {
-                query.setParameter(i + 1, parameters.get(i));
+    protected static OffsetDateTime toOffsetDateTime(final Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return (OffsetDateTime) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<Map<String, Object>> doProject(
+            final List<String> keys,
+            final Set<String> fields,
+            final AnyTypeKind kind) {
+
+        SearchSupport svs = buildSearchSupport(kind);
+        if (!isProjectionFromViews() || !(svs instanceof SearchViewSupport)) {
+            return super.doProject(keys, fields, kind);
+        }
+
+        AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
+
+        Map<String, Field> anyFields = new LinkedHashMap<>();
+        Map<String, PlainSchema> schemas = new HashMap<>();
+        fields.forEach(field -> Optional.ofNullable(anyUtils.getField(field)).ifPresentOrElse(
+                anyField -> anyFields.put(field, anyField),
+                () -> Optional.ofNullable(plainSchemaDAO.find(field)).
+                        ifPresent(schema -> schemas.put(schema.getKey(), schema))));
+        String columns = anyFields.values().stream().
+                map(anyField -> column(anyField).orElseThrow()).
+                collect(Collectors.joining(","));
+
+        Map<String, Map<String, Object>> projections = new LinkedHashMap<>();
+        keys.forEach(key -> {
+            Map<String, Object> projection = new HashMap<>();
+            projection.put("key", key);
+            projections.put(key, projection);
+        });
+
+        for (int i = 0; i < keys.size(); i += PROJECTION_CHUNK_SIZE) {
+            List<Object> parameters = new ArrayList<>();
+            String anyKeys = keys.subList(i, Math.min(i + PROJECTION_CHUNK_SIZE, keys.size())).stream().
+                    map(key -> "?" + setParameter(parameters, key)).
+                    collect(Collectors.joining(","));
+
+            // 1. fields, straight from the main search view
+            if (!anyFields.isEmpty()) {
+                Query query = entityManager().createNativeQuery(
+                        "SELECT any_id," + columns + " FROM " + svs.field().name
+                        + " WHERE any_id IN (" + anyKeys + ")");
+                fillWithParameters(query, parameters);
+
+                ((List<Object[]>) query.getResultList()).forEach(row -> {
+                    Map<String, Object> projection = projections.get((String) row[0]);
+                    int col = 1;
+                    for (Map.Entry<String, Field> entry : anyFields.entrySet()) {
+                        Object value = row[col++];
+                        projection.put(entry.getKey(), OffsetDateTime.class.equals(entry.getValue().getType())
+                                ? toOffsetDateTime(value) : value);
+                    }
+                });
+            }
+
+            // 2. plain attributes, from the (unique) attribute search views
+            if (!schemas.isEmpty()) {
+                List<Object> attrParameters = new ArrayList<>(parameters);
+                String schemaKeys = schemas.keySet().stream().
+                        map(schema -> "?" + setParameter(attrParameters, schema)).
+                        collect(Collectors.joining(","));
+
+                for (SearchSupport.SearchView view : List.of(
+                        svs.asSearchViewSupport().uniqueAttr(), svs.asSearchViewSupport().attr())) {
+
+                    Query query = entityManager().createNativeQuery(
+                            "SELECT any_id,schema_id,booleanvalue,datevalue,doublevalue,longvalue,stringvalue"
+                            + " FROM " + view.name
+                            + " WHERE any_id IN (" + anyKeys + ") AND schema_id IN (" + schemaKeys + ")");
+                    fillWithParameters(query, attrParameters);
+
+                    ((List<Object[]>) query.getResultList()).forEach(row -> {
+                        PlainAttrValue value = anyUtils.newPlainAttrValue();
+                        if (row[2] != null) {
+                            value.setBooleanValue(row[2] instanceof Boolean
+                                    ? (Boolean) row[2] : ((Number) row[2]).intValue() == 1);
+                        }
+                        if (row[3] != null) {
+                            value.setDateValue(toOffsetDateTime(row[3]));
+                        }
+                        if (row[4] != null) {
+                            value.setDoubleValue(((Number) row[4]).doubleValue());
+                        }
+                        if (row[5] != null) {
+                            value.setLongValue(((Number) row[5]).longValue());
+                        }
+                        if (row[6] != null) {
+                            value.setStringValue(row[6].toString());
+                        }
+
+                        ((List<String>) projections.get((String) row[0]).
+                                computeIfAbsent((String) row[1], schema -> new ArrayList<String>())).
+                                add(value.getValueAsString(schemas.get((String) row[1])));
+                    });
+                }
             }
         }
+
+        return new ArrayList<>(projections.values());
+    }
+
+    protected int setParameter(final List<Object> parameters, final Object parameter) {
+        parameters.add(parameter);
+        return parameters.size();
     }
 
     protected StringBuilder buildSelect(final OrderBySupport obs) {
@@ -542,71 +996,89 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 append(' ').append(op).append(" any_id IN ( ").append(rightInfo.getKey()).append("))");
     }
 
-    protected Pair<StringBuilder, Set<String>> getQuery(
+    /**
+     * Builds the native query for the given leaf condition, binding its values to the given parameters.
+     *
+     * @param cond leaf search condition
+     * @param parameters query parameters
+     * @param svs search support
+     * @return native query for the given leaf condition
+     */
+    protected StringBuilder getLeafQuery(
             final SearchCond cond, final List<Object> parameters, final SearchSupport svs) {
 
         boolean not = cond.getType() == SearchCond.Type.NOT_LEAF;
 
+        StringBuilder query = new StringBuilder();
+
+        cond.getLeaf(AnyTypeCond.class).
+                filter(leaf -> AnyTypeKind.ANY_OBJECT == svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(AuxClassCond.class).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(RelationshipTypeCond.class).
+                filter(leaf -> AnyTypeKind.GROUP != svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(RelationshipCond.class).
+                filter(leaf -> AnyTypeKind.GROUP != svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(MembershipCond.class).
+                filter(leaf -> AnyTypeKind.GROUP != svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(MemberCond.class).
+                filter(leaf -> AnyTypeKind.GROUP == svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(RoleCond.class).
+                filter(leaf -> AnyTypeKind.USER == svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(PrivilegeCond.class).
+                filter(leaf -> AnyTypeKind.USER == svs.anyTypeKind).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(DynRealmCond.class).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(ResourceCond.class).
+                ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
+
+        cond.getLeaf(AnyCond.class).ifPresentOrElse(
+                anyCond -> query.append(getQuery(anyCond, not, parameters, svs)),
+                () -> cond.getLeaf(AttrCond.class).
+                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs))));
+
+        // allow for additional search conditions
+        getQueryForCustomConds(cond, parameters, svs, not, query);
+
+        return query;
+    }
+
+    protected Pair<StringBuilder, Set<String>> getQuery(
+            final SearchCond cond, final List<Object> parameters, final SearchSupport svs) {
+
         StringBuilder query = new StringBuilder();
         Set<String> involvedPlainAttrs = new HashSet<>();
 
         switch (cond.getType()) {
             case LEAF:
             case NOT_LEAF:
-                cond.getLeaf(AnyTypeCond.class).
-                        filter(leaf -> AnyTypeKind.ANY_OBJECT == svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(AuxClassCond.class).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(RelationshipTypeCond.class).
-                        filter(leaf -> AnyTypeKind.GROUP != svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(RelationshipCond.class).
-                        filter(leaf -> AnyTypeKind.GROUP != svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(MembershipCond.class).
-                        filter(leaf -> AnyTypeKind.GROUP != svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(MemberCond.class).
-                        filter(leaf -> AnyTypeKind.GROUP == svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(RoleCond.class).
-                        filter(leaf -> AnyTypeKind.USER == svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(PrivilegeCond.class).
-                        filter(leaf -> AnyTypeKind.USER == svs.anyTypeKind).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(DynRealmCond.class).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(ResourceCond.class).
-                        ifPresent(leaf -> query.append(getQuery(leaf, not, parameters, svs)));
-
-                cond.getLeaf(AnyCond.class).ifPresentOrElse(
-                        anyCond -> {
-                            query.append(getQuery(anyCond, not, parameters, svs));
-                        },
-                        () -> {
-                            cond.getLeaf(AttrCond.class).ifPresent(leaf -> {
-                                query.append(getQuery(leaf, not, parameters, svs));
-                                try {
-                                    involvedPlainAttrs.add(check(leaf, svs.anyTypeKind).getLeft().getKey());
-                                } catch (IllegalArgumentException e) {
-                                    // ignore
-                                }
-                            });
+                query.append(getLeafQuery(cond, parameters, svs));
+
+                cond.getLeaf(AttrCond.class).
+                        filter(leaf -> cond.getLeaf(AnyCond.class).isEmpty()).
+                        ifPresent(leaf -> {
+                            try {
+                                involvedPlainAttrs.add(check(leaf, svs.anyTypeKind).getLeft().getKey());
+                            } catch (IllegalArgumentException e) {
+                                // ignore
+                            }
                         });
-
-                // allow for additional search conditions
-                getQueryForCustomConds(cond, parameters, svs, not, query);
                 break;
 
             case AND:
@@ -1107,12 +1579,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return query.toString();
     }
 
-    protected String getQuery(
-            final AnyCond cond,
-            final boolean not,
-            final List<Object> parameters,
-            final SearchSupport svs) {
-
+    protected void resolveRealm(final AnyCond cond) {
         if (JAXRSService.PARAM_REALM.equals(cond.getSchema())
                 && !SyncopeConstants.UUID_PATTERN.matcher(cond.getExpression()).matches()) {
 
@@ -1122,6 +1589,15 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             }
             cond.setExpression(realm.getKey());
         }
+    }
+
+    protected String getQuery(
+            final AnyCond cond,
+            final boolean not,
+            final List<Object> parameters,
+            final SearchSupport svs) {
+
+        resolveRealm(cond);
 
         Triple<PlainSchema, PlainAttrValue, AnyCond> checked = check(cond, svs.anyTypeKind);
 
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.AnyTombstoneDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAnyTombstone;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Transactional(rollbackFor = Throwable.class)
+public class JPAAnyTombstoneDAO extends AbstractDAO<AnyTombstone> implements AnyTombstoneDAO {
+
+    protected final boolean enabled;
+
+    protected final EntityFactory entityFactory;
+
+    public JPAAnyTombstoneDAO(final boolean enabled, final EntityFactory entityFactory) {
+        this.enabled = enabled;
+        this.entityFactory = entityFactory;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyTombstone> findSince(
+            final String anyType,
+            final String realm,
+            final OffsetDateTime since,
+            final int page,
+            final int itemsPerPage) {
+
+        boolean root = SyncopeConstants.ROOT_REALM.equals(realm);
+
+        TypedQuery<AnyTombstone> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAAnyTombstone.class.getSimpleName() + " e "
+                + "WHERE e.anyType = :anyType AND e.deletionDate > :since "
+                + (root ? "" : "AND (e.realm = :realm OR e.realm LIKE :descendants) ")
+                + "ORDER BY e.deletionDate, e.id", AnyTombstone.class);
+        query.setParameter("anyType", anyType);
+        query.setParameter("since", since);
+        if (!root) {
+            query.setParameter("realm", realm);
+            query.setParameter("descendants", realm + "/%");
+        }
+        query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+        query.setMaxResults(itemsPerPage);
+        return query.getResultList();
+    }
+
+    @Override
+    public AnyTombstone save(final AnyTombstone tombstone) {
+        return entityManager().merge(tombstone);
+    }
+
+    @Override
+    public int deleteBefore(final OffsetDateTime before) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAAnyTombstone.class.getSimpleName() + " e WHERE e.deletionDate < :before");
+        query.setParameter("before", before);
+        return query.executeUpdate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void any(final AnyLifecycleEvent<Any<?>> event) {
+        if (!enabled || event.getType() != SyncDeltaType.DELETE) {
+            return;
+        }
+
+        Any<?> any = event.getAny();
+        LOG.debug("Recording tombstone for {} {}", any.getType().getKey(), any.getKey());
+
+        AnyTombstone tombstone = entityFactory.newEntity(AnyTombstone.class);
+        tombstone.setAnyType(any.getType().getKey());
+        tombstone.setAnyKey(any.getKey());
+        tombstone.setRealm(any.getRealm().getFullPath());
+        if (any instanceof User) {
+            tombstone.setName(((User) any).getUsername());
+        } else if (any instanceof Group) {
+            tombstone.setName(((Group) any).getName());
+        } else if (any instanceof AnyObject) {
+            tombstone.setName(((AnyObject) any).getName());
+        }
+        tombstone.setDeletionDate(OffsetDateTime.now());
+        entityManager().persist(tombstone);
+    }
+}
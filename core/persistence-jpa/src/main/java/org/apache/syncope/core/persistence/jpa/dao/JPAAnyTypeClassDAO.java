@@ -35,6 +35,10 @@ import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAnyTypeClass;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class JPAAnyTypeClassDAO extends AbstractDAO<AnyTypeClass> implements AnyTypeClassDAO {
 
@@ -50,13 +54,16 @@ public class JPAAnyTypeClassDAO extends AbstractDAO<AnyTypeClass> implements Any
 
     protected final ExternalResourceDAO resourceDAO;
 
+    protected final ApplicationEventPublisher publisher;
+
     public JPAAnyTypeClassDAO(
             final AnyTypeDAO anyTypeDAO,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final VirSchemaDAO virSchemaDAO,
             final GroupDAO groupDAO,
-            final ExternalResourceDAO resourceDAO) {
+            final ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
         this.anyTypeDAO = anyTypeDAO;
         this.plainSchemaDAO = plainSchemaDAO;
@@ -64,6 +71,7 @@ public class JPAAnyTypeClassDAO extends AbstractDAO<AnyTypeClass> implements Any
         this.virSchemaDAO = virSchemaDAO;
         this.groupDAO = groupDAO;
         this.resourceDAO = resourceDAO;
+        this.publisher = publisher;
     }
 
     @Override
@@ -92,6 +100,9 @@ public class JPAAnyTypeClassDAO extends AbstractDAO<AnyTypeClass> implements Any
             schema.setAnyTypeClass(merge);
         }
 
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE_OR_UPDATE, merge, AuthContextUtils.getDomain()));
+
         return merge;
     }
 
@@ -130,5 +141,8 @@ public class JPAAnyTypeClassDAO extends AbstractDAO<AnyTypeClass> implements Any
         }
 
         entityManager().remove(anyTypeClass);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, anyTypeClass, AuthContextUtils.getDomain()));
     }
 }
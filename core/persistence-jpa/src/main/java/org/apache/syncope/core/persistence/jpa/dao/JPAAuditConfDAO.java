@@ -18,23 +18,36 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import jakarta.persistence.PersistenceException;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
 import org.apache.syncope.common.lib.audit.AuditEntry;
 import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
 import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.AuditConf;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAuditConf;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.api.utils.AuditEntryUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 public class JPAAuditConfDAO extends AbstractDAO<AuditConf> implements AuditConfDAO {
@@ -124,6 +137,48 @@ public class JPAAuditConfDAO extends AbstractDAO<AuditConf> implements AuditConf
         }
     }
 
+    protected static final String INSERT_ENTRY = "INSERT INTO " + AUDIT_ENTRY_TABLE
+            + " (" + AUDIT_ENTRY_EVENT_DATE_COLUMN + ", LOGGER_LEVEL, LOGGER, " + AUDIT_ENTRY_MESSAGE_COLUMN
+            + ", THROWABLE, " + String.join(", ", AUDIT_ENTRY_STRUCTURED_COLUMNS) + ") VALUES (?, ?, ?, ?, ?, "
+            + AUDIT_ENTRY_STRUCTURED_COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+
+    protected static void addEntry(
+            final PreparedStatement stmt,
+            final Timestamp date,
+            final String level,
+            final String logger,
+            final String message,
+            final String throwable,
+            final AuditEntry entry) throws SQLException {
+
+        Map<String, String> columns = Optional.ofNullable(entry).
+                map(AuditEntryUtils::getStructuredColumns).orElse(Map.of());
+
+        stmt.setTimestamp(1, date);
+        stmt.setString(2, level);
+        stmt.setString(3, logger);
+        stmt.setString(4, message);
+        stmt.setString(5, throwable);
+        for (int i = 0; i < AUDIT_ENTRY_STRUCTURED_COLUMNS.size(); i++) {
+            stmt.setString(6 + i, columns.get(AUDIT_ENTRY_STRUCTURED_COLUMNS.get(i)));
+        }
+        stmt.addBatch();
+    }
+
+    protected final boolean structuredSearch;
+
+    public JPAAuditConfDAO() {
+        this(true);
+    }
+
+    /**
+     * @param structuredSearch whether audit entries shall be searched by their structured columns, rather than by
+     * message: to be disabled only until entries stored before structured columns were available are backfilled
+     */
+    public JPAAuditConfDAO(final boolean structuredSearch) {
+        this.structuredSearch = structuredSearch;
+    }
+
     @Override
     public AuditConf find(final String key) {
         return entityManager().find(JPAAuditConf.class, key);
@@ -146,22 +201,116 @@ public class JPAAuditConfDAO extends AbstractDAO<AuditConf> implements AuditConf
         entityManager().remove(auditConf);
     }
 
-    protected MessageCriteriaBuilder messageCriteriaBuilder(final String entityKey) {
-        return new MessageCriteriaBuilder().entityKey(entityKey);
+    @Transactional
+    @Override
+    public void saveEntries(final List<AuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        String logger = AuditLoggerName.getAuditLoggerName(AuthContextUtils.getDomain());
+        try (Connection conn = (Connection) OpenJPAPersistence.cast(entityManager()).getConnection();
+                PreparedStatement stmt = conn.prepareStatement(INSERT_ENTRY)) {
+
+            for (AuditEntry entry : entries) {
+                addEntry(
+                        stmt,
+                        Timestamp.from(entry.getDate().toInstant()),
+                        "DEBUG",
+                        logger,
+                        POJOHelper.serialize(entry),
+                        entry.getThrowable(),
+                        entry);
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new PersistenceException("While storing " + entries.size() + " audit entries", e);
+        }
     }
 
-    protected void fillWithParameters(final Query query, final List<Object> parameters) {
-        for (int i = 0; i < parameters.size(); i++) {
-            if (parameters.get(i) instanceof Boolean) {
-                query.setParameter(i + 1, ((Boolean) parameters.get(i)) ? 1 : 0);
-            } else {
-                query.setParameter(i + 1, parameters.get(i));
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public OffsetDateTime backfillEntries(final OffsetDateTime after, final int batchSize) {
+        String unfilled = AUDIT_ENTRY_TYPE_COLUMN + " IS NULL"
+                + " AND " + AUDIT_ENTRY_EVENT_DATE_COLUMN + " IS NOT NULL"
+                + (after == null ? "" : " AND " + AUDIT_ENTRY_EVENT_DATE_COLUMN + " > ?");
+
+        try (Connection conn = (Connection) OpenJPAPersistence.cast(entityManager()).getConnection()) {
+            // 1. find the event date of the last entry to process, keeping all entries with such date together
+            Timestamp upTo = null;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT " + AUDIT_ENTRY_EVENT_DATE_COLUMN + " FROM " + AUDIT_ENTRY_TABLE
+                    + " WHERE " + unfilled + " ORDER BY " + AUDIT_ENTRY_EVENT_DATE_COLUMN)) {
+
+                stmt.setMaxRows(batchSize);
+                if (after != null) {
+                    stmt.setTimestamp(1, Timestamp.from(after.toInstant()));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        upTo = rs.getTimestamp(1);
+                    }
+                }
+            }
+            if (upTo == null) {
+                return null;
+            }
+
+            String where = " WHERE " + unfilled + " AND " + AUDIT_ENTRY_EVENT_DATE_COLUMN + " <= ?";
+            int upToIndex = after == null ? 1 : 2;
+
+            // 2. as audit entries have no primary key, replace them with copies having structured columns filled
+            try (PreparedStatement select = conn.prepareStatement(
+                    "SELECT " + AUDIT_ENTRY_EVENT_DATE_COLUMN + ", LOGGER_LEVEL, LOGGER, "
+                    + AUDIT_ENTRY_MESSAGE_COLUMN + ", THROWABLE FROM " + AUDIT_ENTRY_TABLE + where);
+                    PreparedStatement delete = conn.prepareStatement("DELETE FROM " + AUDIT_ENTRY_TABLE + where);
+                    PreparedStatement insert = conn.prepareStatement(INSERT_ENTRY)) {
+
+                if (after != null) {
+                    select.setTimestamp(1, Timestamp.from(after.toInstant()));
+                    delete.setTimestamp(1, Timestamp.from(after.toInstant()));
+                }
+                select.setTimestamp(upToIndex, upTo);
+                delete.setTimestamp(upToIndex, upTo);
+
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        String message = rs.getString(4);
+                        addEntry(
+                                insert,
+                                rs.getTimestamp(1),
+                                rs.getString(2),
+                                rs.getString(3),
+                                message,
+                                rs.getString(5),
+                                POJOHelper.deserialize(message, AuditEntry.class));
+                    }
+                }
+
+                delete.executeUpdate();
+                insert.executeBatch();
             }
+
+            return upTo.toInstant().atOffset(ZoneOffset.UTC);
+        } catch (SQLException e) {
+            throw new PersistenceException("While backfilling audit entries", e);
         }
     }
 
+    @Transactional
     @Override
-    public int countEntries(
+    public int purgeEntries(final OffsetDateTime before) {
+        Query query = entityManager().createNativeQuery(
+                "DELETE FROM " + AUDIT_ENTRY_TABLE + " WHERE " + AUDIT_ENTRY_EVENT_DATE_COLUMN + " < ?1");
+        query.setParameter(1, before);
+        return query.executeUpdate();
+    }
+
+    protected MessageCriteriaBuilder messageCriteriaBuilder(final String entityKey) {
+        return new MessageCriteriaBuilder().entityKey(entityKey);
+    }
+
+    protected String structuredCriteria(
             final String entityKey,
             final AuditElements.EventCategoryType type,
             final String category,
@@ -169,12 +318,62 @@ public class JPAAuditConfDAO extends AbstractDAO<AuditConf> implements AuditConf
             final List<String> events,
             final AuditElements.Result result,
             final OffsetDateTime before,
-            final OffsetDateTime after) {
+            final OffsetDateTime after,
+            final List<Object> parameters) {
 
-        List<Object> parameters = new ArrayList<>();
-        String queryString = "SELECT COUNT(0)"
-                + " FROM " + AUDIT_ENTRY_TABLE
-                + " WHERE " + messageCriteriaBuilder(entityKey).
+        List<String> clauses = new ArrayList<>();
+        if (entityKey != null) {
+            parameters.add(entityKey);
+            clauses.add(AUDIT_ENTRY_ENTITY_KEY_COLUMN + "=?" + parameters.size());
+        }
+        if (type != null) {
+            parameters.add(type.name());
+            clauses.add(AUDIT_ENTRY_TYPE_COLUMN + "=?" + parameters.size());
+        }
+        if (StringUtils.isNotBlank(category)) {
+            parameters.add(category);
+            clauses.add(AUDIT_ENTRY_CATEGORY_COLUMN + "=?" + parameters.size());
+        }
+        if (StringUtils.isNotBlank(subcategory)) {
+            parameters.add(subcategory);
+            clauses.add(AUDIT_ENTRY_SUBCATEGORY_COLUMN + "=?" + parameters.size());
+        }
+        if (!events.isEmpty()) {
+            clauses.add(AUDIT_ENTRY_EVENT_COLUMN + " IN (" + events.stream().map(event -> {
+                parameters.add(event);
+                return "?" + parameters.size();
+            }).collect(Collectors.joining(",")) + ')');
+        }
+        if (result != null) {
+            parameters.add(result.name());
+            clauses.add(AUDIT_ENTRY_RESULT_COLUMN + "=?" + parameters.size());
+        }
+        if (before != null) {
+            parameters.add(before);
+            clauses.add(AUDIT_ENTRY_EVENT_DATE_COLUMN + " <= ?" + parameters.size());
+        }
+        if (after != null) {
+            parameters.add(after);
+            clauses.add(AUDIT_ENTRY_EVENT_DATE_COLUMN + " >= ?" + parameters.size());
+        }
+
+        return clauses.isEmpty() ? "1=1" : String.join(" AND ", clauses);
+    }
+
+    protected String criteria(
+            final String entityKey,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final List<String> events,
+            final AuditElements.Result result,
+            final OffsetDateTime before,
+            final OffsetDateTime after,
+            final List<Object> parameters) {
+
+        return structuredSearch
+                ? structuredCriteria(entityKey, type, category, subcategory, events, result, before, after, parameters)
+                : messageCriteriaBuilder(entityKey).
                         type(type).
                         category(category).
                         subcategory(subcategory).
@@ -183,6 +382,24 @@ public class JPAAuditConfDAO extends AbstractDAO<AuditConf> implements AuditConf
                         before(before, parameters).
                         after(after, parameters).
                         build();
+    }
+
+    @Override
+    public int countEntries(
+            final String entityKey,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final List<String> events,
+            final AuditElements.Result result,
+            final OffsetDateTime before,
+            final OffsetDateTime after) {
+
+        List<Object> parameters = new ArrayList<>();
+        String queryString = "SELECT COUNT(0)"
+                + " FROM " + AUDIT_ENTRY_TABLE
+                + " WHERE " + criteria(
+                        entityKey, type, category, subcategory, events, result, before, after, parameters);
         Query query = entityManager().createNativeQuery(queryString);
         fillWithParameters(query, parameters);
 
@@ -211,15 +428,8 @@ public class JPAAuditConfDAO extends AbstractDAO<AuditConf> implements AuditConf
         List<Object> parameters = new ArrayList<>();
         String queryString = "SELECT " + select()
                 + " FROM " + AUDIT_ENTRY_TABLE
-                + " WHERE " + messageCriteriaBuilder(entityKey).
-                        type(type).
-                        category(category).
-                        subcategory(subcategory).
-                        result(result).
-                        events(events).
-                        before(before, parameters).
-                        after(after, parameters).
-                        build();
+                + " WHERE " + criteria(
+                        entityKey, type, category, subcategory, events, result, before, after, parameters);
         if (!orderBy.isEmpty()) {
             queryString += " ORDER BY " + orderBy.stream().
                     map(clause -> clause.getField() + ' ' + clause.getDirection().name()).
@@ -26,13 +26,20 @@ import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchemaDAO {
 
     protected final ExternalResourceDAO resourceDAO;
 
-    public JPADerSchemaDAO(final ExternalResourceDAO resourceDAO) {
+    protected final ApplicationEventPublisher publisher;
+
+    public JPADerSchemaDAO(final ExternalResourceDAO resourceDAO, final ApplicationEventPublisher publisher) {
         this.resourceDAO = resourceDAO;
+        this.publisher = publisher;
     }
 
     @Override
@@ -74,7 +81,12 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
     @Override
     public DerSchema save(final DerSchema schema) {
         ((JPADerSchema) schema).map2json();
-        return entityManager().merge(schema);
+        DerSchema merged = entityManager().merge(schema);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE_OR_UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     @Override
@@ -91,5 +103,8 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
         }
 
         entityManager().remove(schema);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, schema, AuthContextUtils.getDomain()));
     }
 }
@@ -21,7 +21,10 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -57,6 +60,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipIndex dynMembershipIndex;
+
     public JPADynRealmDAO(
             final ApplicationEventPublisher publisher,
             final UserDAO userDAO,
@@ -64,7 +69,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final AnyMatchDAO anyMatchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex) {
 
         this.publisher = publisher;
         this.userDAO = userDAO;
@@ -73,6 +79,7 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         this.searchDAO = searchDAO;
         this.anyMatchDAO = anyMatchDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipIndex = dynMembershipIndex;
     }
 
     @Override
@@ -168,29 +175,27 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     @Transactional
     @Override
     public void refreshDynMemberships(final Any<?> any) {
+        Set<String> changed = dynMembershipIndex.changedInputs(any);
+
+        Set<String> before = findDynMemberships(DYNMEMB_TABLE, "dynRealm_id", any.getKey());
+        Set<String> after = new HashSet<>();
         findAll().forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).ifPresent(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    any, SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()));
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT dynRealm_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-            find.setParameter(1, any.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-
-            if (matches && !existing) {
-                Query insert = entityManager().
-                        createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, any.getKey());
-                insert.setParameter(2, dynRealm.getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=? AND any_id=?");
-                delete.setParameter(1, dynRealm.getKey());
-                delete.setParameter(2, any.getKey());
-                delete.executeUpdate();
+            DynMembershipIndex.Compiled compiled = dynMembershipIndex.compile(memb.getFIQLCond());
+            boolean matches = compiled.isAffected(changed)
+                    ? anyMatchDAO.matches(any, compiled.getCond())
+                    : before.contains(dynRealm.getKey());
+            if (matches) {
+                after.add(dynRealm.getKey());
             }
         }));
+
+        updateDynMemberships(
+                DYNMEMB_TABLE,
+                "dynRealm_id",
+                any.getKey(),
+                before.stream().filter(dynRealm -> !after.contains(dynRealm)).collect(Collectors.toSet()),
+                after.stream().filter(dynRealm -> !before.contains(dynRealm)).
+                        map(dynRealm -> List.<Object>of(any.getKey(), dynRealm)).collect(Collectors.toList()));
     }
 
     @Override
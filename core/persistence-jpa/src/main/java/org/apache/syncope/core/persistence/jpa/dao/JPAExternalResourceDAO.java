@@ -31,6 +31,7 @@ import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -66,6 +67,8 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
 
     protected final RealmDAO realmDAO;
 
+    protected final PropagationDigestDAO propagationDigestDAO;
+
     public JPAExternalResourceDAO(
             final TaskDAO taskDAO,
             final AnyObjectDAO anyObjectDAO,
@@ -73,7 +76,8 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
             final GroupDAO groupDAO,
             final PolicyDAO policyDAO,
             final VirSchemaDAO virSchemaDAO,
-            final RealmDAO realmDAO) {
+            final RealmDAO realmDAO,
+            final PropagationDigestDAO propagationDigestDAO) {
 
         this.taskDAO = taskDAO;
         this.anyObjectDAO = anyObjectDAO;
@@ -82,6 +86,7 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         this.policyDAO = policyDAO;
         this.virSchemaDAO = virSchemaDAO;
         this.realmDAO = realmDAO;
+        this.propagationDigestDAO = propagationDigestDAO;
     }
 
     @Transactional(readOnly = true)
@@ -234,6 +239,8 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         taskDAO.deleteAll(resource, TaskType.PULL);
         taskDAO.deleteAll(resource, TaskType.PUSH);
 
+        propagationDigestDAO.deleteByResource(resource.getKey());
+
         realmDAO.findByResource(resource).
                 forEach(realm -> realm.getResources().remove(resource));
         anyObjectDAO.findByResource(resource).
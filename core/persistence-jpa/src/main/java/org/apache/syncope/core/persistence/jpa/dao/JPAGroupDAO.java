@@ -24,11 +24,17 @@ import jakarta.persistence.TypedQuery;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
@@ -42,11 +48,14 @@ import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.DynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.ADynGroupMembership;
@@ -59,6 +68,7 @@ import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAnyType;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
@@ -66,6 +76,7 @@ import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
 import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.apache.syncope.core.provisioning.api.event.DynMembersRefreshEvent;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
@@ -93,20 +104,27 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipIndex dynMembershipIndex;
+
+    protected final boolean asyncDynMembersRefresh;
+
     public JPAGroupDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final ApplicationEventPublisher publisher,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final AnyMatchDAO anyMatchDAO,
             final PlainAttrDAO plainAttrDAO,
             final UserDAO userDAO,
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex,
+            final boolean asyncDynMembersRefresh) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, allowedSchemasCache);
         this.publisher = publisher;
         this.anyMatchDAO = anyMatchDAO;
         this.plainAttrDAO = plainAttrDAO;
@@ -114,6 +132,8 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         this.anyObjectDAO = anyObjectDAO;
         this.anySearchDAO = searchDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipIndex = dynMembershipIndex;
+        this.asyncDynMembersRefresh = asyncDynMembersRefresh;
     }
 
     @Override
@@ -278,71 +298,246 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return findAllKeys(JPAGroup.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAGroup.TABLE, lastKey, itemsPerPage);
+    }
+
     protected SearchCond buildDynMembershipCond(final String baseCondFIQL) {
         return SearchCondConverter.convert(searchCondVisitor, baseCondFIQL);
     }
 
-    @Override
-    public Group saveAndRefreshDynMemberships(final Group group) {
-        Group merged = save(group);
-
-        // refresh dynamic memberships
-        clearUDynMembers(merged);
-        if (merged.getUDynMembership() != null) {
-            SearchCond cond = buildDynMembershipCond(merged.getUDynMembership().getFIQLCond());
-            int count = anySearchDAO.count(
-                    merged.getRealm(), true, Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.USER);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<User> matching = anySearchDAO.search(
-                        merged.getRealm(),
+    protected static Set<String> keys(final List<?> result) {
+        return result.stream().map(key -> key instanceof Object[]
+                ? ((Object[]) key)[0].toString()
+                : key.toString()).
+                collect(Collectors.toSet());
+    }
+
+    /**
+     * Builds the query selecting the current dynamic members of the given group, binding its parameters after the
+     * ones already in the given list.
+     *
+     * @param group group
+     * @param table dynamic membership table
+     * @param anyType any type of the members, null for users
+     * @param parameters positional parameters
+     * @return query string
+     */
+    protected String currentDynMembers(
+            final Group group,
+            final String table,
+            final AnyType anyType,
+            final List<Object> parameters) {
+
+        parameters.add(group.getKey());
+        StringBuilder query = new StringBuilder("SELECT any_id FROM ").append(table).
+                append(" WHERE group_id=?").append(parameters.size());
+        if (anyType != null) {
+            parameters.add(anyType.getKey());
+            query.append(" AND anyType_id=?").append(parameters.size());
+        }
+        return query.toString();
+    }
+
+    protected Set<String> findKeys(final String queryString, final List<Object> parameters) {
+        Query query = entityManager().createNativeQuery(queryString);
+        fillWithParameters(query, parameters);
+        return keys(query.getResultList());
+    }
+
+    /**
+     * Rebuilds the dynamic members of the given group in the given table, only writing the differences with the
+     * current members: when search runs on the same database, the differences are computed and inserted straight by
+     * the search SQL, otherwise the new members are read in chunks and inserted as JDBC batches.
+     *
+     * @param group group
+     * @param table dynamic membership table
+     * @param anyType any type of the members, null for users
+     * @param cond dynamic membership condition, null to remove all members
+     * @return pair of members added and removed
+     */
+    protected Pair<Set<String>, Set<String>> refreshDynMembers(
+            final Group group,
+            final String table,
+            final AnyType anyType,
+            final SearchCond cond) {
+
+        AnyTypeKind kind = anyType == null ? AnyTypeKind.USER : AnyTypeKind.ANY_OBJECT;
+
+        Optional<Pair<String, List<Object>>> keysQuery = cond == null
+                ? Optional.empty()
+                : anySearchDAO.keysQuery(
+                        group.getRealm(), true, Set.of(group.getRealm().getFullPath()), cond, kind);
+
+        Set<String> added;
+        Set<String> removed;
+        if (keysQuery.isPresent()) {
+            List<Object> parameters = new ArrayList<>(keysQuery.get().getRight());
+            removed = findKeys(currentDynMembers(group, table, anyType, parameters)
+                    + " AND any_id NOT IN (SELECT any_id FROM (" + keysQuery.get().getLeft() + ") dyn_members)",
+                    parameters);
+
+            parameters = new ArrayList<>(keysQuery.get().getRight());
+            added = findKeys("SELECT DISTINCT any_id FROM (" + keysQuery.get().getLeft() + ") dyn_members"
+                    + " WHERE any_id NOT IN (" + currentDynMembers(group, table, anyType, parameters) + ")",
+                    parameters);
+        } else {
+            List<Object> parameters = new ArrayList<>();
+            Set<String> current = findKeys(currentDynMembers(group, table, anyType, parameters), parameters);
+
+            Set<String> members = new HashSet<>();
+            if (cond != null) {
+                anySearchDAO.stream(
+                        group.getRealm(),
                         true,
-                        Set.of(merged.getRealm().getFullPath()),
+                        Set.of(group.getRealm().getFullPath()),
                         cond,
-                        page,
                         AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER);
-
-                matching.forEach(user -> {
-                    Query insert = entityManager().createNativeQuery("INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                    insert.setParameter(1, user.getKey());
-                    insert.setParameter(2, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(
-                            new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, user, AuthContextUtils.getDomain()));
-                });
+                        kind).forEach(any -> members.add(any.getKey()));
             }
+
+            removed = current.stream().filter(key -> !members.contains(key)).collect(Collectors.toSet());
+            added = members.stream().filter(key -> !current.contains(key)).collect(Collectors.toSet());
         }
-        clearADynMembers(merged);
-        merged.getADynMemberships().forEach(memb -> {
-            SearchCond cond = buildDynMembershipCond(memb.getFIQLCond());
-            int count = anySearchDAO.count(
-                    merged.getRealm(), true, Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.ANY_OBJECT);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<AnyObject> matching = anySearchDAO.search(
-                        merged.getRealm(),
-                        true,
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.ANY_OBJECT);
-
-                matching.forEach(any -> {
-                    Query insert = entityManager().createNativeQuery(
-                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                    insert.setParameter(1, any.getType().getKey());
-                    insert.setParameter(2, any.getKey());
-                    insert.setParameter(3, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(
-                            new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain()));
-                });
+
+        List<String> toRemove = new ArrayList<>(removed);
+        for (int i = 0; i < toRemove.size(); i += IN_CHUNK_SIZE) {
+            List<String> chunk = toRemove.subList(i, Math.min(i + IN_CHUNK_SIZE, toRemove.size()));
+
+            Query delete = entityManager().createNativeQuery(
+                    "DELETE FROM " + table + " WHERE group_id=?1 AND any_id IN ("
+                    + IntStream.rangeClosed(2, chunk.size() + 1).mapToObj(n -> "?" + n).
+                            collect(Collectors.joining(",")) + ")");
+            delete.setParameter(1, group.getKey());
+            for (int j = 0; j < chunk.size(); j++) {
+                delete.setParameter(j + 2, chunk.get(j));
             }
+            delete.executeUpdate();
+        }
+
+        if (!added.isEmpty()) {
+            if (keysQuery.isPresent()) {
+                // group and any type keys are read from their own tables rather than bound in the select list,
+                // as not all databases can infer the type of parameters found there
+                List<Object> parameters = new ArrayList<>(keysQuery.get().getRight());
+                StringBuilder insert = new StringBuilder("INSERT INTO ").append(table);
+                if (anyType == null) {
+                    insert.append(" (any_id, group_id) SELECT dm.any_id, g.id");
+                } else {
+                    insert.append(" (anyType_id, any_id, group_id) SELECT t.id, dm.any_id, g.id");
+                }
+                insert.append(" FROM (SELECT DISTINCT any_id FROM (").append(keysQuery.get().getLeft()).
+                        append(") dyn_members) dm, ").append(JPAGroup.TABLE).append(" g");
+                if (anyType != null) {
+                    insert.append(", ").append(JPAAnyType.TABLE).append(" t");
+                }
+
+                parameters.add(group.getKey());
+                insert.append(" WHERE g.id=?").append(parameters.size());
+                if (anyType != null) {
+                    parameters.add(anyType.getKey());
+                    insert.append(" AND t.id=?").append(parameters.size());
+                }
+                insert.append(" AND dm.any_id NOT IN (").
+                        append(currentDynMembers(group, table, anyType, parameters)).append(')');
+
+                Query query = entityManager().createNativeQuery(insert.toString());
+                fillWithParameters(query, parameters);
+                query.executeUpdate();
+            } else {
+                batchInsert(table, added.stream().map(key -> anyType == null
+                        ? List.<Object>of(key, group.getKey())
+                        : List.<Object>of(anyType.getKey(), key, group.getKey())).
+                        collect(Collectors.toList()));
+            }
+        }
+
+        return Pair.of(added, removed);
+    }
+
+    protected <A extends Any<?>> void publishDynMembersUpdate(final AnyDAO<A> anyDAO, final Set<String> keys) {
+        List<String> toPublish = new ArrayList<>(keys);
+        for (int i = 0; i < toPublish.size(); i += IN_CHUNK_SIZE) {
+            anyDAO.findByKeys(toPublish.subList(i, Math.min(i + IN_CHUNK_SIZE, toPublish.size()))).
+                    forEach(any -> publisher.publishEvent(
+                    new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain())));
+        }
+    }
+
+    @Transactional
+    @Override
+    public Pair<Set<String>, Set<String>> refreshDynMembers(final Group group) {
+        Set<String> added = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+
+        Pair<Set<String>, Set<String>> users = refreshDynMembers(
+                group,
+                UDYNMEMB_TABLE,
+                null,
+                group.getUDynMembership() == null
+                ? null
+                : buildDynMembershipCond(group.getUDynMembership().getFIQLCond()));
+        added.addAll(users.getLeft());
+        removed.addAll(users.getRight());
+        publishDynMembersUpdate(userDAO, users.getLeft());
+        publishDynMembersUpdate(userDAO, users.getRight());
+
+        // first drop the members for any types not having a dynamic membership anymore
+        Query query = entityManager().createNativeQuery(
+                "SELECT DISTINCT anyType_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=?");
+        query.setParameter(1, group.getKey());
+        Set<String> anyTypes = keys(query.getResultList());
+        group.getADynMemberships().forEach(memb -> anyTypes.remove(memb.getAnyType().getKey()));
+
+        Set<String> anyObjects = new HashSet<>();
+        anyTypes.forEach(anyType -> {
+            Query select = entityManager().createNativeQuery(
+                    "SELECT any_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=?1 AND anyType_id=?2");
+            select.setParameter(1, group.getKey());
+            select.setParameter(2, anyType);
+            Set<String> dropped = keys(select.getResultList());
+            removed.addAll(dropped);
+            anyObjects.addAll(dropped);
+
+            Query delete = entityManager().createNativeQuery(
+                    "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=?1 AND anyType_id=?2");
+            delete.setParameter(1, group.getKey());
+            delete.setParameter(2, anyType);
+            delete.executeUpdate();
+        });
+
+        group.getADynMemberships().forEach(memb -> {
+            AnyTypeCond anyTypeCond = new AnyTypeCond();
+            anyTypeCond.setAnyTypeKey(memb.getAnyType().getKey());
+
+            Pair<Set<String>, Set<String>> result = refreshDynMembers(
+                    group,
+                    ADYNMEMB_TABLE,
+                    memb.getAnyType(),
+                    SearchCond.getAnd(
+                            buildDynMembershipCond(memb.getFIQLCond()),
+                            SearchCond.getLeaf(anyTypeCond)));
+            added.addAll(result.getLeft());
+            removed.addAll(result.getRight());
+            anyObjects.addAll(result.getLeft());
+            anyObjects.addAll(result.getRight());
         });
+        publishDynMembersUpdate(anyObjectDAO, anyObjects);
+
+        return Pair.of(added, removed);
+    }
+
+    @Override
+    public Group saveAndRefreshDynMemberships(final Group group) {
+        Group merged = save(group);
+
+        // refresh dynamic memberships
+        if (asyncDynMembersRefresh) {
+            publisher.publishEvent(new DynMembersRefreshEvent(this, merged.getKey(), AuthContextUtils.getDomain()));
+        } else {
+            refreshDynMembers(merged);
+        }
 
         dynRealmDAO.refreshDynMemberships(merged);
 
@@ -517,6 +712,36 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return ((Number) query.getSingleResult()).intValue();
     }
 
+    protected Map<String, Integer> countByGroup(
+            final String table, final String column, final Collection<String> groupKeys) {
+
+        Map<String, Integer> result = new HashMap<>();
+        findInChunks("SELECT group_id, COUNT(" + column + ") FROM " + table + " WHERE group_id",
+                " GROUP BY group_id", groupKeys).
+                forEach(row -> result.put(row[0].toString(), ((Number) row[1]).intValue()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Integer> countAMembers(final Collection<String> groupKeys) {
+        return countByGroup(JPAAMembership.TABLE, "anyObject_id", groupKeys);
+    }
+
+    @Override
+    public Map<String, Integer> countUMembers(final Collection<String> groupKeys) {
+        return countByGroup(JPAUMembership.TABLE, "user_id", groupKeys);
+    }
+
+    @Override
+    public Map<String, Integer> countADynMembers(final Collection<String> groupKeys) {
+        return countByGroup(ADYNMEMB_TABLE, "any_id", groupKeys);
+    }
+
+    @Override
+    public Map<String, Integer> countUDynMembers(final Collection<String> groupKeys) {
+        return countByGroup(UDYNMEMB_TABLE, "any_id", groupKeys);
+    }
+
     @Override
     public void clearADynMembers(final Group group) {
         Query delete = entityManager().createNativeQuery("DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=?");
@@ -532,52 +757,65 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return query.getResultList();
     }
 
-    @Transactional
-    @Override
-    public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.ADYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, anyObject.getKey());
-
-        Set<String> before = new HashSet<>();
+    /**
+     * Evaluates the given dynamic memberships for an any object being saved, skipping the ones whose condition does
+     * not reference any of the changed inputs, then writes the differences and notifies the groups affected.
+     *
+     * @param any any object being saved
+     * @param table dynamic membership table
+     * @param dynMemberships dynamic memberships to evaluate
+     * @param row builds the row to insert for the given group key
+     * @return group keys before and after
+     */
+    protected Pair<Set<String>, Set<String>> refreshDynMemberships(
+            final Any<?> any,
+            final String table,
+            final List<? extends DynGroupMembership<?>> dynMemberships,
+            final Function<String, List<Object>> row) {
+
+        Set<String> changed = dynMembershipIndex.changedInputs(any);
+
+        Set<String> before = findDynMemberships(table, "group_id", any.getKey());
         Set<String> after = new HashSet<>();
-        findWithADynMemberships(anyObject.getType()).forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(anyObject, buildDynMembershipCond(memb.getFIQLCond()));
+        Map<String, Group> groups = new HashMap<>();
+        dynMemberships.forEach(memb -> {
+            groups.put(memb.getGroup().getKey(), memb.getGroup());
+
+            DynMembershipIndex.Compiled compiled = dynMembershipIndex.compile(memb.getFIQLCond());
+            boolean matches = compiled.isAffected(changed)
+                    ? anyMatchDAO.matches(any, compiled.getCond())
+                    : before.contains(memb.getGroup().getKey());
             if (matches) {
                 after.add(memb.getGroup().getKey());
             }
+        });
 
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, anyObject.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
+        Set<String> removed = before.stream().filter(group -> !after.contains(group)).collect(Collectors.toSet());
+        Set<String> added = after.stream().filter(group -> !before.contains(group)).collect(Collectors.toSet());
+        updateDynMemberships(
+                table,
+                "group_id",
+                any.getKey(),
+                removed,
+                added.stream().map(row).collect(Collectors.toList()));
 
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                insert.setParameter(1, anyObject.getType().getKey());
-                insert.setParameter(2, anyObject.getKey());
-                insert.setParameter(3, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, anyObject.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(
-                    new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
+        Stream.concat(removed.stream(), added.stream()).map(groups::get).filter(Objects::nonNull).
+                forEach(group -> publisher.publishEvent(
+                new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, group, AuthContextUtils.getDomain())));
 
         return Pair.of(before, after);
     }
 
+    @Transactional
+    @Override
+    public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
+        return refreshDynMemberships(
+                anyObject,
+                ADYNMEMB_TABLE,
+                findWithADynMemberships(anyObject.getType()),
+                group -> List.<Object>of(anyObject.getType().getKey(), anyObject.getKey(), group));
+    }
+
     @Override
     public Set<String> removeDynMemberships(final AnyObject anyObject) {
         List<Group> dynGroups = anyObjectDAO.findDynGroups(anyObject.getKey());
@@ -634,46 +872,11 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
-
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithUDynMemberships().forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(user, buildDynMembershipCond(memb.getFIQLCond()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, user.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(
-                    new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
-
-        return Pair.of(before, after);
+        return refreshDynMemberships(
+                user,
+                UDYNMEMB_TABLE,
+                findWithUDynMemberships(),
+                group -> List.<Object>of(user.getKey(), group));
     }
 
     @Override
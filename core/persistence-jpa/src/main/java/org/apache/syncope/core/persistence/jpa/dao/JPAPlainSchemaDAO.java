@@ -37,6 +37,10 @@ import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements PlainSchemaDAO {
 
@@ -46,14 +50,18 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
 
     private final ExternalResourceDAO resourceDAO;
 
+    private final ApplicationEventPublisher publisher;
+
     public JPAPlainSchemaDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrDAO plainAttrDAO,
-            final ExternalResourceDAO resourceDAO) {
+            final ExternalResourceDAO resourceDAO,
+            final ApplicationEventPublisher publisher) {
 
         this.anyUtilsFactory = anyUtilsFactory;
         this.plainAttrDAO = plainAttrDAO;
         this.resourceDAO = resourceDAO;
+        this.publisher = publisher;
     }
 
     @Override
@@ -127,7 +135,12 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
     @Override
     public PlainSchema save(final PlainSchema schema) {
         ((JPAPlainSchema) schema).map2json();
-        return entityManager().merge(schema);
+        PlainSchema merged = entityManager().merge(schema);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE_OR_UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     protected void deleteAttrs(final PlainSchema schema) {
@@ -153,6 +166,9 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
         }
 
         entityManager().remove(schema);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, schema, AuthContextUtils.getDomain()));
     }
 
     private <T extends PlainAttr<?>> String getPlainAttrTable(final Class<T> plainAttrClass) {
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.Query;
+import java.util.Optional;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
+import org.apache.syncope.core.persistence.api.entity.PropagationDigest;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPropagationDigest;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(rollbackFor = Throwable.class)
+public class JPAPropagationDigestDAO extends AbstractDAO<PropagationDigest> implements PropagationDigestDAO {
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<PropagationDigest> find(final String resource, final String connObjectKey) {
+        return Optional.ofNullable(entityManager().find(
+                JPAPropagationDigest.class, PropagationDigestDAO.key(resource, connObjectKey)));
+    }
+
+    @Override
+    public PropagationDigest save(final PropagationDigest digest) {
+        if (digest.getKey() == null) {
+            digest.setKey(PropagationDigestDAO.key(digest.getResource(), digest.getConnObjectKey()));
+        }
+        return entityManager().merge(digest);
+    }
+
+    @Override
+    public void delete(final String resource, final String connObjectKey) {
+        find(resource, connObjectKey).ifPresent(digest -> entityManager().remove(digest));
+    }
+
+    @Override
+    public int deleteByResource(final String resource) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAPropagationDigest.class.getSimpleName() + " e WHERE e.resource = :resource");
+        query.setParameter("resource", resource);
+        return query.executeUpdate();
+    }
+}
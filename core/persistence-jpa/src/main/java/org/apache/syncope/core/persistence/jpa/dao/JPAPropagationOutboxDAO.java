@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxEntry;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(rollbackFor = Throwable.class)
+public class JPAPropagationOutboxDAO extends AbstractDAO<PropagationOutboxEntry> implements PropagationOutboxDAO {
+
+    protected static final String GROUP_CONDITION = "e.resource = :resource AND e.groupKey = :groupKey";
+
+    @Transactional(readOnly = true)
+    @Override
+    public long count() {
+        Query query = entityManager().createQuery(
+                "SELECT COUNT(e) FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e");
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public PropagationOutboxEntry save(final PropagationOutboxEntry entry) {
+        return entityManager().merge(entry);
+    }
+
+    @Override
+    public void delete(final PropagationOutboxEntry entry) {
+        entityManager().remove(entityManager().contains(entry) ? entry : entityManager().merge(entry));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Pair<String, String>> findDueGroups(final OffsetDateTime now, final int max) {
+        Query query = entityManager().createQuery(
+                "SELECT e.resource, e.groupKey, MIN(e.enqueued) FROM "
+                + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE e.nextAttempt <= :now AND (e.claimOwner IS NULL OR e.claimExpiry < :now) "
+                + "AND NOT EXISTS (SELECT d FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " d "
+                + "WHERE d.resource = e.resource AND d.groupKey = e.groupKey AND d.deadLetter = true) "
+                + "GROUP BY e.resource, e.groupKey "
+                + "ORDER BY MIN(e.enqueued)");
+        query.setParameter("now", now);
+        query.setMaxResults(max);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> result = query.getResultList();
+        return result.stream().
+                map(row -> Pair.of((String) row[0], (String) row[1])).
+                collect(Collectors.toList());
+    }
+
+    protected long countForeignClaims(
+            final String resource, final String groupKey, final String owner, final OffsetDateTime now) {
+
+        Query query = entityManager().createQuery(
+                "SELECT COUNT(e) FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE " + GROUP_CONDITION + " AND e.claimOwner IS NOT NULL AND e.claimOwner <> :owner "
+                + "AND e.claimExpiry >= :now");
+        query.setParameter("resource", resource);
+        query.setParameter("groupKey", groupKey);
+        query.setParameter("owner", owner);
+        query.setParameter("now", now);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public List<PropagationOutboxEntry> claim(
+            final String resource,
+            final String groupKey,
+            final String owner,
+            final OffsetDateTime now,
+            final OffsetDateTime leaseExpiry) {
+
+        if (countForeignClaims(resource, groupKey, owner, now) > 0) {
+            return List.of();
+        }
+
+        Query update = entityManager().createQuery(
+                "UPDATE " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "SET e.claimOwner = :owner, e.claimExpiry = :leaseExpiry "
+                + "WHERE " + GROUP_CONDITION + " AND (e.claimOwner IS NULL OR e.claimOwner = :owner "
+                + "OR e.claimExpiry < :now)");
+        update.setParameter("owner", owner);
+        update.setParameter("leaseExpiry", leaseExpiry);
+        update.setParameter("resource", resource);
+        update.setParameter("groupKey", groupKey);
+        update.setParameter("now", now);
+        if (update.executeUpdate() == 0) {
+            return List.of();
+        }
+
+        // another owner might have claimed part of the group meanwhile: back off, as order could not be granted
+        if (countForeignClaims(resource, groupKey, owner, now) > 0) {
+            release(resource, groupKey, owner);
+            return List.of();
+        }
+
+        TypedQuery<JPAPropagationOutboxEntry> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE " + GROUP_CONDITION + " AND e.claimOwner = :owner "
+                + "ORDER BY e.enqueued, e.id", JPAPropagationOutboxEntry.class);
+        query.setParameter("resource", resource);
+        query.setParameter("groupKey", groupKey);
+        query.setParameter("owner", owner);
+        return query.getResultList().stream().map(PropagationOutboxEntry.class::cast).collect(Collectors.toList());
+    }
+
+    @Override
+    public void release(final String resource, final String groupKey, final String owner) {
+        Query update = entityManager().createQuery(
+                "UPDATE " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "SET e.claimOwner = NULL, e.claimExpiry = NULL "
+                + "WHERE " + GROUP_CONDITION + " AND e.claimOwner = :owner");
+        update.setParameter("resource", resource);
+        update.setParameter("groupKey", groupKey);
+        update.setParameter("owner", owner);
+        update.executeUpdate();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<PropagationOutboxEntry> findDeadLetters(final int max) {
+        TypedQuery<JPAPropagationOutboxEntry> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE e.deadLetter = true ORDER BY e.enqueued, e.id", JPAPropagationOutboxEntry.class);
+        query.setMaxResults(max);
+        return query.getResultList().stream().map(PropagationOutboxEntry.class::cast).collect(Collectors.toList());
+    }
+
+    @Override
+    public int retryDeadLetters(final String resource, final String groupKey, final OffsetDateTime now) {
+        Query update = entityManager().createQuery(
+                "UPDATE " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "SET e.deadLetter = false, e.attempts = 0, e.nextAttempt = :now "
+                + "WHERE " + GROUP_CONDITION + " AND e.deadLetter = true");
+        update.setParameter("now", now);
+        update.setParameter("resource", resource);
+        update.setParameter("groupKey", groupKey);
+        return update.executeUpdate();
+    }
+}
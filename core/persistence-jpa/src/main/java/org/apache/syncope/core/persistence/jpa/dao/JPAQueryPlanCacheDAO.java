@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.core.persistence.api.dao.QueryPlanCacheDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+public class JPAQueryPlanCacheDAO implements QueryPlanCacheDAO {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(QueryPlanCacheDAO.class);
+
+    /**
+     * Binds the values of a leaf condition to query parameters, as the compiled query expects them, without building
+     * any query.
+     */
+    @FunctionalInterface
+    public interface LeafBinder {
+
+        /**
+         * @param cond leaf search condition, with the same shape as the one the query was compiled from
+         * @param parameters query parameters
+         */
+        void bind(SearchCond cond, List<Object> parameters);
+    }
+
+    /**
+     * Native query compiled from a search condition, with the binders of its leaves, in the order they are visited.
+     */
+    public static class CompiledQuery {
+
+        private final String query;
+
+        private final List<LeafBinder> binders;
+
+        private final int parameterCount;
+
+        public CompiledQuery(final String query, final List<LeafBinder> binders, final int parameterCount) {
+            this.query = query;
+            this.binders = List.copyOf(binders);
+            this.parameterCount = parameterCount;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public List<LeafBinder> getBinders() {
+            return binders;
+        }
+
+        /**
+         * @return number of parameters bound by the condition the query was compiled from
+         */
+        public int getParameterCount() {
+            return parameterCount;
+        }
+    }
+
+    protected final Cache<String, CompiledQuery> cache;
+
+    public JPAQueryPlanCacheDAO(final String cacheSpec) {
+        cache = Caffeine.from(cacheSpec).build();
+    }
+
+    /**
+     * Retrieve cached query. Return null in case of query not cached.
+     *
+     * @param key condition shape, as computed by {@link JPAAnySearchDAO}
+     * @return cached query or null if not cached
+     */
+    public CompiledQuery get(final String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Cache query.
+     *
+     * @param key condition shape, as computed by {@link JPAAnySearchDAO}
+     * @param query native query, with numbered parameters, and its binders
+     */
+    public void put(final String key, final CompiledQuery query) {
+        cache.put(key, query);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hit_rate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    @Override
+    public void clearCache() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (event.getEntity() instanceof PlainSchema || event.getEntity() instanceof AnyTypeClass) {
+            LOG.debug("{} {} was {}: clearing compiled queries",
+                    event.getEntity().getClass().getSimpleName(), event.getEntity().getKey(), event.getType());
+
+            clearCache();
+        }
+    }
+}
@@ -21,7 +21,10 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -36,6 +39,7 @@ import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
 import org.apache.syncope.core.persistence.jpa.entity.JPARole;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.springframework.context.ApplicationEventPublisher;
@@ -55,18 +59,22 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipIndex dynMembershipIndex;
+
     public JPARoleDAO(
             final AnyMatchDAO anyMatchDAO,
             final ApplicationEventPublisher publisher,
             final AnySearchDAO anySearchDAO,
             final DelegationDAO delegationDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipIndex dynMembershipIndex) {
 
         this.anyMatchDAO = anyMatchDAO;
         this.publisher = publisher;
         this.anySearchDAO = anySearchDAO;
         this.delegationDAO = delegationDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipIndex = dynMembershipIndex;
     }
 
     @Override
@@ -108,7 +116,12 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     @Override
     public Role save(final Role role) {
         ((JPARole) role).list2json();
-        return entityManager().merge(role);
+        Role merged = entityManager().merge(role);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE_OR_UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     @Override
@@ -153,6 +166,9 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
         delegationDAO.findByRole(role).forEach(delegation -> delegation.getRoles().remove(role));
 
         entityManager().remove(role);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, role, AuthContextUtils.getDomain()));
     }
 
     @Override
@@ -193,33 +209,28 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     @Transactional
     @Override
     public void refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT role_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
+        Set<String> changed = dynMembershipIndex.changedInputs(user);
 
+        Set<String> before = findDynMemberships(DYNMEMB_TABLE, "role_id", user.getKey());
+        Set<String> after = new HashSet<>();
         findAll().stream().filter(role -> role.getDynMembership() != null).forEach(role -> {
-            boolean matches = anyMatchDAO.matches(
-                    user, SearchCondConverter.convert(searchCondVisitor, role.getDynMembership().getFIQLCond()));
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE role_id=?");
-            find.setParameter(1, role.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, role.getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + DYNMEMB_TABLE + " WHERE role_id=? AND any_id=?");
-                delete.setParameter(1, role.getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
+            DynMembershipIndex.Compiled compiled =
+                    dynMembershipIndex.compile(role.getDynMembership().getFIQLCond());
+            boolean matches = compiled.isAffected(changed)
+                    ? anyMatchDAO.matches(user, compiled.getCond())
+                    : before.contains(role.getKey());
+            if (matches) {
+                after.add(role.getKey());
             }
         });
+
+        updateDynMemberships(
+                DYNMEMB_TABLE,
+                "role_id",
+                user.getKey(),
+                before.stream().filter(role -> !after.contains(role)).collect(Collectors.toSet()),
+                after.stream().filter(role -> !before.contains(role)).
+                        map(role -> List.<Object>of(user.getKey(), role)).collect(Collectors.toList()));
     }
 
     @Override
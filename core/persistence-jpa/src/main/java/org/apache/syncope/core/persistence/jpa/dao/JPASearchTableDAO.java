@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.Query;
+import java.util.List;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.SearchTableDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listen to any create / update and delete in order to keep the search tables consistent, within the same
+ * transaction.
+ */
+public class JPASearchTableDAO extends AbstractDAO<Any<?>> implements SearchTableDAO {
+
+    protected final boolean enabled;
+
+    public JPASearchTableDAO(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    protected void delete(final String table, final String column, final String value) {
+        Query query = entityManager().createNativeQuery("DELETE FROM " + table + " WHERE " + column + "=?1");
+        query.setParameter(1, value);
+        query.executeUpdate();
+    }
+
+    protected void fill(final SearchTableSupport sts, final String table, final String key) {
+        Query query = entityManager().createNativeQuery(sts.insertFromView(table) + " WHERE any_id=?1");
+        query.setParameter(1, key);
+        query.executeUpdate();
+    }
+
+    @Transactional
+    @Override
+    public int rebuild(final AnyTypeKind kind) {
+        SearchTableSupport sts = new SearchTableSupport(kind);
+
+        int rows = 0;
+        for (String table : sts.searchTables().keySet()) {
+            entityManager().createNativeQuery("DELETE FROM " + table).executeUpdate();
+            rows += entityManager().createNativeQuery(sts.insertFromView(table)).executeUpdate();
+        }
+        return rows;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void any(final AnyLifecycleEvent<Any<?>> event) {
+        if (!enabled) {
+            return;
+        }
+
+        LOG.debug("About to {} search tables for {}", event.getType().name(), event.getAny());
+
+        // make pending changes visible to the views the search tables are filled from
+        entityManager().flush();
+
+        AnyTypeKind kind = event.getAny().getType().getKind();
+        String key = event.getAny().getKey();
+        SearchTableSupport sts = new SearchTableSupport(kind);
+        sts.searchTables().keySet().forEach(table -> {
+            delete(table, "any_id", key);
+            if (event.getType() != SyncDeltaType.DELETE) {
+                fill(sts, table, key);
+            }
+        });
+
+        if (kind == AnyTypeKind.GROUP) {
+            List.of(AnyTypeKind.USER, AnyTypeKind.ANY_OBJECT).forEach(memberKind -> {
+                String table = new SearchTableSupport(memberKind).membership().name;
+                if (event.getType() == SyncDeltaType.DELETE) {
+                    delete(table, "group_id", key);
+                } else {
+                    Query query = entityManager().createNativeQuery(
+                            "UPDATE " + table + " SET group_name=?1 WHERE group_id=?2");
+                    query.setParameter(1, ((Group) event.getAny()).getName());
+                    query.setParameter(2, key);
+                    query.executeUpdate();
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (enabled && event.getEntity() instanceof PlainSchema && event.getType() == SyncDeltaType.DELETE) {
+            LOG.debug("Removing values for {} {} from search tables",
+                    PlainSchema.class.getSimpleName(), event.getEntity().getKey());
+
+            for (AnyTypeKind kind : AnyTypeKind.values()) {
+                SearchTableSupport sts = new SearchTableSupport(kind);
+                delete(sts.attr().name, "schema_id", event.getEntity().getKey());
+                delete(sts.uniqueAttr().name, "schema_id", event.getEntity().getKey());
+            }
+        }
+    }
+}
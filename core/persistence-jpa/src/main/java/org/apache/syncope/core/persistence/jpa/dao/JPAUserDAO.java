@@ -84,6 +84,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final AllowedSchemasCache allowedSchemasCache,
             final RoleDAO roleDAO,
             final AccessTokenDAO accessTokenDAO,
             final GroupDAO groupDAO,
@@ -91,7 +92,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
             final FIQLQueryDAO fiqlQueryDAO,
             final SecurityProperties securityProperties) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, allowedSchemasCache);
         this.roleDAO = roleDAO;
         this.accessTokenDAO = accessTokenDAO;
         this.groupDAO = groupDAO;
@@ -271,6 +272,28 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return findAllKeys(JPAUser.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAUser.TABLE, lastKey, itemsPerPage);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Pair<String, String>> findAllUsernames(final String lastKey, final int itemsPerPage) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT id, username FROM " + JPAUser.TABLE + (lastKey == null ? "" : " WHERE id>?") + " ORDER BY id");
+        if (lastKey != null) {
+            query.setParameter(1, lastKey);
+        }
+        query.setMaxResults(itemsPerPage);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().
+                map(row -> Pair.of(row[0].toString(), row[1].toString())).
+                collect(Collectors.toList());
+    }
+
     protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
         User merged = super.save(user);
         roleDAO.refreshDynMemberships(merged);
@@ -362,6 +385,18 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<Role>> findDynRoles(final Collection<String> keys) {
+        return resolve(findDynMembershipsByAny(JPARoleDAO.DYNMEMB_TABLE, "role_id", keys), roleDAO::find);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<Group>> findDynGroups(final Collection<String> keys) {
+        return resolve(findDynMembershipsByAny(JPAGroupDAO.UDYNMEMB_TABLE, "group_id", keys), groupDAO::find);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     public Collection<Group> findAllGroups(final User user) {
@@ -30,13 +30,20 @@ import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.jpa.entity.JPAVirSchema;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class JPAVirSchemaDAO extends AbstractDAO<VirSchema> implements VirSchemaDAO {
 
     protected final ExternalResourceDAO resourceDAO;
 
-    public JPAVirSchemaDAO(final ExternalResourceDAO resourceDAO) {
+    protected final ApplicationEventPublisher publisher;
+
+    public JPAVirSchemaDAO(final ExternalResourceDAO resourceDAO, final ApplicationEventPublisher publisher) {
         this.resourceDAO = resourceDAO;
+        this.publisher = publisher;
     }
 
     @Override
@@ -106,7 +113,12 @@ public class JPAVirSchemaDAO extends AbstractDAO<VirSchema> implements VirSchema
     @Override
     public VirSchema save(final VirSchema schema) {
         ((JPAVirSchema) schema).map2json();
-        return entityManager().merge(schema);
+        VirSchema merged = entityManager().merge(schema);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.CREATE_OR_UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     @Override
@@ -123,5 +135,8 @@ public class JPAVirSchemaDAO extends AbstractDAO<VirSchema> implements VirSchema
         }
 
         entityManager().remove(schema);
+
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, schema, AuthContextUtils.getDomain()));
     }
 }
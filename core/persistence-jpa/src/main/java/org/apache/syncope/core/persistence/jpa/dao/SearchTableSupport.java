@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * Replaces the most expensive {@code *_search_*} views with the matching search tables, kept in sync by
+ * {@link JPASearchTableDAO}.
+ */
+public class SearchTableSupport extends SearchViewSupport {
+
+    protected static final String ATTR_COLUMNS =
+            "any_id,schema_id,booleanvalue,datevalue,doublevalue,longvalue,stringvalue";
+
+    protected static final String MEMBERSHIP_COLUMNS = "any_id,group_id,group_name";
+
+    public SearchTableSupport(final AnyTypeKind anyTypeKind) {
+        super(anyTypeKind);
+    }
+
+    protected SearchView searchTable(final SearchView view) {
+        return new SearchView(
+                view.alias,
+                field().name + "_table" + view.name.substring(field().name.length()));
+    }
+
+    @Override
+    public SearchView attr() {
+        return searchTable(super.attr());
+    }
+
+    @Override
+    public SearchView uniqueAttr() {
+        return searchTable(super.uniqueAttr());
+    }
+
+    @Override
+    public SearchView membership() {
+        return anyTypeKind == AnyTypeKind.GROUP
+                ? super.membership()
+                : searchTable(super.membership());
+    }
+
+    /**
+     * @return search table names, mapped to the view each is filled from
+     */
+    public Map<String, String> searchTables() {
+        Map<String, String> tables = new LinkedHashMap<>();
+        tables.put(attr().name, super.attr().name);
+        tables.put(uniqueAttr().name, super.uniqueAttr().name);
+        if (anyTypeKind != AnyTypeKind.GROUP) {
+            tables.put(membership().name, super.membership().name);
+        }
+        return tables;
+    }
+
+    /**
+     * Columns are listed explicitly, so that adding columns to the views does not break search tables
+     * created earlier.
+     *
+     * @param table search table
+     * @return statement filling the given search table from the matching view
+     */
+    public String insertFromView(final String table) {
+        String columns = table.equals(membership().name) ? MEMBERSHIP_COLUMNS : ATTR_COLUMNS;
+        return "INSERT INTO " + table + " (" + columns + ") SELECT " + columns + " FROM " + searchTables().get(table);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
+
+@Entity
+@Table(name = JPAAnyTombstone.TABLE)
+public class JPAAnyTombstone extends AbstractGeneratedKeyEntity implements AnyTombstone {
+
+    private static final long serialVersionUID = -1529216472466364917L;
+
+    public static final String TABLE = "AnyTombstone";
+
+    /**
+     * Any type key: not a foreign key, tombstones outlive the entities they refer to.
+     */
+    @NotNull
+    private String anyType;
+
+    @NotNull
+    private String anyKey;
+
+    private String name;
+
+    @NotNull
+    private String realm;
+
+    @NotNull
+    private OffsetDateTime deletionDate;
+
+    @Override
+    public String getAnyType() {
+        return anyType;
+    }
+
+    @Override
+    public void setAnyType(final String anyType) {
+        this.anyType = anyType;
+    }
+
+    @Override
+    public String getAnyKey() {
+        return anyKey;
+    }
+
+    @Override
+    public void setAnyKey(final String anyKey) {
+        this.anyKey = anyKey;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getRealm() {
+        return realm;
+    }
+
+    @Override
+    public void setRealm(final String realm) {
+        this.realm = realm;
+    }
+
+    @Override
+    public OffsetDateTime getDeletionDate() {
+        return deletionDate;
+    }
+
+    @Override
+    public void setDeletionDate(final OffsetDateTime deletionDate) {
+        this.deletionDate = deletionDate;
+    }
+}
@@ -38,18 +38,21 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.to.OrgUnit;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.common.lib.types.IdMImplementationType;
+import org.apache.syncope.common.lib.types.PropagationRejectionPolicy;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
@@ -105,6 +108,28 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
      */
     private Integer propagationPriority;
 
+    /**
+     * Maximum number of concurrent non-priority propagations to this resource; when NULL, such propagations are
+     * executed by the shared propagation executor.
+     */
+    @Min(1)
+    private Integer propagationConcurrency;
+
+    /**
+     * Maximum number of non-priority propagations to this resource waiting for execution.
+     */
+    @Min(0)
+    private Integer propagationQueueCapacity;
+
+    @Enumerated(EnumType.STRING)
+    private PropagationRejectionPolicy propagationRejectionPolicy;
+
+    /**
+     * Whether a digest of the attributes last propagated to each remote object shall be kept, so that updates can be
+     * checked against it instead of reading the remote object first.
+     */
+    private Boolean propagationDigest = false;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     private TraceLevel createTraceLevel = TraceLevel.FAILURES;
@@ -231,6 +256,46 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
         this.propagationPriority = propagationPriority;
     }
 
+    @Override
+    public Integer getPropagationConcurrency() {
+        return propagationConcurrency;
+    }
+
+    @Override
+    public void setPropagationConcurrency(final Integer propagationConcurrency) {
+        this.propagationConcurrency = propagationConcurrency;
+    }
+
+    @Override
+    public Integer getPropagationQueueCapacity() {
+        return propagationQueueCapacity;
+    }
+
+    @Override
+    public void setPropagationQueueCapacity(final Integer propagationQueueCapacity) {
+        this.propagationQueueCapacity = propagationQueueCapacity;
+    }
+
+    @Override
+    public PropagationRejectionPolicy getPropagationRejectionPolicy() {
+        return Optional.ofNullable(propagationRejectionPolicy).orElse(PropagationRejectionPolicy.ABORT);
+    }
+
+    @Override
+    public void setPropagationRejectionPolicy(final PropagationRejectionPolicy propagationRejectionPolicy) {
+        this.propagationRejectionPolicy = propagationRejectionPolicy;
+    }
+
+    @Override
+    public boolean isPropagationDigest() {
+        return BooleanUtils.isTrue(propagationDigest);
+    }
+
+    @Override
+    public void setPropagationDigest(final boolean propagationDigest) {
+        this.propagationDigest = propagationDigest;
+    }
+
     @Override
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.entity.PropagationDigest;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+
+@Entity
+@Table(name = JPAPropagationDigest.TABLE)
+public class JPAPropagationDigest extends AbstractProvidedKeyEntity implements PropagationDigest {
+
+    private static final long serialVersionUID = 4803262371698165442L;
+
+    public static final String TABLE = "PropagationDigest";
+
+    protected static final TypeReference<Map<String, String>> TYPEREF = new TypeReference<Map<String, String>>() {
+    };
+
+    /**
+     * Resource key: not a foreign key, digests are removed together with their resource.
+     */
+    @NotNull
+    private String resource;
+
+    @NotNull
+    private String connObjectKey;
+
+    @Lob
+    private String attributes;
+
+    @NotNull
+    private OffsetDateTime verified;
+
+    @NotNull
+    private OffsetDateTime updated;
+
+    @Override
+    public String getResource() {
+        return resource;
+    }
+
+    @Override
+    public void setResource(final String resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public String getConnObjectKey() {
+        return connObjectKey;
+    }
+
+    @Override
+    public void setConnObjectKey(final String connObjectKey) {
+        this.connObjectKey = connObjectKey;
+    }
+
+    @Override
+    public Map<String, String> getAttributes() {
+        Map<String, String> result = new HashMap<>();
+        if (StringUtils.isNotBlank(attributes)) {
+            result.putAll(POJOHelper.deserialize(attributes, TYPEREF));
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttributes(final Map<String, String> attributes) {
+        this.attributes = POJOHelper.serialize(attributes);
+    }
+
+    @Override
+    public OffsetDateTime getVerified() {
+        return verified;
+    }
+
+    @Override
+    public void setVerified(final OffsetDateTime verified) {
+        this.verified = verified;
+    }
+
+    @Override
+    public OffsetDateTime getUpdated() {
+        return updated;
+    }
+
+    @Override
+    public void setUpdated(final OffsetDateTime updated) {
+        this.updated = updated;
+    }
+}
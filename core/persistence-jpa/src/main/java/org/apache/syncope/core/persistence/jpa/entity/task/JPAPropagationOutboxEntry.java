@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity.task;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.jpa.entity.AbstractGeneratedKeyEntity;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+
+@Entity
+@Table(name = JPAPropagationOutboxEntry.TABLE)
+public class JPAPropagationOutboxEntry extends AbstractGeneratedKeyEntity implements PropagationOutboxEntry {
+
+    private static final long serialVersionUID = -2783547296637410395L;
+
+    public static final String TABLE = "PropagationOutbox";
+
+    /**
+     * Resource key: not a foreign key, so that resources can be removed regardless of pending entries, which are
+     * discarded when drained.
+     */
+    @NotNull
+    private String resource;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private ResourceOperation operation;
+
+    private String objectClassName;
+
+    @Enumerated(EnumType.STRING)
+    private AnyTypeKind anyTypeKind;
+
+    private String anyType;
+
+    private String entityKey;
+
+    private String connObjectKey;
+
+    private String oldConnObjectKey;
+
+    private String groupKey;
+
+    @Lob
+    private String propagationData;
+
+    private String executor;
+
+    @NotNull
+    private OffsetDateTime enqueued;
+
+    @NotNull
+    private Integer attempts = 0;
+
+    @NotNull
+    private OffsetDateTime nextAttempt;
+
+    @NotNull
+    private Boolean deadLetter = false;
+
+    private String claimOwner;
+
+    private OffsetDateTime claimExpiry;
+
+    @Override
+    public String getResource() {
+        return resource;
+    }
+
+    @Override
+    public void setResource(final String resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public ResourceOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void setOperation(final ResourceOperation operation) {
+        this.operation = operation;
+    }
+
+    @Override
+    public String getObjectClassName() {
+        return objectClassName;
+    }
+
+    @Override
+    public void setObjectClassName(final String objectClassName) {
+        this.objectClassName = objectClassName;
+    }
+
+    @Override
+    public AnyTypeKind getAnyTypeKind() {
+        return anyTypeKind;
+    }
+
+    @Override
+    public void setAnyTypeKind(final AnyTypeKind anyTypeKind) {
+        this.anyTypeKind = anyTypeKind;
+    }
+
+    @Override
+    public String getAnyType() {
+        return anyType;
+    }
+
+    @Override
+    public void setAnyType(final String anyType) {
+        this.anyType = anyType;
+    }
+
+    @Override
+    public String getEntityKey() {
+        return entityKey;
+    }
+
+    @Override
+    public void setEntityKey(final String entityKey) {
+        this.entityKey = entityKey;
+    }
+
+    @Override
+    public String getConnObjectKey() {
+        return connObjectKey;
+    }
+
+    @Override
+    public void setConnObjectKey(final String connObjectKey) {
+        this.connObjectKey = connObjectKey;
+    }
+
+    @Override
+    public String getOldConnObjectKey() {
+        return oldConnObjectKey;
+    }
+
+    @Override
+    public void setOldConnObjectKey(final String oldConnObjectKey) {
+        this.oldConnObjectKey = oldConnObjectKey;
+    }
+
+    @Override
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    @Override
+    public PropagationData getPropagationData() {
+        PropagationData result = null;
+        if (StringUtils.isNotBlank(propagationData)) {
+            result = POJOHelper.deserialize(propagationData, PropagationData.class);
+        }
+        return result;
+    }
+
+    @Override
+    public void setPropagationData(final PropagationData propagationData) {
+        this.propagationData = POJOHelper.serialize(propagationData);
+    }
+
+    @Override
+    public String getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void setExecutor(final String executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public OffsetDateTime getEnqueued() {
+        return enqueued;
+    }
+
+    @Override
+    public void setEnqueued(final OffsetDateTime enqueued) {
+        this.enqueued = enqueued;
+    }
+
+    @Override
+    public int getAttempts() {
+        return Optional.ofNullable(attempts).orElse(0);
+    }
+
+    @Override
+    public void setAttempts(final int attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public OffsetDateTime getNextAttempt() {
+        return nextAttempt;
+    }
+
+    @Override
+    public void setNextAttempt(final OffsetDateTime nextAttempt) {
+        this.nextAttempt = nextAttempt;
+    }
+
+    @Override
+    public boolean isDeadLetter() {
+        return BooleanUtils.isTrue(deadLetter);
+    }
+
+    @Override
+    public void setDeadLetter(final boolean deadLetter) {
+        this.deadLetter = deadLetter;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void computeGroupKey() {
+        groupKey = Optional.ofNullable(entityKey).orElse(connObjectKey);
+    }
+}
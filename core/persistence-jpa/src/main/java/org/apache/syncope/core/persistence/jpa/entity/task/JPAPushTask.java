@@ -36,6 +36,8 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -63,6 +65,10 @@ public class JPAPushTask extends AbstractProvisioningTask<PushTask> implements P
             new TypeReference<HashMap<String, String>>() {
     };
 
+    protected static final TypeReference<HashMap<String, OffsetDateTime>> WATERMARK_TYPEREF =
+            new TypeReference<HashMap<String, OffsetDateTime>>() {
+    };
+
     @ManyToOne(fetch = FetchType.EAGER, optional = false)
     private JPARealm sourceRealm;
 
@@ -82,6 +88,12 @@ public class JPAPushTask extends AbstractProvisioningTask<PushTask> implements P
             @UniqueConstraint(columnNames = { "task_id", "implementation_id" }))
     private List<JPAImplementation> actions = new ArrayList<>();
 
+    @NotNull
+    private Boolean incremental = false;
+
+    @Lob
+    private String watermarks;
+
     @OneToMany(targetEntity = JPAPushTaskExec.class,
             cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "task")
     private List<TaskExec<SchedTask>> executions = new ArrayList<>();
@@ -119,6 +131,41 @@ public class JPAPushTask extends AbstractProvisioningTask<PushTask> implements P
         return filterMap;
     }
 
+    @Override
+    public void setIncremental(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    protected Map<String, OffsetDateTime> watermarks() {
+        Map<String, OffsetDateTime> result = new HashMap<>();
+        if (watermarks != null) {
+            result.putAll(POJOHelper.deserialize(watermarks, WATERMARK_TYPEREF));
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<OffsetDateTime> getWatermark(final String anyType) {
+        return Optional.ofNullable(watermarks().get(anyType));
+    }
+
+    @Override
+    public void setWatermark(final String anyType, final OffsetDateTime watermark) {
+        Map<String, OffsetDateTime> map = watermarks();
+        map.put(anyType, watermark);
+        watermarks = POJOHelper.serialize(map);
+    }
+
+    @Override
+    public void clearWatermarks() {
+        watermarks = null;
+    }
+
     @Override
     protected Class<? extends TaskExec<SchedTask>> executionClass() {
         return JPAPushTaskExec.class;
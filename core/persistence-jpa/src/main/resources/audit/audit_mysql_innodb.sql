@@ -20,5 +20,25 @@ CREATE TABLE IF NOT EXISTS AuditEntry (
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE LONGTEXT NOT NULL,
-  THROWABLE TEXT
+  THROWABLE TEXT,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  CATEGORY VARCHAR(255),
+  SUBCATEGORY VARCHAR(255),
+  EVENT VARCHAR(255),
+  RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 ) ENGINE=InnoDB;
+
+-- structured columns, added for upgrades of existing tables; see AuditEntryMaintenance for backfilling
+ALTER TABLE AuditEntry ADD COLUMN WHO VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN EVENT_TYPE VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN CATEGORY VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN SUBCATEGORY VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN EVENT VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN RESULT VARCHAR(255);
+ALTER TABLE AuditEntry ADD COLUMN ENTITY_KEY VARCHAR(255);
+
+CREATE INDEX AuditEntry_date_idx ON AuditEntry(EVENT_DATE);
+CREATE INDEX AuditEntry_entity_idx ON AuditEntry(ENTITY_KEY, EVENT_DATE);
+CREATE INDEX AuditEntry_event_idx ON AuditEntry(CATEGORY, EVENT, EVENT_DATE);
@@ -20,5 +20,25 @@ CREATE TABLE AuditEntry (
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE CLOB NOT NULL,
-  THROWABLE CLOB
+  THROWABLE CLOB,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  CATEGORY VARCHAR(255),
+  SUBCATEGORY VARCHAR(255),
+  EVENT VARCHAR(255),
+  RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 );
+
+-- structured columns, added for upgrades of existing tables; see AuditEntryMaintenance for backfilling
+ALTER TABLE AuditEntry ADD (WHO VARCHAR(255));
+ALTER TABLE AuditEntry ADD (EVENT_TYPE VARCHAR(255));
+ALTER TABLE AuditEntry ADD (CATEGORY VARCHAR(255));
+ALTER TABLE AuditEntry ADD (SUBCATEGORY VARCHAR(255));
+ALTER TABLE AuditEntry ADD (EVENT VARCHAR(255));
+ALTER TABLE AuditEntry ADD (RESULT VARCHAR(255));
+ALTER TABLE AuditEntry ADD (ENTITY_KEY VARCHAR(255));
+
+CREATE INDEX AuditEntry_date_idx ON AuditEntry(EVENT_DATE);
+CREATE INDEX AuditEntry_entity_idx ON AuditEntry(ENTITY_KEY, EVENT_DATE);
+CREATE INDEX AuditEntry_event_idx ON AuditEntry(CATEGORY, EVENT, EVENT_DATE);
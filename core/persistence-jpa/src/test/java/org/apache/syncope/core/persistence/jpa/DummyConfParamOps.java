@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+
+public class DummyConfParamOps implements ConfParamOps {
+
+    private final Map<String, Map<String, Object>> confParams = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Object> list(final String domain) {
+        return new HashMap<>(confParams.getOrDefault(domain, Map.of()));
+    }
+
+    @Override
+    public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+        Object value = confParams.getOrDefault(domain, Map.of()).get(key);
+        return value == null ? defaultValue : reference.cast(value);
+    }
+
+    @Override
+    public <T> void set(final String domain, final String key, final T value) {
+        if (value == null) {
+            remove(domain, key);
+        } else {
+            confParams.computeIfAbsent(domain, k -> new ConcurrentHashMap<>()).put(key, value);
+        }
+    }
+
+    @Override
+    public void remove(final String domain, final String key) {
+        confParams.getOrDefault(domain, new HashMap<>()).remove(key);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeClassDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.Schema;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
+import org.apache.syncope.core.persistence.api.entity.user.UMembership;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.AllowedSchemasCache;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+@RecordApplicationEvents
+@Transactional("Master")
+class AllowedSchemasTest extends AbstractTest {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private AnyTypeDAO anyTypeDAO;
+
+    @Autowired
+    private AnyTypeClassDAO anyTypeClassDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private AllowedSchemasCache allowedSchemasCache;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private AnyTypeClass auxClass;
+
+    private AnyTypeClass membershipClass;
+
+    private static Set<String> keys(final Set<? extends Schema> schemas) {
+        return schemas.stream().map(Schema::getKey).collect(Collectors.toSet());
+    }
+
+    private PlainSchema schema(final String key, final AnyTypeClass anyTypeClass) {
+        PlainSchema schema = entityFactory.newEntity(PlainSchema.class);
+        schema.setKey(key);
+        schema.setType(AttrSchemaType.String);
+        schema.setAnyTypeClass(anyTypeClass);
+        schema = plainSchemaDAO.save(schema);
+        anyTypeClass.add(schema);
+        return schema;
+    }
+
+    private AnyTypeClass anyTypeClass(final String key, final String schema) {
+        AnyTypeClass anyTypeClass = entityFactory.newEntity(AnyTypeClass.class);
+        anyTypeClass.setKey(key);
+        anyTypeClass = anyTypeClassDAO.save(anyTypeClass);
+        schema(schema, anyTypeClass);
+        return anyTypeClassDAO.save(anyTypeClass);
+    }
+
+    private User user(final Group group) {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername("allowed" + UUID.randomUUID().toString().substring(0, 8));
+        user.setRealm(realmDAO.getRoot());
+        user.add(auxClass);
+
+        if (group != null) {
+            UMembership membership = entityFactory.newEntity(UMembership.class);
+            membership.setLeftEnd(user);
+            membership.setRightEnd(group);
+            user.add(membership);
+        }
+
+        return userDAO.save(user);
+    }
+
+    @BeforeEach
+    void setup() {
+        allowedSchemasCache.clear();
+
+        auxClass = anyTypeClass("allowedAux", "allowedAuxSchema");
+        membershipClass = anyTypeClass("allowedMembership", "allowedMembershipSchema");
+        entityManager().flush();
+        events.clear();
+    }
+
+    @Test
+    void auxClasses() {
+        User user = user(null);
+
+        AllowedSchemas<PlainSchema> allowed = userDAO.findAllowedSchemas(user, PlainSchema.class);
+        Assertions.assertTrue(keys(allowed.getForSelf()).contains("allowedAuxSchema"));
+        Assertions.assertFalse(keys(allowed.getForSelf()).contains("allowedMembershipSchema"));
+        Assertions.assertTrue(allowed.getForMemberships().isEmpty());
+        // entities are read from the current persistence context, not from the cache
+        allowed.getForSelf().forEach(schema -> Assertions.assertTrue(entityManager().contains(schema)));
+
+        // different aux classes, different signature
+        user.getAuxClasses().remove(auxClass);
+        allowed = userDAO.findAllowedSchemas(user, PlainSchema.class);
+        Assertions.assertFalse(keys(allowed.getForSelf()).contains("allowedAuxSchema"));
+
+        user.add(auxClass);
+        user.add(membershipClass);
+        allowed = userDAO.findAllowedSchemas(user, PlainSchema.class);
+        Assertions.assertTrue(keys(allowed.getForSelf()).containsAll(
+                Set.of("allowedAuxSchema", "allowedMembershipSchema")));
+    }
+
+    @Test
+    void typeExtensions() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setName("allowedGroup");
+        group.setRealm(realmDAO.getRoot());
+
+        TypeExtension typeExt = entityFactory.newEntity(TypeExtension.class);
+        typeExt.setAnyType(anyTypeDAO.findUser());
+        typeExt.setGroup(group);
+        typeExt.add(membershipClass);
+        group.add(typeExt);
+        group = groupDAO.save(group);
+
+        User member = user(group);
+        AllowedSchemas<PlainSchema> allowed = userDAO.findAllowedSchemas(member, PlainSchema.class);
+        Assertions.assertEquals(Set.of("allowedMembershipSchema"), keys(allowed.getForMembership(group)));
+        Assertions.assertFalse(keys(allowed.getForSelf()).contains("allowedMembershipSchema"));
+
+        // same classes, but no membership
+        allowed = userDAO.findAllowedSchemas(user(null), PlainSchema.class);
+        Assertions.assertTrue(allowed.getForMemberships().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidation() {
+        User user = user(null);
+        Assertions.assertFalse(keys(userDAO.findAllowedSchemas(user, PlainSchema.class).getForSelf()).
+                contains("allowedNewSchema"));
+
+        schema("allowedNewSchema", auxClass);
+        anyTypeClassDAO.save(auxClass);
+        entityManager().flush();
+
+        // same signature: cached until notified
+        Assertions.assertFalse(keys(userDAO.findAllowedSchemas(user, PlainSchema.class).getForSelf()).
+                contains("allowedNewSchema"));
+
+        // as after commit: schema and any type class changes clear the cache
+        Set<EntityLifecycleEvent<Entity>> changes = events.stream(EntityLifecycleEvent.class).
+                map(event -> (EntityLifecycleEvent<Entity>) event).
+                collect(Collectors.toSet());
+        Assertions.assertTrue(changes.stream().anyMatch(event -> event.getEntity() instanceof PlainSchema));
+        Assertions.assertTrue(changes.stream().anyMatch(event -> event.getEntity() instanceof AnyTypeClass));
+        changes.forEach(allowedSchemasCache::entity);
+
+        Assertions.assertTrue(keys(userDAO.findAllowedSchemas(user, PlainSchema.class).getForSelf()).
+                contains("allowedNewSchema"));
+    }
+}
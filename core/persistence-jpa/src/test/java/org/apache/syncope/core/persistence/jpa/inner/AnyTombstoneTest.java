@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyTombstoneDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnyTombstoneDAO;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class AnyTombstoneTest extends AbstractTest {
+
+    @Autowired
+    private AnyTombstoneDAO anyTombstoneDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    private AnyTombstone tombstone(
+            final String anyType,
+            final String realm,
+            final String name,
+            final OffsetDateTime deletionDate) {
+
+        AnyTombstone tombstone = entityFactory.newEntity(AnyTombstone.class);
+        tombstone.setAnyType(anyType);
+        tombstone.setAnyKey(UUID.randomUUID().toString());
+        tombstone.setName(name);
+        tombstone.setRealm(realm);
+        tombstone.setDeletionDate(deletionDate);
+        return anyTombstoneDAO.save(tombstone);
+    }
+
+    private static List<String> names(final List<AnyTombstone> tombstones) {
+        return tombstones.stream().map(AnyTombstone::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    void findSinceByRealm() {
+        OffsetDateTime now = OffsetDateTime.now();
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "root", now.minusMinutes(5));
+        tombstone(AnyTypeKind.USER.name(), "/even", "even", now.minusMinutes(4));
+        tombstone(AnyTypeKind.USER.name(), "/even/two", "two", now.minusMinutes(3));
+        tombstone(AnyTypeKind.USER.name(), "/evenmore", "evenmore", now.minusMinutes(2));
+        tombstone(AnyTypeKind.GROUP.name(), "/even", "group", now.minusMinutes(1));
+        entityManager().flush();
+
+        OffsetDateTime since = now.minusHours(1);
+
+        Assertions.assertEquals(
+                List.of("root", "even", "two", "evenmore"),
+                names(anyTombstoneDAO.findSince(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, since, 1, 10)));
+        Assertions.assertEquals(
+                List.of("even", "two"),
+                names(anyTombstoneDAO.findSince(AnyTypeKind.USER.name(), "/even", since, 1, 10)));
+        Assertions.assertEquals(
+                List.of("two"),
+                names(anyTombstoneDAO.findSince(AnyTypeKind.USER.name(), "/even/two", since, 1, 10)));
+        Assertions.assertEquals(
+                List.of("group"),
+                names(anyTombstoneDAO.findSince(AnyTypeKind.GROUP.name(), "/even", since, 1, 10)));
+        Assertions.assertTrue(anyTombstoneDAO.findSince(AnyTypeKind.GROUP.name(), "/odd", since, 1, 10).isEmpty());
+    }
+
+    @Test
+    void findSincePaged() {
+        OffsetDateTime now = OffsetDateTime.now();
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "old", now.minusMinutes(10));
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "first", now.minusMinutes(3));
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "second", now.minusMinutes(2));
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "third", now.minusMinutes(1));
+        entityManager().flush();
+
+        OffsetDateTime since = now.minusMinutes(5);
+
+        Assertions.assertEquals(
+                List.of("first", "second"),
+                names(anyTombstoneDAO.findSince(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, since, 1, 2)));
+        Assertions.assertEquals(
+                List.of("third"),
+                names(anyTombstoneDAO.findSince(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, since, 2, 2)));
+        Assertions.assertTrue(anyTombstoneDAO.findSince(
+                AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, since, 3, 2).isEmpty());
+    }
+
+    @Test
+    void deleteBefore() {
+        OffsetDateTime now = OffsetDateTime.now();
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "old", now.minusDays(2));
+        tombstone(AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, "recent", now.minusMinutes(1));
+        entityManager().flush();
+
+        Assertions.assertEquals(1, anyTombstoneDAO.deleteBefore(now.minusDays(1)));
+        entityManager().clear();
+
+        Assertions.assertEquals(
+                List.of("recent"),
+                names(anyTombstoneDAO.findSince(
+                        AnyTypeKind.USER.name(), SyncopeConstants.ROOT_REALM, now.minusDays(3), 1, 10)));
+    }
+
+    @Test
+    void recordRealmOnDelete() {
+        Realm root = realmDAO.getRoot();
+
+        User user = entityFactory.newEntity(User.class);
+        ((JPAUser) user).setKey(UUID.randomUUID().toString());
+        user.setUsername("tombstoned");
+        user.setRealm(root);
+
+        JPAAnyTombstoneDAO target = AopTestUtils.getUltimateTargetObject(anyTombstoneDAO);
+        target.any(new AnyLifecycleEvent<>(this, SyncDeltaType.DELETE, user, SyncopeConstants.MASTER_DOMAIN));
+        entityManager().flush();
+
+        List<AnyTombstone> found = anyTombstoneDAO.findSince(
+                AnyTypeKind.USER.name(), root.getFullPath(), OffsetDateTime.now().minusMinutes(1), 1, 10);
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals(user.getKey(), found.get(0).getAnyKey());
+        Assertions.assertEquals("tombstoned", found.get(0).getName());
+        Assertions.assertEquals(root.getFullPath(), found.get(0).getRealm());
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import jakarta.persistence.Query;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.audit.AuditEntry;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAuditConfDAO;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class AuditEntryTest extends AbstractTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private static final OffsetDateTime MIDDLE = NOW.minusHours(36);
+
+    private static AuditEntry entry(
+            final int daysAgo,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String event,
+            final AuditElements.Result result,
+            final String before,
+            final String output) {
+
+        AuditEntry entry = new AuditEntry();
+        entry.setWho("admin");
+        entry.setDate(NOW.minusDays(daysAgo));
+        entry.setLogger(new AuditLoggerName(type, category, null, event, result));
+        entry.setBefore(before);
+        entry.setOutput(output);
+        return entry;
+    }
+
+    @Autowired
+    private AuditConfDAO auditConfDAO;
+
+    private List<AuditEntry> entries;
+
+    @BeforeEach
+    void setup() {
+        auditConfDAO.purgeEntries(NOW.plusDays(1));
+
+        entries = List.of(
+                entry(3, AuditElements.EventCategoryType.LOGIC, "UserLogic", "create", AuditElements.Result.SUCCESS,
+                        null, "{\"key\":\"u1\",\"username\":\"rossini\"}"),
+                // before is preferred to output
+                entry(2, AuditElements.EventCategoryType.LOGIC, "UserLogic", "update", AuditElements.Result.FAILURE,
+                        "{\"key\":\"u1\"}", "{\"entity\":{\"key\":\"u2\"}}"),
+                // provisioning results are unwrapped
+                entry(1, AuditElements.EventCategoryType.PROPAGATION, "resource-ldap", "create",
+                        AuditElements.Result.SUCCESS,
+                        null, "{\"entity\":{\"key\":\"u2\"},\"propagationStatuses\":[]}"));
+    }
+
+    private void saveWithoutStructuredColumns() {
+        entries.forEach(entry -> {
+            Query insert = entityManager().createNativeQuery("INSERT INTO " + AuditConfDAO.AUDIT_ENTRY_TABLE
+                    + " (" + AuditConfDAO.AUDIT_ENTRY_EVENT_DATE_COLUMN + ", LOGGER_LEVEL, LOGGER, "
+                    + AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN + ") VALUES (?1, ?2, ?3, ?4)");
+            insert.setParameter(1, Timestamp.from(entry.getDate().toInstant()));
+            insert.setParameter(2, "DEBUG");
+            insert.setParameter(3, AuditLoggerName.getAuditLoggerName(SyncopeConstants.MASTER_DOMAIN));
+            insert.setParameter(4, POJOHelper.serialize(entry));
+            insert.executeUpdate();
+        });
+    }
+
+    private static int count(
+            final AuditConfDAO dao,
+            final String entityKey,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final List<String> events,
+            final AuditElements.Result result) {
+
+        return dao.countEntries(entityKey, type, category, null, events, result, null, null);
+    }
+
+    @Test
+    void structuredColumns() {
+        auditConfDAO.saveEntries(entries);
+
+        Query query = entityManager().createNativeQuery("SELECT "
+                + String.join(", ", AuditConfDAO.AUDIT_ENTRY_STRUCTURED_COLUMNS)
+                + " FROM " + AuditConfDAO.AUDIT_ENTRY_TABLE
+                + " ORDER BY " + AuditConfDAO.AUDIT_ENTRY_EVENT_DATE_COLUMN);
+        @SuppressWarnings("unchecked")
+        List<List<Object>> rows = ((List<Object[]>) query.getResultList()).stream().
+                map(Arrays::asList).collect(Collectors.toList());
+
+        Assertions.assertEquals(
+                Arrays.asList("admin", "LOGIC", "UserLogic", null, "create", "SUCCESS", "u1"), rows.get(0));
+        Assertions.assertEquals(
+                Arrays.asList("admin", "LOGIC", "UserLogic", null, "update", "FAILURE", "u1"), rows.get(1));
+        Assertions.assertEquals(
+                Arrays.asList("admin", "PROPAGATION", "resource-ldap", null, "create", "SUCCESS", "u2"), rows.get(2));
+    }
+
+    @Test
+    void search() {
+        auditConfDAO.saveEntries(entries);
+
+        Assertions.assertEquals(2, count(auditConfDAO, "u1", null, null, List.of(), null));
+        Assertions.assertEquals(1, count(auditConfDAO, "u2", null, null, List.of(), null));
+        Assertions.assertEquals(
+                2, count(auditConfDAO, null, null, "UserLogic", List.of("create", "update", "delete"), null));
+        Assertions.assertEquals(2, count(auditConfDAO, null, null, null, List.of("create"), null));
+        Assertions.assertEquals(1, count(auditConfDAO, null, null, null, List.of(), AuditElements.Result.FAILURE));
+        Assertions.assertEquals(
+                1, count(auditConfDAO, null, AuditElements.EventCategoryType.PROPAGATION, null, List.of(), null));
+        Assertions.assertEquals(
+                2, auditConfDAO.countEntries(null, null, null, null, List.of(), null, MIDDLE, null));
+        Assertions.assertEquals(
+                1, auditConfDAO.countEntries(null, null, null, null, List.of(), null, null, MIDDLE));
+
+        OrderByClause orderBy = new OrderByClause();
+        orderBy.setField(AuditConfDAO.AUDIT_ENTRY_EVENT_DATE_COLUMN);
+        orderBy.setDirection(OrderByClause.Direction.DESC);
+        List<AuditEntry> found = auditConfDAO.searchEntries(
+                "u1", 1, 10, null, null, null, List.of(), null, null, null, List.of(orderBy));
+        Assertions.assertEquals(
+                List.of("update", "create"),
+                found.stream().map(entry -> entry.getLogger().getEvent()).collect(Collectors.toList()));
+
+        found = auditConfDAO.searchEntries(
+                "u1", 2, 1, null, null, null, List.of(), null, null, null, List.of(orderBy));
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals("create", found.get(0).getLogger().getEvent());
+    }
+
+    @Test
+    void sameAsMessageSearch() {
+        auditConfDAO.saveEntries(entries);
+
+        AuditConfDAO byMessage = new JPAAuditConfDAO(false);
+        for (AuditConfDAO dao : List.of(auditConfDAO, byMessage)) {
+            Assertions.assertEquals(2, count(dao, null, null, "UserLogic", List.of(), null));
+            Assertions.assertEquals(1, count(dao, null, null, "UserLogic", List.of("update"), null));
+            Assertions.assertEquals(1, count(dao, null, null, null, List.of(), AuditElements.Result.FAILURE));
+            Assertions.assertEquals(
+                    1, count(dao, null, AuditElements.EventCategoryType.PROPAGATION, null, List.of(), null));
+        }
+    }
+
+    @Test
+    void backfill() {
+        saveWithoutStructuredColumns();
+
+        AuditConfDAO byMessage = new JPAAuditConfDAO(false);
+        Assertions.assertEquals(2, count(byMessage, null, null, "UserLogic", List.of(), null));
+        Assertions.assertEquals(0, count(auditConfDAO, null, null, "UserLogic", List.of(), null));
+
+        // not proxied, hence running within the current transaction
+        AuditConfDAO maintenance = new JPAAuditConfDAO();
+        OffsetDateTime last = maintenance.backfillEntries(null, 2);
+        Assertions.assertEquals(entries.get(1).getDate().toInstant(), last.toInstant());
+        Assertions.assertEquals(1, count(auditConfDAO, "u1", null, null, List.of(), null));
+        Assertions.assertEquals(1, count(auditConfDAO, "u2", null, null, List.of(), null));
+
+        last = maintenance.backfillEntries(last, 2);
+        Assertions.assertEquals(entries.get(2).getDate().toInstant(), last.toInstant());
+        Assertions.assertNull(maintenance.backfillEntries(last, 2));
+        Assertions.assertNull(maintenance.backfillEntries(null, 2));
+
+        // messages are kept as they were
+        Assertions.assertEquals(3, count(auditConfDAO, null, null, null, List.of(), null));
+        Assertions.assertEquals(2, count(auditConfDAO, null, null, "UserLogic", List.of(), null));
+        Assertions.assertEquals(1, count(auditConfDAO, "u2", null, null, List.of(), null));
+        Assertions.assertEquals(
+                entries.get(0).getLogger(),
+                auditConfDAO.searchEntries("u1", 1, 10, null, null, null, List.of("create"), null, null, null,
+                        List.of()).get(0).getLogger());
+    }
+
+    @Test
+    void purge() {
+        auditConfDAO.saveEntries(entries);
+
+        Assertions.assertEquals(2, auditConfDAO.purgeEntries(MIDDLE));
+        Assertions.assertEquals(1, count(auditConfDAO, null, null, null, List.of(), null));
+        Assertions.assertEquals(0, auditConfDAO.purgeEntries(MIDDLE));
+    }
+}
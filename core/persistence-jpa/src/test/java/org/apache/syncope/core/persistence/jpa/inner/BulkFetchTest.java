@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.DynRealm;
+import org.apache.syncope.core.persistence.api.entity.DynRealmMembership;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.DynRoleMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class BulkFetchTest extends AbstractTest {
+
+    private static final String MATCHING = "bulk@syncope.apache.org";
+
+    private static final String FIQL = "email==" + MATCHING;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private RoleDAO roleDAO;
+
+    @Autowired
+    private DynRealmDAO dynRealmDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private AnyTypeDAO anyTypeDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    private List<String> users;
+
+    private List<String> groups;
+
+    private Group newGroup(final String name, final boolean dynamic) {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setName(name);
+        group.setRealm(realmDAO.getRoot());
+        if (dynamic) {
+            UDynGroupMembership uDynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+            uDynMembership.setGroup(group);
+            uDynMembership.setFIQLCond(FIQL);
+            group.setUDynMembership(uDynMembership);
+        }
+        return groupDAO.save(group);
+    }
+
+    private void newRole(final String key) {
+        Role role = entityFactory.newEntity(Role.class);
+        role.setKey(key);
+        DynRoleMembership dynRoleMembership = entityFactory.newEntity(DynRoleMembership.class);
+        dynRoleMembership.setRole(role);
+        dynRoleMembership.setFIQLCond(FIQL);
+        role.setDynMembership(dynRoleMembership);
+        roleDAO.save(role);
+    }
+
+    private void newDynRealm(final String key) {
+        DynRealm dynRealm = entityFactory.newEntity(DynRealm.class);
+        dynRealm.setKey(key);
+        DynRealmMembership dynRealmMembership = entityFactory.newEntity(DynRealmMembership.class);
+        dynRealmMembership.setDynRealm(dynRealm);
+        dynRealmMembership.setAnyType(anyTypeDAO.findUser());
+        dynRealmMembership.setFIQLCond(FIQL);
+        dynRealm.add(dynRealmMembership);
+        dynRealmDAO.save(dynRealm);
+    }
+
+    private String newUser(final String username, final String email, final List<Group> memberOf) {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername(username);
+        user.setRealm(realmDAO.getRoot());
+
+        UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+        attr.setOwner(user);
+        attr.setSchema(plainSchemaDAO.find("email"));
+        attr.add(validator, email, anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        user.add(attr);
+
+        memberOf.forEach(group -> {
+            UMembership membership = entityFactory.newEntity(UMembership.class);
+            membership.setLeftEnd(user);
+            membership.setRightEnd(group);
+            user.add(membership);
+        });
+
+        return userDAO.save(user).getKey();
+    }
+
+    @BeforeEach
+    void entities() {
+        Group dynGroup1 = newGroup("bulkDynGroup1", true);
+        Group dynGroup2 = newGroup("bulkDynGroup2", true);
+        Group staticGroup = newGroup("bulkStaticGroup", false);
+        newRole("bulkDynRole1");
+        newRole("bulkDynRole2");
+        newDynRealm("bulkDynRealm");
+
+        users = new ArrayList<>();
+        users.add(newUser("bulk1", MATCHING, List.of(staticGroup)));
+        users.add(newUser("bulk2", MATCHING, List.of(dynGroup1)));
+        users.add(newUser("bulk3", MATCHING, List.of()));
+        users.add(newUser("bulk4", "static@syncope.apache.org", List.of(staticGroup, dynGroup2)));
+        users.add(newUser("bulk5", "static@syncope.apache.org", List.of()));
+
+        groups = List.of(dynGroup1.getKey(), dynGroup2.getKey(), staticGroup.getKey());
+
+        entityManager().flush();
+    }
+
+    // existing keys mixed with unknown ones, so that more than one IN clause is needed
+    private static List<String> withUnknown(final List<String> keys) {
+        List<String> result = IntStream.range(0, 1200).
+                mapToObj(i -> UUID.randomUUID().toString()).collect(Collectors.toList());
+        for (int i = 0; i < keys.size(); i++) {
+            result.add(i * 250, keys.get(i));
+        }
+        // duplicates are fine
+        result.add(keys.get(0));
+        return result;
+    }
+
+    private static List<String> sortedKeys(final List<? extends Entity> entities) {
+        return entities.stream().map(Entity::getKey).sorted().collect(Collectors.toList());
+    }
+
+    private static <T> void assertOnlyFor(final Map<String, T> bulk, final List<String> keys) {
+        Assertions.assertTrue(keys.containsAll(bulk.keySet()), bulk::toString);
+    }
+
+    @Test
+    void dynMemberships() {
+        List<String> keys = withUnknown(users);
+
+        Map<String, List<Role>> dynRoles = userDAO.findDynRoles(keys);
+        Map<String, List<Group>> dynGroups = userDAO.findDynGroups(keys);
+        Map<String, List<String>> dynRealms = userDAO.findDynRealms(keys);
+        assertOnlyFor(dynRoles, users);
+        assertOnlyFor(dynGroups, users);
+        assertOnlyFor(dynRealms, users);
+
+        users.forEach(user -> {
+            Assertions.assertEquals(
+                    sortedKeys(userDAO.findDynRoles(user)),
+                    sortedKeys(dynRoles.getOrDefault(user, List.of())));
+            Assertions.assertEquals(
+                    sortedKeys(userDAO.findDynGroups(user)),
+                    sortedKeys(dynGroups.getOrDefault(user, List.of())));
+            Assertions.assertEquals(
+                    userDAO.findDynRealms(user).stream().sorted().collect(Collectors.toList()),
+                    dynRealms.getOrDefault(user, List.of()).stream().sorted().collect(Collectors.toList()));
+        });
+
+        // matching users only
+        Assertions.assertEquals(3, dynRoles.size());
+        Assertions.assertEquals(2, dynRoles.get(users.get(0)).size());
+        Assertions.assertEquals(3, dynGroups.size());
+        Assertions.assertEquals(2, dynGroups.get(users.get(1)).size());
+        Assertions.assertEquals(List.of("bulkDynRealm"), dynRealms.get(users.get(2)));
+
+        Assertions.assertTrue(userDAO.findDynRoles(List.of()).isEmpty());
+    }
+
+    @Test
+    void membershipCounts() {
+        List<String> keys = withUnknown(groups);
+
+        Map<String, Integer> uMembers = groupDAO.countUMembers(keys);
+        Map<String, Integer> aMembers = groupDAO.countAMembers(keys);
+        Map<String, Integer> uDynMembers = groupDAO.countUDynMembers(keys);
+        Map<String, Integer> aDynMembers = groupDAO.countADynMembers(keys);
+        assertOnlyFor(uMembers, groups);
+        assertOnlyFor(uDynMembers, groups);
+
+        groups.forEach(key -> {
+            Group group = groupDAO.find(key);
+            Assertions.assertEquals(groupDAO.countUMembers(key), uMembers.getOrDefault(key, 0));
+            Assertions.assertEquals(groupDAO.countAMembers(key), aMembers.getOrDefault(key, 0));
+            Assertions.assertEquals(groupDAO.countUDynMembers(group), uDynMembers.getOrDefault(key, 0));
+            Assertions.assertEquals(groupDAO.countADynMembers(group), aDynMembers.getOrDefault(key, 0));
+        });
+
+        Assertions.assertEquals(Map.of(groups.get(0), 1, groups.get(1), 1, groups.get(2), 2), uMembers);
+        Assertions.assertEquals(Map.of(groups.get(0), 3, groups.get(1), 3), uDynMembers);
+        Assertions.assertTrue(aMembers.isEmpty());
+        Assertions.assertTrue(aDynMembers.isEmpty());
+    }
+}
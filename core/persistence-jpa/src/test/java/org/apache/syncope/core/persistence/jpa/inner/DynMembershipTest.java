@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import jakarta.persistence.Query;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.DynRealm;
+import org.apache.syncope.core.persistence.api.entity.DynRealmMembership;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.DynRoleMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPADynRealmDAO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class DynMembershipTest extends AbstractTest {
+
+    private static final String MATCHING = "dyn@syncope.apache.org";
+
+    private static final String NOT_MATCHING = "static@syncope.apache.org";
+
+    private static final String FIQL = "email==" + MATCHING;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private RoleDAO roleDAO;
+
+    @Autowired
+    private DynRealmDAO dynRealmDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private AnyTypeDAO anyTypeDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    private Group group;
+
+    private Role role;
+
+    private DynRealm dynRealm;
+
+    @BeforeEach
+    void dynMemberships() {
+        Group newGroup = entityFactory.newEntity(Group.class);
+        newGroup.setName("dynGroup");
+        newGroup.setRealm(realmDAO.getRoot());
+        UDynGroupMembership uDynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        uDynMembership.setGroup(newGroup);
+        uDynMembership.setFIQLCond(FIQL);
+        newGroup.setUDynMembership(uDynMembership);
+        group = groupDAO.save(newGroup);
+
+        Role newRole = entityFactory.newEntity(Role.class);
+        newRole.setKey("dynRole");
+        DynRoleMembership dynRoleMembership = entityFactory.newEntity(DynRoleMembership.class);
+        dynRoleMembership.setRole(newRole);
+        dynRoleMembership.setFIQLCond(FIQL);
+        newRole.setDynMembership(dynRoleMembership);
+        role = roleDAO.save(newRole);
+
+        DynRealm newDynRealm = entityFactory.newEntity(DynRealm.class);
+        newDynRealm.setKey("dynRealm");
+        DynRealmMembership dynRealmMembership = entityFactory.newEntity(DynRealmMembership.class);
+        dynRealmMembership.setDynRealm(newDynRealm);
+        dynRealmMembership.setAnyType(anyTypeDAO.findUser());
+        dynRealmMembership.setFIQLCond(FIQL);
+        newDynRealm.add(dynRealmMembership);
+        dynRealm = dynRealmDAO.save(newDynRealm);
+
+        entityManager().flush();
+    }
+
+    private void setEmail(final User user, final String email) {
+        UPlainAttr attr = user.getPlainAttr("email").orElse(null);
+        if (attr == null) {
+            attr = entityFactory.newEntity(UPlainAttr.class);
+            attr.setOwner(user);
+            attr.setSchema(plainSchemaDAO.find("email"));
+            user.add(attr);
+        }
+        attr.add(validator, email, anyUtilsFactory.getInstance(AnyTypeKind.USER));
+    }
+
+    private User newUser(final String email) {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername("dyn" + UUID.randomUUID().toString().substring(0, 8));
+        user.setRealm(realmDAO.getRoot());
+        setEmail(user, email);
+        return user;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> dynRealmMembers() {
+        Query query = entityManager().createNativeQuery(
+                "SELECT any_id FROM " + JPADynRealmDAO.DYNMEMB_TABLE + " WHERE dynRealm_id=?");
+        query.setParameter(1, dynRealm.getKey());
+        return ((List<Object>) query.getResultList()).stream().
+                map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : (String) key).
+                collect(Collectors.toList());
+    }
+
+    private void assertMember(final User user, final boolean expected) {
+        entityManager().flush();
+
+        Assertions.assertEquals(expected, groupDAO.findUDynMembers(group).contains(user.getKey()));
+        Assertions.assertEquals(expected, roleDAO.findDynMembers(role).contains(user.getKey()));
+        Assertions.assertEquals(expected, dynRealmMembers().contains(user.getKey()));
+    }
+
+    @Test
+    void newEntity() {
+        User matching = userDAO.save(newUser(MATCHING));
+        User notMatching = userDAO.save(newUser(NOT_MATCHING));
+
+        assertMember(matching, true);
+        assertMember(notMatching, false);
+    }
+
+    @Test
+    void attributeChange() {
+        User user = userDAO.save(newUser(NOT_MATCHING));
+        assertMember(user, false);
+
+        setEmail(user, MATCHING);
+        user = userDAO.save(user);
+        assertMember(user, true);
+
+        setEmail(user, NOT_MATCHING);
+        user = userDAO.save(user);
+        assertMember(user, false);
+    }
+
+    @Test
+    void attributeRemoval() {
+        User user = userDAO.save(newUser(MATCHING));
+        assertMember(user, true);
+
+        user.remove(user.getPlainAttr("email").get());
+        user = userDAO.save(user);
+        assertMember(user, false);
+    }
+
+    @Test
+    void detachedEntity() {
+        User user = userDAO.save(newUser(NOT_MATCHING));
+        assertMember(user, false);
+
+        userDAO.detach(user);
+        setEmail(user, MATCHING);
+        user = userDAO.save(user);
+        assertMember(user, true);
+
+        userDAO.detach(user);
+        user.remove(user.getPlainAttr("email").get());
+        user = userDAO.save(user);
+        assertMember(user, false);
+    }
+}
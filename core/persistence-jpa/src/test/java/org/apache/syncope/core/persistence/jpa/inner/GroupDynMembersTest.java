@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import jakarta.persistence.Query;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPAGroupDAO;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@RecordApplicationEvents
+@Transactional("Master")
+class GroupDynMembersTest extends AbstractTest {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private AnySearchDAO anySearchDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Map<String, String> users;
+
+    @BeforeEach
+    void users() {
+        users = List.of("dynmember1", "dynmember2", "dynmember3").stream().collect(Collectors.toMap(
+                username -> username,
+                username -> {
+                    User user = entityFactory.newEntity(User.class);
+                    user.setUsername(username);
+                    user.setRealm(realmDAO.getRoot());
+                    return userDAO.save(user).getKey();
+                }));
+        entityManager().flush();
+    }
+
+    private Set<String> keys(final String... usernames) {
+        return Set.of(usernames).stream().map(users::get).collect(Collectors.toSet());
+    }
+
+    private static String fiql(final String... usernames) {
+        return Set.of(usernames).stream().map(username -> "username==" + username).collect(Collectors.joining(","));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> members(final Group group) {
+        entityManager().flush();
+
+        Query query = entityManager().createNativeQuery(
+                "SELECT any_id FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE group_id=?");
+        query.setParameter(1, group.getKey());
+        return ((List<Object>) query.getResultList()).stream().
+                map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : (String) key).
+                collect(Collectors.toSet());
+    }
+
+    private Set<String> updated() {
+        Set<String> updated = events.stream(AnyLifecycleEvent.class).
+                map(event -> event.getAny().getKey()).
+                filter(users::containsValue).
+                collect(Collectors.toSet());
+        events.clear();
+        return updated;
+    }
+
+    private Group saveWithFIQL(final Group group, final String fiql) {
+        if (fiql == null) {
+            group.setUDynMembership(null);
+        } else if (group.getUDynMembership() == null) {
+            UDynGroupMembership uDynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+            uDynMembership.setGroup(group);
+            uDynMembership.setFIQLCond(fiql);
+            group.setUDynMembership(uDynMembership);
+        } else {
+            group.getUDynMembership().setFIQLCond(fiql);
+        }
+        return groupDAO.saveAndRefreshDynMemberships(group);
+    }
+
+    private void changedFIQL() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setName("dynMembers");
+        group.setRealm(realmDAO.getRoot());
+
+        events.clear();
+        group = saveWithFIQL(group, fiql("dynmember1", "dynmember2"));
+        Assertions.assertEquals(keys("dynmember1", "dynmember2"), members(group));
+        Assertions.assertEquals(keys("dynmember1", "dynmember2"), updated());
+
+        // only the delta is written and published
+        group = saveWithFIQL(group, fiql("dynmember2", "dynmember3"));
+        Assertions.assertEquals(keys("dynmember2", "dynmember3"), members(group));
+        Assertions.assertEquals(keys("dynmember1", "dynmember3"), updated());
+
+        Pair<Set<String>, Set<String>> delta = groupDAO.refreshDynMembers(group);
+        Assertions.assertTrue(delta.getLeft().isEmpty());
+        Assertions.assertTrue(delta.getRight().isEmpty());
+        Assertions.assertTrue(updated().isEmpty());
+
+        group.getUDynMembership().setFIQLCond(fiql("dynmember1"));
+        delta = groupDAO.refreshDynMembers(group);
+        Assertions.assertEquals(keys("dynmember1"), delta.getLeft());
+        Assertions.assertEquals(keys("dynmember2", "dynmember3"), delta.getRight());
+        Assertions.assertEquals(keys("dynmember1"), members(group));
+        events.clear();
+
+        // dropping the condition removes all members
+        group = saveWithFIQL(group, null);
+        Assertions.assertTrue(members(group).isEmpty());
+        Assertions.assertEquals(keys("dynmember1"), updated());
+    }
+
+    @Test
+    void sameDatabase() {
+        AnyCond cond = new AnyCond(AttrCond.Type.EQ);
+        cond.setSchema("username");
+        cond.setExpression("dynmember1");
+
+        Optional<Pair<String, List<Object>>> keysQuery = anySearchDAO.keysQuery(
+                realmDAO.getRoot(),
+                true,
+                Set.of(SyncopeConstants.ROOT_REALM),
+                SearchCond.getLeaf(cond),
+                AnyTypeKind.USER);
+        Assertions.assertTrue(keysQuery.isPresent());
+
+        Query query = entityManager().createNativeQuery(keysQuery.get().getLeft());
+        for (int i = 0; i < keysQuery.get().getRight().size(); i++) {
+            query.setParameter(i + 1, keysQuery.get().getRight().get(i));
+        }
+        Assertions.assertEquals(
+                List.of(users.get("dynmember1")),
+                ((List<?>) query.getResultList()).stream().
+                        map(key -> key instanceof Object[] ? ((Object[]) key)[0].toString() : key.toString()).
+                        collect(Collectors.toList()));
+
+        // NOT IN and INSERT ... SELECT
+        changedFIQL();
+    }
+
+    @Test
+    void externalSearch() {
+        // as with Elasticsearch, search does not run on the same database
+        AnySearchDAO external = (AnySearchDAO) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { AnySearchDAO.class },
+                (proxy, method, args) -> {
+                    if ("keysQuery".equals(method.getName())) {
+                        return Optional.empty();
+                    }
+                    try {
+                        return method.invoke(anySearchDAO, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+
+        JPAGroupDAO target = AopTestUtils.getUltimateTargetObject(groupDAO);
+        Object original = ReflectionTestUtils.getField(target, "anySearchDAO");
+        ReflectionTestUtils.setField(target, "anySearchDAO", external);
+        try {
+            changedFIQL();
+        } finally {
+            ReflectionTestUtils.setField(target, "anySearchDAO", original);
+        }
+    }
+}
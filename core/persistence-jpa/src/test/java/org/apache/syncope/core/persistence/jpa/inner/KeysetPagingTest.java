@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class KeysetPagingTest extends AbstractTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private AnySearchDAO anySearchDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    private SearchCond cond;
+
+    private List<String> keys;
+
+    @BeforeEach
+    void users() {
+        // 7 users: two full pages, then a partial one
+        keys = IntStream.range(0, 7).mapToObj(i -> {
+            User user = entityFactory.newEntity(User.class);
+            user.setUsername("keyset" + i);
+            user.setRealm(realmDAO.getRoot());
+            return userDAO.save(user).getKey();
+        }).sorted().collect(Collectors.toList());
+        entityManager().flush();
+
+        AnyCond usernameCond = new AnyCond(AttrCond.Type.LIKE);
+        usernameCond.setSchema("username");
+        usernameCond.setExpression("keyset%");
+        cond = SearchCond.getLeaf(usernameCond);
+    }
+
+    private List<User> searchAfter(final String lastKey) {
+        return anySearchDAO.searchAfter(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                lastKey,
+                PAGE_SIZE,
+                AnyTypeKind.USER);
+    }
+
+    private static List<String> keys(final List<? extends Any<?>> anys) {
+        return anys.stream().map(Any::getKey).collect(Collectors.toList());
+    }
+
+    @Test
+    void findAllKeys() {
+        List<String> all = userDAO.findAllKeys(1, Integer.MAX_VALUE);
+        Assertions.assertTrue(all.containsAll(keys));
+
+        List<String> found = new ArrayList<>();
+        List<String> page = userDAO.findAllKeys(null, PAGE_SIZE);
+        while (!page.isEmpty()) {
+            Assertions.assertTrue(page.size() <= PAGE_SIZE);
+            found.addAll(page);
+            page = userDAO.findAllKeys(page.get(page.size() - 1), PAGE_SIZE);
+        }
+        // same keys, same order as offset paging, each once
+        Assertions.assertEquals(all, found);
+
+        // past the last key
+        Assertions.assertTrue(userDAO.findAllKeys(all.get(all.size() - 1), PAGE_SIZE).isEmpty());
+    }
+
+    @Test
+    void searchAfter() {
+        List<User> first = searchAfter(null);
+        Assertions.assertEquals(keys.subList(0, 3), keys(first));
+
+        // page boundary: the last key seen is not returned again
+        List<User> second = searchAfter(first.get(first.size() - 1).getKey());
+        Assertions.assertEquals(keys.subList(3, 6), keys(second));
+
+        // last page is partial
+        List<User> last = searchAfter(second.get(second.size() - 1).getKey());
+        Assertions.assertEquals(keys.subList(6, 7), keys(last));
+
+        Assertions.assertTrue(searchAfter(last.get(0).getKey()).isEmpty());
+
+        // a key in between starts from the following one
+        Assertions.assertEquals(keys.subList(2, 5), keys(searchAfter(keys.get(1))));
+    }
+
+    @Test
+    void stream() {
+        List<String> streamed = anySearchDAO.<User>stream(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                PAGE_SIZE,
+                AnyTypeKind.USER).map(User::getKey).collect(Collectors.toList());
+        Assertions.assertEquals(keys, streamed);
+
+        // chunk size matching the result size: the trailing empty chunk ends the stream
+        Assertions.assertEquals(7, anySearchDAO.stream(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                keys.size(),
+                AnyTypeKind.USER).count());
+    }
+
+    @Test
+    void empty() {
+        AnyCond usernameCond = new AnyCond(AttrCond.Type.EQ);
+        usernameCond.setSchema("username");
+        usernameCond.setExpression("nobody");
+        cond = SearchCond.getLeaf(usernameCond);
+
+        Assertions.assertTrue(searchAfter(null).isEmpty());
+        Assertions.assertEquals(0, anySearchDAO.stream(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                PAGE_SIZE,
+                AnyTypeKind.USER).count());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class ProjectionTest extends AbstractTest {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private AnySearchDAO anySearchDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    private SearchCond cond;
+
+    private List<OrderByClause> byUsernameDesc;
+
+    private User user(final String username, final String email, final int failedLogins) {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername(username);
+        user.setRealm(realmDAO.getRoot());
+        user.setFailedLogins(failedLogins);
+        if (email != null) {
+            UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+            attr.setOwner(user);
+            attr.setSchema(plainSchemaDAO.find("email"));
+            attr.add(validator, email, anyUtilsFactory.getInstance(AnyTypeKind.USER));
+            user.add(attr);
+        }
+        return userDAO.save(user);
+    }
+
+    @BeforeEach
+    void users() {
+        user("projected1", "projected1@syncope.apache.org", 1);
+        user("projected2", null, 2);
+        user("projected3", "projected3@syncope.apache.org", 3);
+        entityManager().flush();
+
+        AnyCond usernameCond = new AnyCond(AttrCond.Type.LIKE);
+        usernameCond.setSchema("username");
+        usernameCond.setExpression("projected%");
+        cond = SearchCond.getLeaf(usernameCond);
+
+        OrderByClause clause = new OrderByClause();
+        clause.setField("username");
+        clause.setDirection(OrderByClause.Direction.DESC);
+        byUsernameDesc = List.of(clause);
+    }
+
+    private List<Map<String, Object>> searchProjected(final AnyTypeKind kind, final String... fields) {
+        return anySearchDAO.searchProjected(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                1,
+                10,
+                byUsernameDesc,
+                kind,
+                List.of(fields));
+    }
+
+    private List<Map<String, Object>> searchProjected(final String... fields) {
+        return searchProjected(AnyTypeKind.USER, fields);
+    }
+
+    @Test
+    void searchKeys() {
+        List<String> keys = anySearchDAO.searchKeys(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                1,
+                10,
+                byUsernameDesc,
+                AnyTypeKind.USER);
+
+        // same keys, in the same order, as the entity search
+        List<User> users = anySearchDAO.search(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                1,
+                10,
+                byUsernameDesc,
+                AnyTypeKind.USER);
+        Assertions.assertEquals(users.stream().map(User::getKey).collect(Collectors.toList()), keys);
+        Assertions.assertEquals(
+                List.of("projected3", "projected2", "projected1"),
+                users.stream().map(User::getUsername).collect(Collectors.toList()));
+
+        // paging
+        Assertions.assertEquals(keys.subList(2, 3), anySearchDAO.searchKeys(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                2,
+                2,
+                byUsernameDesc,
+                AnyTypeKind.USER));
+    }
+
+    @Test
+    void searchProjected() {
+        List<Map<String, Object>> projections = searchProjected("username", "realm", "failedLogins", "email");
+        Assertions.assertEquals(
+                List.of("projected3", "projected2", "projected1"),
+                projections.stream().map(projection -> projection.get("username")).collect(Collectors.toList()));
+
+        projections.forEach(projection -> {
+            User user = userDAO.find((String) projection.get("key"));
+            Assertions.assertNotNull(user);
+
+            Assertions.assertEquals(user.getUsername(), projection.get("username"));
+            Assertions.assertEquals(realmDAO.getRoot().getKey(), projection.get("realm"));
+            Assertions.assertEquals(
+                    user.getFailedLogins().intValue(), ((Number) projection.get("failedLogins")).intValue());
+            Assertions.assertEquals(
+                    user.getPlainAttr("email").map(UPlainAttr::getValuesAsStrings).orElse(null),
+                    projection.get("email"));
+        });
+
+        // users without the attribute do not report it
+        Assertions.assertFalse(projections.get(1).containsKey("email"));
+        Assertions.assertEquals(List.of("projected1@syncope.apache.org"), projections.get(2).get("email"));
+    }
+
+    @Test
+    void searchProjectedFiltersFields() {
+        List<Map<String, Object>> projections = searchProjected("key", "password", "securityAnswer", "token");
+        Assertions.assertEquals(3, projections.size());
+
+        // only the key is reported: sensitive fields are skipped
+        projections.forEach(projection -> Assertions.assertEquals(Map.of("key", projection.get("key")), projection));
+    }
+
+    @Test
+    void searchProjectedRejectsFieldsWithoutColumn() {
+        // collections, inverse relationships and unknown names cannot be read from the search view
+        SyncopeClientException sce = Assertions.assertThrows(
+                SyncopeClientException.class, () -> searchProjected("username", "memberships"));
+        Assertions.assertEquals(ClientExceptionType.InvalidSearchParameters, sce.getType());
+        Assertions.assertTrue(sce.getElements().iterator().next().contains("memberships"));
+
+        sce = Assertions.assertThrows(SyncopeClientException.class, () -> searchProjected("unknown"));
+        Assertions.assertEquals(ClientExceptionType.InvalidSearchParameters, sce.getType());
+
+        AnyCond nameCond = new AnyCond(AttrCond.Type.ISNOTNULL);
+        nameCond.setSchema("name");
+        cond = SearchCond.getLeaf(nameCond);
+        byUsernameDesc = List.of();
+        sce = Assertions.assertThrows(
+                SyncopeClientException.class, () -> searchProjected(AnyTypeKind.GROUP, "name", "uDynMembership"));
+        Assertions.assertEquals(ClientExceptionType.InvalidSearchParameters, sce.getType());
+
+        // owned relationships are instead read from their join column
+        Assertions.assertFalse(searchProjected(AnyTypeKind.GROUP, "name", "userOwner").isEmpty());
+    }
+
+    @Test
+    void searchProjectedEmpty() {
+        AnyCond usernameCond = new AnyCond(AttrCond.Type.EQ);
+        usernameCond.setSchema("username");
+        usernameCond.setExpression("nobody");
+        cond = SearchCond.getLeaf(usernameCond);
+
+        Assertions.assertTrue(searchProjected("username", "email").isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class PropagationOutboxTest extends AbstractTest {
+
+    private static final String RESOURCE = "resource-testdb";
+
+    private static final String USER_KEY = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    private static final Pair<String, String> GROUP = Pair.of(RESOURCE, USER_KEY);
+
+    @Autowired
+    private PropagationOutboxDAO outboxDAO;
+
+    private OffsetDateTime now;
+
+    private int enqueued;
+
+    private PropagationOutboxEntry entry(final ResourceOperation operation, final String connObjectKey) {
+        PropagationOutboxEntry entry = entityFactory.newEntity(PropagationOutboxEntry.class);
+        entry.setResource(RESOURCE);
+        entry.setOperation(operation);
+        entry.setAnyTypeKind(AnyTypeKind.USER);
+        entry.setAnyType(AnyTypeKind.USER.name());
+        entry.setEntityKey(USER_KEY);
+        entry.setConnObjectKey(connObjectKey);
+        entry.setEnqueued(now.minusMinutes(10 - enqueued++));
+        entry.setNextAttempt(entry.getEnqueued());
+        return outboxDAO.save(entry);
+    }
+
+    @BeforeEach
+    void entries() {
+        now = OffsetDateTime.now();
+        enqueued = 0;
+
+        entry(ResourceOperation.CREATE, "rossini");
+        // rename: same group
+        entry(ResourceOperation.UPDATE, "gioacchino");
+        entry(ResourceOperation.DELETE, "gioacchino");
+        entityManager().flush();
+    }
+
+    private List<Pair<String, String>> dueGroups(final OffsetDateTime when) {
+        entityManager().flush();
+        return outboxDAO.findDueGroups(when, 10);
+    }
+
+    private List<ResourceOperation> claim(final String owner, final OffsetDateTime when) {
+        List<PropagationOutboxEntry> claimed = outboxDAO.claim(RESOURCE, USER_KEY, owner, when, when.plusMinutes(5));
+        entityManager().clear();
+        return claimed.stream().map(PropagationOutboxEntry::getOperation).collect(Collectors.toList());
+    }
+
+    @Test
+    void claimAndLease() {
+        Assertions.assertEquals(List.of(GROUP), dueGroups(now));
+
+        // claimed entries are returned in the order they were enqueued
+        Assertions.assertEquals(
+                List.of(ResourceOperation.CREATE, ResourceOperation.UPDATE, ResourceOperation.DELETE),
+                claim("node1", now));
+
+        // claimed groups are neither due nor claimable by others
+        Assertions.assertTrue(dueGroups(now).isEmpty());
+        Assertions.assertTrue(claim("node2", now).isEmpty());
+
+        // ... until the lease expires
+        OffsetDateTime expired = now.plusMinutes(6);
+        Assertions.assertEquals(List.of(GROUP), dueGroups(expired));
+        Assertions.assertEquals(3, claim("node2", expired).size());
+        Assertions.assertTrue(claim("node1", expired).isEmpty());
+
+        // released groups are due again
+        outboxDAO.release(RESOURCE, USER_KEY, "node2");
+        Assertions.assertEquals(List.of(GROUP), dueGroups(now));
+        Assertions.assertEquals(3, claim("node1", now).size());
+    }
+
+    @Test
+    void notDue() {
+        outboxDAO.claim(RESOURCE, USER_KEY, "node1", now, now.plusMinutes(5)).forEach(entry -> {
+            entry.setNextAttempt(now.plusMinutes(1));
+            outboxDAO.save(entry);
+        });
+        outboxDAO.release(RESOURCE, USER_KEY, "node1");
+
+        Assertions.assertTrue(dueGroups(now).isEmpty());
+        Assertions.assertEquals(List.of(GROUP), dueGroups(now.plusMinutes(2)));
+    }
+
+    @Test
+    void deadLetter() {
+        PropagationOutboxEntry first = outboxDAO.claim(RESOURCE, USER_KEY, "node1", now, now.plusMinutes(5)).get(0);
+        first.setAttempts(5);
+        first.setDeadLetter(true);
+        outboxDAO.save(first);
+        outboxDAO.release(RESOURCE, USER_KEY, "node1");
+
+        // the whole group is held back, the dead letter is kept
+        Assertions.assertTrue(dueGroups(now.plusDays(1)).isEmpty());
+        List<PropagationOutboxEntry> deadLetters = outboxDAO.findDeadLetters(10);
+        Assertions.assertEquals(1, deadLetters.size());
+        Assertions.assertEquals(ResourceOperation.CREATE, deadLetters.get(0).getOperation());
+        Assertions.assertEquals(3, outboxDAO.count());
+
+        // retried: the group is due again
+        Assertions.assertEquals(1, outboxDAO.retryDeadLetters(RESOURCE, USER_KEY, now));
+        entityManager().clear();
+        Assertions.assertTrue(outboxDAO.findDeadLetters(10).isEmpty());
+        Assertions.assertEquals(List.of(GROUP), dueGroups(now));
+
+        PropagationOutboxEntry retried = outboxDAO.claim(RESOURCE, USER_KEY, "node1", now, now.plusMinutes(5)).get(0);
+        Assertions.assertEquals(ResourceOperation.CREATE, retried.getOperation());
+        Assertions.assertEquals(0, retried.getAttempts());
+        Assertions.assertFalse(retried.isDeadLetter());
+    }
+}
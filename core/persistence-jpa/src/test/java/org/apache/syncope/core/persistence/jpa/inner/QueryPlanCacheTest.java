@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.QueryPlanCacheDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.UMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAQueryPlanCacheDAO;
+import org.apache.syncope.core.persistence.jpa.dao.SearchSupport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class QueryPlanCacheTest extends AbstractTest {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private AnySearchDAO anySearchDAO;
+
+    @Autowired
+    private QueryPlanCacheDAO queryPlanCacheDAO;
+
+    @Autowired
+    private AnyObjectDAO anyObjectDAO;
+
+    @Autowired
+    private DynRealmDAO dynRealmDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    private User user(final String username, final String email, final Group group) {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername(username);
+        user.setRealm(realmDAO.getRoot());
+        if (email != null) {
+            UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+            attr.setOwner(user);
+            attr.setSchema(plainSchemaDAO.find("email"));
+            attr.add(validator, email, anyUtilsFactory.getInstance(AnyTypeKind.USER));
+            user.add(attr);
+        }
+        UMembership membership = entityFactory.newEntity(UMembership.class);
+        membership.setLeftEnd(user);
+        membership.setRightEnd(group);
+        user.add(membership);
+        return userDAO.save(user);
+    }
+
+    private Group group(final String name) {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setName(name);
+        group.setRealm(realmDAO.getRoot());
+        return groupDAO.save(group);
+    }
+
+    @BeforeEach
+    void users() {
+        Group group1 = group("cachedGroup1");
+        Group group2 = group("cachedGroup2");
+        user("cached1", "cached1@syncope.apache.org", group1);
+        user("cached2", "cached2@syncope.apache.org", group2);
+        user("cached3", null, group2);
+        entityManager().flush();
+    }
+
+    private static AnyCond newAnyCond(final String schema, final AttrCond.Type type, final String expression) {
+        AnyCond cond = new AnyCond(type);
+        cond.setSchema(schema);
+        cond.setExpression(expression);
+        return cond;
+    }
+
+    private static SearchCond anyCond(final String schema, final AttrCond.Type type, final String expression) {
+        return SearchCond.getLeaf(newAnyCond(schema, type, expression));
+    }
+
+    private static SearchCond attrCond(final String schema, final AttrCond.Type type, final String expression) {
+        AttrCond cond = new AttrCond(type);
+        cond.setSchema(schema);
+        cond.setExpression(expression);
+        return SearchCond.getLeaf(cond);
+    }
+
+    private static SearchCond membershipCond(final String group) {
+        MembershipCond cond = new MembershipCond();
+        cond.setGroup(group);
+        return SearchCond.getLeaf(cond);
+    }
+
+    private static SearchCond cached() {
+        return anyCond("username", AttrCond.Type.LIKE, "cached%");
+    }
+
+    private Set<String> search(final SearchCond cond) {
+        return search(anySearchDAO, cond);
+    }
+
+    private Set<String> search(final AnySearchDAO searchDAO, final SearchCond cond) {
+        return searchDAO.searchKeys(
+                realmDAO.getRoot(),
+                true,
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                cond,
+                -1,
+                -1,
+                List.of(),
+                AnyTypeKind.USER).stream().
+                map(key -> userDAO.find(key).getUsername()).
+                collect(Collectors.toSet());
+    }
+
+    // searches the given conditions, all sharing the same shape, first compiling each of them, then compiling the
+    // first and reusing its query for the others: results must match
+    private List<Set<String>> assertCachedSameAsUncached(final SearchCond... conds) {
+        List<Set<String>> uncached = Stream.of(conds).map(cond -> {
+            queryPlanCacheDAO.clearCache();
+            return search(cond);
+        }).collect(Collectors.toList());
+
+        queryPlanCacheDAO.clearCache();
+        long hits = (Long) queryPlanCacheDAO.getStatistics().get("hits");
+        List<Set<String>> cached = Stream.of(conds).map(this::search).collect(Collectors.toList());
+
+        Assertions.assertEquals(uncached, cached);
+        Assertions.assertTrue((Long) queryPlanCacheDAO.getStatistics().get("hits") >= hits + conds.length - 1);
+        return cached;
+    }
+
+    @Test
+    void anyCondition() {
+        List<Set<String>> results = assertCachedSameAsUncached(
+                anyCond("username", AttrCond.Type.EQ, "cached1"),
+                anyCond("username", AttrCond.Type.EQ, "cached2"),
+                anyCond("username", AttrCond.Type.EQ, "cached3"));
+        Assertions.assertEquals(List.of(Set.of("cached1"), Set.of("cached2"), Set.of("cached3")), results);
+
+        results = assertCachedSameAsUncached(
+                anyCond("username", AttrCond.Type.LIKE, "cached%"),
+                anyCond("username", AttrCond.Type.LIKE, "cached1%"));
+        Assertions.assertEquals(List.of(Set.of("cached1", "cached2", "cached3"), Set.of("cached1")), results);
+    }
+
+    @Test
+    void attrCondition() {
+        List<Set<String>> results = assertCachedSameAsUncached(
+                attrCond("email", AttrCond.Type.EQ, "cached1@syncope.apache.org"),
+                attrCond("email", AttrCond.Type.EQ, "cached2@syncope.apache.org"),
+                attrCond("email", AttrCond.Type.EQ, "nobody@syncope.apache.org"));
+        Assertions.assertEquals(List.of(Set.of("cached1"), Set.of("cached2"), Set.of()), results);
+
+        // no values to bind
+        results = assertCachedSameAsUncached(
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.ISNULL, null)),
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.ISNULL, null)));
+        Assertions.assertEquals(List.of(Set.of("cached3"), Set.of("cached3")), results);
+
+        results = assertCachedSameAsUncached(
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.ISNOTNULL, null)),
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.ISNOTNULL, null)));
+        Assertions.assertEquals(List.of(Set.of("cached1", "cached2"), Set.of("cached1", "cached2")), results);
+    }
+
+    @Test
+    void notLeaf() {
+        List<Set<String>> results = assertCachedSameAsUncached(
+                SearchCond.getAnd(cached(), SearchCond.getNotLeaf(
+                        newAnyCond("username", AttrCond.Type.EQ, "cached1"))),
+                SearchCond.getAnd(cached(), SearchCond.getNotLeaf(
+                        newAnyCond("username", AttrCond.Type.EQ, "cached3"))));
+        Assertions.assertEquals(List.of(Set.of("cached2", "cached3"), Set.of("cached1", "cached2")), results);
+    }
+
+    @Test
+    void andOr() {
+        List<Set<String>> results = assertCachedSameAsUncached(
+                SearchCond.getOr(
+                        anyCond("username", AttrCond.Type.EQ, "cached1"),
+                        anyCond("username", AttrCond.Type.EQ, "cached3")),
+                SearchCond.getOr(
+                        anyCond("username", AttrCond.Type.EQ, "cached2"),
+                        anyCond("username", AttrCond.Type.EQ, "cached3")));
+        Assertions.assertEquals(List.of(Set.of("cached1", "cached3"), Set.of("cached2", "cached3")), results);
+
+        results = assertCachedSameAsUncached(
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.EQ, "cached1@syncope.apache.org")),
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.EQ, "cached2@syncope.apache.org")));
+        Assertions.assertEquals(List.of(Set.of("cached1"), Set.of("cached2")), results);
+    }
+
+    @Test
+    void membership() {
+        List<Set<String>> results = assertCachedSameAsUncached(
+                membershipCond("cachedGroup1"),
+                membershipCond("cachedGroup2"),
+                membershipCond(groupDAO.findByName("cachedGroup2").getKey()));
+        Assertions.assertEquals(
+                List.of(Set.of("cached1"), Set.of("cached2", "cached3"), Set.of("cached2", "cached3")), results);
+    }
+
+    @Test
+    void realm() {
+        List<Set<String>> results = assertCachedSameAsUncached(
+                SearchCond.getAnd(cached(), anyCond("realm", AttrCond.Type.EQ, SyncopeConstants.ROOT_REALM)),
+                SearchCond.getAnd(cached(), anyCond("realm", AttrCond.Type.EQ, realmDAO.getRoot().getKey())));
+        Assertions.assertEquals(
+                List.of(Set.of("cached1", "cached2", "cached3"), Set.of("cached1", "cached2", "cached3")), results);
+    }
+
+    @Test
+    void hitOnlyBinds() {
+        AtomicInteger compiled = new AtomicInteger();
+        AtomicInteger checked = new AtomicInteger();
+        JPAQueryPlanCacheDAO cache = new JPAQueryPlanCacheDAO("maximumSize=10,recordStats");
+        AnySearchDAO searchDAO = new JPAAnySearchDAO(
+                realmDAO,
+                dynRealmDAO,
+                userDAO,
+                groupDAO,
+                anyObjectDAO,
+                plainSchemaDAO,
+                entityFactory,
+                anyUtilsFactory,
+                validator,
+                cache) {
+
+            @Override
+            protected Pair<PlainSchema, PlainAttrValue> check(final AttrCond cond, final AnyTypeKind kind) {
+                checked.incrementAndGet();
+                return super.check(cond, kind);
+            }
+
+            @Override
+            protected StringBuilder getLeafQuery(
+                    final SearchCond cond, final List<Object> parameters, final SearchSupport svs) {
+
+                compiled.incrementAndGet();
+                return super.getLeafQuery(cond, parameters, svs);
+            }
+        };
+
+        Assertions.assertEquals(Set.of("cached1"), search(searchDAO,
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.EQ, "cached1@syncope.apache.org"))));
+        int compiledBefore = compiled.get();
+        int checkedBefore = checked.get();
+        Assertions.assertTrue(compiledBefore >= 2);
+
+        Assertions.assertEquals(Set.of("cached2"), search(searchDAO,
+                SearchCond.getAnd(cached(), attrCond("email", AttrCond.Type.EQ, "cached2@syncope.apache.org"))));
+
+        // neither leaves compiled nor schemas looked up again: values only are bound
+        Assertions.assertTrue((Long) cache.getStatistics().get("hits") > 0);
+        Assertions.assertEquals(compiledBefore, compiled.get());
+        Assertions.assertEquals(checkedBefore, checked.get());
+    }
+
+    @Test
+    void valueDependentQueryNotCached() {
+        JPAQueryPlanCacheDAO cache = new JPAQueryPlanCacheDAO("maximumSize=10,recordStats");
+        // binds a parameter the binders know nothing about
+        AnySearchDAO searchDAO = new JPAAnySearchDAO(
+                realmDAO,
+                dynRealmDAO,
+                userDAO,
+                groupDAO,
+                anyObjectDAO,
+                plainSchemaDAO,
+                entityFactory,
+                anyUtilsFactory,
+                validator,
+                cache) {
+
+            @Override
+            protected String getQuery(
+                    final AnyCond cond,
+                    final boolean not,
+                    final List<Object> parameters,
+                    final SearchSupport svs) {
+
+                String query = super.getQuery(cond, not, parameters, svs);
+                return "username".equals(cond.getSchema()) && cond.getType() == AttrCond.Type.EQ
+                        ? query + " AND username<>?" + setParameter(parameters, "nobody")
+                        : query;
+            }
+        };
+
+        Assertions.assertEquals(Set.of("cached1"), search(searchDAO, anyCond("username", AttrCond.Type.EQ, "cached1")));
+        Assertions.assertEquals(Set.of("cached2"), search(searchDAO, anyCond("username", AttrCond.Type.EQ, "cached2")));
+
+        // compiled every time, never cached
+        Assertions.assertEquals(0L, cache.getStatistics().get("size"));
+        Assertions.assertEquals(0L, cache.getStatistics().get("hits"));
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import jakarta.persistence.Query;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.DomainHolder;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.UMembership;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.content.SearchTableLoader;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchTableDAO;
+import org.apache.syncope.core.persistence.jpa.dao.SearchTableSupport;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+class SearchTableTest extends AbstractTest {
+
+    private static final SearchTableSupport USER_TABLES = new SearchTableSupport(AnyTypeKind.USER);
+
+    @Autowired
+    private DomainHolder domainHolder;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    private JPASearchTableDAO searchTableDAO;
+
+    private Group group;
+
+    private User user;
+
+    @BeforeEach
+    void searchTables() {
+        // search tables are disabled for all other tests: not maintained by the configured DAO
+        searchTableDAO = new JPASearchTableDAO(true);
+
+        // creates and fills search tables, if not found
+        new SearchTableLoader(searchTableDAO, new ClassPathResource("searchTables.xml")).
+                load(SyncopeConstants.MASTER_DOMAIN, domainHolder.getDomains().get(SyncopeConstants.MASTER_DOMAIN));
+
+        Group newGroup = entityFactory.newEntity(Group.class);
+        newGroup.setName("searchTableGroup");
+        newGroup.setRealm(realmDAO.getRoot());
+        group = groupDAO.save(newGroup);
+
+        User newUser = entityFactory.newEntity(User.class);
+        newUser.setUsername("searchTableUser");
+        newUser.setRealm(realmDAO.getRoot());
+        UMembership membership = entityFactory.newEntity(UMembership.class);
+        membership.setLeftEnd(newUser);
+        membership.setRightEnd(group);
+        newUser.add(membership);
+        user = userDAO.save(newUser);
+        setEmail("before@syncope.apache.org");
+    }
+
+    private void setEmail(final String email) {
+        UPlainAttr attr = user.getPlainAttr("email").orElse(null);
+        if (attr == null) {
+            attr = entityFactory.newEntity(UPlainAttr.class);
+            attr.setOwner(user);
+            attr.setSchema(plainSchemaDAO.find("email"));
+            user.add(attr);
+        } else {
+            attr.getValues().clear();
+        }
+        attr.add(validator, email, anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        user = userDAO.save(user);
+    }
+
+    private <A extends Any<?>> void publish(final SyncDeltaType type, final A any) {
+        searchTableDAO.any(new AnyLifecycleEvent<>(this, type, any, SyncopeConstants.MASTER_DOMAIN));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> column(final String table, final String column, final String anyKey) {
+        entityManager().flush();
+
+        Query query = entityManager().createNativeQuery("SELECT " + column + " FROM " + table + " WHERE any_id=?");
+        query.setParameter(1, anyKey);
+        return ((List<Object>) query.getResultList()).stream().
+                map(value -> value instanceof Object[] ? ((Object[]) value)[0] : value).
+                map(String::valueOf).
+                sorted().
+                collect(Collectors.toList());
+    }
+
+    private List<String> emails() {
+        return column(USER_TABLES.attr().name, "stringvalue", user.getKey());
+    }
+
+    private List<String> groupNames() {
+        return column(USER_TABLES.membership().name, "group_name", user.getKey());
+    }
+
+    @Test
+    void createUpdateDelete() {
+        Assertions.assertTrue(emails().isEmpty());
+
+        publish(SyncDeltaType.CREATE, user);
+        Assertions.assertEquals(List.of("before@syncope.apache.org"), emails());
+        Assertions.assertEquals(List.of("searchTableGroup"), groupNames());
+
+        // pending changes are flushed before the search tables are filled
+        setEmail("after@syncope.apache.org");
+        publish(SyncDeltaType.UPDATE, user);
+        Assertions.assertEquals(List.of("after@syncope.apache.org"), emails());
+
+        publish(SyncDeltaType.DELETE, user);
+        Assertions.assertTrue(emails().isEmpty());
+        Assertions.assertTrue(groupNames().isEmpty());
+    }
+
+    @Test
+    void groupRenameAndDelete() {
+        publish(SyncDeltaType.CREATE, user);
+        Assertions.assertEquals(List.of("searchTableGroup"), groupNames());
+
+        group.setName("renamedSearchTableGroup");
+        group = groupDAO.save(group);
+        publish(SyncDeltaType.UPDATE, group);
+        Assertions.assertEquals(List.of("renamedSearchTableGroup"), groupNames());
+
+        publish(SyncDeltaType.DELETE, group);
+        Assertions.assertTrue(groupNames().isEmpty());
+    }
+
+    @Test
+    void plainSchemaDelete() {
+        publish(SyncDeltaType.CREATE, user);
+        Assertions.assertEquals(List.of("before@syncope.apache.org"), emails());
+
+        searchTableDAO.entity(new EntityLifecycleEvent<Entity>(
+                this, SyncDeltaType.UPDATE, plainSchemaDAO.find("email"), SyncopeConstants.MASTER_DOMAIN));
+        Assertions.assertEquals(List.of("before@syncope.apache.org"), emails());
+
+        searchTableDAO.entity(new EntityLifecycleEvent<Entity>(
+                this, SyncDeltaType.DELETE, plainSchemaDAO.find("email"), SyncopeConstants.MASTER_DOMAIN));
+        Assertions.assertTrue(emails().isEmpty());
+    }
+
+    @Test
+    void rebuild() {
+        // no event published: search tables are out of sync
+        Assertions.assertTrue(emails().isEmpty());
+        Assertions.assertTrue(groupNames().isEmpty());
+
+        Assertions.assertTrue(searchTableDAO.rebuild(AnyTypeKind.USER) > 0);
+        Assertions.assertEquals(List.of("before@syncope.apache.org"), emails());
+        Assertions.assertEquals(List.of("searchTableGroup"), groupNames());
+
+        // each table matches its view
+        USER_TABLES.searchTables().forEach((table, view) -> Assertions.assertEquals(
+                entityManager().createNativeQuery("SELECT COUNT(*) FROM " + view).getSingleResult().toString(),
+                entityManager().createNativeQuery("SELECT COUNT(*) FROM " + table).getSingleResult().toString(),
+                table));
+    }
+
+    @Test
+    void disabled() {
+        searchTableDAO = new JPASearchTableDAO(false);
+
+        publish(SyncDeltaType.CREATE, user);
+        Assertions.assertTrue(emails().isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.cache;
+
+/**
+ * Short-lived cache of search counts, invalidated whenever any User, Group or Any Object changes in the same domain.
+ *
+ * Invalidation is local: changes performed on other nodes of a cluster are not notified, hence cached counts may
+ * there be stale until they expire according to the configured cache spec.
+ */
+public interface SearchCountCache {
+
+    void setCacheSpec(String cacheSpec);
+
+    /**
+     * Force expiring of all entries for the given domain.
+     *
+     * @param domain domain
+     */
+    void expire(String domain);
+
+    /**
+     * Retrieve cached count. Return null in case of count not cached.
+     *
+     * @param key cache key
+     * @return cached count or null if not cached
+     */
+    Integer get(SearchCountCacheKey key);
+
+    /**
+     * Cache count.
+     *
+     * @param key cache key
+     * @param count count
+     * @return count after caching
+     */
+    int put(SearchCountCacheKey key, int count);
+}
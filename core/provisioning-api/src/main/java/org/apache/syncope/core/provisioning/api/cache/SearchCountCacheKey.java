@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.cache;
+
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.RecursiveToStringStyle;
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+
+/**
+ * Cache entry key.
+ */
+@SuppressWarnings("squid:S2065")
+public class SearchCountCacheKey {
+
+    /**
+     * Renders search conditions by value, with no identity hash codes, so that equal conditions share the same
+     * representation.
+     */
+    protected static class NormalizedStyle extends RecursiveToStringStyle {
+
+        private static final long serialVersionUID = 4376190447283066716L;
+
+        protected NormalizedStyle() {
+            super();
+            setUseIdentityHashCode(false);
+            setUseShortClassName(true);
+        }
+
+        @Override
+        protected boolean accept(final Class<?> clazz) {
+            return !clazz.isEnum() && !clazz.getName().startsWith("java.");
+        }
+    }
+
+    protected static final NormalizedStyle NORMALIZED_STYLE = new NormalizedStyle();
+
+    /**
+     * Domain.
+     */
+    private final transient String domain;
+
+    /**
+     * Any type kind.
+     */
+    private final transient AnyTypeKind kind;
+
+    /**
+     * Full path of the base realm.
+     */
+    private final transient String base;
+
+    /**
+     * Whether search is recursive.
+     */
+    private final transient boolean recursive;
+
+    /**
+     * Sorted admin realms.
+     */
+    private final transient String adminRealms;
+
+    /**
+     * Normalized search condition: computed eagerly, as search conditions can be altered while searching.
+     */
+    private final transient String cond;
+
+    public SearchCountCacheKey(
+            final String domain,
+            final AnyTypeKind kind,
+            final String base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond) {
+
+        this.domain = domain;
+        this.kind = kind;
+        this.base = base;
+        this.recursive = recursive;
+        this.adminRealms = new TreeSet<>(adminRealms).toString();
+        this.cond = ReflectionToStringBuilder.toString(cond, NORMALIZED_STYLE);
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public AnyTypeKind getKind() {
+        return kind;
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public String getAdminRealms() {
+        return adminRealms;
+    }
+
+    public String getCond() {
+        return cond;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().
+                append(domain).
+                append(kind).
+                append(base).
+                append(recursive).
+                append(adminRealms).
+                append(cond).
+                build();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final SearchCountCacheKey other = (SearchCountCacheKey) obj;
+        return new EqualsBuilder().
+                append(domain, other.domain).
+                append(kind, other.kind).
+                append(base, other.base).
+                append(recursive, other.recursive).
+                append(adminRealms, other.adminRealms).
+                append(cond, other.cond).
+                build();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCountCacheKey{"
+                + "domain=" + domain
+                + ", kind=" + kind
+                + ", base=" + base
+                + ", recursive=" + recursive
+                + ", adminRealms=" + adminRealms
+                + ", cond=" + cond + '}';
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.List;
 import java.util.Map;
 import org.apache.syncope.common.lib.request.GroupCR;
 import org.apache.syncope.common.lib.request.GroupUR;
@@ -35,6 +36,16 @@ public interface GroupDataBinder {
 
     GroupTO getGroupTO(Group group, boolean details);
 
+    /**
+     * Bulk variant of {@link #getGroupTO(Group, boolean)}, meant for result pages: dynamic realms and membership
+     * counts are fetched for all given groups at once.
+     *
+     * @param groups groups
+     * @param details whether to include details
+     * @return transfer objects, in the same order as the given groups
+     */
+    List<GroupTO> getGroupTOs(List<Group> groups, boolean details);
+
     void create(Group group, GroupCR groupCR);
 
     PropagationByResource<String> update(Group group, GroupUR groupUR);
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.request.UserCR;
 import org.apache.syncope.common.lib.request.UserUR;
@@ -35,6 +36,16 @@ public interface UserDataBinder {
 
     UserTO getUserTO(User user, boolean details);
 
+    /**
+     * Bulk variant of {@link #getUserTO(User, boolean)}, meant for result pages: dynamic realms, roles and groups
+     * are fetched for all given users at once.
+     *
+     * @param users users
+     * @param details whether to include details
+     * @return transfer objects, in the same order as the given users
+     */
+    List<UserTO> getUserTOs(List<User> users, boolean details);
+
     LinkedAccountTO getLinkedAccountTO(LinkedAccount account);
 
     void create(User user, UserCR userCR);
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Requests the dynamic members of the given group to be rebuilt in background, once the current transaction has
+ * committed.
+ */
+public class DynMembersRefreshEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 5069364478236384421L;
+
+    private final String groupKey;
+
+    private final String domain;
+
+    public DynMembersRefreshEvent(final Object source, final String groupKey, final String domain) {
+        super(source);
+
+        this.groupKey = groupKey;
+        this.domain = domain;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+}
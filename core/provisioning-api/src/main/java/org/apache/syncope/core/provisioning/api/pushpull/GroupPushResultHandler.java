@@ -18,5 +18,5 @@
  */
 package org.apache.syncope.core.provisioning.api.pushpull;
 
-public interface GroupPushResultHandler extends SyncopePushResultHandler {
+public interface GroupPushResultHandler extends AnyPushResultHandler {
 }
@@ -20,8 +20,8 @@ package org.apache.syncope.core.provisioning.api.pushpull;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import org.apache.syncope.common.lib.to.ProvisioningReport;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
 import org.apache.syncope.core.persistence.api.entity.task.ProvisioningTask;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -32,7 +32,7 @@ public class ProvisioningProfile<T extends ProvisioningTask<?>, A extends Provis
 
     private final T task;
 
-    private final List<ProvisioningReport> results = new CopyOnWriteArrayList<>();
+    private final ProvisioningReports results;
 
     private boolean dryRun;
 
@@ -42,9 +42,22 @@ public class ProvisioningProfile<T extends ProvisioningTask<?>, A extends Provis
 
     private final List<A> actions = new ArrayList<>();
 
+    private final Map<String, PullCorrelationIndex> correlationIndexes = new ConcurrentHashMap<>();
+
     public ProvisioningProfile(final Connector connector, final T task) {
+        this(connector, task, false);
+    }
+
+    /**
+     * @param connector connector
+     * @param task provisioning task
+     * @param retainResults whether all provisioning reports shall be kept in memory, rather than only counted and
+     * spooled according to the resource's trace level: only meant for executions dealing with few objects
+     */
+    public ProvisioningProfile(final Connector connector, final T task, final boolean retainResults) {
         this.connector = connector;
         this.task = task;
+        this.results = new ProvisioningReports(task.getResource().getProvisioningTraceLevel(), retainResults);
     }
 
     public Connector getConnector() {
@@ -55,7 +68,7 @@ public class ProvisioningProfile<T extends ProvisioningTask<?>, A extends Provis
         return task;
     }
 
-    public List<ProvisioningReport> getResults() {
+    public ProvisioningReports getResults() {
         return results;
     }
 
@@ -86,4 +99,11 @@ public class ProvisioningProfile<T extends ProvisioningTask<?>, A extends Provis
     public List<A> getActions() {
         return actions;
     }
+
+    /**
+     * @return prefetched correlation indexes, by any type
+     */
+    public Map<String, PullCorrelationIndex> getCorrelationIndexes() {
+        return correlationIndexes;
+    }
 }
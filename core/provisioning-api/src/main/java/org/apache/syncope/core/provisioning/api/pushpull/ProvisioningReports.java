@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.pushpull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the {@link ProvisioningReport} instances produced while pulling or pushing.
+ *
+ * Reports are expected to be added once complete: they are immediately counted by (category, operation, status) and,
+ * when required by the given {@link TraceLevel}, their detail line is spooled to a temporary file, so that the heap
+ * used does not depend on the number of processed objects.
+ * Reports are only retained in memory when explicitly requested, e.g. for single or stream executions.
+ */
+public class ProvisioningReports implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProvisioningReports.class);
+
+    public enum Category {
+        USER,
+        LINKED_ACCOUNT,
+        GROUP,
+        ANY_OBJECT,
+        REALM;
+
+        public static Category of(final ProvisioningReport report) {
+            if (StringUtils.isBlank(report.getAnyType())) {
+                return REALM;
+            }
+
+            switch (report.getAnyType()) {
+                case "USER":
+                    return USER;
+
+                case "LINKED_ACCOUNT":
+                    return LINKED_ACCOUNT;
+
+                case "GROUP":
+                    return GROUP;
+
+                default:
+                    return ANY_OBJECT;
+            }
+        }
+    }
+
+    protected static final class Bucket {
+
+        private final Category category;
+
+        private final ResourceOperation operation;
+
+        private final ProvisioningReport.Status status;
+
+        protected Bucket(
+                final Category category,
+                final ResourceOperation operation,
+                final ProvisioningReport.Status status) {
+
+            this.category = category;
+            // ignored reports are only counted by category
+            this.operation = status == ProvisioningReport.Status.IGNORE || operation == null
+                    ? ResourceOperation.NONE
+                    : operation;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Bucket other = (Bucket) obj;
+            return category == other.category && operation == other.operation && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, operation, status);
+        }
+    }
+
+    protected static final class Spool {
+
+        private final Path file;
+
+        private final BufferedWriter writer;
+
+        protected Spool(final Path file) throws IOException {
+            this.file = file;
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        }
+
+        protected synchronized void write(final String line) throws IOException {
+            writer.write(line);
+            writer.newLine();
+        }
+
+        protected synchronized long read(final long limit, final Consumer<String> consumer) throws IOException {
+            writer.flush();
+
+            long read = 0;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null && read < limit; line = reader.readLine()) {
+                    consumer.accept(line);
+                    read++;
+                }
+            }
+            return read;
+        }
+
+        protected synchronized void delete() throws IOException {
+            try {
+                writer.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private final TraceLevel traceLevel;
+
+    private final List<ProvisioningReport> retained;
+
+    private final Map<Bucket, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final Map<Bucket, Spool> spools = new ConcurrentHashMap<>();
+
+    private final List<Consumer<ProvisioningReport>> listeners = new CopyOnWriteArrayList<>();
+
+    public ProvisioningReports(final TraceLevel traceLevel, final boolean retain) {
+        this.traceLevel = traceLevel;
+        this.retained = retain ? Collections.synchronizedList(new ArrayList<>()) : null;
+    }
+
+    /**
+     * Formats the detail line of the given report, for the given trace level.
+     *
+     * @param report provisioning report
+     * @param level trace level
+     * @return detail line, or {@code null} if nothing is to be reported for the given trace level
+     */
+    public static String format(final ProvisioningReport report, final TraceLevel level) {
+        if (level == null || level.ordinal() <= TraceLevel.SUMMARY.ordinal()) {
+            // No per entry log in this case.
+            return null;
+        }
+
+        if (level == TraceLevel.FAILURES) {
+            // only report failures
+            return report.getStatus() == ProvisioningReport.Status.FAILURE
+                    ? String.format("Failed %s (key/name): %s/%s with message: %s",
+                            report.getOperation(), report.getKey(), report.getName(), report.getMessage())
+                    : null;
+        }
+
+        // All
+        return String.format("%s %s (key/name): %s/%s %s",
+                report.getOperation(), report.getStatus(), report.getKey(), report.getName(),
+                StringUtils.isBlank(report.getMessage())
+                ? StringUtils.EMPTY
+                : "with message: " + report.getMessage());
+    }
+
+    public TraceLevel getTraceLevel() {
+        return traceLevel;
+    }
+
+    /**
+     * Registers a listener, invoked on the adding thread for each report added from now on.
+     *
+     * @param listener listener
+     */
+    public void addListener(final Consumer<ProvisioningReport> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds the given report, which is not expected to be modified afterwards.
+     *
+     * @param report provisioning report
+     */
+    public void add(final ProvisioningReport report) {
+        listeners.forEach(listener -> listener.accept(report));
+
+        if (retained != null) {
+            retained.add(report);
+        }
+
+        if (report.getStatus() == null) {
+            LOG.debug("No status set, not counting {}", report);
+            return;
+        }
+
+        Bucket bucket = new Bucket(Category.of(report), report.getOperation(), report.getStatus());
+        counters.computeIfAbsent(bucket, k -> new LongAdder()).increment();
+
+        if (retained == null) {
+            String line = format(report, traceLevel);
+            if (line != null) {
+                try {
+                    Spool spool = spools.computeIfAbsent(bucket, k -> {
+                        try {
+                            return new Spool(Files.createTempFile("provisioningReport", ".txt"));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    spool.write(line);
+                } catch (IOException | UncheckedIOException e) {
+                    LOG.error("Could not spool {}, only counting", report, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the reports added so far, if retained; empty list otherwise
+     */
+    public List<ProvisioningReport> asList() {
+        return retained == null ? List.of() : Collections.unmodifiableList(retained);
+    }
+
+    public long count(
+            final Category category,
+            final ResourceOperation operation,
+            final ProvisioningReport.Status status) {
+
+        LongAdder counter = counters.get(new Bucket(category, operation, status));
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Feeds the detail lines of the reports matching the given category, operation and status to the given consumer.
+     *
+     * @param category category
+     * @param operation operation
+     * @param status status
+     * @param limit maximum number of lines to consume
+     * @param consumer line consumer
+     * @return number of lines consumed
+     */
+    public long details(
+            final Category category,
+            final ResourceOperation operation,
+            final ProvisioningReport.Status status,
+            final long limit,
+            final Consumer<String> consumer) {
+
+        Bucket bucket = new Bucket(category, operation, status);
+
+        if (retained != null) {
+            synchronized (retained) {
+                long read = 0;
+                for (ProvisioningReport report : retained) {
+                    if (read < limit && report.getStatus() != null && bucket.equals(
+                            new Bucket(Category.of(report), report.getOperation(), report.getStatus()))) {
+
+                        String line = format(report, traceLevel);
+                        if (line != null) {
+                            consumer.accept(line);
+                            read++;
+                        }
+                    }
+                }
+                return read;
+            }
+        }
+
+        Spool spool = spools.get(bucket);
+        if (spool == null) {
+            return 0;
+        }
+        try {
+            return spool.read(limit, consumer);
+        } catch (IOException e) {
+            LOG.error("Could not read spooled details for {} {} {}", category, operation, status, e);
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        spools.values().forEach(spool -> {
+            try {
+                spool.delete();
+            } catch (IOException e) {
+                LOG.error("Could not delete {}", spool.file, e);
+            }
+        });
+        spools.clear();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.pushpull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from connObjectKey values to any object keys, prefetched before a full reconciliation pull so that
+ * each pulled object found can be matched by key, without searching the internal storage by connObjectKey value.
+ * Values shared by more than one any object are not indexed, hence not {@link #covers(String) covered}.
+ * Only hits are authoritative: as any objects might be created meanwhile by others than the current pull, values not
+ * found shall be looked up in the internal storage, at the cost of one query each; hence pulls mostly made of new
+ * objects, as initial loads, do not benefit from the index.
+ */
+public class PullCorrelationIndex {
+
+    private final boolean ignoreCaseMatch;
+
+    private final Map<String, String> keys;
+
+    private final Set<String> ambiguous = ConcurrentHashMap.newKeySet();
+
+    public PullCorrelationIndex(final boolean ignoreCaseMatch, final int expectedSize) {
+        this.ignoreCaseMatch = ignoreCaseMatch;
+        this.keys = new ConcurrentHashMap<>(Math.max(16, expectedSize * 4 / 3 + 1));
+    }
+
+    private String normalize(final String value) {
+        return ignoreCaseMatch ? value.toLowerCase(Locale.ROOT) : value;
+    }
+
+    /**
+     * Indexes the given value for the given any object key.
+     *
+     * @param value connObjectKey value
+     * @param key any object key
+     */
+    public void put(final String value, final String key) {
+        String normalized = normalize(value);
+        if (!ambiguous.contains(normalized)) {
+            String previous = keys.putIfAbsent(normalized, key);
+            if (previous != null && !previous.equals(key)) {
+                ambiguous.add(normalized);
+                keys.remove(normalized);
+            }
+        }
+    }
+
+    /**
+     * Removes the given value from index, e.g. when the related any object was deleted.
+     *
+     * @param value connObjectKey value
+     */
+    public void remove(final String value) {
+        keys.remove(normalize(value));
+    }
+
+    /**
+     * @param value connObjectKey value
+     * @return whether {@link #find(String)} is authoritative for the given value
+     */
+    public boolean covers(final String value) {
+        return !ambiguous.contains(normalize(value));
+    }
+
+    public Optional<String> find(final String value) {
+        return Optional.ofNullable(keys.get(normalize(value)));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
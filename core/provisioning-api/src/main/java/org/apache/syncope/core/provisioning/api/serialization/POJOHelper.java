@@ -58,6 +58,13 @@ public final class POJOHelper {
                 build();
     }
 
+    /**
+     * @return builder for mappers sharing the configuration used here, to be further customized
+     */
+    public static JsonMapper.Builder rebuild() {
+        return MAPPER.rebuild();
+    }
+
     public static String serialize(final Object object) {
         String result = null;
 
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.audit.AuditEntry;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+
+public final class AuditEntryUtils {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private static Optional<String> key(final String serialized) {
+        if (!StringUtils.startsWith(serialized, "{")) {
+            return Optional.empty();
+        }
+
+        try {
+            JsonNode node = MAPPER.readTree(serialized);
+            if (node.has("entity") && node.get("entity").isObject()) {
+                node = node.get("entity");
+            }
+            return Optional.ofNullable(node.get("key")).filter(JsonNode::isTextual).map(JsonNode::asText);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Finds out the key of the entity the given audit entry is about, by looking at the entity reported as before
+     * or, when missing, as output (possibly wrapped in a provisioning result).
+     *
+     * @param entry audit entry
+     * @return key of the entity the given audit entry is about, or {@code null} if not found
+     */
+    public static String getEntityKey(final AuditEntry entry) {
+        return Stream.of(entry.getBefore(), entry.getOutput()).
+                map(AuditEntryUtils::key).flatMap(Optional::stream).
+                findFirst().orElse(null);
+    }
+
+    /**
+     * Extracts from the given audit entry the values for the structured columns, as defined by
+     * {@link AuditConfDAO#AUDIT_ENTRY_STRUCTURED_COLUMNS}.
+     *
+     * @param entry audit entry
+     * @return values by structured column name; values might be {@code null}
+     */
+    public static Map<String, String> getStructuredColumns(final AuditEntry entry) {
+        Optional<AuditLoggerName> logger = Optional.ofNullable(entry.getLogger());
+
+        Map<String, String> columns = new HashMap<>();
+        columns.put(AuditConfDAO.AUDIT_ENTRY_WHO_COLUMN, entry.getWho());
+        columns.put(AuditConfDAO.AUDIT_ENTRY_TYPE_COLUMN,
+                logger.map(AuditLoggerName::getType).map(Enum::name).orElse(null));
+        columns.put(AuditConfDAO.AUDIT_ENTRY_CATEGORY_COLUMN,
+                logger.map(AuditLoggerName::getCategory).orElse(null));
+        columns.put(AuditConfDAO.AUDIT_ENTRY_SUBCATEGORY_COLUMN,
+                logger.map(AuditLoggerName::getSubcategory).orElse(null));
+        columns.put(AuditConfDAO.AUDIT_ENTRY_EVENT_COLUMN,
+                logger.map(AuditLoggerName::getEvent).orElse(null));
+        columns.put(AuditConfDAO.AUDIT_ENTRY_RESULT_COLUMN,
+                logger.map(AuditLoggerName::getResult).map(Enum::name).orElse(null));
+        columns.put(AuditConfDAO.AUDIT_ENTRY_ENTITY_KEY_COLUMN, getEntityKey(entry));
+        return columns;
+    }
+
+    /**
+     * Private default constructor, for static-only classes.
+     */
+    private AuditEntryUtils() {
+    }
+}
@@ -18,14 +18,20 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.syncope.common.lib.audit.AuditEntry;
+import org.apache.syncope.common.lib.request.PasswordPatch;
 import org.apache.syncope.common.lib.request.UserCR;
-import org.apache.syncope.common.lib.request.UserUR;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
@@ -35,51 +41,81 @@ import org.apache.syncope.core.persistence.api.entity.AuditConf;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.api.utils.AuditEntryUtils;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
+import org.apache.syncope.core.provisioning.java.audit.AuditPipeline;
+import org.apache.syncope.core.provisioning.java.cache.EventSubscriptionIndex;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(readOnly = true)
 public class DefaultAuditManager implements AuditManager {
 
+    protected static final Logger LOG = LoggerFactory.getLogger(AuditManager.class);
+
     protected static final String MASKED_VALUE = "<MASKED>";
 
-    protected static Object maskSensitive(final Object object) {
-        Object masked;
+    protected static class MaskedValueSerializer extends JsonSerializer<Object> {
 
-        if (object instanceof UserTO) {
-            masked = SerializationUtils.clone((UserTO) object);
-            if (((UserTO) masked).getPassword() != null) {
-                ((UserTO) masked).setPassword(MASKED_VALUE);
-            }
-            if (((UserTO) masked).getSecurityAnswer() != null) {
-                ((UserTO) masked).setSecurityAnswer(MASKED_VALUE);
-            }
-        } else if (object instanceof UserCR) {
-            masked = SerializationUtils.clone((UserCR) object);
-            if (((UserCR) masked).getPassword() != null) {
-                ((UserCR) masked).setPassword(MASKED_VALUE);
-            }
-            if (((UserCR) masked).getSecurityAnswer() != null) {
-                ((UserCR) masked).setSecurityAnswer(MASKED_VALUE);
-            }
-        } else if (object instanceof UserUR && ((UserUR) object).getPassword() != null) {
-            masked = SerializationUtils.clone((UserUR) object);
-            ((UserUR) masked).getPassword().setValue(MASKED_VALUE);
-        } else {
-            masked = object;
+        @Override
+        public void serialize(final Object value, final JsonGenerator gen, final SerializerProvider serializers)
+                throws IOException {
+
+            gen.writeString(MASKED_VALUE);
         }
+    }
+
+    protected abstract static class UserTOMaskMixIn {
+
+        @JsonSerialize(using = MaskedValueSerializer.class)
+        public abstract String getPassword();
+
+        @JsonSerialize(using = MaskedValueSerializer.class)
+        public abstract String getSecurityAnswer();
+    }
+
+    protected abstract static class PasswordPatchMaskMixIn {
+
+        @JsonSerialize(using = MaskedValueSerializer.class)
+        public abstract Object getValue();
+    }
 
-        return masked;
+    /**
+     * Masks sensitive values while serializing, with no need to clone the objects being audited.
+     */
+    protected static final JsonMapper MASKING_MAPPER = POJOHelper.rebuild().
+            addMixIn(UserTO.class, UserTOMaskMixIn.class).
+            addMixIn(UserCR.class, UserTOMaskMixIn.class).
+            addMixIn(PasswordPatch.class, PasswordPatchMaskMixIn.class).
+            build();
+
+    protected static String maskAndSerialize(final Object object) {
+        try {
+            return MASKING_MAPPER.writeValueAsString(object);
+        } catch (Exception e) {
+            LOG.error("During serialization", e);
+            return null;
+        }
     }
 
     protected final AuditConfDAO auditConfDAO;
 
-    public DefaultAuditManager(final AuditConfDAO auditConfDAO) {
+    protected final EventSubscriptionIndex eventSubscriptionIndex;
+
+    protected final AuditPipeline auditPipeline;
+
+    public DefaultAuditManager(
+            final AuditConfDAO auditConfDAO,
+            final EventSubscriptionIndex eventSubscriptionIndex,
+            final AuditPipeline auditPipeline) {
+
         this.auditConfDAO = auditConfDAO;
+        this.eventSubscriptionIndex = eventSubscriptionIndex;
+        this.auditPipeline = auditPipeline;
     }
 
     @Override
@@ -90,24 +126,15 @@ public class DefaultAuditManager implements AuditManager {
             final String subcategory,
             final String event) {
 
-        AuditEntry auditEntry = new AuditEntry();
-        auditEntry.setWho(who);
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, Result.SUCCESS));
-        auditEntry.setDate(OffsetDateTime.now());
-
-        AuditConf auditConf = auditConfDAO.find(auditEntry.getLogger().toAuditKey());
-        boolean auditRequested = auditConf != null && auditConf.isActive();
-
-        if (auditRequested) {
-            return true;
-        }
-
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, Result.FAILURE));
-
-        auditConf = auditConfDAO.find(auditEntry.getLogger().toAuditKey());
-        auditRequested = auditConf != null && auditConf.isActive();
+        return eventSubscriptionIndex.get(AuthContextUtils.getDomain()).
+                isAudited(type, category, subcategory, event);
+    }
 
-        return auditRequested;
+    protected boolean isActive(final String auditKey) {
+        return eventSubscriptionIndex.getIfFresh(AuthContextUtils.getDomain()).
+                map(subscriptions -> subscriptions.isAudited(auditKey)).
+                orElseGet(() -> Optional.ofNullable(auditConfDAO.find(auditKey)).
+                filter(AuditConf::isActive).isPresent());
     }
 
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -140,8 +167,7 @@ public class DefaultAuditManager implements AuditManager {
 
         AuditLoggerName auditLoggerName = new AuditLoggerName(type, category, subcategory, event, condition);
 
-        Optional.ofNullable(auditConfDAO.find(auditLoggerName.toAuditKey())).
-                filter(AuditConf::isActive).ifPresent(audit -> {
+        Optional.of(auditLoggerName.toAuditKey()).filter(this::isActive).ifPresent(auditKey -> {
 
             Throwable throwable = output instanceof Throwable
                     ? (Throwable) output
@@ -151,31 +177,48 @@ public class DefaultAuditManager implements AuditManager {
             auditEntry.setWho(who);
             auditEntry.setLogger(auditLoggerName);
             auditEntry.setDate(OffsetDateTime.now());
-            auditEntry.setBefore(POJOHelper.serialize((maskSensitive(before))));
+            auditEntry.setBefore(maskAndSerialize(before));
             if (throwable == null) {
-                auditEntry.setOutput(POJOHelper.serialize((maskSensitive(output))));
+                auditEntry.setOutput(maskAndSerialize(output));
             } else {
                 auditEntry.setOutput(throwable.getMessage());
                 auditEntry.setThrowable(ExceptionUtils2.getFullStackTrace(throwable));
             }
             if (input != null) {
                 auditEntry.getInputs().addAll(Arrays.stream(input).
-                        map(DefaultAuditManager::maskSensitive).map(POJOHelper::serialize).
+                        map(DefaultAuditManager::maskAndSerialize).
                         collect(Collectors.toList()));
             }
 
+            // serialization happens above, on the caller thread: only enqueuing is left on the request path
+            if (auditPipeline.isEnabled()) {
+                auditPipeline.enqueue(AuthContextUtils.getDomain(), auditKey, auditEntry);
+                return;
+            }
+
             Logger logger = LoggerFactory.getLogger(
                     AuditLoggerName.getAuditLoggerName(AuthContextUtils.getDomain()));
             Logger eventLogger = LoggerFactory.getLogger(
-                    AuditLoggerName.getAuditEventLoggerName(AuthContextUtils.getDomain(), audit.getKey()));
+                    AuditLoggerName.getAuditEventLoggerName(AuthContextUtils.getDomain(), auditKey));
             String serializedAuditEntry = POJOHelper.serialize(auditEntry);
 
-            if (throwable == null) {
-                logger.debug(serializedAuditEntry);
-                eventLogger.debug(serializedAuditEntry);
-            } else {
-                logger.debug(serializedAuditEntry, throwable);
-                eventLogger.debug(serializedAuditEntry, throwable);
+            // structured columns, for the audit appenders to pick up
+            Map<String, String> columns = AuditEntryUtils.getStructuredColumns(auditEntry);
+            columns.forEach((column, value) -> {
+                if (value != null) {
+                    MDC.put(column, value);
+                }
+            });
+            try {
+                if (throwable == null) {
+                    logger.debug(serializedAuditEntry);
+                    eventLogger.debug(serializedAuditEntry);
+                } else {
+                    logger.debug(serializedAuditEntry, throwable);
+                    eventLogger.debug(serializedAuditEntry, throwable);
+                }
+            } finally {
+                columns.keySet().forEach(MDC::remove);
             }
         });
     }
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,7 @@ import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
 import org.apache.syncope.core.persistence.api.entity.Membership;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.provisioning.api.DerAttrHandler;
 import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
 import org.slf4j.Logger;
@@ -39,20 +41,39 @@ public class DefaultDerAttrHandler implements DerAttrHandler {
 
     protected static final Logger LOG = LoggerFactory.getLogger(DerAttrHandler.class);
 
-    protected static Map<DerSchema, String> getValues(final Any<?> any, final Set<DerSchema> schemas) {
+    /**
+     * Evaluates all given schemas in one pass: plain attributes and fields are read once, then each expression
+     * gets its own copy of the resulting variables, so that no assignment can leak across expressions.
+     *
+     * @param any any object
+     * @param plainAttrs plain attributes to expose
+     * @param schemas derived schemas to evaluate
+     * @return derived attribute values
+     */
+    protected static Map<DerSchema, String> getValues(
+            final Any<?> any, final Collection<? extends PlainAttr<?>> plainAttrs, final Set<DerSchema> schemas) {
+
         Map<DerSchema, String> result = new HashMap<>(schemas.size());
+        if (schemas.isEmpty()) {
+            return result;
+        }
 
-        schemas.forEach(schema -> {
-            JexlContext jexlContext = new MapContext();
-            JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(), jexlContext);
-            JexlUtils.addFieldsToContext(any, jexlContext);
+        Map<String, Object> vars = new HashMap<>();
+        JexlContext base = new MapContext(vars);
+        JexlUtils.addPlainAttrsToContext(plainAttrs, base);
+        JexlUtils.addFieldsToContext(any, base);
 
-            result.put(schema, JexlUtils.evaluate(schema.getExpression(), jexlContext).toString());
-        });
+        schemas.forEach(schema -> result.put(
+                schema,
+                JexlUtils.evaluate(schema.getExpression(), new MapContext(new HashMap<>(vars))).toString()));
 
         return result;
     }
 
+    protected static Map<DerSchema, String> getValues(final Any<?> any, final Set<DerSchema> schemas) {
+        return getValues(any, any.getPlainAttrs(), schemas);
+    }
+
     protected final AnyUtilsFactory anyUtilsFactory;
 
     public DefaultDerAttrHandler(final AnyUtilsFactory anyUtilsFactory) {
@@ -93,17 +114,7 @@ public class DefaultDerAttrHandler implements DerAttrHandler {
     protected static Map<DerSchema, String> getValues(
             final GroupableRelatable<?, ?, ?, ?, ?> any, final Membership<?> membership, final Set<DerSchema> schemas) {
 
-        Map<DerSchema, String> result = new HashMap<>(schemas.size());
-
-        schemas.forEach(schema -> {
-            JexlContext jexlContext = new MapContext();
-            JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(membership), jexlContext);
-            JexlUtils.addFieldsToContext(any, jexlContext);
-
-            result.put(schema, JexlUtils.evaluate(schema.getExpression(), jexlContext).toString());
-        });
-
-        return result;
+        return getValues(any, any.getPlainAttrs(membership), schemas);
     }
 
     @Override
@@ -51,6 +51,8 @@ import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrValueDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RelationshipTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportDAO;
@@ -76,6 +78,7 @@ import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
 import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.data.AccessTokenDataBinder;
 import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
@@ -116,7 +119,11 @@ import org.apache.syncope.core.provisioning.api.notification.NotificationJobDele
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.audit.AuditPipeline;
+import org.apache.syncope.core.provisioning.java.cache.CaffeineAccessTokenCache;
+import org.apache.syncope.core.provisioning.java.cache.CaffeineSearchCountCache;
 import org.apache.syncope.core.provisioning.java.cache.CaffeineVirAttrCache;
+import org.apache.syncope.core.provisioning.java.cache.EventSubscriptionIndex;
 import org.apache.syncope.core.provisioning.java.data.AccessTokenDataBinderImpl;
 import org.apache.syncope.core.provisioning.java.data.AnyObjectDataBinderImpl;
 import org.apache.syncope.core.provisioning.java.data.AnyTypeClassDataBinderImpl;
@@ -152,6 +159,7 @@ import org.apache.syncope.core.provisioning.java.data.UserDataBinderImpl;
 import org.apache.syncope.core.provisioning.java.data.WAConfigDataBinderImpl;
 import org.apache.syncope.core.provisioning.java.data.wa.WAClientAppDataBinderImpl;
 import org.apache.syncope.core.provisioning.java.job.DefaultJobManager;
+import org.apache.syncope.core.provisioning.java.job.GroupDynMembersRefreshListener;
 import org.apache.syncope.core.provisioning.java.job.JobStatusUpdater;
 import org.apache.syncope.core.provisioning.java.job.SchedulerDBInit;
 import org.apache.syncope.core.provisioning.java.job.SyncopeSpringBeanJobFactory;
@@ -161,10 +169,16 @@ import org.apache.syncope.core.provisioning.java.job.notification.NotificationJo
 import org.apache.syncope.core.provisioning.java.notification.DefaultNotificationManager;
 import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationManager;
 import org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationBulkheads;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationDigester;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationOutbox;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationOutboxWorker;
 import org.apache.syncope.core.provisioning.java.pushpull.InboundMatcher;
 import org.apache.syncope.core.provisioning.java.pushpull.OutboundMatcher;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
+import org.apache.syncope.core.provisioning.java.utils.VirtualThreads;
+import org.apache.syncope.core.spring.security.AccessTokenCache;
 import org.apache.syncope.core.spring.security.DefaultCredentialChecker;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
 import org.apache.syncope.core.spring.security.SecurityProperties;
@@ -227,6 +241,9 @@ public class ProvisioningContext {
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setThreadNamePrefix("AsyncConnectorFacadeExecutor-");
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        if (props.isVirtualThreads()) {
+            VirtualThreads.configure(executor);
+        }
         executor.initialize();
         return executor;
     }
@@ -274,10 +291,28 @@ public class ProvisioningContext {
                 props.getPropagationTaskExecutorAsyncExecutor().getAwaitTerminationSeconds());
         executor.setThreadNamePrefix("PropagationTaskExecutor-");
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        if (props.isVirtualThreads()) {
+            VirtualThreads.configure(executor);
+        }
         executor.initialize();
         return executor;
     }
 
+    /**
+     * Used by {@link org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor} for
+     * resources defining their own propagation concurrency.
+     *
+     * @param props the provisioning properties
+     * @return per-resource propagation executors
+     */
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationBulkheads propagationBulkheads(final ProvisioningProperties props) {
+        return new PropagationBulkheads(
+                props.getPropagationTaskExecutorAsyncExecutor().getAwaitTerminationSeconds(),
+                props.isVirtualThreads());
+    }
+
     @Bean
     public SchedulerDBInit quartzDataSourceInit(final ProvisioningProperties provisioningProperties) {
         SchedulerDBInit init = new SchedulerDBInit();
@@ -363,6 +398,20 @@ public class ProvisioningContext {
         return new JobStatusUpdater(jobStatusDAO, entityFactory);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public GroupDynMembersRefreshListener groupDynMembersRefreshListener(
+            final GroupDAO groupDAO,
+            final TaskDAO taskDAO,
+            final ImplementationDAO implementationDAO,
+            final EntityFactory entityFactory,
+            final JobManager jobManager,
+            final SchedulerFactoryBean scheduler) {
+
+        return new GroupDynMembersRefreshListener(
+                groupDAO, taskDAO, implementationDAO, entityFactory, jobManager, scheduler);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public ConnectorManager connectorManager(
@@ -547,6 +596,8 @@ public class ProvisioningContext {
     public PropagationTaskExecutor propagationTaskExecutor(
             @Qualifier("propagationTaskExecutorAsyncExecutor")
             final ThreadPoolTaskExecutor propagationTaskExecutorAsyncExecutor,
+            final PropagationBulkheads propagationBulkheads,
+            final PropagationOutbox propagationOutbox,
             final TaskUtilsFactory taskUtilsFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final ConnectorManager connectorManager,
@@ -559,7 +610,8 @@ public class ProvisioningContext {
             final TaskDataBinder taskDataBinder,
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
-            final ApplicationEventPublisher publisher) {
+            final ApplicationEventPublisher publisher,
+            final PropagationDigester propagationDigester) {
 
         return new PriorityPropagationTaskExecutor(
                 connectorManager,
@@ -575,7 +627,51 @@ public class ProvisioningContext {
                 outboundMatcher,
                 validator,
                 publisher,
-                propagationTaskExecutorAsyncExecutor);
+                propagationDigester,
+                propagationTaskExecutorAsyncExecutor,
+                propagationBulkheads,
+                propagationOutbox);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationDigester propagationDigester(
+            final ProvisioningProperties props,
+            final PropagationDigestDAO propagationDigestDAO,
+            final EntityFactory entityFactory) {
+
+        return new PropagationDigester(propagationDigestDAO, entityFactory, props.getPropagationDigestMaxAge());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutbox propagationOutbox(
+            final ProvisioningProperties props,
+            final PropagationOutboxDAO propagationOutboxDAO,
+            final EntityFactory entityFactory) {
+
+        return new PropagationOutbox(propagationOutboxDAO, entityFactory, props.getPropagationOutbox());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutboxWorker propagationOutboxWorker(
+            final ProvisioningProperties props,
+            final PropagationOutbox propagationOutbox,
+            final PropagationOutboxDAO propagationOutboxDAO,
+            final ExternalResourceDAO resourceDAO,
+            final PropagationTaskExecutor propagationTaskExecutor,
+            final DomainHolder domainHolder) {
+
+        PropagationOutboxWorker worker = new PropagationOutboxWorker(
+                propagationOutbox,
+                propagationOutboxDAO,
+                resourceDAO,
+                propagationTaskExecutor,
+                domainHolder,
+                props.getPropagationOutbox());
+        worker.start();
+        return worker;
     }
 
     @ConditionalOnMissingBean
@@ -639,6 +735,43 @@ public class ProvisioningContext {
         return virAttrCache;
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public AccessTokenCache accessTokenCache(
+            final SecurityProperties securityProperties,
+            final ConfParamOps confParamOps,
+            final AccessTokenDAO accessTokenDAO) {
+
+        AccessTokenCache accessTokenCache = new CaffeineAccessTokenCache(confParamOps, accessTokenDAO);
+        accessTokenCache.setCacheSpec(securityProperties.getAccessTokenCacheSpec());
+        return accessTokenCache;
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public SearchCountCache searchCountCache(final ProvisioningProperties provisioningProperties) {
+        SearchCountCache searchCountCache = new CaffeineSearchCountCache();
+        searchCountCache.setCacheSpec(provisioningProperties.getSearchCountCacheSpec());
+        return searchCountCache;
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public EventSubscriptionIndex eventSubscriptionIndex(
+            final ProvisioningProperties provisioningProperties,
+            final AuditConfDAO auditConfDAO,
+            final NotificationDAO notificationDAO,
+            final ConfParamOps confParamOps,
+            final SearchCondVisitor searchCondVisitor) {
+
+        return new EventSubscriptionIndex(
+                auditConfDAO,
+                notificationDAO,
+                confParamOps,
+                searchCondVisitor,
+                provisioningProperties.getEventSubscriptionsCheckInterval());
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public NotificationManager notificationManager(
@@ -659,7 +792,8 @@ public class ProvisioningContext {
             final ConfParamOps confParamOps,
             final DerAttrHandler derAttrHandler,
             final VirAttrHandler virAttrHandler,
-            final IntAttrNameParser intAttrNameParser) {
+            final IntAttrNameParser intAttrNameParser,
+            final EventSubscriptionIndex eventSubscriptionIndex) {
 
         return new DefaultNotificationManager(
                 derSchemaDAO,
@@ -679,13 +813,26 @@ public class ProvisioningContext {
                 confParamOps,
                 entityFactory,
                 intAttrNameParser,
-                searchCondVisitor);
+                searchCondVisitor,
+                eventSubscriptionIndex);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public AuditPipeline auditPipeline(final ProvisioningProperties props, final AuditConfDAO auditConfDAO) {
+        AuditPipeline auditPipeline = new AuditPipeline(auditConfDAO, props.getAudit());
+        auditPipeline.start();
+        return auditPipeline;
     }
 
     @ConditionalOnMissingBean
     @Bean
-    public AuditManager auditManager(final AuditConfDAO auditConfDAO) {
-        return new DefaultAuditManager(auditConfDAO);
+    public AuditManager auditManager(
+            final AuditConfDAO auditConfDAO,
+            final EventSubscriptionIndex eventSubscriptionIndex,
+            final AuditPipeline auditPipeline) {
+
+        return new DefaultAuditManager(auditConfDAO, eventSubscriptionIndex, auditPipeline);
     }
 
     @ConditionalOnMissingBean
@@ -1042,6 +1189,7 @@ public class ProvisioningContext {
             final AnyTypeClassDAO anyTypeClassDAO,
             final ImplementationDAO implementationDAO,
             final PlainSchemaDAO plainSchemaDAO,
+            final PropagationDigestDAO propagationDigestDAO,
             final IntAttrNameParser intAttrNameParser,
             final PropagationTaskExecutor propagationTaskExecutor) {
 
@@ -1053,6 +1201,7 @@ public class ProvisioningContext {
                 anyTypeClassDAO,
                 implementationDAO,
                 plainSchemaDAO,
+                propagationDigestDAO,
                 entityFactory,
                 intAttrNameParser,
                 propagationTaskExecutor);
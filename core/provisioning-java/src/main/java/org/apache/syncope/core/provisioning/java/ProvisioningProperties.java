@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.quartz.impl.jdbcjobstore.DriverDelegate;
@@ -89,16 +90,242 @@ public class ProvisioningProperties {
         }
     }
 
+    public static class AuditProperties {
+
+        public enum OverflowPolicy {
+            /**
+             * Callers wait for room in the queue.
+             */
+            BLOCK,
+            /**
+             * The oldest queued entry is discarded to make room.
+             */
+            DROP_OLDEST,
+            /**
+             * Entries not fitting in the queue are appended to the spill file, then stored once the queue is idle.
+             */
+            SPILL
+
+        }
+
+        private boolean async = false;
+
+        private int queueCapacity = 10000;
+
+        private int writers = 1;
+
+        private int batchSize = 100;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        private String spillFile = Path.of(System.getProperty("java.io.tmpdir"), "syncope-audit.spill").toString();
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(final boolean async) {
+            this.async = async;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getWriters() {
+            return writers;
+        }
+
+        public void setWriters(final int writers) {
+            this.writers = writers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public String getSpillFile() {
+            return spillFile;
+        }
+
+        public void setSpillFile(final String spillFile) {
+            this.spillFile = spillFile;
+        }
+    }
+
+    public static class PropagationOutboxProperties {
+
+        /**
+         * Whether propagations requested with null priority async shall go through the durable outbox.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Threads draining the outbox on each node.
+         */
+        private int workers = 4;
+
+        /**
+         * Interval between outbox polls, in milliseconds.
+         */
+        private long pollInterval = 1000;
+
+        /**
+         * Maximum number of (resource, entity) groups claimed at each poll.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How long a claim holds, in seconds: groups claimed by a node which stopped are drained by others after that.
+         */
+        private int leaseTime = 300;
+
+        /**
+         * Outbox executions for the same entry before giving up and keeping it as dead letter; each execution already
+         * retries as configured by the resource's propagation policy.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Delay before executing again a failed entry, in seconds; doubles at each attempt.
+         */
+        private int retryDelay = 60;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(final int workers) {
+            this.workers = workers;
+        }
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(final long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getLeaseTime() {
+            return leaseTime;
+        }
+
+        public void setLeaseTime(final int leaseTime) {
+            this.leaseTime = leaseTime;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(final int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public int getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(final int retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+    }
+
     private final ExecutorProperties asyncConnectorFacadeExecutor = new ExecutorProperties();
 
     private final ExecutorProperties propagationTaskExecutorAsyncExecutor = new ExecutorProperties();
 
     private String virAttrCacheSpec = "maximumSize=5000,expireAfterAccess=1m";
 
+    private String searchCountCacheSpec = "maximumSize=1000,expireAfterWrite=30s";
+
+    private long eventSubscriptionsCheckInterval = 10000;
+
+    /**
+     * Whether connector calls, propagations and concurrent pull / push tasks shall run on virtual threads; only
+     * effective when the running JVM supports them (Java 21 or later).
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * For resources with propagation digest enabled, how long a digest can be trusted in place of reading the remote
+     * object, in seconds; once expired, the next update reads the remote object again and refreshes the digest.
+     */
+    private long propagationDigestMaxAge = 86400;
+
+    /**
+     * Maximum number of per-entry detail lines included into the report of pull / push task executions, according to
+     * the resource's provisioning trace level; summary counters always cover all processed entries.
+     */
+    private long reportMaxDetails = 10000;
+
+    /**
+     * Before full reconciliation pulls of users matched by username, the usernames of up to this number of users are
+     * loaded into an in-memory index, so that each pulled object found is matched by key, without searching by
+     * username; objects not found, as well as linked accounts, still cost one query each; 0 to disable.
+     */
+    private int pullCorrelationIndexMaxSize = 0;
+
+    /**
+     * Number of key ranges into which push tasks split the entities of each any type, each range being searched and
+     * pushed by its own thread; 1 to search sequentially.
+     */
+    private int pushPartitions = 1;
+
+    /**
+     * How long tombstones of deleted entities are kept at least, in seconds; tombstones still needed by any incremental
+     * push task are kept anyway.
+     */
+    private long pushTombstoneMaxAge = 2592000;
+
+    /**
+     * How far back before the watermark recorded by their previous execution incremental push tasks look for changes,
+     * in seconds, so that entities saved by transactions committed after that execution searched them, or with
+     * timestamps from nodes whose clocks lag behind, are not missed; such entities might be pushed twice.
+     */
+    private long pushWatermarkMargin = 60;
+
     private final List<String> connIdLocation = new ArrayList<>();
 
     private final QuartzProperties quartz = new QuartzProperties();
 
+    private final AuditProperties audit = new AuditProperties();
+
+    private final PropagationOutboxProperties propagationOutbox = new PropagationOutboxProperties();
+
     public String getVirAttrCacheSpec() {
         return virAttrCacheSpec;
     }
@@ -107,6 +334,78 @@ public class ProvisioningProperties {
         this.virAttrCacheSpec = virAttrCacheSpec;
     }
 
+    public String getSearchCountCacheSpec() {
+        return searchCountCacheSpec;
+    }
+
+    public void setSearchCountCacheSpec(final String searchCountCacheSpec) {
+        this.searchCountCacheSpec = searchCountCacheSpec;
+    }
+
+    public long getEventSubscriptionsCheckInterval() {
+        return eventSubscriptionsCheckInterval;
+    }
+
+    public void setEventSubscriptionsCheckInterval(final long eventSubscriptionsCheckInterval) {
+        this.eventSubscriptionsCheckInterval = eventSubscriptionsCheckInterval;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public long getPropagationDigestMaxAge() {
+        return propagationDigestMaxAge;
+    }
+
+    public void setPropagationDigestMaxAge(final long propagationDigestMaxAge) {
+        this.propagationDigestMaxAge = propagationDigestMaxAge;
+    }
+
+    public long getReportMaxDetails() {
+        return reportMaxDetails;
+    }
+
+    public void setReportMaxDetails(final long reportMaxDetails) {
+        this.reportMaxDetails = reportMaxDetails;
+    }
+
+    public int getPullCorrelationIndexMaxSize() {
+        return pullCorrelationIndexMaxSize;
+    }
+
+    public void setPullCorrelationIndexMaxSize(final int pullCorrelationIndexMaxSize) {
+        this.pullCorrelationIndexMaxSize = pullCorrelationIndexMaxSize;
+    }
+
+    public int getPushPartitions() {
+        return pushPartitions;
+    }
+
+    public void setPushPartitions(final int pushPartitions) {
+        this.pushPartitions = pushPartitions;
+    }
+
+    public long getPushTombstoneMaxAge() {
+        return pushTombstoneMaxAge;
+    }
+
+    public void setPushTombstoneMaxAge(final long pushTombstoneMaxAge) {
+        this.pushTombstoneMaxAge = pushTombstoneMaxAge;
+    }
+
+    public long getPushWatermarkMargin() {
+        return pushWatermarkMargin;
+    }
+
+    public void setPushWatermarkMargin(final long pushWatermarkMargin) {
+        this.pushWatermarkMargin = pushWatermarkMargin;
+    }
+
     public ExecutorProperties getAsyncConnectorFacadeExecutor() {
         return asyncConnectorFacadeExecutor;
     }
@@ -122,4 +421,12 @@ public class ProvisioningProperties {
     public QuartzProperties getQuartz() {
         return quartz;
     }
+
+    public AuditProperties getAudit() {
+        return audit;
+    }
+
+    public PropagationOutboxProperties getPropagationOutbox() {
+        return propagationOutbox;
+    }
 }
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.audit.AuditEntry;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Takes audit entries off the request path: callers only enqueue, while dedicated writer threads drain the bounded
+ * queue and store entries in batches, one per domain.
+ * When the queue is full, the configured {@link ProvisioningProperties.AuditProperties.OverflowPolicy} applies.
+ */
+public class AuditPipeline {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AuditPipeline.class);
+
+    protected static class Item {
+
+        protected final String domain;
+
+        protected final String auditKey;
+
+        protected final AuditEntry entry;
+
+        protected Item(final String domain, final String auditKey, final AuditEntry entry) {
+            this.domain = domain;
+            this.auditKey = auditKey;
+            this.entry = entry;
+        }
+    }
+
+    protected final AuditConfDAO auditConfDAO;
+
+    protected final ProvisioningProperties.AuditProperties props;
+
+    protected final BlockingQueue<Item> queue;
+
+    protected final Path spillFile;
+
+    protected final Object spillLock = new Object();
+
+    protected final AtomicBoolean draining = new AtomicBoolean(false);
+
+    protected volatile boolean running;
+
+    protected ExecutorService writers;
+
+    public AuditPipeline(final AuditConfDAO auditConfDAO, final ProvisioningProperties.AuditProperties props) {
+        this.auditConfDAO = auditConfDAO;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        this.spillFile = Path.of(props.getSpillFile());
+    }
+
+    public boolean isEnabled() {
+        return props.isAsync();
+    }
+
+    public void start() {
+        if (!isEnabled() || running) {
+            return;
+        }
+
+        running = true;
+        writers = Executors.newFixedThreadPool(props.getWriters(), new CustomizableThreadFactory("AuditWriter-"));
+        for (int i = 0; i < props.getWriters(); i++) {
+            writers.submit(this::write);
+        }
+    }
+
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOG.warn("Audit writers did not complete in time, {} entries left in queue", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Enqueues the given entry, to be stored by writer threads; entries enqueued once the pipeline is stopped are
+     * stored straight away.
+     *
+     * @param domain domain
+     * @param auditKey audit configuration key
+     * @param entry audit entry
+     */
+    public void enqueue(final String domain, final String auditKey, final AuditEntry entry) {
+        Item item = new Item(domain, auditKey, entry);
+        if (!running) {
+            store(List.of(item));
+            return;
+        }
+
+        switch (props.getOverflowPolicy()) {
+            case DROP_OLDEST:
+                while (!queue.offer(item)) {
+                    Item dropped = queue.poll();
+                    if (dropped != null) {
+                        LOG.warn("Audit queue full, dropping entry for {} in domain {}",
+                                dropped.auditKey, dropped.domain);
+                    }
+                }
+                break;
+
+            case SPILL:
+                if (!queue.offer(item)) {
+                    spill(item);
+                }
+                break;
+
+            case BLOCK:
+            default:
+                try {
+                    queue.put(item);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    store(List.of(item));
+                }
+        }
+    }
+
+    protected void write() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Item first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    drainSpill();
+                } else {
+                    List<Item> batch = new ArrayList<>(props.getBatchSize());
+                    batch.add(first);
+                    queue.drainTo(batch, props.getBatchSize() - 1);
+                    store(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOG.error("Unexpected error while writing audit entries", e);
+            }
+        }
+    }
+
+    protected void store(final List<Item> batch) {
+        Map<String, List<Item>> byDomain = new LinkedHashMap<>();
+        batch.forEach(item -> byDomain.computeIfAbsent(item.domain, k -> new ArrayList<>()).add(item));
+
+        byDomain.forEach((domain, items) -> {
+            try {
+                AuthContextUtils.callAsAdmin(domain, () -> {
+                    List<AuditEntry> entries = new ArrayList<>(items.size());
+                    items.forEach(item -> entries.add(item.entry));
+                    auditConfDAO.saveEntries(entries);
+                    return null;
+                });
+            } catch (Exception e) {
+                LOG.error("While storing {} audit entries for domain {}", items.size(), domain, e);
+                if (props.getOverflowPolicy() == ProvisioningProperties.AuditProperties.OverflowPolicy.SPILL) {
+                    items.forEach(this::spill);
+                }
+                return;
+            }
+
+            // feed any custom audit appender bound to the single events
+            items.forEach(item -> {
+                Logger eventLogger = LoggerFactory.getLogger(
+                        AuditLoggerName.getAuditEventLoggerName(domain, item.auditKey));
+                if (eventLogger.isDebugEnabled()) {
+                    eventLogger.debug(POJOHelper.serialize(item.entry));
+                }
+            });
+        });
+    }
+
+    protected void spill(final Item item) {
+        String line = item.domain + '\t' + item.auditKey + '\t' + POJOHelper.serialize(item.entry);
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    spillFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                LOG.error("Could not spill audit entry for {} in domain {}, discarding: {}",
+                        item.auditKey, item.domain, line, e);
+            }
+        }
+    }
+
+    /**
+     * Stores the entries spilled so far, if any: only one writer at a time does this, while the queue is idle.
+     */
+    protected void drainSpill() {
+        if (!Files.exists(spillFile) || !draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            Path toDrain = spillFile.resolveSibling(spillFile.getFileName() + ".draining");
+            synchronized (spillLock) {
+                if (!Files.exists(toDrain)) {
+                    Files.move(spillFile, toDrain, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(toDrain, StandardCharsets.UTF_8)) {
+                List<Item> batch = new ArrayList<>(props.getBatchSize());
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] split = StringUtils.split(line, "\t", 3);
+                    if (split.length == 3) {
+                        batch.add(new Item(split[0], split[1], POJOHelper.deserialize(split[2], AuditEntry.class)));
+                    }
+                    if (batch.size() == props.getBatchSize()) {
+                        store(batch);
+                        batch = new ArrayList<>(props.getBatchSize());
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    store(batch);
+                }
+            }
+
+            Files.delete(toDrain);
+        } catch (IOException e) {
+            LOG.error("While storing spilled audit entries from {}", spillFile, e);
+        } finally {
+            draining.set(false);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
+import org.apache.syncope.core.persistence.api.entity.AccessToken;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AccessTokenCache;
+import org.apache.syncope.core.spring.security.AccessTokenCacheValue;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caffeine-based {@link AccessTokenCache}.
+ *
+ * Entries are expired locally as soon as the related Access Token, User or Role change via this node. Changes which
+ * might affect cached entries on other nodes are also recorded in conf params, checked by each node on read: Role
+ * changes expire all of the domain's entries, while Access Token removals and changes to Users owning an Access
+ * Token only expire the entries for such Access Tokens and Users.
+ */
+public class CaffeineAccessTokenCache implements AccessTokenCache {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AccessTokenCache.class);
+
+    /**
+     * Updated upon every change to be propagated to other nodes.
+     */
+    public static final String VERSION_CONF_PARAM = "accessTokenCache.version";
+
+    /**
+     * Version at which all entries were last expired.
+     */
+    public static final String EXPIRE_ALL_CONF_PARAM = "accessTokenCache.expireAll";
+
+    /**
+     * Prefix, followed by User key, for the version at which the entries of that User were last expired.
+     */
+    public static final String EXPIRE_USER_CONF_PARAM_PREFIX = "accessTokenCache.expireUser.";
+
+    /**
+     * Prefix, followed by JWT ID, for the version at which the entry of that Access Token was expired.
+     */
+    public static final String EXPIRE_JWT_CONF_PARAM_PREFIX = "accessTokenCache.expireJwt.";
+
+    /**
+     * How long per-User and per-JWT conf params are kept: nodes which did not check the version for longer than this
+     * expire all entries instead.
+     */
+    protected static final long EXPIRE_USER_RETENTION = Duration.ofHours(1).toMillis();
+
+    protected final ConfParamOps confParamOps;
+
+    protected final AccessTokenDAO accessTokenDAO;
+
+    protected final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    protected final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    protected Cache<Pair<String, String>, AccessTokenCacheValue> cache;
+
+    public CaffeineAccessTokenCache(final ConfParamOps confParamOps, final AccessTokenDAO accessTokenDAO) {
+        this.confParamOps = confParamOps;
+        this.accessTokenDAO = accessTokenDAO;
+    }
+
+    @Override
+    public void setCacheSpec(final String cacheSpec) {
+        cache = Caffeine.from(cacheSpec).build();
+    }
+
+    protected AtomicLong generationOf(final String domain) {
+        return generations.computeIfAbsent(domain, k -> new AtomicLong());
+    }
+
+    protected static boolean isExpireAfter(
+            final String prefix, final String key, final Object value, final long version) {
+
+        return key.startsWith(prefix) && value instanceof Number && ((Number) value).longValue() > version;
+    }
+
+    protected static Set<String> expiredAfter(
+            final Map<String, Object> params, final String prefix, final long version) {
+
+        return params.entrySet().stream().
+                filter(param -> isExpireAfter(prefix, param.getKey(), param.getValue(), version)).
+                map(param -> StringUtils.removeStart(param.getKey(), prefix)).
+                collect(Collectors.toSet());
+    }
+
+    protected void checkVersion(final String domain) {
+        long version = confParamOps.get(domain, VERSION_CONF_PARAM, 0L, Long.class);
+        Long previous = versions.put(domain, version);
+        if (previous == null || previous == version) {
+            return;
+        }
+
+        if (previous < version - EXPIRE_USER_RETENTION
+                || confParamOps.get(domain, EXPIRE_ALL_CONF_PARAM, 0L, Long.class) > previous) {
+
+            LOG.debug("Version changed for domain {}: expiring all entries", domain);
+            expireLocally(domain);
+        } else {
+            Map<String, Object> params = confParamOps.list(domain);
+            Set<String> userKeys = expiredAfter(params, EXPIRE_USER_CONF_PARAM_PREFIX, previous);
+            Set<String> jwtIds = expiredAfter(params, EXPIRE_JWT_CONF_PARAM_PREFIX, previous);
+
+            LOG.debug("Version changed for domain {}: expiring entries for Users {} and JWTs {}",
+                    domain, userKeys, jwtIds);
+            expireLocally(domain, userKeys);
+            expireJwtsLocally(domain, jwtIds);
+        }
+    }
+
+    protected long nextVersion(final String domain) {
+        return Math.max(
+                System.currentTimeMillis(),
+                confParamOps.get(domain, VERSION_CONF_PARAM, 0L, Long.class) + 1);
+    }
+
+    @Override
+    public long generation(final String domain) {
+        checkVersion(domain);
+        return generationOf(domain).get();
+    }
+
+    @Override
+    public AccessTokenCacheValue get(final String domain, final String jwtId, final long expiration) {
+        checkVersion(domain);
+
+        AccessTokenCacheValue value = cache.getIfPresent(Pair.of(domain, jwtId));
+        if (value == null || value.getExpiration() != expiration) {
+            return null;
+        }
+        if (expiration < System.currentTimeMillis()) {
+            cache.invalidate(Pair.of(domain, jwtId));
+            return null;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean put(final String domain, final AccessTokenCacheValue value, final long generation) {
+        checkVersion(domain);
+
+        AtomicLong current = generationOf(domain);
+        if (current.get() != generation) {
+            LOG.debug("Entries for domain {} were expired while resolving JWT {}: not caching",
+                    domain, value.getJwtId());
+            return false;
+        }
+
+        Pair<String, String> key = Pair.of(domain, value.getJwtId());
+        cache.put(key, value);
+
+        // expiration might have been started concurrently, right before caching
+        if (current.get() != generation) {
+            cache.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void expire(final String domain, final String jwtId) {
+        generationOf(domain).incrementAndGet();
+        cache.invalidate(Pair.of(domain, jwtId));
+    }
+
+    protected void expireLocally(final String domain) {
+        generationOf(domain).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> domain.equals(key.getLeft()));
+    }
+
+    protected void expireLocally(final String domain, final Set<String> userKeys) {
+        if (userKeys.isEmpty()) {
+            return;
+        }
+
+        generationOf(domain).incrementAndGet();
+        cache.asMap().entrySet().removeIf(entry -> domain.equals(entry.getKey().getLeft())
+                && userKeys.contains(entry.getValue().getUserKey()));
+    }
+
+    protected void expireJwtsLocally(final String domain, final Set<String> jwtIds) {
+        if (jwtIds.isEmpty()) {
+            return;
+        }
+
+        generationOf(domain).incrementAndGet();
+        cache.invalidateAll(jwtIds.stream().map(jwtId -> Pair.of(domain, jwtId)).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void expire(final String domain) {
+        expireLocally(domain);
+
+        long version = nextVersion(domain);
+        confParamOps.set(domain, EXPIRE_ALL_CONF_PARAM, version);
+        confParamOps.set(domain, VERSION_CONF_PARAM, version);
+    }
+
+    /**
+     * Force expiring of the entries for the given User, on all nodes.
+     *
+     * @param domain domain
+     * @param userKey User key
+     */
+    public void expireUser(final String domain, final String userKey) {
+        expireLocally(domain, Set.of(userKey));
+        publish(domain, EXPIRE_USER_CONF_PARAM_PREFIX + userKey);
+    }
+
+    /**
+     * Force expiring of the entry for the given Access Token, on all nodes.
+     *
+     * @param domain domain
+     * @param jwtId JWT ID
+     */
+    public void expireJwt(final String domain, final String jwtId) {
+        expire(domain, jwtId);
+        publish(domain, EXPIRE_JWT_CONF_PARAM_PREFIX + jwtId);
+    }
+
+    protected void publish(final String domain, final String expireParam) {
+        long version = nextVersion(domain);
+
+        // per-User and per-JWT conf params are not needed any more by nodes which checked the version since then
+        confParamOps.list(domain).entrySet().stream().
+                filter(param -> Stream.of(EXPIRE_USER_CONF_PARAM_PREFIX, EXPIRE_JWT_CONF_PARAM_PREFIX).
+                anyMatch(prefix -> param.getKey().startsWith(prefix)
+                && !isExpireAfter(prefix, param.getKey(), param.getValue(), version - EXPIRE_USER_RETENTION))).
+                map(Map.Entry::getKey).
+                collect(Collectors.toList()).
+                forEach(key -> confParamOps.remove(domain, key));
+
+        confParamOps.set(domain, expireParam, version);
+        confParamOps.set(domain, VERSION_CONF_PARAM, version);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (event.getEntity() instanceof AccessToken) {
+            AccessToken accessToken = (AccessToken) event.getEntity();
+
+            // removal of expired Access Tokens does not need to be propagated: expired JWTs are never served anyway
+            if (event.getType() == SyncDeltaType.DELETE
+                    && (accessToken.getExpirationTime() == null
+                    || accessToken.getExpirationTime().isAfter(OffsetDateTime.now()))) {
+
+                expireJwt(event.getDomain(), accessToken.getKey());
+            } else {
+                expire(event.getDomain(), accessToken.getKey());
+            }
+        } else if (event.getEntity() instanceof Role) {
+            // authorities of any Role member, either static or dynamic, might have changed
+            expire(event.getDomain());
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener
+    public void any(final AnyLifecycleEvent<Any<?>> event) {
+        if (event.getAny() instanceof User && event.getType() != SyncDeltaType.CREATE) {
+            User user = (User) event.getAny();
+
+            // Users without Access Token cannot have entries on other nodes
+            if (event.getType() == SyncDeltaType.DELETE || accessTokenDAO.findByOwner(user.getUsername()) != null) {
+                expireUser(event.getDomain(), user.getKey());
+            } else {
+                expireLocally(event.getDomain(), Set.of(user.getKey()));
+            }
+        }
+    }
+}
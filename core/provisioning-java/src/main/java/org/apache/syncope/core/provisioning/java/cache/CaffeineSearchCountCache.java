@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCache;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCacheKey;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Expires the counts for the domain of each User, Group or Any Object created, updated or deleted by this node; other
+ * nodes rely on the {@code expireAfterWrite} setting of their cache spec.
+ */
+public class CaffeineSearchCountCache implements SearchCountCache {
+
+    private Cache<SearchCountCacheKey, Integer> cache;
+
+    @Override
+    public void setCacheSpec(final String cacheSpec) {
+        cache = Caffeine.from(cacheSpec).build();
+    }
+
+    @Override
+    public void expire(final String domain) {
+        cache.asMap().keySet().removeIf(key -> domain.equals(key.getDomain()));
+    }
+
+    @Override
+    public Integer get(final SearchCountCacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public int put(final SearchCountCacheKey key, final int count) {
+        cache.put(key, count);
+        return count;
+    }
+
+    @TransactionalEventListener
+    public void any(final AnyLifecycleEvent<Any<?>> event) {
+        expire(event.getDomain());
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AuditConf;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-domain index of the active audit configurations and notifications, by event; notification about conditions
+ * are compiled once, when the index is built.
+ * The index is rebuilt after audit configurations or notifications are changed; other nodes in the cluster are
+ * informed via a version configuration parameter, checked at most once per configured interval.
+ */
+public class EventSubscriptionIndex {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(EventSubscriptionIndex.class);
+
+    public static final String VERSION_CONF_PARAM = "eventSubscriptions.version";
+
+    /**
+     * Set while reading the version parameter: with self keymaster, this goes through logic, hence back here.
+     */
+    protected static final ThreadLocal<Boolean> CHECKING = ThreadLocal.withInitial(() -> false);
+
+    public static class NotificationSubscription {
+
+        private final String notification;
+
+        private final Map<String, SearchCond> abouts;
+
+        public NotificationSubscription(final String notification, final Map<String, SearchCond> abouts) {
+            this.notification = notification;
+            this.abouts = abouts;
+        }
+
+        public String getNotification() {
+            return notification;
+        }
+
+        /**
+         * Tells whether an about condition was defined for the given any type; conditions which could not be
+         * compiled are reported as such, with empty condition.
+         *
+         * @param anyType any type key
+         * @return whether an about condition was defined for the given any type
+         */
+        public boolean hasAbout(final String anyType) {
+            return abouts.containsKey(anyType);
+        }
+
+        public Optional<SearchCond> getAbout(final String anyType) {
+            return Optional.ofNullable(abouts.get(anyType));
+        }
+    }
+
+    public static class Subscriptions {
+
+        private final long version;
+
+        private final Set<String> auditKeys;
+
+        private final Map<String, List<NotificationSubscription>> notifications;
+
+        private volatile long checked;
+
+        public Subscriptions(
+                final long version,
+                final Set<String> auditKeys,
+                final Map<String, List<NotificationSubscription>> notifications) {
+
+            this.version = version;
+            this.auditKeys = auditKeys;
+            this.notifications = notifications;
+            this.checked = System.currentTimeMillis();
+        }
+
+        public boolean isAudited(final String auditKey) {
+            return auditKeys.contains(auditKey);
+        }
+
+        public List<NotificationSubscription> getNotifications(final String event) {
+            return notifications.getOrDefault(event, List.of());
+        }
+
+        public boolean isAudited(
+                final AuditElements.EventCategoryType type,
+                final String category,
+                final String subcategory,
+                final String event) {
+
+            return isAudited(new AuditLoggerName(
+                    type, category, subcategory, event, AuditElements.Result.SUCCESS).toAuditKey())
+                    || isAudited(new AuditLoggerName(
+                            type, category, subcategory, event, AuditElements.Result.FAILURE).toAuditKey());
+        }
+
+        public boolean isNotified(
+                final AuditElements.EventCategoryType type,
+                final String category,
+                final String subcategory,
+                final String event) {
+
+            return notifications.containsKey(AuditLoggerName.buildEvent(
+                    type, category, subcategory, event, AuditElements.Result.SUCCESS))
+                    || notifications.containsKey(AuditLoggerName.buildEvent(
+                            type, category, subcategory, event, AuditElements.Result.FAILURE));
+        }
+    }
+
+    protected static final Subscriptions EMPTY = new Subscriptions(-1L, Set.of(), Map.of());
+
+    protected final AuditConfDAO auditConfDAO;
+
+    protected final NotificationDAO notificationDAO;
+
+    protected final ConfParamOps confParamOps;
+
+    protected final SearchCondVisitor searchCondVisitor;
+
+    protected final long checkInterval;
+
+    protected final ConcurrentMap<String, Subscriptions> index = new ConcurrentHashMap<>();
+
+    public EventSubscriptionIndex(
+            final AuditConfDAO auditConfDAO,
+            final NotificationDAO notificationDAO,
+            final ConfParamOps confParamOps,
+            final SearchCondVisitor searchCondVisitor,
+            final long checkInterval) {
+
+        this.auditConfDAO = auditConfDAO;
+        this.notificationDAO = notificationDAO;
+        this.confParamOps = confParamOps;
+        this.searchCondVisitor = searchCondVisitor;
+        this.checkInterval = checkInterval;
+    }
+
+    protected long version(final String domain) {
+        return confParamOps.get(domain, VERSION_CONF_PARAM, 0L, Long.class);
+    }
+
+    protected Subscriptions build(final String domain, final long version) {
+        LOG.debug("Building event subscriptions for domain {}", domain);
+
+        Set<String> auditKeys = new HashSet<>();
+        auditConfDAO.findAll().stream().filter(AuditConf::isActive).forEach(conf -> auditKeys.add(conf.getKey()));
+
+        Map<String, List<NotificationSubscription>> notifications = new HashMap<>();
+        notificationDAO.findAll().stream().filter(Notification::isActive).forEach(notification -> {
+            Map<String, SearchCond> abouts = new HashMap<>();
+            notification.getAbouts().forEach(about -> {
+                SearchCond cond = null;
+                try {
+                    cond = SearchCondConverter.convert(searchCondVisitor, about.get());
+                } catch (Exception e) {
+                    LOG.error("Invalid about condition {} for {} in notification {}",
+                            about.get(), about.getAnyType().getKey(), notification.getKey(), e);
+                }
+                abouts.put(about.getAnyType().getKey(), cond);
+            });
+
+            NotificationSubscription subscription =
+                    new NotificationSubscription(notification.getKey(), Collections.unmodifiableMap(abouts));
+            notification.getEvents().forEach(event -> notifications.
+                    computeIfAbsent(event, k -> new ArrayList<>()).add(subscription));
+        });
+
+        return new Subscriptions(
+                version,
+                Collections.unmodifiableSet(auditKeys),
+                Collections.unmodifiableMap(notifications));
+    }
+
+    /**
+     * Returns the subscriptions for the given domain only if already available and not to be checked for changes
+     * done by other nodes; this does not require any transaction.
+     *
+     * @param domain domain
+     * @return subscriptions for the given domain, if available and fresh
+     */
+    public Optional<Subscriptions> getIfFresh(final String domain) {
+        return Optional.ofNullable(index.get(domain)).
+                filter(subscriptions -> System.currentTimeMillis() - subscriptions.checked < checkInterval);
+    }
+
+    /**
+     * Returns the subscriptions for the given domain, building them if not available or changed in the meantime;
+     * to be invoked within a transaction.
+     *
+     * @param domain domain
+     * @return subscriptions for the given domain
+     */
+    public Subscriptions get(final String domain) {
+        Optional<Subscriptions> fresh = getIfFresh(domain);
+        if (fresh.isPresent()) {
+            return fresh.get();
+        }
+
+        if (CHECKING.get()) {
+            return Optional.ofNullable(index.get(domain)).orElse(EMPTY);
+        }
+
+        long version;
+        CHECKING.set(true);
+        try {
+            version = version(domain);
+        } finally {
+            CHECKING.remove();
+        }
+
+        return index.compute(domain, (k, current) -> {
+            if (current != null && current.version == version) {
+                current.checked = System.currentTimeMillis();
+                return current;
+            }
+            return build(domain, version);
+        });
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (event.getEntity() instanceof AuditConf || event.getEntity() instanceof Notification) {
+            LOG.debug("{} {} was {}: invalidating event subscriptions for domain {}",
+                    event.getEntity().getClass().getSimpleName(), event.getEntity().getKey(), event.getType(),
+                    event.getDomain());
+
+            index.remove(event.getDomain());
+            confParamOps.set(event.getDomain(), VERSION_CONF_PARAM, System.currentTimeMillis());
+        }
+    }
+}
@@ -55,6 +55,7 @@ import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.RelationshipType;
@@ -124,9 +125,12 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
         return getAnyObjectTO(anyObjectDAO.authFind(key), true);
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public AnyObjectTO getAnyObjectTO(final AnyObject anyObject, final boolean details) {
+    protected AnyObjectTO getAnyObjectTO(
+            final AnyObject anyObject,
+            final boolean details,
+            final List<String> dynRealms,
+            final List<Group> dynGroups) {
+
         AnyObjectTO anyObjectTO = new AnyObjectTO();
 
         anyObjectTO.setCreator(anyObject.getCreator());
@@ -144,15 +148,21 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
         Map<VirSchema, List<String>> virAttrValues = details
                 ? virAttrHandler.getValues(anyObject)
                 : Collections.<VirSchema, List<String>>emptyMap();
+
+        // same as AnyObjectDAO#findAllResources, with dynamic groups provided
+        Set<ExternalResource> resources = new HashSet<>(anyObject.getResources());
+        anyObject.getMemberships().forEach(membership -> resources.addAll(membership.getRightEnd().getResources()));
+        dynGroups.forEach(group -> resources.addAll(group.getResources()));
+
         fillTO(anyObjectTO, anyObject.getRealm().getFullPath(),
                 anyObject.getAuxClasses(),
                 anyObject.getPlainAttrs(),
                 derAttrHandler.getValues(anyObject),
                 virAttrValues,
-                anyObjectDAO.findAllResources(anyObject));
+                resources);
 
         // dynamic realms
-        anyObjectTO.getDynRealms().addAll(anyObjectDAO.findDynRealms(anyObject.getKey()));
+        anyObjectTO.getDynRealms().addAll(dynRealms);
 
         if (details) {
             // relationships
@@ -175,7 +185,7 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
 
             // dynamic memberships
             anyObjectTO.getDynMemberships().addAll(
-                    anyObjectDAO.findDynGroups(anyObject.getKey()).stream().
+                    dynGroups.stream().
                             map(group -> new MembershipTO.Builder(group.getKey()).groupName(group.getName()).build()).
                             collect(Collectors.toList()));
         }
@@ -183,6 +193,35 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
         return anyObjectTO;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public AnyObjectTO getAnyObjectTO(final AnyObject anyObject, final boolean details) {
+        return getAnyObjectTO(
+                anyObject,
+                details,
+                anyObjectDAO.findDynRealms(anyObject.getKey()),
+                anyObjectDAO.findDynGroups(anyObject.getKey()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyObjectTO> getAnyObjectTOs(final List<AnyObject> anyObjects, final boolean details) {
+        if (anyObjects.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> keys = anyObjects.stream().map(AnyObject::getKey).collect(Collectors.toList());
+        Map<String, List<String>> dynRealms = anyObjectDAO.findDynRealms(keys);
+        Map<String, List<Group>> dynGroups = anyObjectDAO.findDynGroups(keys);
+
+        return anyObjects.stream().map(anyObject -> getAnyObjectTO(
+                anyObject,
+                details,
+                dynRealms.getOrDefault(anyObject.getKey(), List.of()),
+                dynGroups.getOrDefault(anyObject.getKey(), List.of()))).
+                collect(Collectors.toList());
+    }
+
     @Override
     public void create(final AnyObject anyObject, final AnyObjectCR anyObjectCR) {
         AnyType type = anyTypeDAO.find(anyObjectCR.getType());
@@ -312,7 +312,6 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
             if (group.getUDynMembership() != null) {
                 group.getUDynMembership().setGroup(null);
                 group.setUDynMembership(null);
-                groupDAO.clearUDynMembers(group);
             }
         } else {
             setDynMembership(group, anyTypeDAO.findUser(), groupUR.getUDynMembershipCond());
@@ -322,7 +321,6 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
             memb.setGroup(null);
             itor.remove();
         }
-        groupDAO.clearADynMembers(group);
         for (Map.Entry<String, String> entry : groupUR.getADynMembershipConds().entrySet()) {
             AnyType anyType = anyTypeDAO.find(entry.getKey());
             if (anyType == null) {
@@ -396,9 +394,15 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
         return typeExtTO;
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public GroupTO getGroupTO(final Group group, final boolean details) {
+    protected GroupTO getGroupTO(
+            final Group group,
+            final boolean details,
+            final List<String> dynRealms,
+            final int staticUserMembershipCount,
+            final int staticAnyObjectMembershipCount,
+            final int dynamicUserMembershipCount,
+            final int dynamicAnyObjectMembershipCount) {
+
         GroupTO groupTO = new GroupTO();
 
         groupTO.setCreator(group.getCreator());
@@ -432,15 +436,15 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
                 group.getResources());
 
         // dynamic realms
-        groupTO.getDynRealms().addAll(groupDAO.findDynRealms(group.getKey()));
+        groupTO.getDynRealms().addAll(dynRealms);
 
         // Static user and AnyType membership counts
-        groupTO.setStaticUserMembershipCount(groupDAO.countUMembers(group.getKey()));
-        groupTO.setStaticAnyObjectMembershipCount(groupDAO.countAMembers(group.getKey()));
+        groupTO.setStaticUserMembershipCount(staticUserMembershipCount);
+        groupTO.setStaticAnyObjectMembershipCount(staticAnyObjectMembershipCount);
 
         // Dynamic user and AnyType membership counts
-        groupTO.setDynamicUserMembershipCount(groupDAO.countUDynMembers(group));
-        groupTO.setDynamicAnyObjectMembershipCount(groupDAO.countADynMembers(group));
+        groupTO.setDynamicUserMembershipCount(dynamicUserMembershipCount);
+        groupTO.setDynamicAnyObjectMembershipCount(dynamicAnyObjectMembershipCount);
 
         if (group.getUDynMembership() != null) {
             groupTO.setUDynMembershipCond(group.getUDynMembership().getFIQLCond());
@@ -454,6 +458,45 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
         return groupTO;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public GroupTO getGroupTO(final Group group, final boolean details) {
+        return getGroupTO(
+                group,
+                details,
+                groupDAO.findDynRealms(group.getKey()),
+                groupDAO.countUMembers(group.getKey()),
+                groupDAO.countAMembers(group.getKey()),
+                groupDAO.countUDynMembers(group),
+                groupDAO.countADynMembers(group));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<GroupTO> getGroupTOs(final List<Group> groups, final boolean details) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> keys = groups.stream().map(Group::getKey).collect(Collectors.toList());
+        Map<String, List<String>> dynRealms = groupDAO.findDynRealms(keys);
+        Map<String, Integer> uMembers = groupDAO.countUMembers(keys);
+        Map<String, Integer> aMembers = groupDAO.countAMembers(keys);
+        Map<String, Integer> uDynMembers = groupDAO.countUDynMembers(groups.stream().
+                filter(group -> group.getUDynMembership() != null).map(Group::getKey).collect(Collectors.toList()));
+        Map<String, Integer> aDynMembers = groupDAO.countADynMembers(keys);
+
+        return groups.stream().map(group -> getGroupTO(
+                group,
+                details,
+                dynRealms.getOrDefault(group.getKey(), List.of()),
+                uMembers.getOrDefault(group.getKey(), 0),
+                aMembers.getOrDefault(group.getKey(), 0),
+                uDynMembers.getOrDefault(group.getKey(), 0),
+                aDynMembers.getOrDefault(group.getKey(), 0))).
+                collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public GroupTO getGroupTO(final String key) {
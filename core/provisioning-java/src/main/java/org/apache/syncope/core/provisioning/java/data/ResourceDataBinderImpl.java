@@ -46,6 +46,7 @@ import org.apache.syncope.core.persistence.api.dao.ConnInstanceDAO;
 import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
@@ -88,6 +89,8 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
 
     protected final PlainSchemaDAO plainSchemaDAO;
 
+    protected final PropagationDigestDAO propagationDigestDAO;
+
     protected final EntityFactory entityFactory;
 
     protected final IntAttrNameParser intAttrNameParser;
@@ -102,6 +105,7 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
             final AnyTypeClassDAO anyTypeClassDAO,
             final ImplementationDAO implementationDAO,
             final PlainSchemaDAO plainSchemaDAO,
+            final PropagationDigestDAO propagationDigestDAO,
             final EntityFactory entityFactory,
             final IntAttrNameParser intAttrNameParser,
             final PropagationTaskExecutor propagationTaskExecutor) {
@@ -113,6 +117,7 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         this.anyTypeClassDAO = anyTypeClassDAO;
         this.implementationDAO = implementationDAO;
         this.plainSchemaDAO = plainSchemaDAO;
+        this.propagationDigestDAO = propagationDigestDAO;
         this.entityFactory = entityFactory;
         this.intAttrNameParser = intAttrNameParser;
         this.propagationTaskExecutor = propagationTaskExecutor;
@@ -139,6 +144,14 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resource.setEnforceMandatoryCondition(resourceTO.isEnforceMandatoryCondition());
 
         resource.setPropagationPriority(resourceTO.getPropagationPriority());
+        resource.setPropagationConcurrency(resourceTO.getPropagationConcurrency());
+        resource.setPropagationQueueCapacity(resourceTO.getPropagationQueueCapacity());
+        resource.setPropagationRejectionPolicy(resourceTO.getPropagationRejectionPolicy());
+        if (resource.isPropagationDigest() && !resourceTO.isPropagationDigest()) {
+            // digests would not be kept up to date from now on
+            propagationDigestDAO.deleteByResource(resource.getKey());
+        }
+        resource.setPropagationDigest(resourceTO.isPropagationDigest());
 
         // 1. add or update all (valid) provisions from TO
         resourceTO.getProvisions().forEach(provisionTO -> {
@@ -659,6 +672,10 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resourceTO.setEnforceMandatoryCondition(resource.isEnforceMandatoryCondition());
 
         resourceTO.setPropagationPriority(resource.getPropagationPriority());
+        resourceTO.setPropagationConcurrency(resource.getPropagationConcurrency());
+        resourceTO.setPropagationQueueCapacity(resource.getPropagationQueueCapacity());
+        resourceTO.setPropagationRejectionPolicy(resource.getPropagationRejectionPolicy());
+        resourceTO.setPropagationDigest(resource.isPropagationDigest());
 
         resourceTO.setCreateTraceLevel(resource.getCreateTraceLevel());
         resourceTO.setUpdateTraceLevel(resource.getUpdateTraceLevel());
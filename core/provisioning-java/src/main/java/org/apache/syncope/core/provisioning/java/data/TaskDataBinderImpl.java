@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.provisioning.java.data;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -50,6 +52,7 @@ import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
+import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.task.AnyTemplatePullTask;
 import org.apache.syncope.core.persistence.api.entity.task.MacroTask;
 import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
@@ -138,6 +141,10 @@ public class TaskDataBinderImpl extends AbstractExecutableDatabinder implements
             }
             pushTask.setJobDelegate(jobDelegate);
 
+            // what was pushed so far is not relevant any more if the set of entities to push changes
+            Realm sourceRealm = pushTask.getSourceRealm();
+            Map<String, String> filters = new HashMap<>(pushTask.getFilters());
+
             pushTask.setSourceRealm(realmDAO.findByFullPath(pushTaskTO.getSourceRealm()));
 
             pushTask.setMatchingRule(pushTaskTO.getMatchingRule() == null
@@ -157,6 +164,14 @@ public class TaskDataBinderImpl extends AbstractExecutableDatabinder implements
             pushTask.getFilters().entrySet().
                     removeIf(filter -> !pushTaskTO.getFilters().containsKey(filter.getKey()));
 
+            pushTask.setIncremental(pushTaskTO.isIncremental());
+            if (!pushTask.isIncremental()
+                    || !Objects.equals(sourceRealm, pushTask.getSourceRealm())
+                    || !filters.equals(pushTask.getFilters())) {
+
+                pushTask.clearWatermarks();
+            }
+
             pushTask.setConcurrentSettings(pushTaskTO.getConcurrentSettings());
         } else if (provisioningTask instanceof PullTask && provisioningTaskTO instanceof PullTaskTO) {
             PullTask pullTask = (PullTask) provisioningTask;
@@ -515,6 +530,7 @@ public class TaskDataBinderImpl extends AbstractExecutableDatabinder implements
                         ? UnmatchingRule.ASSIGN : pushTask.getUnmatchingRule());
 
                 pushTaskTO.getFilters().putAll(pushTask.getFilters());
+                pushTaskTO.setIncremental(pushTask.isIncremental());
 
                 pushTaskTO.setConcurrentSettings(pushTask.getConcurrentSettings());
                 break;
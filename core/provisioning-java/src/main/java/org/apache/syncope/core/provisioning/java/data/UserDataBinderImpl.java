@@ -20,12 +20,14 @@ package org.apache.syncope.core.provisioning.java.data;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -766,11 +768,13 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
         return getLinkedAccountTO(account, true);
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public UserTO getUserTO(final User user, final boolean details) {
-        Boolean returnPasswordValue = confParamOps.get(AuthContextUtils.getDomain(),
-                "return.password.value", Boolean.FALSE, Boolean.class);
+    protected UserTO getUserTO(
+            final User user,
+            final boolean details,
+            final boolean returnPasswordValue,
+            final List<String> dynRealms,
+            final List<Role> dynRoles,
+            final List<Group> dynGroups) {
 
         UserTO userTO = new UserTO();
         userTO.setKey(user.getKey());
@@ -805,26 +809,30 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
             userTO.setSecurityQuestion(user.getSecurityQuestion().getKey());
         }
 
+        // same as UserDAO#findAllResources, with dynamic groups provided
+        Set<ExternalResource> resources = new HashSet<>(user.getResources());
+        user.getMemberships().forEach(membership -> resources.addAll(membership.getRightEnd().getResources()));
+        dynGroups.forEach(group -> resources.addAll(group.getResources()));
+
         fillTO(userTO, user.getRealm().getFullPath(),
                 user.getAuxClasses(),
                 user.getPlainAttrs(),
                 derAttrHandler.getValues(user),
                 details ? virAttrHandler.getValues(user) : Map.of(),
-                userDAO.findAllResources(user));
+                resources);
 
         // dynamic realms
-        userTO.getDynRealms().addAll(userDAO.findDynRealms(user.getKey()));
+        userTO.getDynRealms().addAll(dynRealms);
 
         if (details) {
             // roles
             userTO.getRoles().addAll(user.getRoles().stream().map(Role::getKey).collect(Collectors.toList()));
 
             // dynamic roles
-            userTO.getDynRoles().addAll(
-                    userDAO.findDynRoles(user.getKey()).stream().map(Role::getKey).collect(Collectors.toList()));
+            userTO.getDynRoles().addAll(dynRoles.stream().map(Role::getKey).collect(Collectors.toList()));
 
             // privileges
-            userTO.getPrivileges().addAll(userDAO.findAllRoles(user).stream().
+            userTO.getPrivileges().addAll(Stream.concat(user.getRoles().stream(), dynRoles.stream()).
                     flatMap(role -> role.getPrivileges().stream()).map(Privilege::getKey).collect(Collectors.toSet()));
 
             // relationships
@@ -840,7 +848,7 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
                     membership)).collect(Collectors.toList()));
 
             // dynamic memberships
-            userTO.getDynMemberships().addAll(userDAO.findDynGroups(user.getKey()).stream().
+            userTO.getDynMemberships().addAll(dynGroups.stream().
                     map(group -> new MembershipTO.Builder(group.getKey()).groupName(group.getName()).build()).
                     collect(Collectors.toList()));
 
@@ -859,6 +867,46 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
         return userTO;
     }
 
+    protected boolean isReturnPasswordValue() {
+        return confParamOps.get(AuthContextUtils.getDomain(), "return.password.value", Boolean.FALSE, Boolean.class);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserTO getUserTO(final User user, final boolean details) {
+        return getUserTO(
+                user,
+                details,
+                isReturnPasswordValue(),
+                userDAO.findDynRealms(user.getKey()),
+                details ? userDAO.findDynRoles(user.getKey()) : List.of(),
+                userDAO.findDynGroups(user.getKey()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<UserTO> getUserTOs(final List<User> users, final boolean details) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        boolean returnPasswordValue = isReturnPasswordValue();
+
+        List<String> keys = users.stream().map(User::getKey).collect(Collectors.toList());
+        Map<String, List<String>> dynRealms = userDAO.findDynRealms(keys);
+        Map<String, List<Role>> dynRoles = details ? userDAO.findDynRoles(keys) : Map.of();
+        Map<String, List<Group>> dynGroups = userDAO.findDynGroups(keys);
+
+        return users.stream().map(user -> getUserTO(
+                user,
+                details,
+                returnPasswordValue,
+                dynRealms.getOrDefault(user.getKey(), List.of()),
+                dynRoles.getOrDefault(user.getKey(), List.of()),
+                dynGroups.getOrDefault(user.getKey(), List.of()))).
+                collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public UserTO getUserTO(final String key) {
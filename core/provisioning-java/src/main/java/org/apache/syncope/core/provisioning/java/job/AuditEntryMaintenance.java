@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.time.OffsetDateTime;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Fills the structured columns of the audit entries stored before such columns were available, then removes the
+ * audit entries older than the number of days set via the {@link #RETENTION_DAYS_CONF_PARAM} configuration
+ * parameter, if positive.
+ */
+public class AuditEntryMaintenance extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    public static final String RETENTION_DAYS_CONF_PARAM = "audit.retentionDays";
+
+    protected static final int BACKFILL_BATCH_SIZE = 1000;
+
+    @Autowired
+    protected AuditConfDAO auditConfDAO;
+
+    @Autowired
+    protected ConfParamOps confParamOps;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        long retentionDays = confParamOps.get(AuthContextUtils.getDomain(), RETENTION_DAYS_CONF_PARAM, 0L, Long.class);
+
+        if (dryRun) {
+            return "Audit entries not processed (dry run), retention days: " + retentionDays;
+        }
+
+        setStatus("Start backfilling audit entries");
+
+        int batches = 0;
+        OffsetDateTime last = null;
+        do {
+            last = auditConfDAO.backfillEntries(last, BACKFILL_BATCH_SIZE);
+            if (last != null) {
+                batches++;
+                setStatus("Audit entries backfilled up to " + last);
+            }
+        } while (last != null && !interrupt);
+        if (interrupt) {
+            LOG.debug("Audit entry maintenance interrupted");
+            interrupted = true;
+            return "Audit entry maintenance interrupted after " + batches + " backfill batches";
+        }
+
+        StringBuilder result = new StringBuilder("Audit entries backfilled in ").append(batches).append(" batches");
+
+        if (retentionDays > 0) {
+            OffsetDateTime before = OffsetDateTime.now().minusDays(retentionDays);
+            setStatus("Removing audit entries before " + before);
+
+            int purged = auditConfDAO.purgeEntries(before);
+            result.append(", ").append(purged).append(" entries before ").append(before).append(" removed");
+        }
+
+        String status = result.toString();
+        setStatus(status);
+        return status;
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec<?> execution) {
+        return true;
+    }
+}
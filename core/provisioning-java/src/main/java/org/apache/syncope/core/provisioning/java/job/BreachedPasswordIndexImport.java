@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.spring.policy.BreachedPasswordIndexBuilder;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Builds the breached password index checked by
+ * {@link org.apache.syncope.core.spring.policy.OfflineBreachedPasswordRule} out of the SHA-1 hash list downloaded
+ * from "Have I Been Pwned?" at the path set via the {@link #SOURCE_CONF_PARAM} configuration parameter.
+ */
+public class BreachedPasswordIndexImport extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    public static final String SOURCE_CONF_PARAM = "breachedPasswordIndex.source";
+
+    public static final String TARGET_CONF_PARAM = "breachedPasswordIndex.target";
+
+    public static final String BLOOM_FILTER_FPP_CONF_PARAM = "breachedPasswordIndex.bloomFilterFpp";
+
+    protected static final double DEFAULT_BLOOM_FILTER_FPP = 0.01;
+
+    @Autowired
+    protected ConfParamOps confParamOps;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        String domain = AuthContextUtils.getDomain();
+        String source = confParamOps.get(domain, SOURCE_CONF_PARAM, null, String.class);
+        String target = confParamOps.get(domain, TARGET_CONF_PARAM, null, String.class);
+        if (StringUtils.isBlank(source) || StringUtils.isBlank(target)) {
+            throw new JobExecutionException(
+                    "Both " + SOURCE_CONF_PARAM + " and " + TARGET_CONF_PARAM + " configuration parameters required");
+        }
+        Path sourceFile = Path.of(source);
+        if (!Files.isReadable(sourceFile)) {
+            throw new JobExecutionException("Cannot read breached password list " + source);
+        }
+
+        if (dryRun) {
+            return "Breached password index " + target + " not built (dry run)";
+        }
+
+        setStatus("Building breached password index " + target + " from " + source);
+
+        double bloomFilterFpp = confParamOps.get(
+                domain, BLOOM_FILTER_FPP_CONF_PARAM, DEFAULT_BLOOM_FILTER_FPP, Double.class);
+        try {
+            String status = new BreachedPasswordIndexBuilder(bloomFilterFpp).
+                    build(sourceFile, Path.of(target), () -> interrupt).toString();
+            setStatus(status);
+            return status;
+        } catch (InterruptedIOException e) {
+            LOG.debug("Breached password index import interrupted");
+            interrupted = true;
+            return "Breached password index import interrupted";
+        } catch (IOException e) {
+            throw new JobExecutionException("While building breached password index " + target, e);
+        }
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec<?> execution) {
+        return true;
+    }
+}
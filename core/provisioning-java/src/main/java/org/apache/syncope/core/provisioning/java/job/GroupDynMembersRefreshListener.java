@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.Map;
+import org.apache.syncope.common.lib.types.IdRepoImplementationType;
+import org.apache.syncope.common.lib.types.ImplementationEngine;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.Implementation;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.provisioning.api.event.DynMembersRefreshEvent;
+import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.JobNamer;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobDataMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fires {@link GroupDynMembersRefreshTaskJobDelegate} once the group requesting the refresh has been committed.
+ */
+public class GroupDynMembersRefreshListener {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(GroupDynMembersRefreshListener.class);
+
+    protected final GroupDAO groupDAO;
+
+    protected final TaskDAO taskDAO;
+
+    protected final ImplementationDAO implementationDAO;
+
+    protected final EntityFactory entityFactory;
+
+    protected final JobManager jobManager;
+
+    protected final SchedulerFactoryBean scheduler;
+
+    public GroupDynMembersRefreshListener(
+            final GroupDAO groupDAO,
+            final TaskDAO taskDAO,
+            final ImplementationDAO implementationDAO,
+            final EntityFactory entityFactory,
+            final JobManager jobManager,
+            final SchedulerFactoryBean scheduler) {
+
+        this.groupDAO = groupDAO;
+        this.taskDAO = taskDAO;
+        this.implementationDAO = implementationDAO;
+        this.entityFactory = entityFactory;
+        this.jobManager = jobManager;
+        this.scheduler = scheduler;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener
+    public void refresh(final DynMembersRefreshEvent event) {
+        Group group = groupDAO.find(event.getGroupKey());
+        if (group == null) {
+            LOG.warn("Group {} not found, not refreshing its dynamic members", event.getGroupKey());
+            return;
+        }
+
+        Implementation jobDelegate = implementationDAO.findByType(IdRepoImplementationType.TASKJOB_DELEGATE).stream().
+                filter(impl -> GroupDynMembersRefreshTaskJobDelegate.class.getName().equals(impl.getBody())).
+                findFirst().orElseGet(() -> {
+                    Implementation dynMembersRefresh = entityFactory.newEntity(Implementation.class);
+                    dynMembersRefresh.setKey(GroupDynMembersRefreshTaskJobDelegate.class.getSimpleName());
+                    dynMembersRefresh.setEngine(ImplementationEngine.JAVA);
+                    dynMembersRefresh.setType(IdRepoImplementationType.TASKJOB_DELEGATE);
+                    dynMembersRefresh.setBody(GroupDynMembersRefreshTaskJobDelegate.class.getName());
+                    return implementationDAO.save(dynMembersRefresh);
+                });
+
+        String name = "refresh dynamic members of group " + group.getName();
+        SchedTask task = taskDAO.<SchedTask>findByName(TaskType.SCHEDULED, name).
+                orElseGet(() -> {
+                    SchedTask t = entityFactory.newEntity(SchedTask.class);
+                    t.setName(name);
+                    return t;
+                });
+        task.setActive(true);
+        task.setJobDelegate(jobDelegate);
+        task = taskDAO.save(task);
+
+        try {
+            Map<String, Object> jobDataMap = jobManager.register(
+                    task,
+                    null,
+                    AuthContextUtils.getUsername());
+
+            jobDataMap.put(JobManager.DRY_RUN_JOBDETAIL_KEY, false);
+            jobDataMap.put(GroupDynMembersRefreshTaskJobDelegate.GROUP_KEY_JOBDETAIL_KEY, group.getKey());
+
+            scheduler.getScheduler().triggerJob(
+                    JobNamer.getJobKey(task),
+                    new JobDataMap(jobDataMap));
+        } catch (Exception e) {
+            LOG.error("While refreshing dynamic members of group {} in domain {}",
+                    group.getName(), event.getDomain(), e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rebuilds the dynamic members of a group in background, rather than while saving the group.
+ */
+public class GroupDynMembersRefreshTaskJobDelegate extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    public static final String GROUP_KEY_JOBDETAIL_KEY = "groupKey";
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    private String groupKey;
+
+    @Transactional
+    @Override
+    public void execute(
+            final TaskType taskType,
+            final String taskKey,
+            final boolean dryRun,
+            final JobExecutionContext context)
+            throws JobExecutionException {
+
+        groupKey = context.getMergedJobDataMap().getString(GROUP_KEY_JOBDETAIL_KEY);
+
+        super.execute(taskType, taskKey, dryRun, context);
+    }
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        Group group = groupDAO.find(groupKey);
+        if (group == null) {
+            throw new JobExecutionException("Group " + groupKey + " not found");
+        }
+
+        if (dryRun) {
+            return "Group " + group.getName() + " dynamic members not refreshed (dry run)";
+        }
+
+        setStatus("Refreshing dynamic members of group " + group.getName());
+
+        Pair<Set<String>, Set<String>> refreshed = groupDAO.refreshDynMembers(group);
+
+        String result = "Group " + group.getName() + " dynamic members refreshed: "
+                + refreshed.getLeft().size() + " added, " + refreshed.getRight().size() + " removed";
+        setStatus(result);
+        return result;
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec<?> execution) {
+        // always record execution result
+        return true;
+    }
+}
@@ -33,7 +33,6 @@ import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
-import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.AnyObjectProvisioningManager;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.quartz.JobExecutionContext;
@@ -94,7 +93,7 @@ public class GroupMemberProvisionTaskJobDelegate extends AbstractSchedTaskJobDel
 
         MembershipCond membershipCond = new MembershipCond();
         membershipCond.setGroup(groupKey);
-        List<User> users = searchDAO.search(SearchCond.getLeaf(membershipCond), AnyTypeKind.USER);
+        List<String> users = searchDAO.searchKeys(SearchCond.getLeaf(membershipCond), AnyTypeKind.USER);
         Collection<String> gResources = groupDAO.findAllResourceKeys(groupKey);
         setStatus("About to "
                 + (action == ProvisionAction.DEPROVISION ? "de" : "") + "provision "
@@ -103,11 +102,11 @@ public class GroupMemberProvisionTaskJobDelegate extends AbstractSchedTaskJobDel
         for (int i = 0; i < users.size() && !interrupt; i++) {
             List<PropagationStatus> statuses = action == ProvisionAction.DEPROVISION
                     ? userProvisioningManager.deprovision(
-                            users.get(i).getKey(), gResources, false, executor)
+                            users.get(i), gResources, false, executor)
                     : userProvisioningManager.provision(
-                            users.get(i).getKey(), true, null, gResources, false, executor);
+                            users.get(i), true, null, gResources, false, executor);
             for (PropagationStatus propagationStatus : statuses) {
-                result.append("User ").append(users.get(i).getKey()).append('\t').
+                result.append("User ").append(users.get(i)).append('\t').
                         append("Resource ").append(propagationStatus.getResource()).append('\t').
                         append(propagationStatus.getStatus());
                 if (StringUtils.isNotBlank(propagationStatus.getFailureReason())) {
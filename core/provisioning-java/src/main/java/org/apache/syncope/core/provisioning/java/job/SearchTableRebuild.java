@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.SearchTableDAO;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Rebuild all search tables with information from existing users, groups and any objects.
+ */
+public class SearchTableRebuild extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    @Autowired
+    protected SearchTableDAO searchTableDAO;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        if (!searchTableDAO.isEnabled()) {
+            throw new JobExecutionException("Search tables are not enabled");
+        }
+
+        if (!dryRun) {
+            setStatus("Start rebuilding search tables");
+
+            for (AnyTypeKind kind : AnyTypeKind.values()) {
+                setStatus("Rebuilding search tables for " + kind + "...");
+                try {
+                    int rows = searchTableDAO.rebuild(kind);
+                    LOG.debug("Successfully rebuilt search tables for {}: {} rows", kind, rows);
+                } catch (Exception e) {
+                    throw new JobExecutionException("While rebuilding search tables for " + kind
+                            + " in domain " + AuthContextUtils.getDomain(), e);
+                }
+            }
+
+            setStatus("Rebuild search tables for domain " + AuthContextUtils.getDomain() + " successfully completed");
+        }
+
+        return "SUCCESS";
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec<?> execution) {
+        return true;
+    }
+}
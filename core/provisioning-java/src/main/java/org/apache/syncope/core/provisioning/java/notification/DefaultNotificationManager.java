@@ -50,6 +50,7 @@ import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
@@ -76,7 +77,9 @@ import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.notification.RecipientsProvider;
+import org.apache.syncope.core.provisioning.java.cache.EventSubscriptionIndex;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
@@ -122,6 +125,8 @@ public class DefaultNotificationManager implements NotificationManager {
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final EventSubscriptionIndex eventSubscriptionIndex;
+
     protected Optional<RecipientsProvider> perContextRecipientsProvider = Optional.empty();
 
     public DefaultNotificationManager(
@@ -142,7 +147,8 @@ public class DefaultNotificationManager implements NotificationManager {
             final ConfParamOps confParamOps,
             final EntityFactory entityFactory,
             final IntAttrNameParser intAttrNameParser,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final EventSubscriptionIndex eventSubscriptionIndex) {
 
         this.derSchemaDAO = derSchemaDAO;
         this.virSchemaDAO = virSchemaDAO;
@@ -162,6 +168,7 @@ public class DefaultNotificationManager implements NotificationManager {
         this.entityFactory = entityFactory;
         this.intAttrNameParser = intAttrNameParser;
         this.searchCondVisitor = searchCondVisitor;
+        this.eventSubscriptionIndex = eventSubscriptionIndex;
     }
 
     @Transactional(readOnly = true)
@@ -270,12 +277,8 @@ public class DefaultNotificationManager implements NotificationManager {
             final String subcategory,
             final String event) {
 
-        final String successEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, Result.SUCCESS);
-        final String failureEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, Result.FAILURE);
-        return notificationDAO.findAll().stream().
-                anyMatch(notification -> notification.isActive()
-                && (notification.getEvents().contains(successEvent)
-                || notification.getEvents().contains(failureEvent)));
+        return eventSubscriptionIndex.get(AuthContextUtils.getDomain()).
+                isNotified(type, category, subcategory, event);
     }
 
     @Override
@@ -342,47 +345,45 @@ public class DefaultNotificationManager implements NotificationManager {
         LOG.debug("Search notification for [{}]{}", anyType, any);
 
         List<NotificationTask> notifications = new ArrayList<>();
-        for (Notification notification : notificationDAO.findAll()) {
-            if (LOG.isDebugEnabled()) {
-                notification.getAbouts().
-                        forEach(a -> LOG.debug("Notification about {} defined: {}", a.getAnyType(), a.get()));
-            }
-
-            if (notification.isActive()) {
-                if (!notification.getEvents().contains(currentEvent)) {
-                    LOG.debug("No events found about {}", any);
-                } else if (anyType == null || any == null
-                        || notification.getAbout(anyType).isEmpty()
-                        || anyMatchDAO.matches(any, SearchCondConverter.convert(
-                                searchCondVisitor, notification.getAbout(anyType).get().get()))) {
-
-                    LOG.debug("Creating notification task for event {} about {}", currentEvent, any);
-
-                    Map<String, Object> model = new HashMap<>();
-                    model.put("who", who);
-                    model.put("type", type);
-                    model.put("category", category);
-                    model.put("subcategory", subcategory);
-                    model.put("event", event);
-                    model.put("condition", condition);
-                    model.put("before", before);
-                    model.put("output", output);
-                    model.put("input", input);
-
-                    if (any instanceof User) {
-                        model.put("user", userDataBinder.getUserTO((User) any, true));
-                    } else if (any instanceof Group) {
-                        model.put("group", groupDataBinder.getGroupTO((Group) any, true));
-                    } else if (any instanceof AnyObject) {
-                        model.put("anyObject", anyObjectDataBinder.getAnyObjectTO((AnyObject) any, true));
-                    }
-
-                    NotificationTask notificationTask = getNotificationTask(notification, any, model);
-                    notificationTask = taskDAO.save(notificationTask);
-                    notifications.add(notificationTask);
+        for (EventSubscriptionIndex.NotificationSubscription subscription
+                : eventSubscriptionIndex.get(AuthContextUtils.getDomain()).getNotifications(currentEvent)) {
+
+            Notification notification = notificationDAO.find(subscription.getNotification());
+            Optional<SearchCond> about = anyType == null
+                    ? Optional.empty()
+                    : subscription.getAbout(anyType.getKey());
+            if (notification == null) {
+                LOG.debug("Notification {} was removed, task will not be created", subscription.getNotification());
+            } else if (anyType == null || any == null
+                    || !subscription.hasAbout(anyType.getKey())
+                    || (about.isPresent() && anyMatchDAO.matches(any, about.get()))) {
+
+                LOG.debug("Creating notification task for event {} about {}", currentEvent, any);
+
+                Map<String, Object> model = new HashMap<>();
+                model.put("who", who);
+                model.put("type", type);
+                model.put("category", category);
+                model.put("subcategory", subcategory);
+                model.put("event", event);
+                model.put("condition", condition);
+                model.put("before", before);
+                model.put("output", output);
+                model.put("input", input);
+
+                if (any instanceof User) {
+                    model.put("user", userDataBinder.getUserTO((User) any, true));
+                } else if (any instanceof Group) {
+                    model.put("group", groupDataBinder.getGroupTO((Group) any, true));
+                } else if (any instanceof AnyObject) {
+                    model.put("anyObject", anyObjectDataBinder.getAnyObjectTO((AnyObject) any, true));
                 }
+
+                NotificationTask notificationTask = getNotificationTask(notification, any, model);
+                notificationTask = taskDAO.save(notificationTask);
+                notifications.add(notificationTask);
             } else {
-                LOG.debug("Notification {} is not active, task will not be created", notification.getKey());
+                LOG.debug("Notification {} is not about {}", notification.getKey(), any);
             }
         }
         return notifications;
@@ -48,6 +48,7 @@ import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.PropagationDigest;
 import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
@@ -72,6 +73,7 @@ import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.AttributeDelta;
@@ -127,6 +129,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
 
     protected final ApplicationEventPublisher publisher;
 
+    protected final PropagationDigester digester;
+
     protected final Map<String, PropagationActions> perContextActions = new ConcurrentHashMap<>();
 
     public AbstractPropagationTaskExecutor(
@@ -142,7 +146,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             final TaskUtilsFactory taskUtilsFactory,
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
-            final ApplicationEventPublisher publisher) {
+            final ApplicationEventPublisher publisher,
+            final PropagationDigester digester) {
 
         this.connectorManager = connectorManager;
         this.connObjectUtils = connObjectUtils;
@@ -157,6 +162,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         this.outboundMatcher = outboundMatcher;
         this.validator = validator;
         this.publisher = publisher;
+        this.digester = digester;
     }
 
     @Override
@@ -310,6 +316,32 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         return result;
     }
 
+    protected Uid doUpdate(
+            final PropagationTaskInfo taskInfo,
+            final Connector connector,
+            final PropagationDigest digest,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        Set<Attribute> attrs = taskInfo.getPropagationData().getAttributes();
+
+        checkMandatoryMissing(taskInfo, attrs, false);
+
+        // only propagate attributes whose values differ from those last propagated - instead of reading the remote
+        // object, the digest is trusted to reflect its current status
+        Set<Attribute> changed = digester.changed(digest, attrs);
+
+        Uid result = new Uid(taskInfo.getConnObjectKey());
+        if (changed.isEmpty()) {
+            LOG.debug("Don't need to propagate anything: {} matches the last propagated digest", attrs);
+        } else {
+            LOG.debug("Update {} on {}", changed, taskInfo.getResource().getKey());
+
+            result = connector.update(taskInfo.getObjectClass(), result, changed, null, propagationAttempted);
+        }
+
+        return result;
+    }
+
     protected Uid doUpdateDelta(
             final PropagationTaskInfo taskInfo,
             final Set<AttributeDelta> modifications,
@@ -524,7 +556,13 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         // Flag to state whether any propagation has been attempted
         AtomicReference<Boolean> propagationAttempted = new AtomicReference<>(false);
 
-        boolean fetchRemoteObj = isFetchRemoteObj(taskInfo);
+        // when digest is available, no need to read the remote object before and after the update
+        Optional<PropagationDigest> digest = taskInfo.getBeforeObj().isEmpty()
+                ? digester.find(taskInfo)
+                : Optional.empty();
+        Map<String, String> prepared = digester.prepare(taskInfo);
+
+        boolean fetchRemoteObj = digest.isEmpty() && isFetchRemoteObj(taskInfo);
 
         ConnectorObject beforeObj = null;
         ConnectorObject afterObj = null;
@@ -557,6 +595,25 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             switch (taskInfo.getOperation()) {
                 case CREATE:
                 case UPDATE:
+                    if (digest.isPresent()) {
+                        try {
+                            uid = doUpdate(taskInfo, connector, digest.get(), propagationAttempted);
+                            break;
+                        } catch (UnknownUidException e) {
+                            // remote object was removed since last propagated: proceed as without digest
+                            LOG.debug("{} not found on {}, reading remote object",
+                                    taskInfo.getConnObjectKey(), taskInfo.getResource().getKey(), e);
+
+                            digest = Optional.empty();
+                            fetchRemoteObj = true;
+                            beforeObj = provision == null && orgUnit == null
+                                    ? null
+                                    : orgUnit == null
+                                            ? getRemoteObject(taskInfo, connector, provision, actions, false)
+                                            : getRemoteObject(taskInfo, connector, orgUnit, actions, false);
+                            taskInfo.setBeforeObj(Optional.ofNullable(beforeObj));
+                        }
+                    }
                     uid = createOrUpdate(taskInfo, fetchRemoteObj, beforeObj, connector, propagationAttempted);
                     break;
 
@@ -605,6 +662,11 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             if (uid != null) {
                 taskInfo.setConnObjectKey(uid.getUidValue());
             }
+            try {
+                digester.propagated(taskInfo, digest, prepared, !ExecStatus.FAILURE.name().equals(exec.getStatus()));
+            } catch (Exception e) {
+                LOG.error("Error recording propagation digest", e);
+            }
             if (fetchRemoteObj) {
                 try {
                     afterObj = provision == null && orgUnit == null
@@ -23,8 +23,6 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.ExecStatus;
@@ -55,7 +53,9 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 /**
  * Sorts the tasks to be executed according to related
  * {@link org.apache.syncope.core.persistence.api.entity.ExternalResource}'s priority, then execute.
- * Tasks related to resources with NULL priority are executed after other tasks, concurrently.
+ * Tasks related to resources with NULL priority are executed after other tasks, concurrently: by the executor dedicated
+ * to each resource, if defining its own propagation concurrency, or by the shared executor otherwise.
+ * When null priority async is requested and the {@link PropagationOutbox} is enabled, such tasks are enqueued instead.
  * Failure during execution of a task related to resource with non-NULL priority are treated as fatal and will interrupt
  * the whole process, resulting in a global failure.
  */
@@ -85,6 +85,10 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
 
     protected final ThreadPoolTaskExecutor taskExecutor;
 
+    protected final PropagationBulkheads bulkheads;
+
+    protected final PropagationOutbox outbox;
+
     public PriorityPropagationTaskExecutor(
             final ConnectorManager connectorManager,
             final ConnObjectUtils connObjectUtils,
@@ -99,7 +103,10 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
             final ApplicationEventPublisher publisher,
-            final ThreadPoolTaskExecutor taskExecutor) {
+            final PropagationDigester digester,
+            final ThreadPoolTaskExecutor taskExecutor,
+            final PropagationBulkheads bulkheads,
+            final PropagationOutbox outbox) {
 
         super(connectorManager,
                 connObjectUtils,
@@ -113,8 +120,11 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
                 taskUtilsFactory,
                 outboundMatcher,
                 validator,
-                publisher);
+                publisher,
+                digester);
         this.taskExecutor = taskExecutor;
+        this.bulkheads = bulkheads;
+        this.outbox = outbox;
     }
 
     @Override
@@ -156,15 +166,19 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
                 }
             });
 
-            // then process non-priority resources concurrently...
-            if (!concurrentTasks.isEmpty()) {
-                CompletionService<TaskExec<PropagationTask>> completionService =
-                        new ExecutorCompletionService<>(taskExecutor);
+            // then process non-priority resources: via outbox...
+            if (!concurrentTasks.isEmpty() && nullPriorityAsync && outbox.isEnabled()) {
+                outbox.enqueue(concurrentTasks, executor);
+                concurrentTasks.forEach(taskInfo -> reporter.onSuccessOrNonPriorityResourceFailures(
+                        taskInfo, ExecStatus.CREATED, null, null, null, null));
+            } else if (!concurrentTasks.isEmpty()) {
+                // ...or concurrently...
                 List<Future<TaskExec<PropagationTask>>> futures = new ArrayList<>();
 
                 concurrentTasks.forEach(taskInfo -> {
                     try {
-                        futures.add(completionService.submit(newPropagationTaskCallable(taskInfo, reporter, executor)));
+                        futures.add(bulkheads.getExecutor(taskInfo.getResource()).orElse(taskExecutor).
+                                submit(newPropagationTaskCallable(taskInfo, reporter, executor)));
 
                         if (nullPriorityAsync) {
                             reporter.onSuccessOrNonPriorityResourceFailures(
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.PropagationRejectionPolicy;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.provisioning.java.utils.VirtualThreads;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Keeps one dedicated executor for each {@link ExternalResource} defining its own propagation concurrency, so that
+ * a slow resource can only saturate its own executor rather than the shared one, used by
+ * {@link PriorityPropagationTaskExecutor} for all other resources.
+ *
+ * Executors are created on first use and replaced as soon as the resource's settings change; their threads time out
+ * when idle, so that resources without ongoing propagations do not hold any thread. Propagations submitted to an
+ * executor while it is being replaced are run on the requesting thread.
+ */
+public class PropagationBulkheads implements DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PropagationBulkheads.class);
+
+    /**
+     * Runs on the requesting thread the propagations submitted to an executor already replaced - as the resource's
+     * settings changed meanwhile, rather than dropping or rejecting them; applies the given policy otherwise.
+     */
+    protected static class ReplacedRunsPolicy implements RejectedExecutionHandler {
+
+        protected final RejectedExecutionHandler delegate;
+
+        protected ReplacedRunsPolicy(final RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                LOG.debug("Executor was replaced, running on the requesting thread");
+                runnable.run();
+            } else {
+                delegate.rejectedExecution(runnable, executor);
+            }
+        }
+    }
+
+    protected static class Bulkhead {
+
+        protected final int concurrency;
+
+        protected final Integer queueCapacity;
+
+        protected final PropagationRejectionPolicy rejectionPolicy;
+
+        protected final ThreadPoolTaskExecutor executor;
+
+        protected Bulkhead(
+                final ExternalResource resource,
+                final int awaitTerminationSeconds,
+                final boolean virtualThreads) {
+
+            this.concurrency = resource.getPropagationConcurrency();
+            this.queueCapacity = resource.getPropagationQueueCapacity();
+            this.rejectionPolicy = resource.getPropagationRejectionPolicy();
+
+            executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(concurrency);
+            executor.setMaxPoolSize(concurrency);
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setQueueCapacity(Optional.ofNullable(queueCapacity).orElse(Integer.MAX_VALUE));
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+            executor.setThreadNamePrefix("PropagationTaskExecutor-" + resource.getKey() + "-");
+            executor.setRejectedExecutionHandler(new ReplacedRunsPolicy(
+                    rejectionPolicy == PropagationRejectionPolicy.CALLER_RUNS
+                    ? new ThreadPoolExecutor.CallerRunsPolicy()
+                    : new ThreadPoolExecutor.AbortPolicy()));
+            if (virtualThreads) {
+                VirtualThreads.configure(executor);
+            }
+            executor.initialize();
+        }
+
+        protected boolean matches(final ExternalResource resource) {
+            return Objects.equals(concurrency, resource.getPropagationConcurrency())
+                    && Objects.equals(queueCapacity, resource.getPropagationQueueCapacity())
+                    && rejectionPolicy == resource.getPropagationRejectionPolicy();
+        }
+    }
+
+    protected final int awaitTerminationSeconds;
+
+    protected final boolean virtualThreads;
+
+    protected final Map<Pair<String, String>, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public PropagationBulkheads(final int awaitTerminationSeconds, final boolean virtualThreads) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Lets queued and running propagations complete, without waiting for them.
+     *
+     * @param bulkhead bulkhead to release
+     */
+    protected static void release(final Bulkhead bulkhead) {
+        bulkhead.executor.getThreadPoolExecutor().shutdown();
+    }
+
+    /**
+     * Returns the dedicated executor for the given resource, if the resource defines its own propagation
+     * concurrency.
+     *
+     * @param resource external resource
+     * @return dedicated executor, or empty if propagations to the given resource shall use the shared executor
+     */
+    public Optional<ThreadPoolTaskExecutor> getExecutor(final ExternalResource resource) {
+        Pair<String, String> key = Pair.of(AuthContextUtils.getDomain(), resource.getKey());
+
+        if (resource.getPropagationConcurrency() == null) {
+            Optional.ofNullable(bulkheads.remove(key)).ifPresent(PropagationBulkheads::release);
+            return Optional.empty();
+        }
+
+        return Optional.of(bulkheads.compute(key, (k, existing) -> {
+            if (existing != null && existing.matches(resource)) {
+                return existing;
+            }
+
+            if (existing != null) {
+                LOG.debug("Propagation settings changed for {}, replacing executor", resource.getKey());
+                release(existing);
+            }
+            return new Bulkhead(resource, awaitTerminationSeconds, virtualThreads);
+        }).executor);
+    }
+
+    /**
+     * @return dedicated executors, by domain and resource
+     */
+    public Map<String, ThreadPoolTaskExecutor> getExecutors() {
+        Map<String, ThreadPoolTaskExecutor> executors = new TreeMap<>();
+        bulkheads.forEach((key, bulkhead) -> executors.put(
+                "propagationTaskExecutor." + key.getLeft() + "." + key.getRight(), bulkhead.executor));
+        return executors;
+    }
+
+    @Override
+    public void destroy() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.executor.shutdown());
+        bulkheads.clear();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.PropagationDigest;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.identityconnectors.common.security.GuardedByteArray;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.objects.Attribute;
+
+/**
+ * Keeps, for resources with propagation digest enabled, a digest of the values last propagated to each remote object:
+ * updates are checked against such digest instead of reading the remote object before and after propagating.
+ */
+public class PropagationDigester {
+
+    /**
+     * Bytes of SHA-256 kept for each attribute.
+     */
+    protected static final int DIGEST_LENGTH = 16;
+
+    protected static final Set<String> NOT_DIGESTED = Set.of(
+            PropagationManager.MANDATORY_MISSING_ATTR_NAME,
+            PropagationManager.MANDATORY_NULL_OR_EMPTY_ATTR_NAME);
+
+    /**
+     * Builds the digest of the values of the given attribute.
+     *
+     * @param attr attribute
+     * @return digest of the attribute values, or empty for attributes which shall not be digested, as passwords
+     */
+    public static Optional<String> digest(final Attribute attr) {
+        if (NOT_DIGESTED.contains(attr.getName())) {
+            return Optional.empty();
+        }
+
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        if (attr.getValue() != null) {
+            for (Object value : attr.getValue()) {
+                if (value instanceof GuardedString || value instanceof GuardedByteArray) {
+                    return Optional.empty();
+                }
+
+                byte[] bytes = value instanceof byte[]
+                        ? (byte[]) value
+                        : (value.getClass().getName() + ':' + value).getBytes(StandardCharsets.UTF_8);
+                md.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+                md.update((byte) ':');
+                md.update(bytes);
+            }
+        }
+
+        return Optional.of(Base64.getUrlEncoder().withoutPadding().
+                encodeToString(Arrays.copyOf(md.digest(), DIGEST_LENGTH)));
+    }
+
+    /**
+     * Builds the digests of the given attributes, skipping those which shall not be digested.
+     *
+     * @param attrs attributes
+     * @return digests, by upper case attribute name
+     */
+    public static Map<String, String> digest(final Set<Attribute> attrs) {
+        Map<String, String> digests = new HashMap<>();
+        attrs.forEach(attr -> digest(attr).ifPresent(digest -> digests.put(attr.getName().toUpperCase(), digest)));
+        return digests;
+    }
+
+    protected static boolean isEnabled(final PropagationTaskInfo taskInfo) {
+        return taskInfo.getResource().isPropagationDigest() && taskInfo.getAnyTypeKind() != null;
+    }
+
+    protected static boolean isFull(final PropagationTaskInfo taskInfo) {
+        return taskInfo.getPropagationData() != null && taskInfo.getPropagationData().getAttributeDeltas() == null;
+    }
+
+    protected final PropagationDigestDAO digestDAO;
+
+    protected final EntityFactory entityFactory;
+
+    protected final long maxAge;
+
+    public PropagationDigester(
+            final PropagationDigestDAO digestDAO,
+            final EntityFactory entityFactory,
+            final long maxAge) {
+
+        this.digestDAO = digestDAO;
+        this.entityFactory = entityFactory;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Finds the digest the given propagation can be checked against, in place of the remote object: only full updates
+     * not renaming the remote object qualify, and only as long as the digest has not expired.
+     *
+     * @param taskInfo propagation
+     * @return digest the given propagation can be checked against, if any
+     */
+    public Optional<PropagationDigest> find(final PropagationTaskInfo taskInfo) {
+        if (!isEnabled(taskInfo)
+                || taskInfo.getOperation() != ResourceOperation.UPDATE
+                || !isFull(taskInfo)
+                || taskInfo.getConnObjectKey() == null
+                || taskInfo.getOldConnObjectKey() != null) {
+
+            return Optional.empty();
+        }
+
+        OffsetDateTime threshold = OffsetDateTime.now().minusSeconds(maxAge);
+        return digestDAO.find(taskInfo.getResource().getKey(), taskInfo.getConnObjectKey()).
+                filter(digest -> digest.getVerified().isAfter(threshold));
+    }
+
+    /**
+     * Builds the digests of the attributes prepared for the given propagation, if to be recorded.
+     *
+     * @param taskInfo propagation
+     * @return digests of the attributes prepared for the given propagation, by upper case attribute name
+     */
+    public Map<String, String> prepare(final PropagationTaskInfo taskInfo) {
+        return isEnabled(taskInfo) && isFull(taskInfo)
+                ? digest(taskInfo.getPropagationData().getAttributes())
+                : Map.of();
+    }
+
+    /**
+     * Returns the attributes whose values differ from those last propagated; attributes which are not digested, as
+     * passwords, are always returned.
+     *
+     * @param digest digest of the values last propagated
+     * @param attrs attributes to propagate
+     * @return attributes to propagate whose values differ from those last propagated
+     */
+    public Set<Attribute> changed(final PropagationDigest digest, final Set<Attribute> attrs) {
+        Map<String, String> propagated = digest.getAttributes();
+        return attrs.stream().
+                filter(attr -> digest(attr).
+                map(value -> !value.equals(propagated.get(attr.getName().toUpperCase()))).
+                orElse(true)).
+                collect(Collectors.toSet());
+    }
+
+    /**
+     * Records the outcome of the given propagation.
+     *
+     * @param taskInfo propagation
+     * @param digest digest the propagation was checked against, if any
+     * @param prepared digests of the attributes prepared for propagation
+     * @param success whether the propagation was successful
+     */
+    public void propagated(
+            final PropagationTaskInfo taskInfo,
+            final Optional<PropagationDigest> digest,
+            final Map<String, String> prepared,
+            final boolean success) {
+
+        if (!isEnabled(taskInfo)) {
+            return;
+        }
+
+        String resource = taskInfo.getResource().getKey();
+        if (taskInfo.getOldConnObjectKey() != null) {
+            digestDAO.delete(resource, taskInfo.getOldConnObjectKey());
+        }
+        if (taskInfo.getConnObjectKey() == null) {
+            return;
+        }
+
+        if (!success || taskInfo.getOperation() == ResourceOperation.DELETE || !isFull(taskInfo)) {
+            // remote object status is unknown or deltas were applied: read it again next time
+            digestDAO.delete(resource, taskInfo.getConnObjectKey());
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+
+        PropagationDigest updated;
+        if (digest.isPresent()) {
+            // checked against the digest: keep the digests of attributes not propagated this time
+            updated = digest.get();
+            Map<String, String> attributes = updated.getAttributes();
+            attributes.putAll(prepared);
+            updated.setAttributes(attributes);
+        } else {
+            updated = digestDAO.find(resource, taskInfo.getConnObjectKey()).orElseGet(() -> {
+                PropagationDigest created = entityFactory.newEntity(PropagationDigest.class);
+                created.setResource(resource);
+                created.setConnObjectKey(taskInfo.getConnObjectKey());
+                return created;
+            });
+            updated.setAttributes(prepared);
+            updated.setVerified(now);
+        }
+        updated.setUpdated(now);
+        digestDAO.save(updated);
+    }
+}
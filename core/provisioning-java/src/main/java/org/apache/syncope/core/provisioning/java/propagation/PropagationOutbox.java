@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Durable queue of propagations, drained by {@link PropagationOutboxWorker}: unlike in-memory futures, entries survive
+ * restarts and can be retried.
+ */
+public class PropagationOutbox {
+
+    protected final PropagationOutboxDAO outboxDAO;
+
+    protected final EntityFactory entityFactory;
+
+    protected final ProvisioningProperties.PropagationOutboxProperties props;
+
+    public PropagationOutbox(
+            final PropagationOutboxDAO outboxDAO,
+            final EntityFactory entityFactory,
+            final ProvisioningProperties.PropagationOutboxProperties props) {
+
+        this.outboxDAO = outboxDAO;
+        this.entityFactory = entityFactory;
+        this.props = props;
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    public void enqueue(final Collection<PropagationTaskInfo> taskInfos, final String executor) {
+        taskInfos.forEach(taskInfo -> {
+            OffsetDateTime now = OffsetDateTime.now();
+
+            PropagationOutboxEntry entry = entityFactory.newEntity(PropagationOutboxEntry.class);
+            entry.setResource(taskInfo.getResource().getKey());
+            entry.setOperation(taskInfo.getOperation());
+            entry.setObjectClassName(taskInfo.getObjectClass().getObjectClassValue());
+            entry.setAnyTypeKind(taskInfo.getAnyTypeKind());
+            entry.setAnyType(taskInfo.getAnyType());
+            entry.setEntityKey(taskInfo.getEntityKey());
+            entry.setConnObjectKey(taskInfo.getConnObjectKey());
+            entry.setOldConnObjectKey(taskInfo.getOldConnObjectKey());
+            entry.setPropagationData(taskInfo.getPropagationData());
+            entry.setExecutor(executor);
+            entry.setEnqueued(now);
+            entry.setNextAttempt(now);
+            outboxDAO.save(entry);
+        });
+    }
+
+    /**
+     * Whether the given entry can be merged into the preceding pending update: only full (non-delta) updates not
+     * renaming the connector object are merged.
+     *
+     * @param entry outbox entry
+     * @return whether the given entry can be merged into the preceding pending update
+     */
+    protected static boolean isCoalescible(final PropagationOutboxEntry entry) {
+        return entry.getOperation() == ResourceOperation.UPDATE
+                && entry.getOldConnObjectKey() == null
+                && Optional.ofNullable(entry.getPropagationData()).
+                        map(data -> data.getAttributeDeltas() == null || data.getAttributeDeltas().isEmpty()).
+                        orElse(false);
+    }
+
+    /**
+     * Builds a single propagation out of the given entries: the first one unless all are coalescible updates, in which
+     * case attributes are merged, later values replacing earlier ones, so that attributes only sent by earlier
+     * updates (as the password) are not lost.
+     *
+     * @param resource external resource
+     * @param entries entries to propagate, in the order they were enqueued
+     * @return propagation to execute
+     */
+    public PropagationTaskInfo toTaskInfo(final ExternalResource resource, final List<PropagationOutboxEntry> entries) {
+        PropagationOutboxEntry last = entries.get(entries.size() - 1);
+
+        PropagationData propagationData;
+        if (entries.size() == 1) {
+            propagationData = last.getPropagationData();
+        } else {
+            Map<String, Attribute> attributes = new LinkedHashMap<>();
+            entries.forEach(entry -> entry.getPropagationData().getAttributes().
+                    forEach(attr -> attributes.put(attr.getName(), attr)));
+            propagationData = new PropagationData(Set.copyOf(attributes.values()));
+        }
+
+        PropagationTaskInfo taskInfo = new PropagationTaskInfo(
+                resource,
+                last.getOperation(),
+                new ObjectClass(last.getObjectClassName()),
+                last.getAnyTypeKind(),
+                last.getAnyType(),
+                last.getEntityKey(),
+                last.getConnObjectKey(),
+                propagationData);
+        taskInfo.setOldConnObjectKey(entries.get(0).getOldConnObjectKey());
+        return taskInfo;
+    }
+}
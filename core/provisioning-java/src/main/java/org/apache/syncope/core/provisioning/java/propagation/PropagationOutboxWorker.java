@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.core.persistence.api.DomainHolder;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Drains the {@link PropagationOutbox} of all domains.
+ *
+ * Entries are processed by (resource, entity) group: each group is claimed by one node at a time and its entries are
+ * executed in the order they were enqueued, consecutive full updates of the same connector object being coalesced into
+ * a single call. A failed entry blocks the rest of its group until it is retried, with exponential back-off; once given
+ * up, it is kept as dead letter and the group stays blocked until the dead letter is retried or removed.
+ */
+public class PropagationOutboxWorker {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PropagationOutboxWorker.class);
+
+    protected static String owner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ':' + UUID.randomUUID();
+    }
+
+    protected final PropagationOutbox outbox;
+
+    protected final PropagationOutboxDAO outboxDAO;
+
+    protected final ExternalResourceDAO resourceDAO;
+
+    protected final PropagationTaskExecutor taskExecutor;
+
+    protected final DomainHolder domainHolder;
+
+    protected final ProvisioningProperties.PropagationOutboxProperties props;
+
+    protected final String owner = owner();
+
+    protected final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    protected ScheduledExecutorService poller;
+
+    protected ExecutorService workers;
+
+    public PropagationOutboxWorker(
+            final PropagationOutbox outbox,
+            final PropagationOutboxDAO outboxDAO,
+            final ExternalResourceDAO resourceDAO,
+            final PropagationTaskExecutor taskExecutor,
+            final DomainHolder domainHolder,
+            final ProvisioningProperties.PropagationOutboxProperties props) {
+
+        this.outbox = outbox;
+        this.outboxDAO = outboxDAO;
+        this.resourceDAO = resourceDAO;
+        this.taskExecutor = taskExecutor;
+        this.domainHolder = domainHolder;
+        this.props = props;
+    }
+
+    public void start() {
+        if (!outbox.isEnabled() || poller != null) {
+            return;
+        }
+
+        workers = Executors.newFixedThreadPool(
+                props.getWorkers(), new CustomizableThreadFactory("PropagationOutboxWorker-"));
+        poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("PropagationOutboxPoller-"));
+        poller.scheduleWithFixedDelay(
+                this::poll, props.getPollInterval(), props.getPollInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        if (poller == null) {
+            return;
+        }
+
+        poller.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOG.warn("Propagation outbox workers did not complete in time, claims will expire");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        poller = null;
+    }
+
+    protected void poll() {
+        domainHolder.getDomains().keySet().forEach(domain -> {
+            try {
+                List<Pair<String, String>> groups = AuthContextUtils.callAsAdmin(
+                        domain, () -> outboxDAO.findDueGroups(OffsetDateTime.now(), props.getBatchSize()));
+
+                groups.forEach(group -> {
+                    String id = domain + '/' + group.getLeft() + '/' + group.getRight();
+                    if (inFlight.add(id)) {
+                        workers.submit(() -> {
+                            try {
+                                AuthContextUtils.callAsAdmin(domain, () -> {
+                                    drain(group.getLeft(), group.getRight());
+                                    return null;
+                                });
+                            } catch (Exception e) {
+                                LOG.error("While draining propagation outbox for {}", id, e);
+                            } finally {
+                                inFlight.remove(id);
+                            }
+                        });
+                    }
+                });
+            } catch (Exception e) {
+                LOG.error("While polling propagation outbox for domain {}", domain, e);
+            }
+        });
+    }
+
+    protected static boolean isDue(final PropagationOutboxEntry entry, final OffsetDateTime now) {
+        return !entry.isDeadLetter() && !entry.getNextAttempt().isAfter(now);
+    }
+
+    protected void drain(final String resourceKey, final String groupKey) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PropagationOutboxEntry> entries = outboxDAO.claim(
+                resourceKey, groupKey, owner, now, now.plusSeconds(props.getLeaseTime()));
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            ExternalResource resource = resourceDAO.find(resourceKey);
+            if (resource == null) {
+                LOG.warn("Resource {} not found, discarding {} outbox entries", resourceKey, entries.size());
+                entries.forEach(outboxDAO::delete);
+                return;
+            }
+
+            int index = 0;
+            while (index < entries.size() && isDue(entries.get(index), now)) {
+                List<PropagationOutboxEntry> batch = new ArrayList<>();
+                batch.add(entries.get(index++));
+                if (PropagationOutbox.isCoalescible(batch.get(0))) {
+                    while (index < entries.size()
+                            && PropagationOutbox.isCoalescible(entries.get(index))
+                            && Objects.equals(batch.get(0).getConnObjectKey(), entries.get(index).getConnObjectKey())
+                            && isDue(entries.get(index), now)) {
+
+                        batch.add(entries.get(index++));
+                    }
+                }
+                if (batch.size() > 1) {
+                    LOG.debug("Coalescing {} updates for {} on {}", batch.size(), groupKey, resourceKey);
+                }
+
+                if (!execute(resource, batch)) {
+                    break;
+                }
+            }
+        } finally {
+            outboxDAO.release(resourceKey, groupKey, owner);
+        }
+    }
+
+    /**
+     * Executes the given batch, then removes its entries or schedules them for retry; entries failing for the maximum
+     * number of attempts are kept as dead letters.
+     * A propagation ending as {@link ExecStatus#NOT_ATTEMPTED}, e.g. because the remote object already matches or no
+     * attribute changed since last propagated, has nothing left to do and counts as done.
+     *
+     * @param resource external resource
+     * @param batch entries to execute as a single propagation
+     * @return whether the remaining entries of the group can be executed
+     */
+    protected boolean execute(final ExternalResource resource, final List<PropagationOutboxEntry> batch) {
+        PropagationOutboxEntry last = batch.get(batch.size() - 1);
+
+        String status;
+        try {
+            TaskExec<PropagationTask> exec = taskExecutor.execute(
+                    outbox.toTaskInfo(resource, batch), new DefaultPropagationReporter(), last.getExecutor());
+            status = exec.getStatus();
+        } catch (Exception e) {
+            LOG.error("While propagating outbox entries {} to {}", batch, resource.getKey(), e);
+            status = ExecStatus.FAILURE.name();
+        }
+
+        if (ExecStatus.SUCCESS.name().equals(status) || ExecStatus.NOT_ATTEMPTED.name().equals(status)) {
+            batch.forEach(outboxDAO::delete);
+            return true;
+        }
+
+        int attempts = batch.stream().mapToInt(PropagationOutboxEntry::getAttempts).max().orElse(0) + 1;
+        boolean deadLetter = attempts >= props.getMaxAttempts();
+        if (deadLetter) {
+            LOG.error("Giving up propagation to {} for {} after {} attempts, last status {}: "
+                    + "following entries for {} are held back until the dead letter is retried or removed",
+                    resource.getKey(), last.getConnObjectKey(), attempts, status, last.getGroupKey());
+        }
+
+        OffsetDateTime nextAttempt = OffsetDateTime.now().
+                plusSeconds((long) props.getRetryDelay() << Math.min(attempts - 1, 16));
+        batch.forEach(entry -> {
+            entry.setAttempts(attempts);
+            entry.setNextAttempt(nextAttempt);
+            entry.setDeadLetter(deadLetter);
+            outboxDAO.save(entry);
+        });
+        return false;
+    }
+}
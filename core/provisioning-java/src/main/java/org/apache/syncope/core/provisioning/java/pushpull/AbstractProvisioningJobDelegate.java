@@ -20,15 +20,16 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
-import org.apache.commons.lang3.StringUtils;
+import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.to.Mapping;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
@@ -40,6 +41,9 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.ProvisionSorter;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReports;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReports.Category;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
 import org.apache.syncope.core.provisioning.java.job.AbstractSchedTaskJobDelegate;
 import org.apache.syncope.core.provisioning.java.job.TaskJob;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
@@ -50,11 +54,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask<T>>
         extends AbstractSchedTaskJobDelegate<T> {
 
-    private static final String USER = "USER";
+    protected static final Map<Category, String> CATEGORY_LABELS = Map.of(
+            Category.USER, "Users",
+            Category.LINKED_ACCOUNT, "Accounts",
+            Category.GROUP, "Groups",
+            Category.ANY_OBJECT, "Any objects",
+            Category.REALM, "Realms");
 
-    private static final String GROUP = "GROUP";
+    protected static final List<ResourceOperation> FAILURE_OPERATIONS = List.of(
+            ResourceOperation.CREATE, ResourceOperation.UPDATE, ResourceOperation.DELETE);
 
-    private static final String LINKED_ACCOUNT = "LINKED_ACCOUNT";
+    protected static final Map<ResourceOperation, String> SUCCESS_OPERATIONS = new LinkedHashMap<>();
+
+    static {
+        SUCCESS_OPERATIONS.put(ResourceOperation.CREATE, "created");
+        SUCCESS_OPERATIONS.put(ResourceOperation.UPDATE, "updated");
+        SUCCESS_OPERATIONS.put(ResourceOperation.DELETE, "deleted");
+        SUCCESS_OPERATIONS.put(ResourceOperation.NONE, "no operation");
+    }
 
     /**
      * ConnInstance loader.
@@ -77,6 +94,9 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
     @Autowired
     protected EntityFactory entityFactory;
 
+    @Autowired
+    protected ProvisioningProperties provisioningProperties;
+
     /**
      * Policy DAO.
      */
@@ -104,46 +124,50 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
     }
 
     /**
-     * Helper method to invoke logging per provisioning result, for the given trace level.
+     * Appends the detail lines for the given category, operation and status, if any, within the given budget.
      *
+     * @param report report being built
      * @param results provisioning results
-     * @param level trace level
-     * @return report as string
+     * @param category any type category
+     * @param operation operation
+     * @param status status
+     * @param header header to prepend, when there is at least one matching result
+     * @param budget maximum number of detail lines to append
+     * @return number of detail lines appended
      */
-    protected String generate(final Collection<ProvisioningReport> results, final TraceLevel level) {
-        StringBuilder sb = new StringBuilder();
-
-        results.stream().map(result -> {
-            if (level == TraceLevel.SUMMARY) {
-                // No per entry log in this case.
-                return null;
-            } else if (level == TraceLevel.FAILURES && result.getStatus() == ProvisioningReport.Status.FAILURE) {
-                // only report failures
-                return String.format("Failed %s (key/name): %s/%s with message: %s",
-                        result.getOperation(), result.getKey(), result.getName(), result.getMessage());
-            } else {
-                // All
-                return String.format("%s %s (key/name): %s/%s %s",
-                        result.getOperation(), result.getStatus(), result.getKey(), result.getName(),
-                        StringUtils.isBlank(result.getMessage())
-                        ? StringUtils.EMPTY
-                        : "with message: " + result.getMessage());
-            }
-        }).filter(Objects::nonNull).forEach(report -> sb.append(report).append('\n'));
+    protected long appendDetails(
+            final StringBuilder report,
+            final ProvisioningReports results,
+            final Category category,
+            final ResourceOperation operation,
+            final ProvisioningReport.Status status,
+            final String header,
+            final long budget) {
+
+        long count = results.count(category, operation, status);
+        if (count == 0) {
+            return 0;
+        }
 
-        return sb.toString();
+        report.append(header);
+        long appended = results.details(
+                category, operation, status, Math.max(0, budget), line -> report.append(line).append('\n'));
+        if (appended < count) {
+            report.append("... ").append(count - appended).append(" more\n");
+        }
+        return appended;
     }
 
     /**
      * Create a textual report of the provisioning operation, based on the trace level.
      *
-     * @param provResults Provisioning results
+     * @param results Provisioning results
      * @param resource Provisioning resource
      * @param dryRun dry run?
      * @return report as string
      */
     protected String createReport(
-            final Collection<ProvisioningReport> provResults,
+            final ProvisioningReports results,
             final ExternalResource resource,
             final boolean dryRun) {
 
@@ -161,494 +185,81 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
             report.append("==> Execution was interrupted <==\n\n");
         }
 
-        List<ProvisioningReport> rSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> rFailCreate = new ArrayList<>();
-        List<ProvisioningReport> rSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> rFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> rSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> rFailDelete = new ArrayList<>();
-        List<ProvisioningReport> rSuccNone = new ArrayList<>();
-        List<ProvisioningReport> rIgnore = new ArrayList<>();
-        List<ProvisioningReport> uSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> uFailCreate = new ArrayList<>();
-        List<ProvisioningReport> uSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> uFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> uSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> uFailDelete = new ArrayList<>();
-        List<ProvisioningReport> uSuccNone = new ArrayList<>();
-        List<ProvisioningReport> uIgnore = new ArrayList<>();
-        List<ProvisioningReport> gSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> gFailCreate = new ArrayList<>();
-        List<ProvisioningReport> gSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> gFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> gSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> gFailDelete = new ArrayList<>();
-        List<ProvisioningReport> gSuccNone = new ArrayList<>();
-        List<ProvisioningReport> gIgnore = new ArrayList<>();
-        List<ProvisioningReport> aSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> aFailCreate = new ArrayList<>();
-        List<ProvisioningReport> aSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> aFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> aSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> aFailDelete = new ArrayList<>();
-        List<ProvisioningReport> aSuccNone = new ArrayList<>();
-        List<ProvisioningReport> aIgnore = new ArrayList<>();
-        List<ProvisioningReport> laSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> laFailCreate = new ArrayList<>();
-        List<ProvisioningReport> laSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> laFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> laSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> laFailDelete = new ArrayList<>();
-        List<ProvisioningReport> laSuccNone = new ArrayList<>();
-        List<ProvisioningReport> laIgnore = new ArrayList<>();
-
-        for (ProvisioningReport provResult : provResults) {
-            switch (provResult.getStatus()) {
-                case SUCCESS:
-                    switch (provResult.getOperation()) {
-                        case CREATE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rSuccCreate.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uSuccCreate.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laSuccCreate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccCreate.add(provResult);
-                                        break;
-
-                                    default:
-                                        aSuccCreate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case UPDATE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rSuccUpdate.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uSuccUpdate.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laSuccUpdate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccUpdate.add(provResult);
-                                        break;
-
-                                    default:
-                                        aSuccUpdate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case DELETE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rSuccDelete.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uSuccDelete.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laSuccDelete.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccDelete.add(provResult);
-                                        break;
-
-                                    default:
-                                        aSuccDelete.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case NONE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rSuccNone.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uSuccNone.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laSuccNone.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccNone.add(provResult);
-                                        break;
-
-                                    default:
-                                        aSuccNone.add(provResult);
-                                }
-                            }
-                            break;
-
-                        default:
-                    }
-                    break;
-
-                case FAILURE:
-                    switch (provResult.getOperation()) {
-                        case CREATE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rFailCreate.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uFailCreate.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laFailCreate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gFailCreate.add(provResult);
-                                        break;
-
-                                    default:
-                                        aFailCreate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case UPDATE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rFailUpdate.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uFailUpdate.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laFailUpdate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gFailUpdate.add(provResult);
-                                        break;
-
-                                    default:
-                                        aFailUpdate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case DELETE:
-                            if (StringUtils.isBlank(provResult.getAnyType())) {
-                                rFailDelete.add(provResult);
-                            } else {
-                                switch (provResult.getAnyType()) {
-                                    case USER:
-                                        uFailDelete.add(provResult);
-                                        break;
-
-                                    case LINKED_ACCOUNT:
-                                        laFailDelete.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gFailDelete.add(provResult);
-                                        break;
-
-                                    default:
-                                        aFailDelete.add(provResult);
-                                }
-                            }
-                            break;
-
-                        default:
-                    }
-                    break;
-
-                case IGNORE:
-                    if (StringUtils.isBlank(provResult.getAnyType())) {
-                        rIgnore.add(provResult);
-                    } else {
-                        switch (provResult.getAnyType()) {
-                            case USER:
-                                uIgnore.add(provResult);
-                                break;
-
-                            case LINKED_ACCOUNT:
-                                laIgnore.add(provResult);
-                                break;
-
-                            case GROUP:
-                                gIgnore.add(provResult);
-                                break;
-
-                            default:
-                                aIgnore.add(provResult);
-                        }
-                    }
-                    break;
-
-                default:
-            }
-        }
-
         // Summary, also to be included for FAILURE and ALL, so create it anyway.
-        boolean includeUser = resource.getProvisionByAnyType(AnyTypeKind.USER.name()).isPresent();
-        boolean includeGroup = resource.getProvisionByAnyType(AnyTypeKind.GROUP.name()).isPresent();
-        boolean includeAnyObject = resource.getProvisions().stream().anyMatch(
-                provision -> !provision.getAnyType().equals(AnyTypeKind.USER.name())
-                && !provision.getAnyType().equals(AnyTypeKind.GROUP.name()));
-        boolean includeRealm = resource.getOrgUnit() != null;
-
-        if (includeUser) {
-            report.append("Users ").
-                    append("[created/failures]: ").append(uSuccCreate.size()).append('/').append(uFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(uSuccUpdate.size()).append('/').append(uFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(uSuccDelete.size()).append('/').append(uFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(uSuccNone.size()).append('/').append(uIgnore.size()).
-                    append('\n');
-
-            report.append("Accounts ").
-                    append("[created/failures]: ").append(laSuccCreate.size()).append('/').append(laFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(laSuccUpdate.size()).append('/').append(laFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(laSuccDelete.size()).append('/').append(laFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(laSuccNone.size()).append('/').append(laIgnore.size()).
-                    append('\n');
+        List<Category> categories = new ArrayList<>();
+        if (resource.getProvisionByAnyType(AnyTypeKind.USER.name()).isPresent()) {
+            categories.add(Category.USER);
+            categories.add(Category.LINKED_ACCOUNT);
         }
-        if (includeGroup) {
-            report.append("Groups ").
-                    append("[created/failures]: ").append(gSuccCreate.size()).append('/').append(gFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(gSuccUpdate.size()).append('/').append(gFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(gSuccDelete.size()).append('/').append(gFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(gSuccNone.size()).append('/').append(gIgnore.size()).
-                    append('\n');
+        if (resource.getProvisionByAnyType(AnyTypeKind.GROUP.name()).isPresent()) {
+            categories.add(Category.GROUP);
         }
-        if (includeAnyObject) {
-            report.append("Any objects ").
-                    append("[created/failures]: ").append(aSuccCreate.size()).append('/').append(aFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(aSuccUpdate.size()).append('/').append(aFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(aSuccDelete.size()).append('/').append(aFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(aSuccNone.size()).append('/').append(aIgnore.size());
+        if (resource.getProvisions().stream().anyMatch(
+                provision -> !provision.getAnyType().equals(AnyTypeKind.USER.name())
+                && !provision.getAnyType().equals(AnyTypeKind.GROUP.name()))) {
+
+            categories.add(Category.ANY_OBJECT);
         }
-        if (includeRealm) {
-            report.append("Realms ").
-                    append("[created/failures]: ").append(rSuccCreate.size()).append('/').append(rFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(rSuccUpdate.size()).append('/').append(rFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(rSuccDelete.size()).append('/').append(rFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(rSuccNone.size()).append('/').append(rIgnore.size());
+        if (resource.getOrgUnit() != null) {
+            categories.add(Category.REALM);
         }
 
+        report.append(categories.stream().map(category -> CATEGORY_LABELS.get(category) + ' '
+                + "[created/failures]: "
+                + results.count(category, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS) + '/'
+                + results.count(category, ResourceOperation.CREATE, ProvisioningReport.Status.FAILURE) + ' '
+                + "[updated/failures]: "
+                + results.count(category, ResourceOperation.UPDATE, ProvisioningReport.Status.SUCCESS) + '/'
+                + results.count(category, ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE) + ' '
+                + "[deleted/failures]: "
+                + results.count(category, ResourceOperation.DELETE, ProvisioningReport.Status.SUCCESS) + '/'
+                + results.count(category, ResourceOperation.DELETE, ProvisioningReport.Status.FAILURE) + ' '
+                + "[no operation/ignored]: "
+                + results.count(category, ResourceOperation.NONE, ProvisioningReport.Status.SUCCESS) + '/'
+                + results.count(category, ResourceOperation.NONE, ProvisioningReport.Status.IGNORE)).
+                collect(Collectors.joining("\n")));
+
+        long budget = provisioningProperties.getReportMaxDetails();
+
         // Failures
         if (traceLevel == TraceLevel.FAILURES || traceLevel == TraceLevel.ALL) {
-            if (includeUser) {
-                if (!uFailCreate.isEmpty()) {
-                    report.append("\n\nUsers failed to create: ");
-                    report.append(generate(uFailCreate, traceLevel));
-                }
-                if (!uFailUpdate.isEmpty()) {
-                    report.append("\nUsers failed to update: ");
-                    report.append(generate(uFailUpdate, traceLevel));
-                }
-                if (!uFailDelete.isEmpty()) {
-                    report.append("\nUsers failed to delete: ");
-                    report.append(generate(uFailDelete, traceLevel));
-                }
-
-                if (!laFailCreate.isEmpty()) {
-                    report.append("\n\nAccounts failed to create: ");
-                    report.append(generate(laFailCreate, traceLevel));
-                }
-                if (!laFailUpdate.isEmpty()) {
-                    report.append("\nAccounts failed to update: ");
-                    report.append(generate(laFailUpdate, traceLevel));
-                }
-                if (!laFailDelete.isEmpty()) {
-                    report.append("\nAccounts failed to delete: ");
-                    report.append(generate(laFailDelete, traceLevel));
-                }
-            }
-
-            if (includeGroup) {
-                if (!gFailCreate.isEmpty()) {
-                    report.append("\n\nGroups failed to create: ");
-                    report.append(generate(gFailCreate, traceLevel));
-                }
-                if (!gFailUpdate.isEmpty()) {
-                    report.append("\nGroups failed to update: ");
-                    report.append(generate(gFailUpdate, traceLevel));
-                }
-                if (!gFailDelete.isEmpty()) {
-                    report.append("\nGroups failed to delete: ");
-                    report.append(generate(gFailDelete, traceLevel));
-                }
-            }
-
-            if (includeAnyObject && !aFailCreate.isEmpty()) {
-                report.append("\nAny objects failed to create: ");
-                report.append(generate(aFailCreate, traceLevel));
-            }
-            if (includeAnyObject && !aFailUpdate.isEmpty()) {
-                report.append("\nAny objects failed to update: ");
-                report.append(generate(aFailUpdate, traceLevel));
-            }
-            if (includeAnyObject && !aFailDelete.isEmpty()) {
-                report.append("\nAny objects failed to delete: ");
-                report.append(generate(aFailDelete, traceLevel));
-            }
-
-            if (includeRealm) {
-                if (!rFailCreate.isEmpty()) {
-                    report.append("\nRealms failed to create: ");
-                    report.append(generate(rFailCreate, traceLevel));
-                }
-                if (!rFailUpdate.isEmpty()) {
-                    report.append("\nRealms failed to update: ");
-                    report.append(generate(rFailUpdate, traceLevel));
-                }
-                if (!rFailDelete.isEmpty()) {
-                    report.append("\nRealms failed to delete: ");
-                    report.append(generate(rFailDelete, traceLevel));
+            for (Category category : categories) {
+                for (ResourceOperation operation : FAILURE_OPERATIONS) {
+                    budget -= appendDetails(
+                            report,
+                            results,
+                            category,
+                            operation,
+                            ProvisioningReport.Status.FAILURE,
+                            (operation == ResourceOperation.CREATE ? "\n\n" : "\n")
+                            + CATEGORY_LABELS.get(category) + " failed to " + operation.name().toLowerCase() + ": ",
+                            budget);
                 }
             }
         }
 
         // Succeeded, only if on 'ALL' level
         if (traceLevel == TraceLevel.ALL) {
-            if (includeUser) {
-                if (!uSuccCreate.isEmpty()) {
-                    report.append("\n\nUsers created:\n").
-                            append(generate(uSuccCreate, traceLevel));
-                }
-                if (!uSuccUpdate.isEmpty()) {
-                    report.append("\nUsers updated:\n").
-                            append(generate(uSuccUpdate, traceLevel));
-                }
-                if (!uSuccDelete.isEmpty()) {
-                    report.append("\nUsers deleted:\n").
-                            append(generate(uSuccDelete, traceLevel));
-                }
-                if (!uSuccNone.isEmpty()) {
-                    report.append("\nUsers no operation:\n").
-                            append(generate(uSuccNone, traceLevel));
-                }
-                if (!uIgnore.isEmpty()) {
-                    report.append("\nUsers ignored:\n").
-                            append(generate(uIgnore, traceLevel));
-                }
-
-                if (!laSuccCreate.isEmpty()) {
-                    report.append("\n\nAccounts created:\n").
-                            append(generate(laSuccCreate, traceLevel));
-                }
-                if (!laSuccUpdate.isEmpty()) {
-                    report.append("\nAccounts updated:\n").
-                            append(generate(laSuccUpdate, traceLevel));
-                }
-                if (!laSuccDelete.isEmpty()) {
-                    report.append("\nAccounts deleted:\n").
-                            append(generate(laSuccDelete, traceLevel));
-                }
-                if (!laSuccNone.isEmpty()) {
-                    report.append("\nAccounts no operation:\n").
-                            append(generate(laSuccNone, traceLevel));
-                }
-                if (!laIgnore.isEmpty()) {
-                    report.append("\nAccounts ignored:\n").
-                            append(generate(laIgnore, traceLevel));
-                }
-            }
-            if (includeGroup) {
-                if (!gSuccCreate.isEmpty()) {
-                    report.append("\n\nGroups created:\n").
-                            append(generate(gSuccCreate, traceLevel));
-                }
-                if (!gSuccUpdate.isEmpty()) {
-                    report.append("\nGroups updated:\n").
-                            append(generate(gSuccUpdate, traceLevel));
-                }
-                if (!gSuccDelete.isEmpty()) {
-                    report.append("\nGroups deleted:\n").
-                            append(generate(gSuccDelete, traceLevel));
-                }
-                if (!gSuccNone.isEmpty()) {
-                    report.append("\nGroups no operation:\n").
-                            append(generate(gSuccNone, traceLevel));
-                }
-                if (!gIgnore.isEmpty()) {
-                    report.append("\nGroups ignored:\n").
-                            append(generate(gIgnore, traceLevel));
-                }
-            }
-            if (includeAnyObject) {
-                if (!aSuccCreate.isEmpty()) {
-                    report.append("\n\nAny objects created:\n").
-                            append(generate(aSuccCreate, traceLevel));
-                }
-                if (!aSuccUpdate.isEmpty()) {
-                    report.append("\nAny objects updated:\n").
-                            append(generate(aSuccUpdate, traceLevel));
-                }
-                if (!aSuccDelete.isEmpty()) {
-                    report.append("\nAny objects deleted:\n").
-                            append(generate(aSuccDelete, traceLevel));
-                }
-                if (!aSuccNone.isEmpty()) {
-                    report.append("\nAny objects no operation:\n").
-                            append(generate(aSuccNone, traceLevel));
-                }
-                if (!aIgnore.isEmpty()) {
-                    report.append("\nAny objects ignored:\n").
-                            append(generate(aIgnore, traceLevel));
-                }
-            }
-            if (includeRealm) {
-                if (!rSuccCreate.isEmpty()) {
-                    report.append("\n\nRealms created:\n").
-                            append(generate(rSuccCreate, traceLevel));
-                }
-                if (!rSuccUpdate.isEmpty()) {
-                    report.append("\nRealms updated:\n").
-                            append(generate(rSuccUpdate, traceLevel));
-                }
-                if (!rSuccDelete.isEmpty()) {
-                    report.append("\nRealms deleted:\n").
-                            append(generate(rSuccDelete, traceLevel));
-                }
-                if (!rSuccNone.isEmpty()) {
-                    report.append("\nRealms no operation:\n").
-                            append(generate(rSuccNone, traceLevel));
-                }
-                if (!rIgnore.isEmpty()) {
-                    report.append("\nRealms ignored:\n").
-                            append(generate(rIgnore, traceLevel));
-                }
+            for (Category category : categories) {
+                for (Map.Entry<ResourceOperation, String> entry : SUCCESS_OPERATIONS.entrySet()) {
+                    budget -= appendDetails(
+                            report,
+                            results,
+                            category,
+                            entry.getKey(),
+                            ProvisioningReport.Status.SUCCESS,
+                            (entry.getKey() == ResourceOperation.CREATE ? "\n\n" : "\n")
+                            + CATEGORY_LABELS.get(category) + ' ' + entry.getValue() + ":\n",
+                            budget);
+                }
+                budget -= appendDetails(
+                        report,
+                        results,
+                        category,
+                        ResourceOperation.NONE,
+                        ProvisioningReport.Status.IGNORE,
+                        '\n' + CATEGORY_LABELS.get(category) + " ignored:\n",
+                        budget);
             }
         }
 
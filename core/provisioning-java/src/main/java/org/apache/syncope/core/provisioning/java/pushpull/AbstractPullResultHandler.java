@@ -20,6 +20,7 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +44,7 @@ import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -63,8 +65,10 @@ import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
 import org.apache.syncope.core.provisioning.api.rules.PullMatch;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
+import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
 import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -114,6 +118,9 @@ public abstract class AbstractPullResultHandler
     @Autowired
     protected EntityFactory entityFactory;
 
+    @Autowired
+    protected PropagationDigestDAO propagationDigestDAO;
+
     protected abstract String getName(AnyTO anyTO);
 
     protected abstract String getName(AnyCR anyCR);
@@ -124,6 +131,22 @@ public abstract class AbstractPullResultHandler
 
     protected abstract AnyUR doUpdate(AnyTO before, AnyUR anyUR, SyncDelta delta, ProvisioningReport result);
 
+    /**
+     * Finds the connObjectKey value of the remote object of the given delta, as propagations know it: from the
+     * attribute mapped as connObjectKey, falling back to {@code __UID__}.
+     *
+     * @param delta pulled delta
+     * @param provision provision
+     * @return connObjectKey value of the remote object
+     */
+    protected String getConnObjectKeyValue(final SyncDelta delta, final Provision provision) {
+        return Optional.ofNullable(delta.getObject()).
+                flatMap(object -> MappingUtils.getConnObjectKeyItem(provision).
+                map(item -> object.getAttributeByName(item.getExtAttrName()))).
+                map(AttributeUtil::getStringValue).
+                orElseGet(() -> delta.getUid().getUidValue());
+    }
+
     @Transactional(rollbackFor = Throwable.class, propagation = Propagation.REQUIRES_NEW)
     @Override
     public boolean handle(final SyncDelta delta) {
@@ -135,6 +158,15 @@ public abstract class AbstractPullResultHandler
                     "No provision found on " + profile.getTask().getResource()
                     + " for " + delta.getObject().getObjectClass()));
 
+            if (!profile.isDryRun()
+                    && profile.getTask().getResource().isPropagationDigest()
+                    && profile.getTask().getPullMode() != PullMode.FULL_RECONCILIATION) {
+
+                // remote object has changed: have next propagations check it again
+                propagationDigestDAO.delete(
+                        profile.getTask().getResource().getKey(), getConnObjectKeyValue(delta, provision));
+            }
+
             Result latestResult = doHandle(delta, provision, anyTypeDAO.find(provision.getAnyType()).getKind());
 
             LOG.debug("Successfully handled {}", delta);
@@ -866,7 +898,8 @@ public abstract class AbstractPullResultHandler
                     finalDelta,
                     profile.getTask().getResource(),
                     provision,
-                    anyTypeKind);
+                    anyTypeKind,
+                    profile.getCorrelationIndexes().get(provision.getAnyType()));
             LOG.debug("Match(es) found for {} as {}: {}",
                     finalDelta.getUid().getUidValue(), finalDelta.getObject().getObjectClass(), matches);
 
@@ -31,6 +31,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.syncope.common.lib.request.AnyUR;
 import org.apache.syncope.common.lib.request.StringPatchItem;
 import org.apache.syncope.common.lib.to.AnyTO;
+import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.types.AuditElements;
@@ -41,7 +42,9 @@ import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.AuditManager;
@@ -51,13 +54,15 @@ import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.pushpull.AnyPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.IgnoreProvisionException;
 import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
-import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
 import org.apache.syncope.core.provisioning.java.job.AfterHandlingJob;
 import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationReporter;
+import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
@@ -65,7 +70,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHandler<PushTask, PushActions>
-        implements SyncopePushResultHandler {
+        implements AnyPushResultHandler {
 
     @Autowired
     protected OutboundMatcher outboundMatcher;
@@ -209,6 +214,7 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
     @Override
     public boolean handle(final String anyKey) {
         Any<?> any = null;
+        ProvisioningReport result = null;
         try {
             any = getAnyUtils().dao().authFind(anyKey);
 
@@ -219,36 +225,35 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                         + any.getType().getKey());
             }
 
-            doHandle(any, provision);
+            result = new ProvisioningReport();
+            doHandle(any, provision, result);
             return true;
         } catch (IgnoreProvisionException e) {
-            ProvisioningReport ignoreResult = profile.getResults().stream().
-                    filter(report -> anyKey.equalsIgnoreCase(report.getKey())).
-                    findFirst().
-                    orElse(null);
-            if (ignoreResult == null) {
-                ignoreResult = new ProvisioningReport();
-                ignoreResult.setKey(anyKey);
-                ignoreResult.setAnyType(Optional.ofNullable(any).map(any1 -> any1.getType().getKey()).orElse(null));
-
-                profile.getResults().add(ignoreResult);
+            if (result == null) {
+                result = new ProvisioningReport();
+                result.setKey(anyKey);
+                result.setAnyType(Optional.ofNullable(any).map(any1 -> any1.getType().getKey()).orElse(null));
             }
 
-            ignoreResult.setOperation(ResourceOperation.NONE);
-            ignoreResult.setStatus(ProvisioningReport.Status.IGNORE);
-            ignoreResult.setMessage(e.getMessage());
+            result.setOperation(ResourceOperation.NONE);
+            result.setStatus(ProvisioningReport.Status.IGNORE);
+            result.setMessage(e.getMessage());
 
             LOG.warn("Ignoring during push", e);
             return true;
         } catch (JobExecutionException e) {
             LOG.error("Push failed", e);
             return false;
+        } finally {
+            // reports are only added once complete, see ProvisioningReports
+            if (result != null) {
+                profile.getResults().add(result);
+            }
         }
     }
 
-    protected void doHandle(final Any<?> any, final Provision provision) throws JobExecutionException {
-        ProvisioningReport result = new ProvisioningReport();
-        profile.getResults().add(result);
+    protected void doHandle(final Any<?> any, final Provision provision, final ProvisioningReport result)
+            throws JobExecutionException {
 
         result.setKey(any.getKey());
         result.setAnyType(any.getType().getKey());
@@ -502,6 +507,195 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
         }
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public boolean handle(final AnyTombstone tombstone, final Provision provision) {
+        ProvisioningReport result = new ProvisioningReport();
+        try {
+            doHandle(tombstone, provision, result);
+            return true;
+        } catch (IgnoreProvisionException e) {
+            result.setOperation(ResourceOperation.NONE);
+            result.setStatus(ProvisioningReport.Status.IGNORE);
+            result.setMessage(e.getMessage());
+
+            LOG.warn("Ignoring during push", e);
+            return true;
+        } catch (JobExecutionException e) {
+            LOG.error("Push failed", e);
+            return false;
+        } finally {
+            profile.getResults().add(result);
+        }
+    }
+
+    /**
+     * The connObjectKey value of a deleted entity can only be computed from what its tombstone holds.
+     *
+     * @param tombstone tombstone of the deleted entity
+     * @param connObjectKeyItem connObjectKey mapping item
+     * @return connObjectKey value, if computable
+     */
+    protected Optional<String> getConnObjectKeyValue(final AnyTombstone tombstone, final Item connObjectKeyItem) {
+        switch (connObjectKeyItem.getIntAttrName()) {
+            case "key":
+                return Optional.of(tombstone.getAnyKey());
+
+            case "username":
+            case "name":
+                return Optional.ofNullable(tombstone.getName());
+
+            default:
+                return Optional.empty();
+        }
+    }
+
+    protected void deprovision(
+            final AnyTombstone tombstone,
+            final String connObjectKeyValue,
+            final Provision provision,
+            final ConnectorObject beforeObj,
+            final ProvisioningReport result) {
+
+        PropagationTaskInfo taskInfo = new PropagationTaskInfo(
+                profile.getTask().getResource(),
+                ResourceOperation.DELETE,
+                new ObjectClass(provision.getObjectClass()),
+                getAnyUtils().anyTypeKind(),
+                tombstone.getAnyType(),
+                tombstone.getAnyKey(),
+                connObjectKeyValue,
+                new PropagationData(new HashSet<>()));
+        taskInfo.setBeforeObj(Optional.of(beforeObj));
+
+        PropagationReporter reporter = new DefaultPropagationReporter();
+        taskExecutor.execute(taskInfo, reporter, profile.getExecutor());
+        reportPropagation(result, reporter);
+    }
+
+    protected void doHandle(final AnyTombstone tombstone, final Provision provision, final ProvisioningReport result)
+            throws JobExecutionException {
+
+        result.setKey(tombstone.getAnyKey());
+        result.setAnyType(tombstone.getAnyType());
+        result.setName(tombstone.getName());
+
+        LOG.debug("Pushing deletion of {} with key {} towards {}",
+                tombstone.getAnyType(), tombstone.getAnyKey(), profile.getTask().getResource());
+
+        String connObjectKeyValue = MappingUtils.getConnObjectKeyItem(provision).
+                flatMap(connObjectKeyItem -> getConnObjectKeyValue(tombstone, connObjectKeyItem)).
+                orElseThrow(() -> new IgnoreProvisionException("Cannot compute connObjectKey value for deleted "
+                + tombstone.getAnyType() + " " + tombstone.getAnyKey()));
+
+        // Try to read remote object BEFORE any actual operation
+        ConnectorObject beforeObj = MappingUtils.getConnObjectKeyItem(provision).
+                flatMap(connObjectKeyItem -> outboundMatcher.matchByConnObjectKeyValue(
+                profile.getConnector(),
+                connObjectKeyItem,
+                connObjectKeyValue,
+                profile.getTask().getResource(),
+                provision,
+                Optional.empty(),
+                Optional.empty())).
+                orElseThrow(() -> new IgnoreProvisionException("No remote object found for " + connObjectKeyValue));
+        LOG.debug("Match found for deleted {} as {}: {}", tombstone.getAnyKey(), provision.getObjectClass(), beforeObj);
+
+        result.setUidValue(beforeObj.getUid().getUidValue());
+
+        // only the rules removing the remote object apply, there is nothing left locally to link, unlink or update
+        MatchingRule rule = profile.getTask().getMatchingRule();
+        if (rule != MatchingRule.DEPROVISION && rule != MatchingRule.UNASSIGN) {
+            throw new IgnoreProvisionException(rule + " not applicable to deleted " + tombstone.getAnyKey());
+        }
+        result.setOperation(toResourceOperation(rule));
+
+        if (profile.isDryRun()) {
+            result.setStatus(ProvisioningReport.Status.SUCCESS);
+            return;
+        }
+
+        String operation = MatchingRule.toEventName(rule);
+
+        boolean notificationsAvailable = notificationManager.notificationsAvailable(
+                AuditElements.EventCategoryType.PUSH,
+                getAnyUtils().anyTypeKind().name(),
+                profile.getTask().getResource().getKey(),
+                operation);
+        boolean auditRequested = auditManager.auditRequested(
+                AuthContextUtils.getUsername(),
+                AuditElements.EventCategoryType.PUSH,
+                getAnyUtils().anyTypeKind().name(),
+                profile.getTask().getResource().getKey(),
+                operation);
+
+        Object output = null;
+        Result resultStatus = null;
+        try {
+            for (PushActions action : profile.getActions()) {
+                if (rule == MatchingRule.UNASSIGN) {
+                    action.beforeUnassign(profile, tombstone);
+                } else {
+                    action.beforeDeprovision(profile, tombstone);
+                }
+            }
+
+            if (!profile.getTask().isPerformDelete()) {
+                LOG.debug("PushTask not configured for delete");
+                result.setStatus(ProvisioningReport.Status.IGNORE);
+            } else {
+                deprovision(tombstone, connObjectKeyValue, provision, beforeObj, result);
+            }
+
+            for (PushActions action : profile.getActions()) {
+                action.after(profile, tombstone, result);
+            }
+
+            if (result.getStatus() == null) {
+                result.setStatus(ProvisioningReport.Status.SUCCESS);
+            }
+
+            if (notificationsAvailable || auditRequested) {
+                resultStatus = AuditElements.Result.SUCCESS;
+                output = result;
+            }
+        } catch (IgnoreProvisionException e) {
+            throw e;
+        } catch (Exception e) {
+            result.setStatus(ProvisioningReport.Status.FAILURE);
+            result.setMessage(ExceptionUtils.getRootCauseMessage(e));
+
+            if (notificationsAvailable || auditRequested) {
+                resultStatus = AuditElements.Result.FAILURE;
+                output = e;
+            }
+
+            LOG.warn("Error pushing deletion of {} towards {}",
+                    tombstone.getAnyKey(), profile.getTask().getResource(), e);
+
+            for (PushActions action : profile.getActions()) {
+                action.onError(profile, tombstone, result, e);
+            }
+
+            throw new JobExecutionException(e);
+        } finally {
+            if (notificationsAvailable || auditRequested) {
+                Map<String, Object> jobMap = new HashMap<>();
+                jobMap.put(AfterHandlingEvent.JOBMAP_KEY, new AfterHandlingEvent(
+                        AuthContextUtils.getWho(),
+                        AuditElements.EventCategoryType.PUSH,
+                        getAnyUtils().anyTypeKind().name(),
+                        profile.getTask().getResource().getKey(),
+                        operation,
+                        resultStatus,
+                        beforeObj,
+                        output,
+                        tombstone));
+                AfterHandlingJob.schedule(scheduler, jobMap);
+            }
+        }
+    }
+
     protected static void reportPropagation(final ProvisioningReport result, final PropagationReporter reporter) {
         if (!reporter.getStatuses().isEmpty()) {
             result.setStatus(toProvisioningReportStatus(reporter.getStatuses().get(0).getStatus()));
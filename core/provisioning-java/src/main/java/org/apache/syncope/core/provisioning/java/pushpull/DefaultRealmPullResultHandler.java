@@ -183,8 +183,6 @@ public class DefaultRealmPullResultHandler
             action.beforeAssign(profile, delta, realmTO);
         }
 
-        profile.getResults().add(result);
-
         return create(realmTO, delta, UnmatchingRule.ASSIGN, result);
     }
 
@@ -222,8 +220,6 @@ public class DefaultRealmPullResultHandler
             action.beforeProvision(profile, delta, realmTO);
         }
 
-        profile.getResults().add(result);
-
         return create(realmTO, delta, UnmatchingRule.PROVISION, result);
     }
 
@@ -276,6 +272,8 @@ public class DefaultRealmPullResultHandler
             resultStatus = Result.FAILURE;
         }
 
+        profile.getResults().add(result);
+
         end(UnmatchingRule.toEventName(unmatchingRule), resultStatus, null, output, delta);
         return resultStatus;
     }
@@ -77,23 +77,24 @@ public class DefaultRealmPushResultHandler
     @Override
     public boolean handle(final String realmKey) {
         Realm realm = null;
+        ProvisioningReport result = new ProvisioningReport();
         try {
             realm = realmDAO.find(realmKey);
-            doHandle(realm);
+            doHandle(realm, result);
             return true;
         } catch (IgnoreProvisionException e) {
-            ProvisioningReport result = new ProvisioningReport();
             result.setOperation(ResourceOperation.NONE);
             result.setAnyType(realm == null ? null : SyncopeConstants.REALM_ANYTYPE);
             result.setStatus(ProvisioningReport.Status.IGNORE);
             result.setKey(realmKey);
-            profile.getResults().add(result);
 
             LOG.warn("Ignoring during push", e);
             return true;
         } catch (JobExecutionException e) {
             LOG.error("Push failed", e);
             return false;
+        } finally {
+            profile.getResults().add(result);
         }
     }
 
@@ -204,10 +205,7 @@ public class DefaultRealmPushResultHandler
         return obj;
     }
 
-    private void doHandle(final Realm realm) throws JobExecutionException {
-        ProvisioningReport result = new ProvisioningReport();
-        profile.getResults().add(result);
-
+    private void doHandle(final Realm realm, final ProvisioningReport result) throws JobExecutionException {
         result.setKey(realm.getKey());
         result.setAnyType(SyncopeConstants.REALM_ANYTYPE);
         result.setName(realm.getFullPath());
@@ -182,38 +182,32 @@ public class DefaultUserPushResultHandler extends AbstractPushResultHandler impl
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     @Override
     public boolean handle(final LinkedAccount account, final Provision provision) {
+        ProvisioningReport result = new ProvisioningReport();
         try {
-            doHandle(account, provision);
+            doHandle(account, provision, result);
             return true;
         } catch (IgnoreProvisionException e) {
-            ProvisioningReport ignoreResult = profile.getResults().stream().
-                    filter(report -> account.getKey().equalsIgnoreCase(report.getKey())).
-                    findFirst().
-                    orElse(null);
-            if (ignoreResult == null) {
-                ignoreResult = new ProvisioningReport();
-                ignoreResult.setKey(account.getKey());
-                ignoreResult.setAnyType(MatchType.LINKED_ACCOUNT.name());
-                ignoreResult.setUidValue(account.getConnObjectKeyValue());
-
-                profile.getResults().add(ignoreResult);
-            }
-
-            ignoreResult.setOperation(ResourceOperation.NONE);
-            ignoreResult.setStatus(ProvisioningReport.Status.IGNORE);
-            ignoreResult.setMessage(e.getMessage());
+            result.setKey(account.getKey());
+            result.setAnyType(MatchType.LINKED_ACCOUNT.name());
+            result.setUidValue(account.getConnObjectKeyValue());
+            result.setOperation(ResourceOperation.NONE);
+            result.setStatus(ProvisioningReport.Status.IGNORE);
+            result.setMessage(e.getMessage());
 
             LOG.warn("Ignoring during push", e);
             return true;
         } catch (JobExecutionException e) {
             LOG.error("Push failed", e);
             return false;
+        } finally {
+            profile.getResults().add(result);
         }
     }
 
-    protected void doHandle(final LinkedAccount account, final Provision provision) throws JobExecutionException {
-        ProvisioningReport result = new ProvisioningReport();
-        profile.getResults().add(result);
+    protected void doHandle(
+            final LinkedAccount account,
+            final Provision provision,
+            final ProvisioningReport result) throws JobExecutionException {
 
         result.setKey(account.getKey());
         result.setAnyType(MatchType.LINKED_ACCOUNT.name());
@@ -27,6 +27,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.OrgUnit;
@@ -34,6 +35,7 @@ import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.MatchType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.ParsingValidationException;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -62,6 +64,7 @@ import org.apache.syncope.core.provisioning.api.IntAttrName;
 import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.data.ItemTransformer;
+import org.apache.syncope.core.provisioning.api.pushpull.PullCorrelationIndex;
 import org.apache.syncope.core.provisioning.api.rules.PullCorrelationRule;
 import org.apache.syncope.core.provisioning.api.rules.PullMatch;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
@@ -228,6 +231,64 @@ public class InboundMatcher {
             final boolean ignoreCaseMatch,
             final ExternalResource resource) {
 
+        return matchByConnObjectKeyValue(
+                connObjectKeyItem, connObjectKeyValue, anyTypeKind, ignoreCaseMatch, resource, null);
+    }
+
+    /**
+     * Builds the correlation index for the given provision, if the latter is matched via its connObjectKey mapped to
+     * {@code username}, no correlation rule is defined and there are no more than {@code maxSize} users.
+     *
+     * @param resource external resource
+     * @param provision provision
+     * @param anyTypeKind any type kind
+     * @param maxSize maximum number of users to index
+     * @return correlation index, if applicable
+     */
+    public Optional<PullCorrelationIndex> buildIndex(
+            final ExternalResource resource,
+            final Provision provision,
+            final AnyTypeKind anyTypeKind,
+            final int maxSize) {
+
+        if (maxSize <= 0 || anyTypeKind != AnyTypeKind.USER || rule(resource, provision).isPresent()) {
+            return Optional.empty();
+        }
+
+        Optional<Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+        if (connObjectKeyItem.isEmpty() || !"username".equals(connObjectKeyItem.get().getIntAttrName())) {
+            return Optional.empty();
+        }
+
+        int count = userDAO.count();
+        if (count > maxSize) {
+            LOG.info("Not indexing {} users for {} on {}, exceeding {}",
+                    count, provision.getAnyType(), resource.getKey(), maxSize);
+            return Optional.empty();
+        }
+
+        PullCorrelationIndex index = new PullCorrelationIndex(provision.isIgnoreCaseMatch(), count);
+
+        String lastKey = null;
+        List<Pair<String, String>> page;
+        do {
+            page = userDAO.findAllUsernames(lastKey, AnyDAO.DEFAULT_PAGE_SIZE);
+            page.forEach(user -> index.put(user.getRight(), user.getLeft()));
+            lastKey = page.isEmpty() ? null : page.get(page.size() - 1).getLeft();
+        } while (page.size() == AnyDAO.DEFAULT_PAGE_SIZE);
+
+        LOG.debug("Indexed {} users for {} on {}", index.size(), provision.getAnyType(), resource.getKey());
+        return Optional.of(index);
+    }
+
+    public List<PullMatch> matchByConnObjectKeyValue(
+            final Item connObjectKeyItem,
+            final String connObjectKeyValue,
+            final AnyTypeKind anyTypeKind,
+            final boolean ignoreCaseMatch,
+            final ExternalResource resource,
+            final PullCorrelationIndex index) {
+
         String finalConnObjectKeyValue = connObjectKeyValue;
         for (ItemTransformer transformer
                 : MappingUtils.getItemTransformers(connObjectKeyItem, getTransformers(connObjectKeyItem))) {
@@ -262,6 +323,19 @@ public class InboundMatcher {
                     break;
 
                 case "username":
+                    if (anyTypeKind == AnyTypeKind.USER && index != null && index.covers(finalConnObjectKeyValue)) {
+                        String username = finalConnObjectKeyValue;
+                        // guards against entries made stale by renames during the current pull
+                        index.find(username).map(userDAO::find).filter(user -> ignoreCaseMatch
+                                ? user.getUsername().equalsIgnoreCase(username)
+                                : user.getUsername().equals(username)).
+                                ifPresent(anys::add);
+                    }
+                    if (!anys.isEmpty()) {
+                        break;
+                    }
+
+                    // not indexed, or created by others since the index was built
                     if (anyTypeKind == AnyTypeKind.USER && ignoreCaseMatch) {
                         AnyCond cond = new AnyCond(AttrCond.Type.IEQ);
                         cond.setSchema("username");
@@ -398,6 +472,26 @@ public class InboundMatcher {
             final Provision provision,
             final AnyTypeKind anyTypeKind) {
 
+        return match(syncDelta, resource, provision, anyTypeKind, null);
+    }
+
+    /**
+     * Finds internal entities based on external attributes and mapping.
+     *
+     * @param syncDelta change operation, including external attributes
+     * @param resource external resource
+     * @param provision mapping
+     * @param anyTypeKind type kind
+     * @param index prefetched correlation index, if available
+     * @return list of matching users' / groups' / any objects' keys
+     */
+    public List<PullMatch> match(
+            final SyncDelta syncDelta,
+            final ExternalResource resource,
+            final Provision provision,
+            final AnyTypeKind anyTypeKind,
+            final PullCorrelationIndex index) {
+
         Optional<PullCorrelationRule> rule = rule(resource, provision);
 
         List<PullMatch> result = List.of();
@@ -427,7 +521,8 @@ public class InboundMatcher {
                             connObjectKeyValue,
                             anyTypeKind,
                             provision.isIgnoreCaseMatch(),
-                            resource);
+                            resource,
+                            index);
                 }
             }
         } catch (RuntimeException e) {
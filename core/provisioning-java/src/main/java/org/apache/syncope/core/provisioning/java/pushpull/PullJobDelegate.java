@@ -34,12 +34,15 @@ import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.OrgUnit;
 import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.PullMode;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
@@ -95,12 +98,17 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     protected PlainAttrValidationManager validator;
 
+    @Autowired
+    protected PropagationDigestDAO propagationDigestDAO;
+
     protected final Map<String, SyncToken> latestSyncTokens = Collections.synchronizedMap(new HashMap<>());
 
     protected ProvisioningProfile<PullTask, PullActions> profile;
 
     protected final Map<String, MutablePair<Integer, String>> handled = new HashMap<>();
 
+    protected Optional<PullResultHandlerDispatcher> currentDispatcher = Optional.empty();
+
     protected final Map<String, PullActions> perContextActions = new ConcurrentHashMap<>();
 
     protected Optional<ReconFilterBuilder> perContextReconFilterBuilder = Optional.empty();
@@ -127,6 +135,9 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                         append(k).
                         append(" / latest: ").append(v.getRight()).
                         append('\n'));
+                currentDispatcher.map(PullResultHandlerDispatcher::getStatistics).
+                        filter(statistics -> !statistics.isEmpty()).
+                        ifPresent(statistics -> builder.append(statistics).append('\n'));
                 setStatus(builder.toString());
             }
         }
@@ -217,6 +228,54 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                 createBean(DefaultGroupPullResultHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
     }
 
+    protected void prefetchCorrelationIndex(final PullTask pullTask, final Provision provision, final AnyType anyType) {
+        inboundMatcher.buildIndex(
+                pullTask.getResource(),
+                provision,
+                anyType.getKind(),
+                provisioningProperties.getPullCorrelationIndexMaxSize()).ifPresent(index -> {
+
+            profile.getCorrelationIndexes().put(provision.getAnyType(), index);
+
+            // keep the index aligned with what happens during the current pull
+            profile.getResults().addListener(result -> {
+                if (result.getStatus() != ProvisioningReport.Status.SUCCESS
+                        || result.getOperation() == null || result.getKey() == null) {
+                    return;
+                }
+
+                if (provision.getAnyType().equals(result.getAnyType()) && result.getName() != null) {
+                    switch (result.getOperation()) {
+                        case CREATE:
+                        case UPDATE:
+                            index.put(result.getName(), result.getKey());
+                            break;
+
+                        case DELETE:
+                            index.remove(result.getName());
+                            break;
+
+                        default:
+                    }
+                }
+            });
+        });
+    }
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        try {
+            return super.doExecute(dryRun, executor, context);
+        } finally {
+            // removes any detail spooled while reporting
+            if (profile != null) {
+                profile.getResults().close();
+            }
+        }
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PullTask pullTask,
@@ -236,7 +295,9 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                         orElse(ConflictResolutionAction.IGNORE));
         profile.setExecutor(executor);
 
-        PullResultHandlerDispatcher dispatcher = new PullResultHandlerDispatcher(profile, this);
+        PullResultHandlerDispatcher dispatcher =
+                new PullResultHandlerDispatcher(profile, this, provisioningProperties.isVirtualThreads());
+        currentDispatcher = Optional.of(dispatcher);
 
         latestSyncTokens.clear();
 
@@ -244,6 +305,13 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
             for (PullActions action : profile.getActions()) {
                 action.beforeAll(profile);
             }
+
+            if (pullTask.getResource().isPropagationDigest()
+                    && pullTask.getPullMode() == PullMode.FULL_RECONCILIATION) {
+
+                // remote objects are being reconciled: have next propagations check them again
+                propagationDigestDAO.deleteByResource(pullTask.getResource().getKey());
+            }
         }
 
         setStatus("Initialization completed");
@@ -318,6 +386,27 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
 
             AnyType anyType = anyTypeDAO.find(provision.getAnyType());
 
+            if (provision.getUidOnCreate() != null) {
+                // results are not retained, hence uidOnCreate is set as soon as each creation is reported
+                AnyUtils anyUtils = anyUtilsFactory.getInstance(anyType.getKind());
+                profile.getResults().addListener(result -> {
+                    if (result.getUidValue() != null && result.getKey() != null
+                            && result.getOperation() == ResourceOperation.CREATE
+                            && provision.getAnyType().equals(result.getAnyType())) {
+
+                        try {
+                            anyUtils.addAttr(
+                                    validator,
+                                    result.getKey(),
+                                    plainSchemaDAO.find(provision.getUidOnCreate()),
+                                    result.getUidValue());
+                        } catch (Exception e) {
+                            LOG.error("While setting {} on {}", provision.getUidOnCreate(), result.getKey(), e);
+                        }
+                    }
+                });
+            }
+
             dispatcher.addHandlerSupplier(provision.getObjectClass(), () -> {
                 SyncopePullResultHandler handler;
                 switch (anyType.getKind()) {
@@ -376,24 +465,14 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
 
                     case FULL_RECONCILIATION:
                     default:
+                        prefetchCorrelationIndex(pullTask, provision, anyType);
+
                         connector.fullReconciliation(
                                 new ObjectClass(provision.getObjectClass()),
                                 dispatcher,
                                 options);
                         break;
                 }
-
-                if (provision.getUidOnCreate() != null) {
-                    AnyUtils anyUtils = anyUtilsFactory.getInstance(anyType.getKind());
-                    profile.getResults().stream().
-                            filter(result -> result.getUidValue() != null && result.getKey() != null
-                            && result.getOperation() == ResourceOperation.CREATE
-                            && result.getAnyType().equals(provision.getAnyType())).
-                            forEach(result -> anyUtils.addAttr(
-                            validator,
-                            result.getKey(),
-                            plainSchemaDAO.find(provision.getUidOnCreate()), result.getUidValue()));
-                }
             } catch (Throwable t) {
                 throw new JobExecutionException("While pulling from connector", t);
             } finally {
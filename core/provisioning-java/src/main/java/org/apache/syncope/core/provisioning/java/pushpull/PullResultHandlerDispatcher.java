@@ -36,9 +36,10 @@ public class PullResultHandlerDispatcher
 
     public PullResultHandlerDispatcher(
             final ProvisioningProfile<PullTask, PullActions> profile,
-            final SyncopePullExecutor executor) {
+            final SyncopePullExecutor executor,
+            final boolean virtualThreads) {
 
-        super(profile);
+        super(profile, virtualThreads);
         this.executor = executor;
     }
 
@@ -51,7 +52,7 @@ public class PullResultHandlerDispatcher
             return false;
         }
 
-        if (ecs.isEmpty()) {
+        if (!isConcurrent()) {
             boolean result = nonConcurrentHandler(delta.getObjectClass().getObjectClassValue()).handle(delta);
 
             executor.reportHandled(delta.getObjectClass().getObjectClassValue(), delta.getObject().getName());
@@ -63,7 +64,8 @@ public class PullResultHandlerDispatcher
         }
 
         try {
-            submit(() -> {
+            // partition by connObjectKey value, to handle deltas about the same object in order
+            submit(delta.getObjectClass().getObjectClassValue() + ':' + delta.getUid().getUidValue(), () -> {
                 executor.setLatestSyncToken(delta.getObjectClass().getObjectClassValue(), delta.getToken());
 
                 suppliers.get(delta.getObjectClass().getObjectClassValue()).get().handle(delta);
@@ -18,23 +18,39 @@
  */
 package org.apache.syncope.core.provisioning.java.pushpull;
 
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyTombstoneDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
@@ -42,24 +58,31 @@ import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.policy.PushPolicy;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ProvisionSorter;
 import org.apache.syncope.core.provisioning.api.pushpull.AnyObjectPushResultHandler;
+import org.apache.syncope.core.provisioning.api.pushpull.AnyPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.GroupPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReports;
 import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
 import org.apache.syncope.core.provisioning.api.pushpull.RealmPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushExecutor;
-import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.UserPushResultHandler;
+import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
+import org.apache.syncope.core.provisioning.java.utils.VirtualThreads;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> implements SyncopePushExecutor {
 
@@ -75,29 +98,39 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
     @Autowired
     protected SearchCondVisitor searchCondVisitor;
 
+    @Autowired
+    protected AnyTombstoneDAO anyTombstoneDAO;
+
     protected ProvisioningProfile<PushTask, PushActions> profile;
 
     protected final Map<String, MutablePair<Integer, String>> handled = new ConcurrentHashMap<>();
 
     protected final Map<String, PushActions> perContextActions = new ConcurrentHashMap<>();
 
+    protected Optional<PushResultHandlerDispatcher> currentDispatcher = Optional.empty();
+
     @Override
     public void reportHandled(final String anyType, final String key) {
-        MutablePair<Integer, String> pair = handled.get(anyType);
-        if (pair == null) {
-            pair = MutablePair.of(0, null);
-            handled.put(anyType, pair);
-        }
-        pair.setLeft(pair.getLeft() + 1);
-        pair.setRight(key);
-
-        if (!handled.isEmpty()) {
-            StringBuilder builder = new StringBuilder("Processed:\n");
-            handled.forEach((k, v) -> builder.append(' ').append(v.getLeft()).append('\t').
-                    append(k).
-                    append(" / latest: ").append(v.getRight()).
-                    append('\n'));
-            setStatus(builder.toString());
+        synchronized (handled) {
+            MutablePair<Integer, String> pair = handled.get(anyType);
+            if (pair == null) {
+                pair = MutablePair.of(0, null);
+                handled.put(anyType, pair);
+            }
+            pair.setLeft(pair.getLeft() + 1);
+            pair.setRight(key);
+
+            if (!handled.isEmpty()) {
+                StringBuilder builder = new StringBuilder("Processed:\n");
+                handled.forEach((k, v) -> builder.append(' ').append(v.getLeft()).append('\t').
+                        append(k).
+                        append(" / latest: ").append(v.getRight()).
+                        append('\n'));
+                currentDispatcher.map(PushResultHandlerDispatcher::getStatistics).
+                        filter(statistics -> !statistics.isEmpty()).
+                        ifPresent(statistics -> builder.append(statistics).append('\n'));
+                setStatus(builder.toString());
+            }
         }
     }
 
@@ -166,6 +199,356 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
         return result;
     }
 
+    protected static SearchCond keyCond(final AttrCond.Type type, final String key) {
+        AnyCond keyCond = new AnyCond(type);
+        keyCond.setSchema("key");
+        keyCond.setExpression(key);
+        return SearchCond.getLeaf(keyCond);
+    }
+
+    protected static OrderByClause byKey() {
+        OrderByClause keyClause = new OrderByClause();
+        keyClause.setField("key");
+        keyClause.setDirection(OrderByClause.Direction.ASC);
+        return keyClause;
+    }
+
+    /**
+     * Splits the keys of the any objects matching the given condition into contiguous ranges of about the same size,
+     * each holding at least one page; bounds are picked by a single keyset pass over the keys, at positions evenly
+     * spread over the count.
+     *
+     * @param kind any type kind
+     * @param cond search condition
+     * @param partitions requested number of partitions
+     * @return one search condition per key range
+     */
+    protected List<SearchCond> partition(final AnyTypeKind kind, final SearchCond cond, final int partitions) {
+        Realm base = profile.getTask().getSourceRealm();
+        Set<String> adminRealms = Set.of(base.getFullPath());
+
+        int count = searchDAO.count(base, true, adminRealms, cond, kind);
+        int effective = Math.min(partitions, count / AnyDAO.DEFAULT_PAGE_SIZE);
+        if (effective <= 1) {
+            return List.of(cond);
+        }
+
+        List<String> bounds = new ArrayList<>();
+        long position = 0;
+        String lastKey = null;
+        List<String> keys;
+        do {
+            keys = searchDAO.searchKeys(
+                    base,
+                    true,
+                    adminRealms,
+                    lastKey == null ? cond : SearchCond.getAnd(cond, keyCond(AttrCond.Type.GT, lastKey)),
+                    1,
+                    AnyDAO.DEFAULT_PAGE_SIZE,
+                    List.of(byKey()),
+                    kind);
+            for (String key : keys) {
+                if (bounds.size() < effective - 1 && position == (bounds.size() + 1L) * count / effective) {
+                    bounds.add(key);
+                }
+                position++;
+            }
+            if (!keys.isEmpty()) {
+                lastKey = keys.get(keys.size() - 1);
+            }
+        } while (keys.size() == AnyDAO.DEFAULT_PAGE_SIZE && bounds.size() < effective - 1);
+
+        List<SearchCond> conds = new ArrayList<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            List<SearchCond> partitionConds = new ArrayList<>();
+            partitionConds.add(cond);
+            if (i > 0) {
+                partitionConds.add(keyCond(AttrCond.Type.GE, bounds.get(i - 1)));
+            }
+            if (i < bounds.size()) {
+                partitionConds.add(keyCond(AttrCond.Type.LT, bounds.get(i)));
+            }
+            conds.add(SearchCond.getAnd(partitionConds));
+        }
+        return conds;
+    }
+
+    /**
+     * Walks the keys of the any objects matching the given condition, page by page, and dispatches them.
+     *
+     * @param anyType any type
+     * @param cond search condition
+     * @param dispatcher dispatcher
+     * @return false if pushing was interrupted, true otherwise
+     * @throws JobExecutionException if pushing fails
+     */
+    protected boolean pushKeys(
+            final AnyType anyType,
+            final SearchCond cond,
+            final PushResultHandlerDispatcher dispatcher)
+            throws JobExecutionException {
+
+        Realm base = profile.getTask().getSourceRealm();
+        Set<String> adminRealms = Set.of(base.getFullPath());
+
+        boolean result = true;
+        String lastKey = null;
+        List<String> keys;
+        do {
+            keys = searchDAO.searchKeys(
+                    base,
+                    true,
+                    adminRealms,
+                    lastKey == null ? cond : SearchCond.getAnd(cond, keyCond(AttrCond.Type.GT, lastKey)),
+                    1,
+                    AnyDAO.DEFAULT_PAGE_SIZE,
+                    List.of(byKey()),
+                    anyType.getKind());
+            for (int i = 0; i < keys.size() && result; i++) {
+                try {
+                    result = dispatcher.handle(anyType.getKey(), keys.get(i));
+                } catch (Exception e) {
+                    LOG.warn("Failure pushing {} '{}' on '{}'",
+                            anyType.getKey(), keys.get(i), profile.getTask().getResource(), e);
+                    throw new JobExecutionException("While pushing " + anyType.getKey() + " " + keys.get(i)
+                            + " on " + profile.getTask().getResource(), e);
+                }
+            }
+            if (!keys.isEmpty()) {
+                lastKey = keys.get(keys.size() - 1);
+            }
+        } while (keys.size() == AnyDAO.DEFAULT_PAGE_SIZE && result);
+
+        return result;
+    }
+
+    /**
+     * Splits the any objects matching the given condition into key ranges, then searches and dispatches each range
+     * from its own thread.
+     * Partition threads do not share the transaction of the job: each search runs in its own read-only transaction,
+     * hence only sees committed data, while handlers run in their own transactions as usual. Non-concurrent handlers
+     * created by partition threads are released when each partition completes.
+     *
+     * @param anyType any type
+     * @param cond search condition
+     * @param partitions requested number of partitions
+     * @param dispatcher dispatcher
+     * @return false if pushing was interrupted, true otherwise
+     * @throws JobExecutionException if pushing any partition fails
+     */
+    protected boolean pushPartitioned(
+            final AnyType anyType,
+            final SearchCond cond,
+            final int partitions,
+            final PushResultHandlerDispatcher dispatcher)
+            throws JobExecutionException {
+
+        List<SearchCond> conds = partition(anyType.getKind(), cond, partitions);
+        if (conds.size() == 1) {
+            return pushKeys(anyType, cond, dispatcher);
+        }
+
+        LOG.debug("Pushing {} in {} partitions", anyType.getKey(), conds.size());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(conds.size());
+        executor.setMaxPoolSize(conds.size());
+        executor.setThreadNamePrefix("pushPartition-" + profile.getTask().getKey() + "-");
+        if (provisioningProperties.isVirtualThreads()) {
+            VirtualThreads.configure(executor);
+        }
+        executor.setTaskDecorator(d -> () -> {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            try {
+                d.run();
+            } finally {
+                dispatcher.releaseHandlers();
+                SecurityContextHolder.clearContext();
+            }
+        });
+        executor.initialize();
+
+        boolean result = true;
+        try {
+            List<Future<Boolean>> futures = conds.stream().
+                    map(partitionCond -> executor.submit(() -> pushKeys(anyType, partitionCond, dispatcher))).
+                    collect(Collectors.toList());
+            for (Future<Boolean> future : futures) {
+                try {
+                    result &= future.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof JobExecutionException
+                            ? (JobExecutionException) e.getCause()
+                            : new JobExecutionException("While pushing " + anyType.getKey(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new JobExecutionException("Interrupted while pushing " + anyType.getKey(), e);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return result;
+    }
+
+    /**
+     * @param kind any type kind
+     * @param since watermark
+     * @return search condition matching the entities possibly changed since the given watermark, if any is worth
+     * using: for users and any objects, changes to the groups they are members of are to be considered too
+     */
+    protected Optional<SearchCond> changedSince(final AnyTypeKind kind, final OffsetDateTime since) {
+        String date = FormatUtils.format(since, SyncopeConstants.DATE_PATTERNS[0]);
+
+        List<SearchCond> changed = new ArrayList<>();
+        for (String schema : List.of("creationDate", "lastChangeDate")) {
+            AnyCond dateCond = new AnyCond(AttrCond.Type.GT);
+            dateCond.setSchema(schema);
+            dateCond.setExpression(date);
+            changed.add(SearchCond.getLeaf(dateCond));
+        }
+
+        if (kind != AnyTypeKind.GROUP) {
+            List<String> groups = searchDAO.searchKeys(
+                    realmDAO.getRoot(),
+                    true,
+                    Set.of(SyncopeConstants.ROOT_REALM),
+                    SearchCond.getOr(changed),
+                    1,
+                    AnyDAO.DEFAULT_PAGE_SIZE + 1,
+                    List.of(byKey()),
+                    AnyTypeKind.GROUP);
+            if (groups.size() > AnyDAO.DEFAULT_PAGE_SIZE) {
+                LOG.debug("Too many groups changed since {}, pushing all {}", since, kind);
+                return Optional.empty();
+            }
+
+            groups.forEach(group -> {
+                MembershipCond membershipCond = new MembershipCond();
+                membershipCond.setGroup(group);
+                changed.add(SearchCond.getLeaf(membershipCond));
+            });
+        }
+
+        return Optional.of(SearchCond.getOr(changed));
+    }
+
+    protected AnyPushResultHandler buildAnyHandler(final AnyTypeKind kind) {
+        AnyPushResultHandler handler;
+        switch (kind) {
+            case USER:
+                handler = buildUserHandler();
+                break;
+
+            case GROUP:
+                handler = buildGroupHandler();
+                break;
+
+            case ANY_OBJECT:
+            default:
+                handler = buildAnyObjectHandler();
+        }
+        handler.setProfile(profile);
+        return handler;
+    }
+
+    /**
+     * Pushes the deletions of the entities of the given any type deleted from the task's source realm since the
+     * given watermark, via the task's matching rule.
+     *
+     * @param anyType any type
+     * @param provision provision
+     * @param since watermark
+     * @return false if pushing was interrupted or failed, true otherwise
+     */
+    protected boolean pushDeletions(final AnyType anyType, final Provision provision, final OffsetDateTime since) {
+        AnyPushResultHandler handler = buildAnyHandler(anyType.getKind());
+
+        boolean result = true;
+        int page = 1;
+        List<AnyTombstone> tombstones;
+        do {
+            tombstones = anyTombstoneDAO.findSince(
+                    anyType.getKey(),
+                    profile.getTask().getSourceRealm().getFullPath(),
+                    since,
+                    page++,
+                    AnyDAO.DEFAULT_PAGE_SIZE);
+            for (int i = 0; i < tombstones.size() && result && !interrupt; i++) {
+                result = handler.handle(tombstones.get(i), provision);
+                reportHandled(anyType.getKey(), tombstones.get(i).getAnyKey());
+            }
+        } while (tombstones.size() == AnyDAO.DEFAULT_PAGE_SIZE && result && !interrupt);
+
+        return result && !interrupt;
+    }
+
+    /**
+     * The watermark recorded by the previous execution is moved back by {@code provisioning.pushWatermarkMargin}
+     * seconds, as entities saved just before it might have been committed only after that execution searched them, or
+     * saved by nodes whose clocks lag behind.
+     *
+     * @param pushTask push task
+     * @param anyType any type
+     * @return time since when changes to entities of the given any type are to be pushed, if incremental
+     */
+    protected Optional<OffsetDateTime> since(final PushTask pushTask, final String anyType) {
+        return pushTask.isIncremental()
+                ? pushTask.getWatermark(anyType).
+                        map(watermark -> watermark.minusSeconds(provisioningProperties.getPushWatermarkMargin()))
+                : Optional.empty();
+    }
+
+    /**
+     * Tombstones are kept for at least {@code provisioning.pushTombstoneMaxAge} seconds and, anyway, as long as
+     * they are newer than the oldest watermark of any incremental push task, so that no task can miss deletions, no
+     * matter how long since it last ran.
+     *
+     * @param now current time
+     * @return date before which tombstones can be safely removed
+     */
+    protected OffsetDateTime tombstonesNeededSince(final OffsetDateTime now) {
+        OffsetDateTime result = now.minusSeconds(provisioningProperties.getPushTombstoneMaxAge());
+
+        List<String> anyTypes = anyTypeDAO.findAll().stream().map(AnyType::getKey).collect(Collectors.toList());
+        for (PushTask task : taskDAO.<SchedTask>findAll(TaskType.PUSH).stream().
+                map(PushTask.class::cast).collect(Collectors.toList())) {
+
+            if (task.isIncremental()) {
+                for (String anyType : anyTypes) {
+                    Optional<OffsetDateTime> since = since(task, anyType);
+                    if (since.isPresent() && since.get().isBefore(result)) {
+                        result = since.get();
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    protected static boolean hasFailures(final ProvisioningReports results) {
+        return Stream.of(ProvisioningReports.Category.values()).
+                anyMatch(category -> Stream.of(ResourceOperation.values()).
+                anyMatch(operation -> results.count(category, operation, ProvisioningReport.Status.FAILURE) > 0));
+    }
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        try {
+            return super.doExecute(dryRun, executor, context);
+        } finally {
+            // removes any detail spooled while reporting
+            if (profile != null) {
+                profile.getResults().close();
+            }
+        }
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PushTask pushTask,
@@ -185,7 +568,9 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
                         orElse(ConflictResolutionAction.IGNORE));
         profile.setExecutor(executor);
 
-        PushResultHandlerDispatcher dispatcher = new PushResultHandlerDispatcher(profile, this);
+        PushResultHandlerDispatcher dispatcher =
+                new PushResultHandlerDispatcher(profile, this, provisioningProperties.isVirtualThreads());
+        currentDispatcher = Optional.of(dispatcher);
 
         if (!profile.isDryRun()) {
             for (PushActions action : profile.getActions()) {
@@ -195,6 +580,13 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
 
         setStatus("Initialization completed");
 
+        // entities changed from now on will be pushed by the next execution, when incremental
+        OffsetDateTime watermark = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Set<String> completed = new HashSet<>();
+        if (pushTask.isIncremental() && !dryRun && anyTombstoneDAO.isEnabled()) {
+            anyTombstoneDAO.deleteBefore(tombstonesNeededSince(watermark));
+        }
+
         // First realms...
         if (pushTask.getResource().getOrgUnit() != null) {
             setStatus("Pushing realms");
@@ -234,47 +626,56 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
 
             AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(anyType.getKind()).dao();
 
-            dispatcher.addHandlerSupplier(provision.getAnyType(), () -> {
-                SyncopePushResultHandler handler;
-                switch (anyType.getKind()) {
-                    case USER:
-                        handler = buildUserHandler();
-                        break;
-
-                    case GROUP:
-                        handler = buildGroupHandler();
-                        break;
-
-                    case ANY_OBJECT:
-                    default:
-                        handler = buildAnyObjectHandler();
-                }
-                handler.setProfile(profile);
-                return handler;
-            });
+            dispatcher.addHandlerSupplier(provision.getAnyType(), () -> buildAnyHandler(anyType.getKind()));
 
             String filter = pushTask.getFilter(anyType.getKey()).orElse(null);
             SearchCond cond = StringUtils.isBlank(filter)
                     ? anyDAO.getAllMatchingCond()
                     : SearchCondConverter.convert(searchCondVisitor, filter);
-            int count = searchDAO.count(
-                    profile.getTask().getSourceRealm(),
-                    true,
-                    Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                    cond,
-                    anyType.getKind());
-            boolean result = true;
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1 && result; page++) {
-                List<? extends Any<?>> anys = searchDAO.search(
-                        profile.getTask().getSourceRealm(),
-                        true,
-                        Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        anyType.getKind());
-                result = doHandle(anys, dispatcher, pushTask.getResource());
+            Optional<OffsetDateTime> since = since(pushTask, anyType.getKey());
+            boolean deletions = true;
+            if (since.isPresent()) {
+                // deletions first, as deleted entities' remote objects could clash with newly created ones;
+                // there is no telling whether deleted entities used to match the filter, if any
+                if (pushTask.isPerformDelete() && anyTombstoneDAO.isEnabled()) {
+                    if (StringUtils.isBlank(filter)) {
+                        deletions = pushDeletions(anyType, provision, since.get());
+                    } else {
+                        LOG.debug("Not pushing deletions of {} as filtered by {}", anyType.getKey(), filter);
+                    }
+                }
+
+                Optional<SearchCond> changed = changedSince(anyType.getKind(), since.get());
+                if (changed.isPresent()) {
+                    cond = SearchCond.getAnd(cond, changed.get());
+                }
+            }
+
+            boolean complete;
+            if (provisioningProperties.getPushPartitions() > 1) {
+                complete = pushPartitioned(anyType, cond, provisioningProperties.getPushPartitions(), dispatcher);
+            } else {
+                boolean result = true;
+                String lastKey = null;
+                List<? extends Any<?>> anys;
+                do {
+                    anys = searchDAO.searchAfter(
+                            profile.getTask().getSourceRealm(),
+                            true,
+                            Set.of(profile.getTask().getSourceRealm().getFullPath()),
+                            cond,
+                            lastKey,
+                            AnyDAO.DEFAULT_PAGE_SIZE,
+                            anyType.getKind());
+                    if (!anys.isEmpty()) {
+                        lastKey = anys.get(anys.size() - 1).getKey();
+                        result = doHandle(anys, dispatcher, pushTask.getResource());
+                    }
+                } while (anys.size() == AnyDAO.DEFAULT_PAGE_SIZE && result);
+                complete = result;
+            }
+            if (complete && deletions) {
+                completed.add(anyType.getKey());
             }
         }
 
@@ -286,6 +687,11 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
 
         dispatcher.cleanup();
 
+        if (pushTask.isIncremental() && !dryRun && !interrupted && !hasFailures(profile.getResults())) {
+            completed.forEach(anyType -> pushTask.setWatermark(anyType, watermark));
+            taskDAO.save(pushTask);
+        }
+
         setStatus("Push done");
 
         String result = createReport(profile.getResults(), pushTask.getResource(), dryRun);
@@ -32,9 +32,10 @@ public class PushResultHandlerDispatcher
 
     public PushResultHandlerDispatcher(
             final ProvisioningProfile<PushTask, PushActions> profile,
-            final SyncopePushExecutor executor) {
+            final SyncopePushExecutor executor,
+            final boolean virtualThreads) {
 
-        super(profile);
+        super(profile, virtualThreads);
         this.executor = executor;
     }
 
@@ -45,7 +46,7 @@ public class PushResultHandlerDispatcher
             return false;
         }
 
-        if (ecs.isEmpty()) {
+        if (!isConcurrent()) {
             boolean result = nonConcurrentHandler(anyType).handle(anyKey);
 
             executor.reportHandled(anyType, anyKey);
@@ -54,7 +55,7 @@ public class PushResultHandlerDispatcher
         }
 
         try {
-            submit(() -> {
+            submit(anyKey, () -> {
                 suppliers.get(anyType).get().handle(anyKey);
 
                 executor.reportHandled(anyType, anyKey);
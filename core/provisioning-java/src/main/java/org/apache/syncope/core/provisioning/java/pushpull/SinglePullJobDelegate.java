@@ -109,7 +109,7 @@ public class SinglePullJobDelegate extends PullJobDelegate implements SyncopeSin
                 }
             });
 
-            profile = new ProvisioningProfile<>(connector, task);
+            profile = new ProvisioningProfile<>(connector, task, true);
             profile.setDryRun(false);
             profile.setConflictResolutionAction(ConflictResolutionAction.FIRSTMATCH);
             profile.getActions().addAll(getPullActions(pullTaskTO.getActions().stream().
@@ -164,7 +164,7 @@ public class SinglePullJobDelegate extends PullJobDelegate implements SyncopeSin
                 action.afterAll(profile);
             }
 
-            return profile.getResults();
+            return profile.getResults().asList();
         } catch (Exception e) {
             throw e instanceof JobExecutionException
                     ? (JobExecutionException) e
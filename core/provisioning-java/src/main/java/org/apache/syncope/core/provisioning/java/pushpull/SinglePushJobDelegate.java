@@ -69,7 +69,7 @@ public class SinglePushJobDelegate extends PushJobDelegate implements SyncopeSin
         task.setPerformDelete(pushTaskTO.isPerformDelete());
         task.setSyncStatus(pushTaskTO.isSyncStatus());
 
-        profile = new ProvisioningProfile<>(connector, task);
+        profile = new ProvisioningProfile<>(connector, task, true);
         profile.setExecutor(executor);
         profile.getActions().addAll(getPushActions(pushTaskTO.getActions().stream().
                 map(implementationDAO::find).filter(Objects::nonNull).collect(Collectors.toList())));
@@ -91,7 +91,8 @@ public class SinglePushJobDelegate extends PushJobDelegate implements SyncopeSin
 
         try {
             before(resource, connector, pushTaskTO, executor);
-            PushResultHandlerDispatcher dispatcher = new PushResultHandlerDispatcher(profile, this);
+            PushResultHandlerDispatcher dispatcher =
+                    new PushResultHandlerDispatcher(profile, this, provisioningProperties.isVirtualThreads());
 
             AnyType anyType = anyTypeDAO.find(provision.getAnyType());
 
@@ -120,7 +121,7 @@ public class SinglePushJobDelegate extends PushJobDelegate implements SyncopeSin
                 action.afterAll(profile);
             }
 
-            return profile.getResults();
+            return profile.getResults().asList();
         } catch (Exception e) {
             throw e instanceof JobExecutionException
                     ? (JobExecutionException) e
@@ -151,7 +152,7 @@ public class SinglePushJobDelegate extends PushJobDelegate implements SyncopeSin
                 action.afterAll(profile);
             }
 
-            return profile.getResults().get(0);
+            return profile.getResults().asList().get(0);
         } catch (Exception e) {
             throw e instanceof JobExecutionException
                     ? (JobExecutionException) e
@@ -19,63 +19,102 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
+import org.apache.syncope.common.lib.types.ThreadPoolSettings;
 import org.apache.syncope.core.persistence.api.entity.task.ProvisioningTask;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningActions;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopeResultHandler;
+import org.apache.syncope.core.provisioning.java.utils.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+/**
+ * Dispatches pull / push handling, possibly concurrently according to the task's concurrent settings.
+ *
+ * When concurrent, work is partitioned by key (e.g. connObjectKey value) among {@code corePoolSize} lanes, each
+ * served by a single thread, so that work on the same key is handled in submission order; lane queues are bounded,
+ * hence submission blocks when the matching lane is full, slowing down the connector or the push loop.
+ */
 public abstract class SyncopeResultHandlerDispatcher<
         T extends ProvisioningTask<?>, A extends ProvisioningActions, RA extends SyncopeResultHandler<T, A>> {
 
     protected static final Logger LOG = LoggerFactory.getLogger(SyncopeResultHandlerDispatcher.class);
 
-    protected final Optional<ThreadPoolTaskExecutor> tpte;
+    /**
+     * Overall queue capacity used when the concurrent settings do not set a lower one.
+     */
+    protected static final int MAX_QUEUE_CAPACITY = 1000;
 
-    protected final Optional<ExecutorCompletionService<Void>> ecs;
+    protected final List<ThreadPoolTaskExecutor> lanes = new ArrayList<>();
 
     protected final Map<String, Supplier<RA>> suppliers = new ConcurrentHashMap<>();
 
-    protected final Map<String, RA> handlers = new ConcurrentHashMap<>();
+    /**
+     * Non-concurrent handlers, one per thread as push tasks may search and dispatch from several threads.
+     */
+    protected final ThreadLocal<Map<String, RA>> handlers = ThreadLocal.withInitial(HashMap::new);
 
-    protected final List<Future<Void>> futures = new ArrayList<>();
+    protected final LongAdder submitted = new LongAdder();
 
-    public SyncopeResultHandlerDispatcher(final ProvisioningProfile<T, A> profile) {
-        if (profile.getTask().getConcurrentSettings() == null) {
-            tpte = Optional.empty();
-            ecs = Optional.empty();
-        } else {
-            ThreadPoolTaskExecutor t = new ThreadPoolTaskExecutor();
-            t.setCorePoolSize(profile.getTask().getConcurrentSettings().getCorePoolSize());
-            t.setMaxPoolSize(profile.getTask().getConcurrentSettings().getMaxPoolSize());
-            t.setQueueCapacity(profile.getTask().getConcurrentSettings().getQueueCapacity());
-            t.setWaitForTasksToCompleteOnShutdown(true);
-            t.setThreadNamePrefix("provisioningTask-" + profile.getTask().getKey() + "-");
-            t.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    protected final LongAdder completed = new LongAdder();
 
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            t.setTaskDecorator(d -> () -> {
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                d.run();
-            });
+    protected final long started = System.nanoTime();
 
-            t.initialize();
-            this.tpte = Optional.of(t);
+    public SyncopeResultHandlerDispatcher(final ProvisioningProfile<T, A> profile, final boolean virtualThreads) {
+        ThreadPoolSettings settings = profile.getTask().getConcurrentSettings();
+        if (settings != null) {
+            int laneCount = Math.max(1, settings.getCorePoolSize());
+            int laneCapacity = Math.max(1, Math.min(settings.getQueueCapacity(), MAX_QUEUE_CAPACITY) / laneCount);
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            this.ecs = Optional.of(new ExecutorCompletionService<>(t.getThreadPoolExecutor()));
+            for (int i = 0; i < laneCount; i++) {
+                ThreadPoolTaskExecutor t = new ThreadPoolTaskExecutor();
+                t.setCorePoolSize(1);
+                t.setMaxPoolSize(1);
+                t.setQueueCapacity(laneCapacity);
+                t.setWaitForTasksToCompleteOnShutdown(true);
+                t.setThreadNamePrefix("provisioningTask-" + profile.getTask().getKey() + "-" + i + "-");
+                // back-pressure: wait for room in the lane rather than running in the caller's thread
+                t.setRejectedExecutionHandler((runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Lane is shut down");
+                    }
+                    try {
+                        executor.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for lane", e);
+                    }
+                    // the lane might have been shut down while waiting: its workers would never run what was queued
+                    if (executor.isShutdown() && executor.remove(runnable)) {
+                        throw new RejectedExecutionException("Lane is shut down");
+                    }
+                });
+                if (virtualThreads) {
+                    VirtualThreads.configure(t);
+                }
+
+                t.setTaskDecorator(d -> () -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    d.run();
+                });
+
+                t.initialize();
+                lanes.add(t);
+            }
         }
     }
 
@@ -83,29 +122,75 @@ public abstract class SyncopeResultHandlerDispatcher<
         suppliers.put(key, supplier);
     }
 
+    protected boolean isConcurrent() {
+        return !lanes.isEmpty();
+    }
+
     protected RA nonConcurrentHandler(final String key) {
-        return Optional.ofNullable(handlers.get(key)).orElseGet(() -> {
-            RA h = suppliers.get(key).get();
-            handlers.put(key, h);
-            return h;
+        return handlers.get().computeIfAbsent(key, k -> suppliers.get(k).get());
+    }
+
+    /**
+     * Submits the given work to the lane matching the given partition key, waiting for room if the lane is full.
+     *
+     * @param partitionKey partition key, e.g. connObjectKey value
+     * @param runnable work to run
+     */
+    protected void submit(final String partitionKey, final Runnable runnable) {
+        if (!isConcurrent()) {
+            return;
+        }
+
+        ThreadPoolTaskExecutor lane = lanes.get(
+                Math.floorMod(partitionKey == null ? 0 : partitionKey.hashCode(), lanes.size()));
+        lane.execute(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                LOG.error("Unexpected error while handling {}", partitionKey, t);
+            } finally {
+                completed.increment();
+            }
         });
+        submitted.increment();
     }
 
-    protected void submit(final Runnable runnable) {
-        if (ecs.isPresent()) {
-            futures.add(ecs.get().submit(runnable, null));
+    /**
+     * @return queue and throughput figures, if concurrent; empty string otherwise
+     */
+    public String getStatistics() {
+        if (!isConcurrent()) {
+            return "";
         }
+
+        long done = completed.sum();
+        double seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        return String.format("Queued: %d, completed: %d, throughput: %.1f/s, lanes: %d",
+                Math.max(0, submitted.sum() - done), done, done / seconds, lanes.size());
+    }
+
+    /**
+     * Releases the non-concurrent handlers of the current thread.
+     */
+    protected void releaseHandlers() {
+        handlers.remove();
     }
 
     protected void cleanup() {
-        for (Future<Void> f : this.futures) {
+        releaseHandlers();
+
+        lanes.forEach(lane -> lane.getThreadPoolExecutor().shutdown());
+        for (ThreadPoolTaskExecutor lane : lanes) {
+            ThreadPoolExecutor executor = lane.getThreadPoolExecutor();
             try {
-                f.get();
-            } catch (ExecutionException | InterruptedException e) {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.debug("Waiting for completion: {}", getStatistics());
+                }
+            } catch (InterruptedException e) {
                 LOG.error("Unexpected error when waiting for completion", e);
+                Thread.currentThread().interrupt();
             }
+            lane.shutdown();
         }
-
-        tpte.ifPresent(ThreadPoolTaskExecutor::shutdown);
     }
 }
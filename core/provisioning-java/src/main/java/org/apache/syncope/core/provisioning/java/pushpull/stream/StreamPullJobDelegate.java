@@ -183,7 +183,7 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
             task.setDestinationRealm(realmDAO.findByFullPath(pullTaskTO.getDestinationRealm()));
             task.setRemediation(pullTaskTO.isRemediation());
 
-            profile = new ProvisioningProfile<>(connector, task);
+            profile = new ProvisioningProfile<>(connector, task, true);
             profile.setDryRun(false);
             profile.setConflictResolutionAction(conflictResolutionAction);
             profile.getActions().addAll(getPullActions(pullTaskTO.getActions().stream().
@@ -234,7 +234,7 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
                 action.afterAll(profile);
             }
 
-            return profile.getResults();
+            return profile.getResults().asList();
         } catch (Exception e) {
             throw e instanceof JobExecutionException
                     ? (JobExecutionException) e
@@ -143,13 +143,14 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
             task.setPerformDelete(true);
             task.setSyncStatus(false);
 
-            profile = new ProvisioningProfile<>(connector, task);
+            profile = new ProvisioningProfile<>(connector, task, true);
             profile.setExecutor(executor);
             profile.getActions().addAll(getPushActions(pushTaskTO.getActions().stream().
                     map(implementationDAO::find).filter(Objects::nonNull).collect(Collectors.toList())));
             profile.setConflictResolutionAction(ConflictResolutionAction.FIRSTMATCH);
 
-            PushResultHandlerDispatcher dispatcher = new PushResultHandlerDispatcher(profile, this);
+            PushResultHandlerDispatcher dispatcher =
+                    new PushResultHandlerDispatcher(profile, this, provisioningProperties.isVirtualThreads());
 
             for (PushActions action : profile.getActions()) {
                 action.beforeAll(profile);
@@ -180,7 +181,7 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
                 action.afterAll(profile);
             }
 
-            return profile.getResults();
+            return profile.getResults().asList();
         } catch (Exception e) {
             throw e instanceof JobExecutionException
                     ? (JobExecutionException) e
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.utils;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Runs executor tasks on virtual threads, when supported by the running JVM (Java 21 or later): threads blocked on
+ * connector calls then no longer hold a platform thread each.
+ *
+ * Virtual threads are looked up reflectively, as the code base targets Java 17.
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final Optional<Method> OF_VIRTUAL;
+
+    private static final Optional<Method> NAME;
+
+    private static final Optional<Method> FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+
+            // preview API on Java 19 and 20: fails unless preview features are enabled
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Virtual threads not supported by the running JVM");
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = Optional.ofNullable(ofVirtual);
+        NAME = Optional.ofNullable(name);
+        FACTORY = Optional.ofNullable(factory);
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL.isPresent();
+    }
+
+    /**
+     * Builds a factory for virtual threads, named after the given prefix followed by a counter.
+     *
+     * @param threadNamePrefix thread name prefix
+     * @return factory for virtual threads, or empty if not supported by the running JVM
+     */
+    public static Optional<ThreadFactory> factory(final String threadNamePrefix) {
+        return OF_VIRTUAL.map(ofVirtual -> {
+            try {
+                Object builder = NAME.get().invoke(ofVirtual.invoke(null), threadNamePrefix, 0L);
+                return (ThreadFactory) FACTORY.get().invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                LOG.error("Could not build virtual thread factory", e);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Makes the given executor, not yet initialized, run its tasks on virtual threads; pool sizes keep bounding the
+     * number of concurrent tasks, but can be raised as each thread no longer costs a platform thread.
+     *
+     * @param executor executor to configure
+     * @return whether virtual threads are supported by the running JVM and were set
+     */
+    public static boolean configure(final ThreadPoolTaskExecutor executor) {
+        Optional<ThreadFactory> factory = factory(executor.getThreadNamePrefix());
+        if (factory.isEmpty()) {
+            LOG.warn("Virtual threads not supported by the running JVM, using platform threads for {}",
+                    executor.getThreadNamePrefix());
+            return false;
+        }
+
+        executor.setThreadFactory(factory.get());
+        return true;
+    }
+
+    private VirtualThreads() {
+    }
+}
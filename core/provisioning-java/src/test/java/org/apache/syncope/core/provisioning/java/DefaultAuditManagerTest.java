@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.syncope.common.lib.audit.AuditEntry;
+import org.apache.syncope.common.lib.request.PasswordPatch;
+import org.apache.syncope.common.lib.request.UserCR;
+import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.entity.AuditConf;
+import org.apache.syncope.core.provisioning.java.audit.AuditPipeline;
+import org.apache.syncope.core.provisioning.java.cache.EventSubscriptionIndex;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.SecurityProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+class DefaultAuditManagerTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    private static final String SECURITY_ANSWER = "Rossini";
+
+    @BeforeAll
+    static void adminUser() {
+        // required to store entries as admin
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("securityProperties", new SecurityProperties());
+        ApplicationContextProvider.setBeanFactory(beanFactory);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        ApplicationContextProvider.setBeanFactory(null);
+    }
+
+    private static void assertMasked(final String serialized) {
+        Assertions.assertNotNull(serialized);
+        Assertions.assertFalse(serialized.contains(PASSWORD), serialized);
+        Assertions.assertFalse(serialized.contains(SECURITY_ANSWER), serialized);
+        Assertions.assertTrue(serialized.contains(DefaultAuditManager.MASKED_VALUE), serialized);
+    }
+
+    private static UserTO userTO() {
+        UserTO userTO = new UserTO();
+        userTO.setUsername("rossini");
+        userTO.setPassword(PASSWORD);
+        userTO.setSecurityAnswer(SECURITY_ANSWER);
+        return userTO;
+    }
+
+    private static UserCR userCR() {
+        return new UserCR.Builder("/", "rossini").password(PASSWORD).securityAnswer(SECURITY_ANSWER).build();
+    }
+
+    private static UserUR userUR() {
+        return new UserUR.Builder("1417acbe-cbf6-4277-9372-e75e04f97000").
+                password(new PasswordPatch.Builder().value(PASSWORD).onSyncope(true).build()).
+                build();
+    }
+
+    @Test
+    void maskAndSerialize() {
+        UserTO userTO = userTO();
+        String serialized = DefaultAuditManager.maskAndSerialize(userTO);
+        assertMasked(serialized);
+        Assertions.assertTrue(serialized.contains("rossini"));
+        // audited objects are not altered
+        Assertions.assertEquals(PASSWORD, userTO.getPassword());
+        Assertions.assertEquals(SECURITY_ANSWER, userTO.getSecurityAnswer());
+
+        UserCR userCR = userCR();
+        assertMasked(DefaultAuditManager.maskAndSerialize(userCR));
+        Assertions.assertEquals(PASSWORD, userCR.getPassword());
+
+        UserUR userUR = userUR();
+        String serializedUR = DefaultAuditManager.maskAndSerialize(userUR);
+        Assertions.assertFalse(serializedUR.contains(PASSWORD), serializedUR);
+        Assertions.assertTrue(serializedUR.contains(DefaultAuditManager.MASKED_VALUE), serializedUR);
+        Assertions.assertEquals(PASSWORD, userUR.getPassword().getValue());
+    }
+
+    @Test
+    void audit() {
+        List<AuditEntry> stored = new ArrayList<>();
+        AuditConfDAO auditConfDAO = mock(AuditConfDAO.class);
+        AuditConf auditConf = mock(AuditConf.class);
+        when(auditConf.isActive()).thenReturn(true);
+        when(auditConfDAO.find(anyString())).thenReturn(auditConf);
+        doAnswer(ic -> stored.addAll(ic.getArgument(0))).when(auditConfDAO).saveEntries(anyList());
+
+        // asynchronous, but not started: entries are stored straight away
+        ProvisioningProperties.AuditProperties props = new ProvisioningProperties.AuditProperties();
+        props.setAsync(true);
+
+        DefaultAuditManager auditManager = new DefaultAuditManager(
+                auditConfDAO, mock(EventSubscriptionIndex.class), new AuditPipeline(auditConfDAO, props));
+        auditManager.audit(
+                "admin",
+                AuditElements.EventCategoryType.LOGIC,
+                "UserLogic",
+                null,
+                "update",
+                AuditElements.Result.SUCCESS,
+                userTO(),
+                userTO(),
+                userCR(),
+                userUR());
+
+        Assertions.assertEquals(1, stored.size());
+        AuditEntry entry = stored.get(0);
+        Assertions.assertEquals("admin", entry.getWho());
+        assertMasked(entry.getBefore());
+        assertMasked(entry.getOutput());
+        Assertions.assertEquals(2, entry.getInputs().size());
+        entry.getInputs().forEach(input -> Assertions.assertFalse(input.contains(PASSWORD), input));
+    }
+}
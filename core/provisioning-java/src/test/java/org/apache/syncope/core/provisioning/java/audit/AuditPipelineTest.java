@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.audit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.audit.AuditEntry;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.SecurityProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+class AuditPipelineTest {
+
+    private static final String AUDIT_KEY = "[LOGIC]:[UserLogic]:[]:[create]:[SUCCESS]";
+
+    @BeforeAll
+    static void adminUser() {
+        // required to store entries as admin
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("securityProperties", new SecurityProperties());
+        ApplicationContextProvider.setBeanFactory(beanFactory);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        ApplicationContextProvider.setBeanFactory(null);
+    }
+
+    @TempDir
+    Path dir;
+
+    private List<String> stored;
+
+    private AtomicInteger failures;
+
+    private CountDownLatch storing;
+
+    private CountDownLatch release;
+
+    private ProvisioningProperties.AuditProperties props;
+
+    private AuditPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        stored = Collections.synchronizedList(new ArrayList<>());
+        failures = new AtomicInteger();
+        storing = new CountDownLatch(1);
+        release = new CountDownLatch(0);
+
+        AuditConfDAO auditConfDAO = mock(AuditConfDAO.class);
+        doAnswer(ic -> {
+            storing.countDown();
+            Assertions.assertTrue(release.await(10, TimeUnit.SECONDS));
+
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("database not available");
+            }
+
+            List<AuditEntry> entries = ic.getArgument(0);
+            stored.addAll(entries.stream().map(AuditEntry::getWho).collect(Collectors.toList()));
+            return null;
+        }).when(auditConfDAO).saveEntries(anyList());
+
+        props = new ProvisioningProperties.AuditProperties();
+        props.setAsync(true);
+        props.setQueueCapacity(2);
+        props.setWriters(1);
+        props.setSpillFile(dir.resolve("audit.spill").toString());
+
+        pipeline = new AuditPipeline(auditConfDAO, props);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        pipeline.shutdown();
+    }
+
+    private void enqueue(final String who) {
+        AuditEntry entry = new AuditEntry();
+        entry.setWho(who);
+        pipeline.enqueue(SyncopeConstants.MASTER_DOMAIN, AUDIT_KEY, entry);
+    }
+
+    private void awaitStored(final int size) throws InterruptedException {
+        for (int i = 0; i < 100 && stored.size() < size; i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertEquals(size, stored.size(), stored::toString);
+    }
+
+    // starts the pipeline and holds its only writer while storing the first entry, so that the queue fills up
+    private void startAndHold() throws InterruptedException {
+        release = new CountDownLatch(1);
+        pipeline.start();
+
+        enqueue("e0");
+        Assertions.assertTrue(storing.await(10, TimeUnit.SECONDS));
+        enqueue("e1");
+        enqueue("e2");
+    }
+
+    @Test
+    void storeWhenStopped() {
+        // not started: stored straight away, on the caller thread
+        enqueue("e0");
+        Assertions.assertEquals(List.of("e0"), stored);
+
+        pipeline.start();
+        pipeline.shutdown();
+
+        enqueue("e1");
+        Assertions.assertEquals(List.of("e0", "e1"), stored);
+    }
+
+    @Test
+    void batches() throws InterruptedException {
+        props.setQueueCapacity(100);
+        props.setBatchSize(10);
+        pipeline = new AuditPipeline(pipeline.auditConfDAO, props);
+        pipeline.start();
+
+        for (int i = 0; i < 50; i++) {
+            enqueue("e" + i);
+        }
+        awaitStored(50);
+        Assertions.assertEquals("e0", stored.get(0));
+        Assertions.assertEquals("e49", stored.get(49));
+    }
+
+    @Test
+    void block() throws Exception {
+        props.setOverflowPolicy(ProvisioningProperties.AuditProperties.OverflowPolicy.BLOCK);
+        startAndHold();
+
+        // the queue is full: the caller waits
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> enqueue("e3"));
+        Assertions.assertThrows(TimeoutException.class, () -> blocked.get(500, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        blocked.get(10, TimeUnit.SECONDS);
+
+        awaitStored(4);
+        Assertions.assertEquals(List.of("e0", "e1", "e2", "e3"), stored);
+    }
+
+    @Test
+    void dropOldest() throws InterruptedException {
+        props.setOverflowPolicy(ProvisioningProperties.AuditProperties.OverflowPolicy.DROP_OLDEST);
+        startAndHold();
+
+        // the queue is full: the caller does not wait, the oldest queued entry is dropped
+        enqueue("e3");
+
+        release.countDown();
+        awaitStored(3);
+        Assertions.assertEquals(List.of("e0", "e2", "e3"), stored);
+    }
+
+    @Test
+    void spill() throws InterruptedException, IOException {
+        props.setOverflowPolicy(ProvisioningProperties.AuditProperties.OverflowPolicy.SPILL);
+        startAndHold();
+
+        // the queue is full: the caller does not wait, the entry is spilled to disk
+        enqueue("e3");
+        Path spillFile = Path.of(props.getSpillFile());
+        Assertions.assertEquals(1, Files.readAllLines(spillFile).size());
+
+        // spilled entries are stored once the queue is idle
+        release.countDown();
+        awaitStored(4);
+        Assertions.assertEquals(List.of("e0", "e1", "e2", "e3"), stored);
+        Assertions.assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void spillOnStoreFailure() throws InterruptedException {
+        props.setOverflowPolicy(ProvisioningProperties.AuditProperties.OverflowPolicy.SPILL);
+        failures.set(1);
+        pipeline.start();
+
+        // first store fails: the entry is spilled, then stored when draining
+        enqueue("e0");
+        awaitStored(1);
+        Assertions.assertEquals(List.of("e0"), stored);
+        Assertions.assertFalse(Files.exists(Path.of(props.getSpillFile())));
+    }
+
+    @Test
+    void shutdownDrainsQueue() throws InterruptedException {
+        startAndHold();
+
+        release.countDown();
+        pipeline.shutdown();
+        Assertions.assertEquals(List.of("e0", "e1", "e2"), stored);
+    }
+}
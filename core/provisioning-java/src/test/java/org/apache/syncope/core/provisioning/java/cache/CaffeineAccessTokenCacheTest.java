@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
+import org.apache.syncope.core.persistence.api.entity.AccessToken;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AccessTokenCacheValue;
+import org.apache.syncope.core.spring.security.SyncopeGrantedAuthority;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CaffeineAccessTokenCacheTest {
+
+    private static final String DOMAIN = SyncopeConstants.MASTER_DOMAIN;
+
+    private static final long EXPIRATION = System.currentTimeMillis() + 3600000;
+
+    /**
+     * Conf params shared by all nodes.
+     */
+    private static class MapConfParamOps implements ConfParamOps {
+
+        private final Map<String, Map<String, Object>> params = new ConcurrentHashMap<>();
+
+        @Override
+        public Map<String, Object> list(final String domain) {
+            return new HashMap<>(params.getOrDefault(domain, Map.of()));
+        }
+
+        @Override
+        public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+            Object value = params.getOrDefault(domain, Map.of()).get(key);
+            return value == null ? defaultValue : reference.cast(value);
+        }
+
+        @Override
+        public <T> void set(final String domain, final String key, final T value) {
+            params.computeIfAbsent(domain, k -> new ConcurrentHashMap<>()).put(key, value);
+        }
+
+        @Override
+        public void remove(final String domain, final String key) {
+            params.getOrDefault(domain, new HashMap<>()).remove(key);
+        }
+    }
+
+    private MapConfParamOps confParamOps;
+
+    private AccessTokenDAO accessTokenDAO;
+
+    private CaffeineAccessTokenCache node1;
+
+    private CaffeineAccessTokenCache node2;
+
+    private static AccessTokenCacheValue value(final String jwtId, final String userKey) {
+        return new AccessTokenCacheValue(
+                jwtId,
+                EXPIRATION,
+                "username-" + userKey,
+                userKey,
+                Set.of(new SyncopeGrantedAuthority("USER_READ")),
+                "active",
+                false,
+                false);
+    }
+
+    private static User user(final String key) {
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(key);
+        when(user.getUsername()).thenReturn("username-" + key);
+        return user;
+    }
+
+    private CaffeineAccessTokenCache node() {
+        CaffeineAccessTokenCache node = new CaffeineAccessTokenCache(confParamOps, accessTokenDAO);
+        node.setCacheSpec("maximumSize=100");
+        return node;
+    }
+
+    private static void cache(final CaffeineAccessTokenCache node, final String jwtId, final String userKey) {
+        Assertions.assertTrue(node.put(DOMAIN, value(jwtId, userKey), node.generation(DOMAIN)));
+        Assertions.assertNotNull(node.get(DOMAIN, jwtId, EXPIRATION));
+    }
+
+    @BeforeEach
+    void setup() {
+        confParamOps = new MapConfParamOps();
+        accessTokenDAO = mock(AccessTokenDAO.class);
+
+        node1 = node();
+        node2 = node();
+
+        cache(node1, "jwt1", "user1");
+        cache(node1, "jwt2", "user2");
+        cache(node2, "jwt1", "user1");
+        cache(node2, "jwt2", "user2");
+    }
+
+    @Test
+    void differentExpiration() {
+        Assertions.assertNull(node1.get(DOMAIN, "jwt1", EXPIRATION + 1));
+        Assertions.assertNull(node1.get(DOMAIN, "unknown", EXPIRATION));
+    }
+
+    @Test
+    void tokenOwnerUpdateExpiresOnlyThatUser() {
+        when(accessTokenDAO.findByOwner("username-user1")).thenReturn(mock(AccessToken.class));
+
+        node1.any(new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, user("user1"), DOMAIN));
+
+        Assertions.assertNull(node1.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNotNull(node1.get(DOMAIN, "jwt2", EXPIRATION));
+
+        Assertions.assertNull(node2.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNotNull(node2.get(DOMAIN, "jwt2", EXPIRATION));
+    }
+
+    @Test
+    void updateOfUserWithoutTokenIsLocal() {
+        node1.any(new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, user("user1"), DOMAIN));
+
+        Assertions.assertNull(node1.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNotNull(node2.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNull(confParamOps.get(
+                DOMAIN, CaffeineAccessTokenCache.VERSION_CONF_PARAM, null, Long.class));
+    }
+
+    @Test
+    void roleChangeExpiresAll() {
+        node1.entity(new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, mock(Role.class), DOMAIN));
+
+        Assertions.assertNull(node1.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNull(node1.get(DOMAIN, "jwt2", EXPIRATION));
+        Assertions.assertNull(node2.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNull(node2.get(DOMAIN, "jwt2", EXPIRATION));
+    }
+
+    @Test
+    void accessTokenRemovalExpiresOnlyThatToken() {
+        AccessToken accessToken = mock(AccessToken.class);
+        when(accessToken.getKey()).thenReturn("jwt1");
+
+        node1.entity(new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, accessToken, DOMAIN));
+
+        Assertions.assertNull(node1.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNotNull(node1.get(DOMAIN, "jwt2", EXPIRATION));
+
+        Assertions.assertNull(node2.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNotNull(node2.get(DOMAIN, "jwt2", EXPIRATION));
+
+        Map<String, Object> params = confParamOps.list(DOMAIN);
+        Assertions.assertTrue(params.containsKey(CaffeineAccessTokenCache.EXPIRE_JWT_CONF_PARAM_PREFIX + "jwt1"));
+        Assertions.assertFalse(params.containsKey(CaffeineAccessTokenCache.EXPIRE_ALL_CONF_PARAM));
+    }
+
+    @Test
+    void notCachedIfExpiredWhileResolving() {
+        when(accessTokenDAO.findByOwner("username-user3")).thenReturn(mock(AccessToken.class));
+
+        // local expiration
+        long generation = node1.generation(DOMAIN);
+        node1.expire(DOMAIN, "jwt2");
+        Assertions.assertFalse(node1.put(DOMAIN, value("jwt3", "user3"), generation));
+        Assertions.assertNull(node1.get(DOMAIN, "jwt3", EXPIRATION));
+
+        // expiration on another node
+        generation = node2.generation(DOMAIN);
+        node1.any(new AnyLifecycleEvent<>(this, SyncDeltaType.UPDATE, user("user3"), DOMAIN));
+        Assertions.assertFalse(node2.put(DOMAIN, value("jwt3", "user3"), generation));
+        Assertions.assertNull(node2.get(DOMAIN, "jwt3", EXPIRATION));
+
+        // nothing changed in between
+        Assertions.assertTrue(node2.put(DOMAIN, value("jwt3", "user3"), node2.generation(DOMAIN)));
+        Assertions.assertNotNull(node2.get(DOMAIN, "jwt3", EXPIRATION));
+    }
+
+    @Test
+    void staleUserParamsArePruned() {
+        long stale = System.currentTimeMillis() - 2 * CaffeineAccessTokenCache.EXPIRE_USER_RETENTION;
+        confParamOps.set(DOMAIN, CaffeineAccessTokenCache.EXPIRE_USER_CONF_PARAM_PREFIX + "old", stale);
+        confParamOps.set(DOMAIN, CaffeineAccessTokenCache.EXPIRE_JWT_CONF_PARAM_PREFIX + "old", stale);
+
+        node1.expireUser(DOMAIN, "user1");
+
+        Map<String, Object> params = confParamOps.list(DOMAIN);
+        Assertions.assertFalse(params.containsKey(CaffeineAccessTokenCache.EXPIRE_USER_CONF_PARAM_PREFIX + "old"));
+        Assertions.assertFalse(params.containsKey(CaffeineAccessTokenCache.EXPIRE_JWT_CONF_PARAM_PREFIX + "old"));
+        Assertions.assertTrue(params.containsKey(CaffeineAccessTokenCache.EXPIRE_USER_CONF_PARAM_PREFIX + "user1"));
+    }
+
+    @Test
+    void laggingNodeExpiresAll() {
+        long version = confParamOps.get(DOMAIN, CaffeineAccessTokenCache.VERSION_CONF_PARAM, 0L, Long.class);
+
+        // per-User conf params older than retention might have been pruned meanwhile
+        confParamOps.set(
+                DOMAIN,
+                CaffeineAccessTokenCache.VERSION_CONF_PARAM,
+                version + 2 * CaffeineAccessTokenCache.EXPIRE_USER_RETENTION);
+
+        Assertions.assertNull(node2.get(DOMAIN, "jwt1", EXPIRATION));
+        Assertions.assertNull(node2.get(DOMAIN, "jwt2", EXPIRATION));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Set;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.cache.SearchCountCacheKey;
+import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CaffeineSearchCountCacheTest {
+
+    private static final String DOMAIN = SyncopeConstants.MASTER_DOMAIN;
+
+    private static final String OTHER_DOMAIN = "Two";
+
+    private CaffeineSearchCountCache node1;
+
+    private CaffeineSearchCountCache node2;
+
+    private static SearchCountCacheKey key(final String domain, final String value) {
+        AttrCond cond = new AttrCond(AttrCond.Type.EQ);
+        cond.setSchema("email");
+        cond.setExpression(value);
+
+        return new SearchCountCacheKey(
+                domain,
+                AnyTypeKind.USER,
+                SyncopeConstants.ROOT_REALM,
+                true,
+                Set.of(SyncopeConstants.ROOT_REALM),
+                SearchCond.getLeaf(cond));
+    }
+
+    private static CaffeineSearchCountCache node() {
+        CaffeineSearchCountCache node = new CaffeineSearchCountCache();
+        node.setCacheSpec("maximumSize=100,expireAfterWrite=30s");
+        return node;
+    }
+
+    @BeforeEach
+    void setup() {
+        node1 = node();
+        node2 = node();
+
+        for (CaffeineSearchCountCache node : new CaffeineSearchCountCache[] { node1, node2 }) {
+            Assertions.assertEquals(10, node.put(key(DOMAIN, "rossini@apache.org"), 10));
+            Assertions.assertEquals(5, node.put(key(DOMAIN, "verdi@apache.org"), 5));
+            Assertions.assertEquals(3, node.put(key(OTHER_DOMAIN, "rossini@apache.org"), 3));
+        }
+    }
+
+    @Test
+    void sameCondition() {
+        // keys are value-based
+        Assertions.assertEquals(10, node1.get(key(DOMAIN, "rossini@apache.org")));
+        Assertions.assertEquals(5, node1.get(key(DOMAIN, "verdi@apache.org")));
+        Assertions.assertEquals(3, node1.get(key(OTHER_DOMAIN, "rossini@apache.org")));
+        Assertions.assertNull(node1.get(key(DOMAIN, "puccini@apache.org")));
+    }
+
+    @Test
+    void createExpiresDomain() {
+        node1.any(new AnyLifecycleEvent<>(this, SyncDeltaType.CREATE, mock(User.class), DOMAIN));
+
+        Assertions.assertNull(node1.get(key(DOMAIN, "rossini@apache.org")));
+        Assertions.assertNull(node1.get(key(DOMAIN, "verdi@apache.org")));
+        Assertions.assertEquals(3, node1.get(key(OTHER_DOMAIN, "rossini@apache.org")));
+    }
+
+    @Test
+    void deleteExpiresDomain() {
+        node1.any(new AnyLifecycleEvent<>(this, SyncDeltaType.DELETE, mock(Group.class), OTHER_DOMAIN));
+
+        Assertions.assertNull(node1.get(key(OTHER_DOMAIN, "rossini@apache.org")));
+        Assertions.assertEquals(10, node1.get(key(DOMAIN, "rossini@apache.org")));
+
+        // counted again after the change
+        Assertions.assertEquals(2, node1.put(key(OTHER_DOMAIN, "rossini@apache.org"), 2));
+        Assertions.assertEquals(2, node1.get(key(OTHER_DOMAIN, "rossini@apache.org")));
+    }
+
+    @Test
+    void expirationIsLocal() {
+        node1.any(new AnyLifecycleEvent<>(this, SyncDeltaType.CREATE, mock(User.class), DOMAIN));
+
+        // not notified: other nodes keep their counts until expired
+        Assertions.assertNull(node1.get(key(DOMAIN, "rossini@apache.org")));
+        Assertions.assertEquals(10, node2.get(key(DOMAIN, "rossini@apache.org")));
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyAbout;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.AuditConf;
+import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventSubscriptionIndexTest {
+
+    private static final String DOMAIN = SyncopeConstants.MASTER_DOMAIN;
+
+    private static final String OTHER_DOMAIN = "Two";
+
+    private static String event(final String category, final String event, final AuditElements.Result result) {
+        return AuditLoggerName.buildEvent(AuditElements.EventCategoryType.LOGIC, category, null, event, result);
+    }
+
+    private static String auditKey(final String category, final String event, final AuditElements.Result result) {
+        return new AuditLoggerName(AuditElements.EventCategoryType.LOGIC, category, null, event, result).
+                toAuditKey();
+    }
+
+    private static boolean audited(
+            final EventSubscriptionIndex.Subscriptions subscriptions, final String category, final String event) {
+
+        return subscriptions.isAudited(AuditElements.EventCategoryType.LOGIC, category, null, event);
+    }
+
+    private static boolean notified(
+            final EventSubscriptionIndex.Subscriptions subscriptions, final String category, final String event) {
+
+        return subscriptions.isNotified(AuditElements.EventCategoryType.LOGIC, category, null, event);
+    }
+
+    private static AuditConf auditConf(final String key, final boolean active) {
+        AuditConf auditConf = mock(AuditConf.class);
+        when(auditConf.getKey()).thenReturn(key);
+        when(auditConf.isActive()).thenReturn(active);
+        return auditConf;
+    }
+
+    private static AnyAbout about(final String anyType, final String fiql) {
+        AnyType type = mock(AnyType.class);
+        when(type.getKey()).thenReturn(anyType);
+
+        AnyAbout about = mock(AnyAbout.class);
+        when(about.getAnyType()).thenReturn(type);
+        when(about.get()).thenReturn(fiql);
+        return about;
+    }
+
+    private static Notification notification(
+            final String key,
+            final boolean active,
+            final List<String> events,
+            final AnyAbout... abouts) {
+
+        Notification notification = mock(Notification.class);
+        when(notification.getKey()).thenReturn(key);
+        when(notification.isActive()).thenReturn(active);
+        when(notification.getEvents()).thenReturn(events);
+        doReturn(List.of(abouts)).when(notification).getAbouts();
+        return notification;
+    }
+
+    private final Map<String, Long> versions = new HashMap<>();
+
+    private AuditConfDAO auditConfDAO;
+
+    private NotificationDAO notificationDAO;
+
+    private ConfParamOps confParamOps;
+
+    @BeforeEach
+    void setup() {
+        versions.clear();
+
+        auditConfDAO = mock(AuditConfDAO.class);
+        doReturn(List.of(
+                auditConf(auditKey("UserLogic", "create", AuditElements.Result.SUCCESS), true),
+                auditConf(auditKey("UserLogic", "update", AuditElements.Result.FAILURE), true),
+                auditConf(auditKey("UserLogic", "delete", AuditElements.Result.SUCCESS), false))).
+                when(auditConfDAO).findAll();
+
+        notificationDAO = mock(NotificationDAO.class);
+        doReturn(List.of(
+                notification(
+                        "onCreate",
+                        true,
+                        List.of(event("UserLogic", "create", AuditElements.Result.SUCCESS)),
+                        about(AnyTypeKind.USER.name(), "username==rossini"),
+                        about(AnyTypeKind.GROUP.name(), "not a condition")),
+                notification(
+                        "alsoOnCreate",
+                        true,
+                        List.of(
+                                event("UserLogic", "create", AuditElements.Result.SUCCESS),
+                                event("GroupLogic", "create", AuditElements.Result.FAILURE))),
+                notification(
+                        "inactive",
+                        false,
+                        List.of(event("UserLogic", "delete", AuditElements.Result.SUCCESS))))).
+                when(notificationDAO).findAll();
+
+        confParamOps = mock(ConfParamOps.class);
+        when(confParamOps.get(anyString(), eq(EventSubscriptionIndex.VERSION_CONF_PARAM), anyLong(), eq(Long.class))).
+                thenAnswer(ic -> versions.getOrDefault(ic.<String>getArgument(0), 0L));
+    }
+
+    private EventSubscriptionIndex index(final long checkInterval) {
+        return new EventSubscriptionIndex(
+                auditConfDAO, notificationDAO, confParamOps, new SearchCondVisitor(), checkInterval);
+    }
+
+    @Test
+    void audited() {
+        EventSubscriptionIndex.Subscriptions subscriptions = index(60000L).get(DOMAIN);
+
+        Assertions.assertTrue(subscriptions.isAudited(auditKey("UserLogic", "create", AuditElements.Result.SUCCESS)));
+        Assertions.assertFalse(subscriptions.isAudited(auditKey("UserLogic", "create", AuditElements.Result.FAILURE)));
+        // either result is enough
+        Assertions.assertTrue(audited(subscriptions, "UserLogic", "create"));
+        Assertions.assertTrue(audited(subscriptions, "UserLogic", "update"));
+        // inactive
+        Assertions.assertFalse(audited(subscriptions, "UserLogic", "delete"));
+        Assertions.assertFalse(audited(subscriptions, "GroupLogic", "create"));
+    }
+
+    @Test
+    void notified() {
+        EventSubscriptionIndex.Subscriptions subscriptions = index(60000L).get(DOMAIN);
+
+        Assertions.assertTrue(notified(subscriptions, "UserLogic", "create"));
+        Assertions.assertTrue(notified(subscriptions, "GroupLogic", "create"));
+        // inactive
+        Assertions.assertFalse(notified(subscriptions, "UserLogic", "delete"));
+
+        List<EventSubscriptionIndex.NotificationSubscription> onCreate =
+                subscriptions.getNotifications(event("UserLogic", "create", AuditElements.Result.SUCCESS));
+        Assertions.assertEquals(2, onCreate.size());
+
+        EventSubscriptionIndex.NotificationSubscription subscription = onCreate.stream().
+                filter(s -> "onCreate".equals(s.getNotification())).findFirst().orElseThrow();
+        // compiled once
+        Assertions.assertTrue(subscription.getAbout(AnyTypeKind.USER.name()).isPresent());
+        // invalid, reported as such
+        Assertions.assertTrue(subscription.hasAbout(AnyTypeKind.GROUP.name()));
+        Assertions.assertTrue(subscription.getAbout(AnyTypeKind.GROUP.name()).isEmpty());
+        Assertions.assertFalse(subscription.hasAbout(AnyTypeKind.ANY_OBJECT.name()));
+
+        Assertions.assertTrue(subscriptions.getNotifications(
+                event("UserLogic", "delete", AuditElements.Result.SUCCESS)).isEmpty());
+    }
+
+    @Test
+    void fresh() {
+        EventSubscriptionIndex index = index(60000L);
+        Assertions.assertTrue(index.getIfFresh(DOMAIN).isEmpty());
+
+        EventSubscriptionIndex.Subscriptions subscriptions = index.get(DOMAIN);
+        Assertions.assertSame(subscriptions, index.getIfFresh(DOMAIN).orElseThrow());
+        Assertions.assertSame(subscriptions, index.get(DOMAIN));
+        Assertions.assertTrue(index.getIfFresh(OTHER_DOMAIN).isEmpty());
+
+        // built once, version read once
+        verify(auditConfDAO).findAll();
+        verify(notificationDAO).findAll();
+        verify(confParamOps).get(DOMAIN, EventSubscriptionIndex.VERSION_CONF_PARAM, 0L, Long.class);
+    }
+
+    @Test
+    void versionChecked() {
+        // never fresh: the version is checked on each access
+        EventSubscriptionIndex index = index(0L);
+
+        EventSubscriptionIndex.Subscriptions subscriptions = index.get(DOMAIN);
+        Assertions.assertTrue(index.getIfFresh(DOMAIN).isEmpty());
+
+        // same version: not rebuilt
+        Assertions.assertSame(subscriptions, index.get(DOMAIN));
+        verify(auditConfDAO).findAll();
+
+        // changed by another node
+        versions.put(DOMAIN, 1L);
+        Assertions.assertNotSame(subscriptions, index.get(DOMAIN));
+        verify(auditConfDAO, times(2)).findAll();
+        verify(confParamOps, times(3)).get(DOMAIN, EventSubscriptionIndex.VERSION_CONF_PARAM, 0L, Long.class);
+    }
+
+    @Test
+    void changed() {
+        EventSubscriptionIndex index = index(60000L);
+        EventSubscriptionIndex.Subscriptions subscriptions = index.get(DOMAIN);
+        index.get(OTHER_DOMAIN);
+
+        // unrelated entities are ignored
+        index.entity(new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, mock(PlainSchema.class), DOMAIN));
+        Assertions.assertSame(subscriptions, index.getIfFresh(DOMAIN).orElseThrow());
+        verify(confParamOps, never()).set(anyString(), anyString(), anyLong());
+
+        index.entity(new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, mock(AuditConf.class), DOMAIN));
+        Assertions.assertTrue(index.getIfFresh(DOMAIN).isEmpty());
+        Assertions.assertTrue(index.getIfFresh(OTHER_DOMAIN).isPresent());
+        // other nodes are informed
+        verify(confParamOps).set(eq(DOMAIN), eq(EventSubscriptionIndex.VERSION_CONF_PARAM), anyLong());
+
+        index.entity(new EntityLifecycleEvent<>(this, SyncDeltaType.CREATE, mock(Notification.class), OTHER_DOMAIN));
+        Assertions.assertTrue(index.getIfFresh(OTHER_DOMAIN).isEmpty());
+        verify(confParamOps).set(eq(OTHER_DOMAIN), eq(EventSubscriptionIndex.VERSION_CONF_PARAM), anyLong());
+
+        Assertions.assertNotSame(subscriptions, index.get(DOMAIN));
+    }
+}
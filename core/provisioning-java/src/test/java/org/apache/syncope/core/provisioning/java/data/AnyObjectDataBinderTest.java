@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.data;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.to.AnyObjectTO;
+import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.anyobject.AMembership;
+import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.VirAttrHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AnyObjectDataBinderTest {
+
+    private AnyObjectDAO anyObjectDAO;
+
+    private AnyObjectDataBinderImpl binder;
+
+    private AnyObject printer1;
+
+    private AnyObject printer2;
+
+    private static AnyObject anyObject(final String key, final Realm realm, final AnyType type) {
+        AnyObject anyObject = mock(AnyObject.class);
+        when(anyObject.getKey()).thenReturn(key);
+        when(anyObject.getName()).thenReturn(key + "Name");
+        when(anyObject.getRealm()).thenReturn(realm);
+        when(anyObject.getType()).thenReturn(type);
+        return anyObject;
+    }
+
+    @BeforeEach
+    void setUp() {
+        Realm root = UserDataBinderTest.root();
+        AnyType type = UserDataBinderTest.anyType("PRINTER");
+
+        Group staticGroup = UserDataBinderTest.group("staticGroup", UserDataBinderTest.resource("resource-ldap"));
+        Group dynGroup = UserDataBinderTest.group("dynGroup", UserDataBinderTest.resource("resource-testdb"));
+
+        printer1 = anyObject("printer1", root, type);
+        doReturn(List.of(UserDataBinderTest.resource("resource-csv"))).when(printer1).getResources();
+        AMembership membership = mock(AMembership.class);
+        when(membership.getRightEnd()).thenReturn(staticGroup);
+        doReturn(List.of(membership)).when(printer1).getMemberships();
+
+        printer2 = anyObject("printer2", root, type);
+
+        Map<String, List<String>> dynRealms = Map.of(printer1.getKey(), List.of("dynRealm"));
+        Map<String, List<Group>> dynGroups = Map.of(printer1.getKey(), List.of(dynGroup));
+
+        anyObjectDAO = mock(AnyObjectDAO.class);
+        when(anyObjectDAO.findDynRealms(anyString())).
+                thenAnswer(ic -> dynRealms.getOrDefault(ic.<String>getArgument(0), List.of()));
+        when(anyObjectDAO.findDynRealms(anyCollection())).
+                thenAnswer(ic -> UserDataBinderTest.bulk(dynRealms, ic.getArgument(0)));
+        when(anyObjectDAO.findDynGroups(anyString())).
+                thenAnswer(ic -> dynGroups.getOrDefault(ic.<String>getArgument(0), List.of()));
+        when(anyObjectDAO.findDynGroups(anyCollection())).
+                thenAnswer(ic -> UserDataBinderTest.bulk(dynGroups, ic.getArgument(0)));
+
+        binder = new AnyObjectDataBinderImpl(
+                null,
+                null,
+                null,
+                anyObjectDAO,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                mock(DerAttrHandler.class),
+                mock(VirAttrHandler.class),
+                null,
+                null,
+                null,
+                null);
+    }
+
+    @Test
+    void sameAsSingle() {
+        List<AnyObject> anyObjects = List.of(printer1, printer2);
+        for (boolean details : new boolean[] { true, false }) {
+            Assertions.assertEquals(
+                    anyObjects.stream().map(anyObject -> binder.getAnyObjectTO(anyObject, details)).
+                            collect(Collectors.toList()),
+                    binder.getAnyObjectTOs(anyObjects, details));
+        }
+
+        // one query per page
+        verify(anyObjectDAO, times(2)).findDynRealms(anyCollection());
+        verify(anyObjectDAO, times(2)).findDynGroups(anyCollection());
+
+        Assertions.assertTrue(binder.getAnyObjectTOs(List.of(), true).isEmpty());
+    }
+
+    @Test
+    void prefetched() {
+        List<AnyObjectTO> anyObjectTOs = binder.getAnyObjectTOs(List.of(printer1, printer2), true);
+        verify(anyObjectDAO, never()).findAllResources(printer1);
+
+        AnyObjectTO anyObjectTO = anyObjectTOs.get(0);
+        Assertions.assertEquals("PRINTER", anyObjectTO.getType());
+        Assertions.assertEquals(List.of("dynRealm"), anyObjectTO.getDynRealms());
+        // own, static and dynamic group resources
+        Assertions.assertEquals(Set.of("resource-csv", "resource-ldap", "resource-testdb"), anyObjectTO.getResources());
+        Assertions.assertEquals(
+                List.of("staticGroup"),
+                anyObjectTO.getMemberships().stream().map(MembershipTO::getGroupKey).collect(Collectors.toList()));
+        Assertions.assertEquals(
+                List.of("dynGroup"),
+                anyObjectTO.getDynMemberships().stream().map(MembershipTO::getGroupKey).collect(Collectors.toList()));
+
+        anyObjectTO = anyObjectTOs.get(1);
+        Assertions.assertTrue(anyObjectTO.getDynRealms().isEmpty());
+        Assertions.assertTrue(anyObjectTO.getResources().isEmpty());
+        Assertions.assertTrue(anyObjectTO.getDynMemberships().isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.data;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.to.GroupTO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.VirAttrHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GroupDataBinderTest {
+
+    private static Map<String, Integer> counts(final Map<String, Integer> counts, final Collection<String> keys) {
+        return UserDataBinderTest.bulk(counts, keys);
+    }
+
+    private GroupDAO groupDAO;
+
+    private GroupDataBinderImpl binder;
+
+    private Group dynGroup;
+
+    private Group staticGroup;
+
+    private Group empty;
+
+    @BeforeEach
+    void setUp() {
+        Realm root = UserDataBinderTest.root();
+
+        dynGroup = UserDataBinderTest.group("dynGroup", UserDataBinderTest.resource("resource-testdb"));
+        when(dynGroup.getRealm()).thenReturn(root);
+        UDynGroupMembership uDynMembership = mock(UDynGroupMembership.class);
+        when(uDynMembership.getFIQLCond()).thenReturn("email==dyn@syncope.apache.org");
+        when(dynGroup.getUDynMembership()).thenReturn(uDynMembership);
+
+        staticGroup = UserDataBinderTest.group("staticGroup");
+        when(staticGroup.getRealm()).thenReturn(root);
+
+        empty = UserDataBinderTest.group("empty");
+        when(empty.getRealm()).thenReturn(root);
+
+        Map<String, List<String>> dynRealms = Map.of(dynGroup.getKey(), List.of("dynRealm"));
+        Map<String, Integer> uMembers = Map.of(dynGroup.getKey(), 1, staticGroup.getKey(), 5);
+        Map<String, Integer> aMembers = Map.of(staticGroup.getKey(), 2);
+        Map<String, Integer> uDynMembers = Map.of(dynGroup.getKey(), 3);
+        Map<String, Integer> aDynMembers = Map.of(dynGroup.getKey(), 4);
+
+        groupDAO = mock(GroupDAO.class);
+        when(groupDAO.findDynRealms(anyString())).
+                thenAnswer(ic -> dynRealms.getOrDefault(ic.<String>getArgument(0), List.of()));
+        when(groupDAO.findDynRealms(anyCollection())).
+                thenAnswer(ic -> UserDataBinderTest.bulk(dynRealms, ic.getArgument(0)));
+        when(groupDAO.countUMembers(anyString())).thenAnswer(ic -> uMembers.getOrDefault(ic.<String>getArgument(0), 0));
+        when(groupDAO.countUMembers(anyCollection())).thenAnswer(ic -> counts(uMembers, ic.getArgument(0)));
+        when(groupDAO.countAMembers(anyString())).thenAnswer(ic -> aMembers.getOrDefault(ic.<String>getArgument(0), 0));
+        when(groupDAO.countAMembers(anyCollection())).thenAnswer(ic -> counts(aMembers, ic.getArgument(0)));
+        // as GroupDAO#countUDynMembers(Group): 0 without dynamic user membership condition
+        when(groupDAO.countUDynMembers(any(Group.class))).thenAnswer(ic -> {
+            Group group = ic.getArgument(0);
+            return group.getUDynMembership() == null ? 0 : uDynMembers.getOrDefault(group.getKey(), 0);
+        });
+        when(groupDAO.countUDynMembers(anyCollection())).thenAnswer(ic -> counts(uDynMembers, ic.getArgument(0)));
+        when(groupDAO.countADynMembers(any(Group.class))).
+                thenAnswer(ic -> aDynMembers.getOrDefault(ic.<Group>getArgument(0).getKey(), 0));
+        when(groupDAO.countADynMembers(anyCollection())).thenAnswer(ic -> counts(aDynMembers, ic.getArgument(0)));
+
+        binder = new GroupDataBinderImpl(
+                null,
+                null,
+                null,
+                null,
+                null,
+                groupDAO,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                mock(DerAttrHandler.class),
+                mock(VirAttrHandler.class),
+                null,
+                null,
+                null,
+                null,
+                null);
+    }
+
+    @Test
+    void sameAsSingle() {
+        List<Group> groups = List.of(dynGroup, staticGroup, empty);
+        for (boolean details : new boolean[] { true, false }) {
+            Assertions.assertEquals(
+                    groups.stream().map(group -> binder.getGroupTO(group, details)).collect(Collectors.toList()),
+                    binder.getGroupTOs(groups, details));
+        }
+
+        // dynamic user members are only counted for groups with a dynamic user membership condition
+        verify(groupDAO, times(2)).countUDynMembers(List.of(dynGroup.getKey()));
+
+        Assertions.assertTrue(binder.getGroupTOs(List.of(), true).isEmpty());
+    }
+
+    @Test
+    void prefetched() {
+        List<GroupTO> groupTOs = binder.getGroupTOs(List.of(dynGroup, staticGroup, empty), false);
+
+        GroupTO groupTO = groupTOs.get(0);
+        Assertions.assertEquals(List.of("dynRealm"), groupTO.getDynRealms());
+        Assertions.assertEquals(Set.of("resource-testdb"), groupTO.getResources());
+        Assertions.assertEquals(1, groupTO.getStaticUserMembershipCount());
+        Assertions.assertEquals(0, groupTO.getStaticAnyObjectMembershipCount());
+        Assertions.assertEquals(3, groupTO.getDynamicUserMembershipCount());
+        Assertions.assertEquals(4, groupTO.getDynamicAnyObjectMembershipCount());
+        Assertions.assertEquals("email==dyn@syncope.apache.org", groupTO.getUDynMembershipCond());
+
+        groupTO = groupTOs.get(1);
+        Assertions.assertEquals(5, groupTO.getStaticUserMembershipCount());
+        Assertions.assertEquals(2, groupTO.getStaticAnyObjectMembershipCount());
+        Assertions.assertEquals(0, groupTO.getDynamicUserMembershipCount());
+
+        groupTO = groupTOs.get(2);
+        Assertions.assertTrue(groupTO.getDynRealms().isEmpty());
+        Assertions.assertEquals(0, groupTO.getStaticUserMembershipCount());
+        Assertions.assertEquals(0, groupTO.getDynamicAnyObjectMembershipCount());
+    }
+}
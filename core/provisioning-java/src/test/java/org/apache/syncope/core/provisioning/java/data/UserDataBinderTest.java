@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.data;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.Privilege;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.UMembership;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.VirAttrHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserDataBinderTest {
+
+    static ExternalResource resource(final String key) {
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn(key);
+        return resource;
+    }
+
+    static Group group(final String key, final ExternalResource... resources) {
+        Group group = mock(Group.class);
+        when(group.getKey()).thenReturn(key);
+        when(group.getName()).thenReturn(key + "Name");
+        doReturn(List.of(resources)).when(group).getResources();
+        return group;
+    }
+
+    static Realm root() {
+        Realm realm = mock(Realm.class);
+        when(realm.getFullPath()).thenReturn(SyncopeConstants.ROOT_REALM);
+        return realm;
+    }
+
+    static AnyType anyType(final String key) {
+        AnyType anyType = mock(AnyType.class);
+        when(anyType.getKey()).thenReturn(key);
+        return anyType;
+    }
+
+    // what a bulk DAO method returns: only the given keys having values
+    static <T> Map<String, T> bulk(final Map<String, T> values, final Collection<String> keys) {
+        return values.entrySet().stream().filter(entry -> keys.contains(entry.getKey())).
+                collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static Role role(final String key, final String privilege) {
+        Privilege priv = mock(Privilege.class);
+        when(priv.getKey()).thenReturn(privilege);
+
+        Role role = mock(Role.class);
+        when(role.getKey()).thenReturn(key);
+        doReturn(Set.of(priv)).when(role).getPrivileges();
+        return role;
+    }
+
+    private UserDAO userDAO;
+
+    private UserDataBinderImpl binder;
+
+    private User rossini;
+
+    private User verdi;
+
+    private User user(final String key, final Realm realm, final AnyType type) {
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(key);
+        when(user.getUsername()).thenReturn(key + "Username");
+        when(user.getRealm()).thenReturn(realm);
+        when(user.getType()).thenReturn(type);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        Realm root = root();
+        AnyType type = anyType(AnyTypeKind.USER.name());
+
+        Group staticGroup = group("staticGroup", resource("resource-ldap"));
+        Group dynGroup = group("dynGroup", resource("resource-testdb"), resource("resource-ldap"));
+
+        rossini = user("rossini", root, type);
+        doReturn(List.of(resource("resource-csv"))).when(rossini).getResources();
+        UMembership membership = mock(UMembership.class);
+        when(membership.getRightEnd()).thenReturn(staticGroup);
+        doReturn(List.of(membership)).when(rossini).getMemberships();
+        doReturn(List.of(role("staticRole", "priv1"))).when(rossini).getRoles();
+
+        verdi = user("verdi", root, type);
+
+        Map<String, List<String>> dynRealms = Map.of(rossini.getKey(), List.of("dynRealm"));
+        Map<String, List<Role>> dynRoles = Map.of(rossini.getKey(), List.of(role("dynRole", "priv2")));
+        Map<String, List<Group>> dynGroups = Map.of(rossini.getKey(), List.of(dynGroup));
+
+        userDAO = mock(UserDAO.class);
+        when(userDAO.findDynRealms(anyString())).
+                thenAnswer(ic -> dynRealms.getOrDefault(ic.<String>getArgument(0), List.of()));
+        when(userDAO.findDynRealms(anyCollection())).thenAnswer(ic -> bulk(dynRealms, ic.getArgument(0)));
+        when(userDAO.findDynRoles(anyString())).
+                thenAnswer(ic -> dynRoles.getOrDefault(ic.<String>getArgument(0), List.of()));
+        when(userDAO.findDynRoles(anyCollection())).thenAnswer(ic -> bulk(dynRoles, ic.getArgument(0)));
+        when(userDAO.findDynGroups(anyString())).
+                thenAnswer(ic -> dynGroups.getOrDefault(ic.<String>getArgument(0), List.of()));
+        when(userDAO.findDynGroups(anyCollection())).thenAnswer(ic -> bulk(dynGroups, ic.getArgument(0)));
+
+        ConfParamOps confParamOps = mock(ConfParamOps.class);
+        when(confParamOps.get(SyncopeConstants.MASTER_DOMAIN, "return.password.value", Boolean.FALSE, Boolean.class)).
+                thenReturn(Boolean.FALSE);
+
+        binder = new UserDataBinderImpl(
+                null,
+                null,
+                null,
+                null,
+                userDAO,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                mock(DerAttrHandler.class),
+                mock(VirAttrHandler.class),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                mock(DelegationDAO.class),
+                confParamOps,
+                null);
+    }
+
+    @Test
+    void sameAsSingle() {
+        List<User> users = List.of(rossini, verdi);
+        for (boolean details : new boolean[] { true, false }) {
+            Assertions.assertEquals(
+                    users.stream().map(user -> binder.getUserTO(user, details)).collect(Collectors.toList()),
+                    binder.getUserTOs(users, details));
+        }
+
+        // one query per page, dynamic roles only with details
+        verify(userDAO, times(2)).findDynRealms(anyCollection());
+        verify(userDAO, times(2)).findDynGroups(anyCollection());
+        verify(userDAO).findDynRoles(anyCollection());
+
+        Assertions.assertTrue(binder.getUserTOs(List.of(), true).isEmpty());
+    }
+
+    @Test
+    void prefetched() {
+        List<UserTO> userTOs = binder.getUserTOs(List.of(rossini, verdi), true);
+        verify(userDAO, never()).findAllResources(rossini);
+        verify(userDAO, never()).findAllRoles(rossini);
+
+        UserTO userTO = userTOs.get(0);
+        Assertions.assertEquals(List.of("dynRealm"), userTO.getDynRealms());
+        // own, static and dynamic group resources
+        Assertions.assertEquals(Set.of("resource-csv", "resource-ldap", "resource-testdb"), userTO.getResources());
+        Assertions.assertEquals(List.of("staticRole"), userTO.getRoles());
+        Assertions.assertEquals(List.of("dynRole"), userTO.getDynRoles());
+        // static and dynamic role privileges
+        Assertions.assertEquals(Set.of("priv1", "priv2"), userTO.getPrivileges());
+        Assertions.assertEquals(
+                List.of("staticGroup"),
+                userTO.getMemberships().stream().map(MembershipTO::getGroupKey).collect(Collectors.toList()));
+        Assertions.assertEquals(
+                List.of("dynGroup"),
+                userTO.getDynMemberships().stream().map(MembershipTO::getGroupKey).collect(Collectors.toList()));
+
+        userTO = userTOs.get(1);
+        Assertions.assertTrue(userTO.getDynRealms().isEmpty());
+        Assertions.assertTrue(userTO.getResources().isEmpty());
+        Assertions.assertTrue(userTO.getPrivileges().isEmpty());
+        Assertions.assertTrue(userTO.getDynMemberships().isEmpty());
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.IdRepoImplementationType;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.Implementation;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
+import org.apache.syncope.core.provisioning.api.event.DynMembersRefreshEvent;
+import org.apache.syncope.core.provisioning.api.event.JobStatusEvent;
+import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.JobNamer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionException;
+import org.quartz.Scheduler;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GroupDynMembersRefreshTest {
+
+    private static final String GROUP_KEY = "37d15e4c-cdc1-460b-a591-8505c8133806";
+
+    private static final String TASK_NAME = "refresh dynamic members of group dynGroup";
+
+    private GroupDAO groupDAO;
+
+    private Group group;
+
+    private SchedTask task;
+
+    @BeforeEach
+    void setUp() {
+        group = mock(Group.class);
+        when(group.getKey()).thenReturn(GROUP_KEY);
+        when(group.getName()).thenReturn("dynGroup");
+
+        groupDAO = mock(GroupDAO.class);
+        when(groupDAO.find(GROUP_KEY)).thenReturn(group);
+
+        task = mock(SchedTask.class);
+        when(task.getKey()).thenReturn("e95555d2-1b09-42c8-b25b-f4c4ec597979");
+    }
+
+    private GroupDynMembersRefreshTaskJobDelegate delegate(final List<String> statuses) {
+        TaskDataBinder taskDataBinder = mock(TaskDataBinder.class);
+        when(taskDataBinder.buildRefDesc(task)).thenReturn(TASK_NAME);
+
+        ApplicationEventPublisher publisher = event -> statuses.add(((JobStatusEvent) event).getJobStatus());
+
+        GroupDynMembersRefreshTaskJobDelegate delegate = new GroupDynMembersRefreshTaskJobDelegate();
+        ReflectionTestUtils.setField(delegate, "groupDAO", groupDAO);
+        ReflectionTestUtils.setField(delegate, "groupKey", GROUP_KEY);
+        ReflectionTestUtils.setField(delegate, "task", task);
+        ReflectionTestUtils.setField(delegate, "taskDataBinder", taskDataBinder);
+        ReflectionTestUtils.setField(delegate, "publisher", publisher);
+        return delegate;
+    }
+
+    private GroupDynMembersRefreshListener listener(
+            final TaskDAO taskDAO,
+            final ImplementationDAO implementationDAO,
+            final EntityFactory entityFactory,
+            final JobManager jobManager,
+            final Scheduler quartz) {
+
+        SchedulerFactoryBean scheduler = mock(SchedulerFactoryBean.class);
+        when(scheduler.getScheduler()).thenReturn(quartz);
+
+        return new GroupDynMembersRefreshListener(
+                groupDAO, taskDAO, implementationDAO, entityFactory, jobManager, scheduler);
+    }
+
+    @Test
+    void refreshReportsDelta() throws JobExecutionException {
+        when(groupDAO.refreshDynMembers(group)).thenReturn(Pair.of(Set.of("u1", "u2"), Set.of("u3")));
+
+        List<String> statuses = new ArrayList<>();
+        String result = delegate(statuses).doExecute(false, "admin", null);
+
+        Assertions.assertEquals("Group dynGroup dynamic members refreshed: 2 added, 1 removed", result);
+        Assertions.assertEquals(List.of("Refreshing dynamic members of group dynGroup", result), statuses);
+        verify(groupDAO).refreshDynMembers(group);
+    }
+
+    @Test
+    void dryRun() throws JobExecutionException {
+        List<String> statuses = new ArrayList<>();
+        String result = delegate(statuses).doExecute(true, "admin", null);
+
+        Assertions.assertEquals("Group dynGroup dynamic members not refreshed (dry run)", result);
+        Assertions.assertTrue(statuses.isEmpty());
+        verify(groupDAO, never()).refreshDynMembers(any(Group.class));
+    }
+
+    @Test
+    void groupNotFound() {
+        when(groupDAO.find(GROUP_KEY)).thenReturn(null);
+
+        Assertions.assertThrows(
+                JobExecutionException.class, () -> delegate(new ArrayList<>()).doExecute(false, "admin", null));
+    }
+
+    @Test
+    void listenerTriggersJob() throws Exception {
+        ImplementationDAO implementationDAO = mock(ImplementationDAO.class);
+        when(implementationDAO.findByType(IdRepoImplementationType.TASKJOB_DELEGATE)).thenReturn(List.of());
+        when(implementationDAO.save(any(Implementation.class))).thenAnswer(ic -> ic.getArgument(0));
+
+        Implementation implementation = mock(Implementation.class);
+        EntityFactory entityFactory = mock(EntityFactory.class);
+        when(entityFactory.newEntity(Implementation.class)).thenReturn(implementation);
+        when(entityFactory.newEntity(SchedTask.class)).thenReturn(task);
+
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        when(taskDAO.findByName(TaskType.SCHEDULED, TASK_NAME)).thenReturn(Optional.empty());
+        when(taskDAO.save(task)).thenReturn(task);
+
+        JobManager jobManager = mock(JobManager.class);
+        when(jobManager.register(eq(task), isNull(), anyString())).thenReturn(new HashMap<>());
+
+        Scheduler quartz = mock(Scheduler.class);
+
+        listener(taskDAO, implementationDAO, entityFactory, jobManager, quartz).
+                refresh(new DynMembersRefreshEvent(this, GROUP_KEY, SyncopeConstants.MASTER_DOMAIN));
+
+        verify(implementation).setBody(GroupDynMembersRefreshTaskJobDelegate.class.getName());
+        verify(task).setName(TASK_NAME);
+        verify(task).setActive(true);
+        verify(task).setJobDelegate(implementation);
+
+        ArgumentCaptor<JobDataMap> jobDataMap = ArgumentCaptor.forClass(JobDataMap.class);
+        verify(quartz).triggerJob(eq(JobNamer.getJobKey(task)), jobDataMap.capture());
+        Assertions.assertEquals(
+                GROUP_KEY,
+                jobDataMap.getValue().getString(GroupDynMembersRefreshTaskJobDelegate.GROUP_KEY_JOBDETAIL_KEY));
+        Assertions.assertFalse(jobDataMap.getValue().getBoolean(JobManager.DRY_RUN_JOBDETAIL_KEY));
+    }
+
+    @Test
+    void listenerSkipsMissingGroup() throws Exception {
+        when(groupDAO.find(GROUP_KEY)).thenReturn(null);
+
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        Scheduler quartz = mock(Scheduler.class);
+
+        listener(taskDAO, mock(ImplementationDAO.class), mock(EntityFactory.class), mock(JobManager.class), quartz).
+                refresh(new DynMembersRefreshEvent(this, GROUP_KEY, SyncopeConstants.MASTER_DOMAIN));
+
+        verify(taskDAO, never()).save(any(SchedTask.class));
+        verify(quartz, never()).triggerJob(any(), any(JobDataMap.class));
+    }
+}
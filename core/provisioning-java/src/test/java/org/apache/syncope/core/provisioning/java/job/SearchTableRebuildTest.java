@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.SearchTableDAO;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
+import org.apache.syncope.core.provisioning.api.event.JobStatusEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SearchTableRebuildTest {
+
+    private SearchTableDAO searchTableDAO;
+
+    private List<String> statuses;
+
+    private SearchTableRebuild delegate;
+
+    @BeforeEach
+    void setUp() {
+        searchTableDAO = mock(SearchTableDAO.class);
+        when(searchTableDAO.isEnabled()).thenReturn(true);
+
+        SchedTask task = mock(SchedTask.class);
+        when(task.getKey()).thenReturn("0b6e2ad1-d7d5-4a2f-a3b5-4a6c52a8f0bb");
+
+        TaskDataBinder taskDataBinder = mock(TaskDataBinder.class);
+        when(taskDataBinder.buildRefDesc(task)).thenReturn("rebuild search tables");
+
+        statuses = new ArrayList<>();
+        ApplicationEventPublisher publisher = event -> statuses.add(((JobStatusEvent) event).getJobStatus());
+
+        delegate = new SearchTableRebuild();
+        ReflectionTestUtils.setField(delegate, "searchTableDAO", searchTableDAO);
+        ReflectionTestUtils.setField(delegate, "task", task);
+        ReflectionTestUtils.setField(delegate, "taskDataBinder", taskDataBinder);
+        ReflectionTestUtils.setField(delegate, "publisher", publisher);
+    }
+
+    @Test
+    void rebuild() throws JobExecutionException {
+        Assertions.assertEquals("SUCCESS", delegate.doExecute(false, "admin", null));
+
+        for (AnyTypeKind kind : AnyTypeKind.values()) {
+            verify(searchTableDAO).rebuild(kind);
+            Assertions.assertTrue(statuses.contains("Rebuilding search tables for " + kind + "..."));
+        }
+        Assertions.assertTrue(statuses.get(statuses.size() - 1).endsWith("successfully completed"));
+    }
+
+    @Test
+    void dryRun() throws JobExecutionException {
+        Assertions.assertEquals("SUCCESS", delegate.doExecute(true, "admin", null));
+
+        verify(searchTableDAO, never()).rebuild(any(AnyTypeKind.class));
+        Assertions.assertTrue(statuses.isEmpty());
+    }
+
+    @Test
+    void disabled() {
+        when(searchTableDAO.isEnabled()).thenReturn(false);
+
+        Assertions.assertThrows(JobExecutionException.class, () -> delegate.doExecute(false, "admin", null));
+        verify(searchTableDAO, never()).rebuild(any(AnyTypeKind.class));
+    }
+
+    @Test
+    void failure() {
+        IllegalStateException failure = new IllegalStateException("table not found");
+        when(searchTableDAO.rebuild(AnyTypeKind.GROUP)).thenThrow(failure);
+
+        JobExecutionException e = Assertions.assertThrows(
+                JobExecutionException.class, () -> delegate.doExecute(false, "admin", null));
+        Assertions.assertSame(failure, e.getCause());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.PropagationRejectionPolicy;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class PropagationBulkheadsTest {
+
+    private static ExternalResource resource(
+            final String key,
+            final Integer concurrency,
+            final Integer queueCapacity,
+            final PropagationRejectionPolicy rejectionPolicy) {
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn(key);
+        settings(resource, concurrency, queueCapacity, rejectionPolicy);
+        return resource;
+    }
+
+    private static void settings(
+            final ExternalResource resource,
+            final Integer concurrency,
+            final Integer queueCapacity,
+            final PropagationRejectionPolicy rejectionPolicy) {
+
+        when(resource.getPropagationConcurrency()).thenReturn(concurrency);
+        when(resource.getPropagationQueueCapacity()).thenReturn(queueCapacity);
+        when(resource.getPropagationRejectionPolicy()).thenReturn(rejectionPolicy);
+    }
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PropagationBulkheads bulkheads;
+
+    @BeforeEach
+    void setup() {
+        bulkheads = new PropagationBulkheads(0, false);
+    }
+
+    @AfterEach
+    void destroy() {
+        release.countDown();
+        bulkheads.destroy();
+    }
+
+    /**
+     * As a propagation to a slow resource: occupies one thread until released.
+     */
+    private void block(final ThreadPoolTaskExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shared() {
+        ExternalResource resource = resource("resource-testdb", null, null, PropagationRejectionPolicy.ABORT);
+
+        Assertions.assertTrue(bulkheads.getExecutor(resource).isEmpty());
+        Assertions.assertTrue(bulkheads.getExecutors().isEmpty());
+    }
+
+    @Test
+    void dedicated() {
+        ExternalResource ldap = resource("resource-ldap", 2, 10, PropagationRejectionPolicy.ABORT);
+        ExternalResource csv = resource("resource-csv", 1, null, PropagationRejectionPolicy.CALLER_RUNS);
+
+        ThreadPoolTaskExecutor executor = bulkheads.getExecutor(ldap).orElseThrow();
+        Assertions.assertEquals(2, executor.getMaxPoolSize());
+        Assertions.assertEquals(10, executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        Assertions.assertSame(executor, bulkheads.getExecutor(ldap).orElseThrow());
+        Assertions.assertNotSame(executor, bulkheads.getExecutor(csv).orElseThrow());
+
+        Assertions.assertEquals(
+                Set.of("propagationTaskExecutor." + SyncopeConstants.MASTER_DOMAIN + ".resource-ldap",
+                        "propagationTaskExecutor." + SyncopeConstants.MASTER_DOMAIN + ".resource-csv"),
+                bulkheads.getExecutors().keySet());
+    }
+
+    @Test
+    void settingsChanged() throws Exception {
+        ExternalResource ldap = resource("resource-ldap", 1, null, PropagationRejectionPolicy.ABORT);
+        ThreadPoolTaskExecutor executor = bulkheads.getExecutor(ldap).orElseThrow();
+
+        // a propagation is still running when the settings change
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return release.await(1, TimeUnit.MINUTES);
+        });
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        settings(ldap, 3, null, PropagationRejectionPolicy.ABORT);
+        ThreadPoolTaskExecutor replaced = bulkheads.getExecutor(ldap).orElseThrow();
+        Assertions.assertNotSame(executor, replaced);
+        Assertions.assertEquals(3, replaced.getMaxPoolSize());
+
+        // the previous executor accepts no more propagations, but lets the running one complete
+        Assertions.assertTrue(executor.getThreadPoolExecutor().isShutdown());
+        release.countDown();
+        Assertions.assertTrue(running.get(10, TimeUnit.SECONDS));
+
+        settings(ldap, 3, null, PropagationRejectionPolicy.CALLER_RUNS);
+        Assertions.assertNotSame(replaced, bulkheads.getExecutor(ldap).orElseThrow());
+        Assertions.assertTrue(replaced.getThreadPoolExecutor().isShutdown());
+
+        // back to the shared executor
+        settings(ldap, null, null, PropagationRejectionPolicy.CALLER_RUNS);
+        Assertions.assertTrue(bulkheads.getExecutor(ldap).isEmpty());
+        Assertions.assertTrue(bulkheads.getExecutors().isEmpty());
+    }
+
+    @Test
+    void submitToReplaced() throws Exception {
+        for (PropagationRejectionPolicy policy : PropagationRejectionPolicy.values()) {
+            ExternalResource ldap = resource("resource-ldap", 1, null, policy);
+            ThreadPoolTaskExecutor stale = bulkheads.getExecutor(ldap).orElseThrow();
+
+            settings(ldap, 2, null, policy);
+            Assertions.assertNotSame(stale, bulkheads.getExecutor(ldap).orElseThrow());
+
+            // obtained before the settings changed: neither dropped nor rejected, but run on the requesting thread
+            Thread caller = Thread.currentThread();
+            Assertions.assertSame(caller, stale.submit(Thread::currentThread).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void replacedWhileSubmitting() throws Exception {
+        List<ExternalResource> versions = List.of(
+                resource("resource-ldap", 1, null, PropagationRejectionPolicy.CALLER_RUNS),
+                resource("resource-ldap", 2, null, PropagationRejectionPolicy.CALLER_RUNS));
+
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Future<Boolean>>>> submitted = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int offset = i;
+                submitted.add(submitters.submit(() -> {
+                    // each submission alternates the settings, thus replacing the executor other threads are using
+                    List<Future<Boolean>> futures = new ArrayList<>();
+                    for (int j = 0; j < 200; j++) {
+                        futures.add(bulkheads.getExecutor(versions.get((offset + j) % 2)).orElseThrow().
+                                submit(() -> true));
+                    }
+                    return futures;
+                }));
+            }
+
+            for (Future<List<Future<Boolean>>> futures : submitted) {
+                for (Future<Boolean> future : futures.get(30, TimeUnit.SECONDS)) {
+                    Assertions.assertTrue(future.get(10, TimeUnit.SECONDS));
+                }
+            }
+        } finally {
+            submitters.shutdownNow();
+        }
+    }
+
+    @Test
+    void isolation() throws Exception {
+        ExternalResource slow = resource("resource-slow", 1, 0, PropagationRejectionPolicy.ABORT);
+        ExternalResource healthy = resource("resource-healthy", 1, 0, PropagationRejectionPolicy.ABORT);
+
+        ThreadPoolTaskExecutor slowExecutor = bulkheads.getExecutor(slow).orElseThrow();
+        block(slowExecutor);
+
+        // the slow resource is saturated
+        Assertions.assertThrows(RejectedExecutionException.class, () -> slowExecutor.submit(() -> true));
+
+        // while propagations to other resources are not affected
+        Assertions.assertEquals(
+                "done", bulkheads.getExecutor(healthy).orElseThrow().submit(() -> "done").get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void callerRuns() throws Exception {
+        ExternalResource slow = resource("resource-slow", 1, 0, PropagationRejectionPolicy.CALLER_RUNS);
+
+        ThreadPoolTaskExecutor executor = bulkheads.getExecutor(slow).orElseThrow();
+        block(executor);
+
+        // saturated: run on the requesting thread
+        Thread caller = Thread.currentThread();
+        Assertions.assertSame(caller, executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.dao.PropagationDigestDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.PropagationDigest;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.persistence.api.entity.task.TaskUtils;
+import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationTaskExec;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.pushpull.OutboundMatcher;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+class PropagationDigestTest {
+
+    private static final String RESOURCE = "resource-ldap";
+
+    private static final String CONN_OBJECT_KEY = "uid=vivaldi,ou=people,o=isp";
+
+    private Connector connector;
+
+    private OutboundMatcher outboundMatcher;
+
+    private PropagationDigestDAO digestDAO;
+
+    private PropagationDigest digest;
+
+    private PriorityPropagationTaskExecutor executor;
+
+    private PropagationTaskInfo taskInfo;
+
+    private static Uid propagated(final InvocationOnMock invocation, final int attemptedIndex) {
+        invocation.<AtomicReference<Boolean>>getArgument(attemptedIndex).set(true);
+        return new Uid(CONN_OBJECT_KEY);
+    }
+
+    @BeforeEach
+    void setup() {
+        Provision provision = new Provision();
+        provision.setAnyType(AnyTypeKind.USER.name());
+        provision.setObjectClass(ObjectClass.ACCOUNT_NAME);
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn(RESOURCE);
+        when(resource.isPropagationDigest()).thenReturn(true);
+        when(resource.getProvisionByObjectClass(anyString())).thenReturn(Optional.of(provision));
+        when(resource.getProvisionByAnyType(anyString())).thenReturn(Optional.empty());
+        when(resource.getCreateTraceLevel()).thenReturn(TraceLevel.NONE);
+        when(resource.getUpdateTraceLevel()).thenReturn(TraceLevel.NONE);
+
+        connector = mock(Connector.class);
+        outboundMatcher = mock(OutboundMatcher.class);
+
+        Set<Attribute> attrs = new HashSet<>();
+        attrs.add(new Name(CONN_OBJECT_KEY));
+        attrs.add(AttributeBuilder.build("mail", "vivaldi@syncope.org"));
+
+        digest = mock(PropagationDigest.class);
+        when(digest.getVerified()).thenReturn(OffsetDateTime.now());
+        Map<String, String> digests = new HashMap<>(PropagationDigester.digest(Set.of(new Name(CONN_OBJECT_KEY))));
+        digests.put("MAIL", "outdated");
+        when(digest.getAttributes()).thenReturn(digests);
+
+        digestDAO = mock(PropagationDigestDAO.class);
+        when(digestDAO.find(RESOURCE, CONN_OBJECT_KEY)).thenReturn(Optional.of(digest));
+
+        TaskUtils taskUtils = mock(TaskUtils.class);
+        doReturn(new JPAPropagationTaskExec()).when(taskUtils).newTaskExec();
+        TaskUtilsFactory taskUtilsFactory = mock(TaskUtilsFactory.class);
+        when(taskUtilsFactory.getInstance(TaskType.PROPAGATION)).thenReturn(taskUtils);
+
+        executor = new PriorityPropagationTaskExecutor(
+                null,
+                null,
+                null,
+                null,
+                null,
+                mock(NotificationManager.class),
+                mock(AuditManager.class),
+                null,
+                null,
+                taskUtilsFactory,
+                outboundMatcher,
+                null,
+                null,
+                new PropagationDigester(digestDAO, mock(EntityFactory.class), 3600),
+                null,
+                null,
+                null);
+
+        taskInfo = new PropagationTaskInfo(
+                resource,
+                ResourceOperation.UPDATE,
+                ObjectClass.ACCOUNT,
+                AnyTypeKind.USER,
+                AnyTypeKind.USER.name(),
+                "entityKey",
+                CONN_OBJECT_KEY,
+                new PropagationData(attrs));
+        taskInfo.setConnector(connector);
+    }
+
+    @Test
+    void updateAgainstDigest() {
+        when(connector.update(eq(ObjectClass.ACCOUNT), any(Uid.class), anySet(), isNull(), any())).
+                thenAnswer(invocation -> propagated(invocation, 4));
+
+        TaskExec<PropagationTask> exec = executor.execute(taskInfo, mock(PropagationReporter.class), "admin");
+        Assertions.assertEquals(ExecStatus.SUCCESS.name(), exec.getStatus());
+
+        // only the changed attribute was sent, without reading the remote object
+        verify(connector).update(
+                eq(ObjectClass.ACCOUNT),
+                eq(new Uid(CONN_OBJECT_KEY)),
+                eq(Set.of(AttributeBuilder.build("mail", "vivaldi@syncope.org"))),
+                isNull(),
+                any());
+        verify(outboundMatcher, never()).match(any(), any(), any(), anyList(), anyString());
+        verify(digestDAO).save(digest);
+    }
+
+    @Test
+    void unknownUidFallsBackToCreate() {
+        when(connector.update(eq(ObjectClass.ACCOUNT), any(Uid.class), anySet(), isNull(), any())).
+                thenThrow(new UnknownUidException());
+        when(connector.create(eq(ObjectClass.ACCOUNT), anySet(), isNull(), any())).
+                thenAnswer(invocation -> propagated(invocation, 3));
+
+        TaskExec<PropagationTask> exec = executor.execute(taskInfo, mock(PropagationReporter.class), "admin");
+        Assertions.assertEquals(ExecStatus.SUCCESS.name(), exec.getStatus());
+
+        // remote object was read, found missing and created again with all attributes
+        verify(outboundMatcher).match(eq(taskInfo), eq(connector), any(), anyList(), eq(CONN_OBJECT_KEY));
+        verify(connector).create(eq(ObjectClass.ACCOUNT), eq(taskInfo.getPropagationData().getAttributes()),
+                isNull(), any());
+
+        // digest was rebuilt from what was just propagated
+        verify(digest).setAttributes(PropagationDigester.digest(taskInfo.getPropagationData().getAttributes()));
+        verify(digest).setVerified(any());
+        verify(digestDAO).save(digest);
+    }
+
+    @Test
+    void changed() {
+        PropagationDigester digester = new PropagationDigester(digestDAO, mock(EntityFactory.class), 3600);
+
+        Attribute mail = AttributeBuilder.build("mail", "vivaldi@syncope.org");
+        Attribute cn = AttributeBuilder.build("cn", "Antonio Vivaldi");
+        when(digest.getAttributes()).thenReturn(PropagationDigester.digest(Set.of(cn)));
+
+        Assertions.assertEquals(Set.of(mail), digester.changed(digest, Set.of(mail, cn)));
+        Assertions.assertTrue(digester.changed(digest, Set.of(cn)).isEmpty());
+    }
+}
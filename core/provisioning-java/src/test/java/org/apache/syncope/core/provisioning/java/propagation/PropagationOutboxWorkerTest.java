@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxEntry;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PropagationOutboxWorkerTest {
+
+    private static final String RESOURCE = "resource-ldap";
+
+    private static final String USER_KEY = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    private static final String CONN_OBJECT_KEY = "uid=rossini,ou=people,o=isp";
+
+    private PropagationOutboxDAO outboxDAO;
+
+    private ExternalResourceDAO resourceDAO;
+
+    private List<PropagationOutboxEntry> claimed;
+
+    private List<PropagationOutboxEntry> deleted;
+
+    private List<PropagationTaskInfo> executed;
+
+    private Deque<String> statuses;
+
+    private ProvisioningProperties.PropagationOutboxProperties props;
+
+    private PropagationOutboxWorker worker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        claimed = new ArrayList<>();
+        deleted = new ArrayList<>();
+        executed = new ArrayList<>();
+        statuses = new ArrayDeque<>();
+
+        outboxDAO = mock(PropagationOutboxDAO.class);
+        when(outboxDAO.claim(eq(RESOURCE), anyString(), anyString(), any(), any())).
+                thenAnswer(ic -> claimed.stream().
+                filter(entry -> ic.getArgument(1).equals(entry.getGroupKey())).
+                collect(Collectors.toList()));
+        when(outboxDAO.save(any())).thenAnswer(ic -> ic.getArgument(0));
+        doAnswer(ic -> {
+            PropagationOutboxEntry entry = ic.getArgument(0);
+            deleted.add(entry);
+            claimed.remove(entry);
+            return null;
+        }).when(outboxDAO).delete(any());
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn(RESOURCE);
+        resourceDAO = mock(ExternalResourceDAO.class);
+        when(resourceDAO.find(RESOURCE)).thenReturn(resource);
+
+        PropagationTaskExecutor taskExecutor = mock(PropagationTaskExecutor.class);
+        when(taskExecutor.execute(any(PropagationTaskInfo.class), any(), anyString())).thenAnswer(ic -> {
+            executed.add(ic.getArgument(0));
+
+            TaskExec<PropagationTask> exec = mock(TaskExec.class);
+            when(exec.getStatus()).thenReturn(statuses.isEmpty() ? ExecStatus.SUCCESS.name() : statuses.poll());
+            return exec;
+        });
+
+        props = new ProvisioningProperties.PropagationOutboxProperties();
+        props.setMaxAttempts(3);
+
+        worker = new PropagationOutboxWorker(
+                new PropagationOutbox(outboxDAO, null, props), outboxDAO, resourceDAO, taskExecutor, null, props);
+    }
+
+    private static Attribute attr(final String name, final Object value) {
+        return AttributeBuilder.build(name, value);
+    }
+
+    private PropagationOutboxEntry enqueue(
+            final ResourceOperation operation,
+            final String connObjectKey,
+            final String oldConnObjectKey,
+            final Attribute... attrs) {
+
+        JPAPropagationOutboxEntry entry = new JPAPropagationOutboxEntry();
+        entry.setKey(UUID.randomUUID().toString());
+        entry.setResource(RESOURCE);
+        entry.setOperation(operation);
+        entry.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        entry.setAnyTypeKind(AnyTypeKind.USER);
+        entry.setAnyType(AnyTypeKind.USER.name());
+        entry.setEntityKey(USER_KEY);
+        entry.setConnObjectKey(connObjectKey);
+        entry.setOldConnObjectKey(oldConnObjectKey);
+        entry.setPropagationData(new PropagationData(Set.of(attrs)));
+        entry.setExecutor("admin");
+        entry.setEnqueued(OffsetDateTime.now().minusSeconds(10 - claimed.size()));
+        entry.setNextAttempt(entry.getEnqueued());
+        entry.computeGroupKey();
+
+        claimed.add(entry);
+        return entry;
+    }
+
+    private void drain() {
+        worker.drain(RESOURCE, USER_KEY);
+    }
+
+    @Test
+    void coalescing() {
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "1"), attr("__PASSWORD__", "password"));
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "2"));
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "3"), attr("sn", "Rossini"));
+
+        drain();
+
+        // a single update, latest values prevailing, password sent by the first update not lost
+        Assertions.assertEquals(1, executed.size());
+        Assertions.assertEquals(
+                Set.of(attr("cn", "3"), attr("sn", "Rossini"), attr("__PASSWORD__", "password")),
+                executed.get(0).getPropagationData().getAttributes());
+        Assertions.assertEquals(3, deleted.size());
+        verify(outboxDAO).release(eq(RESOURCE), eq(USER_KEY), anyString());
+    }
+
+    @Test
+    void noCoalescingAcrossConnObjects() {
+        // linked account of the same user
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "1"));
+        enqueue(ResourceOperation.UPDATE, "uid=linked,ou=people,o=isp", null, attr("cn", "2"));
+        enqueue(ResourceOperation.CREATE, CONN_OBJECT_KEY, null, attr("cn", "3"));
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "4"));
+
+        drain();
+
+        Assertions.assertEquals(
+                List.of(CONN_OBJECT_KEY, "uid=linked,ou=people,o=isp", CONN_OBJECT_KEY, CONN_OBJECT_KEY),
+                executed.stream().map(PropagationTaskInfo::getConnObjectKey).collect(Collectors.toList()));
+        Assertions.assertEquals(4, deleted.size());
+    }
+
+    @Test
+    void rename() {
+        PropagationOutboxEntry rename = enqueue(
+                ResourceOperation.UPDATE, "uid=gioacchino,ou=people,o=isp", CONN_OBJECT_KEY, attr("cn", "1"));
+        PropagationOutboxEntry update = enqueue(
+                ResourceOperation.UPDATE, "uid=gioacchino,ou=people,o=isp", null, attr("cn", "2"));
+
+        // same group, regardless of the connObjectKey change
+        Assertions.assertEquals(USER_KEY, rename.getGroupKey());
+        Assertions.assertEquals(USER_KEY, update.getGroupKey());
+
+        drain();
+
+        // the rename is not merged with the following update, which is sent afterwards
+        Assertions.assertEquals(2, executed.size());
+        Assertions.assertEquals(CONN_OBJECT_KEY, executed.get(0).getOldConnObjectKey());
+        Assertions.assertNull(executed.get(1).getOldConnObjectKey());
+    }
+
+    @Test
+    void retryOrdering() {
+        PropagationOutboxEntry first = enqueue(ResourceOperation.CREATE, CONN_OBJECT_KEY, null, attr("cn", "1"));
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "2"));
+        statuses.add(ExecStatus.FAILURE.name());
+
+        drain();
+
+        // the following update is held back
+        Assertions.assertEquals(1, executed.size());
+        Assertions.assertTrue(deleted.isEmpty());
+        Assertions.assertEquals(1, first.getAttempts());
+        Assertions.assertTrue(first.getNextAttempt().isAfter(OffsetDateTime.now()));
+        Assertions.assertFalse(first.isDeadLetter());
+        verify(outboxDAO).save(first);
+
+        // not due yet: nothing is executed
+        drain();
+        Assertions.assertEquals(1, executed.size());
+
+        // due: executed in order
+        first.setNextAttempt(OffsetDateTime.now());
+        drain();
+        Assertions.assertEquals(3, executed.size());
+        Assertions.assertEquals(ResourceOperation.CREATE, executed.get(1).getOperation());
+        Assertions.assertEquals(ResourceOperation.UPDATE, executed.get(2).getOperation());
+        Assertions.assertEquals(2, deleted.size());
+    }
+
+    @Test
+    void noOpUpdate() {
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "1"));
+        enqueue(ResourceOperation.CREATE, CONN_OBJECT_KEY, null, attr("cn", "2"));
+        // remote object already matching: nothing is sent
+        statuses.add(ExecStatus.NOT_ATTEMPTED.name());
+
+        drain();
+
+        // done, not retried: the following entry is executed as well
+        Assertions.assertEquals(2, executed.size());
+        Assertions.assertEquals(2, deleted.size());
+        Assertions.assertTrue(claimed.isEmpty());
+        verify(outboxDAO, never()).save(any());
+    }
+
+    @Test
+    void deadLetter() {
+        PropagationOutboxEntry first = enqueue(ResourceOperation.CREATE, CONN_OBJECT_KEY, null, attr("cn", "1"));
+        first.setAttempts(props.getMaxAttempts() - 1);
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "2"));
+        statuses.add(ExecStatus.FAILURE.name());
+
+        drain();
+
+        // given up, but kept: the following update is held back
+        Assertions.assertEquals(1, executed.size());
+        Assertions.assertTrue(deleted.isEmpty());
+        Assertions.assertTrue(first.isDeadLetter());
+        Assertions.assertEquals(props.getMaxAttempts(), first.getAttempts());
+
+        // even when due, a dead letter is not executed and keeps blocking its group
+        first.setNextAttempt(OffsetDateTime.now().minusSeconds(1));
+        drain();
+        Assertions.assertEquals(1, executed.size());
+        Assertions.assertTrue(deleted.isEmpty());
+    }
+
+    @Test
+    void claimedByOther() {
+        enqueue(ResourceOperation.CREATE, CONN_OBJECT_KEY, null, attr("cn", "1"));
+        claimed.clear();
+
+        drain();
+
+        Assertions.assertTrue(executed.isEmpty());
+        verify(outboxDAO, never()).release(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void resourceNotFound() {
+        enqueue(ResourceOperation.CREATE, CONN_OBJECT_KEY, null, attr("cn", "1"));
+        enqueue(ResourceOperation.UPDATE, CONN_OBJECT_KEY, null, attr("cn", "2"));
+
+        when(resourceDAO.find(RESOURCE)).thenReturn(null);
+
+        drain();
+
+        // entries for removed resources are discarded
+        Assertions.assertTrue(executed.isEmpty());
+        Assertions.assertEquals(2, deleted.size());
+    }
+}
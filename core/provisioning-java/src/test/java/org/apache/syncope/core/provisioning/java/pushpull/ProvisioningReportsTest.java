@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReports;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReports.Category;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ProvisioningReportsTest {
+
+    private static ProvisioningReport report(
+            final String anyType,
+            final String key,
+            final ResourceOperation operation,
+            final ProvisioningReport.Status status) {
+
+        ProvisioningReport report = new ProvisioningReport();
+        report.setAnyType(anyType);
+        report.setKey(key);
+        report.setName(key + "Name");
+        report.setOperation(operation);
+        report.setStatus(status);
+        if (status == ProvisioningReport.Status.FAILURE) {
+            report.setMessage("Connector error");
+        }
+        return report;
+    }
+
+    private static List<ProvisioningReport> reports() {
+        List<ProvisioningReport> reports = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            reports.add(report(
+                    AnyTypeKind.USER.name(), "user" + i, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS));
+        }
+        reports.add(report(
+                AnyTypeKind.USER.name(), "user5", ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE));
+        reports.add(report(
+                AnyTypeKind.USER.name(), "user6", ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE));
+        // ignored reports are counted as no operation
+        reports.add(report(
+                AnyTypeKind.GROUP.name(), "group0", ResourceOperation.UPDATE, ProvisioningReport.Status.IGNORE));
+        reports.add(report("PRINTER", "printer0", ResourceOperation.DELETE, ProvisioningReport.Status.SUCCESS));
+        reports.add(report(null, "realm0", ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS));
+        // not complete, hence not counted
+        reports.add(report(AnyTypeKind.USER.name(), "user7", ResourceOperation.CREATE, null));
+        return reports;
+    }
+
+    private static List<String> details(
+            final ProvisioningReports results,
+            final Category category,
+            final ResourceOperation operation,
+            final ProvisioningReport.Status status,
+            final long limit) {
+
+        List<String> lines = new ArrayList<>();
+        Assertions.assertEquals(
+                results.details(category, operation, status, limit, lines::add), lines.size());
+        return lines;
+    }
+
+    private static Set<Path> spoolFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("provisioningReport")).
+                    collect(Collectors.toSet());
+        }
+    }
+
+    private static void assertCounts(final ProvisioningReports results) {
+        Assertions.assertEquals(5, results.count(
+                Category.USER, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS));
+        Assertions.assertEquals(2, results.count(
+                Category.USER, ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE));
+        Assertions.assertEquals(0, results.count(
+                Category.USER, ResourceOperation.UPDATE, ProvisioningReport.Status.SUCCESS));
+        Assertions.assertEquals(1, results.count(
+                Category.GROUP, ResourceOperation.NONE, ProvisioningReport.Status.IGNORE));
+        Assertions.assertEquals(1, results.count(
+                Category.GROUP, ResourceOperation.UPDATE, ProvisioningReport.Status.IGNORE));
+        Assertions.assertEquals(1, results.count(
+                Category.ANY_OBJECT, ResourceOperation.DELETE, ProvisioningReport.Status.SUCCESS));
+        Assertions.assertEquals(1, results.count(
+                Category.REALM, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS));
+    }
+
+    @Test
+    void spooled() throws IOException {
+        Set<Path> before = spoolFiles();
+
+        List<ProvisioningReport> listened = new ArrayList<>();
+        List<Path> files;
+        try (ProvisioningReports results = new ProvisioningReports(TraceLevel.ALL, false)) {
+            results.addListener(listened::add);
+            reports().forEach(results::add);
+
+            Assertions.assertEquals(reports().size(), listened.size());
+            Assertions.assertTrue(results.asList().isEmpty());
+            assertCounts(results);
+
+            List<String> lines = details(
+                    results, Category.USER, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS, 10);
+            Assertions.assertEquals(5, lines.size());
+            Assertions.assertEquals("CREATE SUCCESS (key/name): user0/user0Name ", lines.get(0));
+            Assertions.assertEquals(2, details(
+                    results, Category.USER, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS, 2).size());
+            Assertions.assertEquals(
+                    List.of("UPDATE FAILURE (key/name): user5/user5Name with message: Connector error",
+                            "UPDATE FAILURE (key/name): user6/user6Name with message: Connector error"),
+                    details(results, Category.USER, ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE, 10));
+            Assertions.assertTrue(details(
+                    results, Category.USER, ResourceOperation.DELETE, ProvisioningReport.Status.SUCCESS, 10).isEmpty());
+
+            // one file per non-empty bucket
+            files = spoolFiles().stream().filter(file -> !before.contains(file)).collect(Collectors.toList());
+            Assertions.assertEquals(5, files.size());
+        }
+
+        files.forEach(file -> Assertions.assertFalse(Files.exists(file), file.toString()));
+    }
+
+    @Test
+    void failuresOnly() {
+        try (ProvisioningReports results = new ProvisioningReports(TraceLevel.FAILURES, false)) {
+            reports().forEach(results::add);
+
+            assertCounts(results);
+            Assertions.assertTrue(details(
+                    results, Category.USER, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS, 10).isEmpty());
+            Assertions.assertEquals(
+                    List.of("Failed UPDATE (key/name): user5/user5Name with message: Connector error",
+                            "Failed UPDATE (key/name): user6/user6Name with message: Connector error"),
+                    details(results, Category.USER, ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE, 10));
+        }
+    }
+
+    @Test
+    void retained() throws IOException {
+        Set<Path> before = spoolFiles();
+
+        try (ProvisioningReports results = new ProvisioningReports(TraceLevel.ALL, true)) {
+            List<ProvisioningReport> reports = reports();
+            reports.forEach(results::add);
+
+            // all reports, as needed by single and stream executions
+            Assertions.assertEquals(reports, results.asList());
+            assertCounts(results);
+            Assertions.assertEquals(3, details(
+                    results, Category.USER, ResourceOperation.CREATE, ProvisioningReport.Status.SUCCESS, 3).size());
+            Assertions.assertEquals(2, details(
+                    results, Category.USER, ResourceOperation.UPDATE, ProvisioningReport.Status.FAILURE, 10).size());
+
+            Assertions.assertEquals(before, spoolFiles());
+        }
+    }
+
+    @Test
+    void createReport() {
+        Provision provision = new Provision();
+        provision.setAnyType(AnyTypeKind.USER.name());
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getProvisionByAnyType(AnyTypeKind.USER.name())).thenReturn(Optional.of(provision));
+        when(resource.getProvisionByAnyType(AnyTypeKind.GROUP.name())).thenReturn(Optional.empty());
+        when(resource.getProvisions()).thenReturn(List.of(provision));
+
+        ProvisioningProperties props = new ProvisioningProperties();
+        props.setReportMaxDetails(3);
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        ReflectionTestUtils.setField(delegate, "provisioningProperties", props);
+
+        try (ProvisioningReports results = new ProvisioningReports(TraceLevel.ALL, false)) {
+            reports().forEach(results::add);
+
+            when(resource.getProvisioningTraceLevel()).thenReturn(TraceLevel.NONE);
+            Assertions.assertNull(delegate.createReport(results, resource, false));
+
+            when(resource.getProvisioningTraceLevel()).thenReturn(TraceLevel.ALL);
+            String report = delegate.createReport(results, resource, true);
+
+            Assertions.assertTrue(report.startsWith("==> Dry run only, no modifications were made <=="), report);
+            Assertions.assertTrue(report.contains("Users [created/failures]: 5/0 [updated/failures]: 0/2 "
+                    + "[deleted/failures]: 0/0 [no operation/ignored]: 0/0"), report);
+            Assertions.assertTrue(report.contains("Accounts [created/failures]: 0/0"), report);
+            // only categories provisioned by the resource
+            Assertions.assertFalse(report.contains("Groups"), report);
+
+            // failures first, then successes up to the configured number of details
+            Assertions.assertTrue(report.contains("Users failed to update: "
+                    + "UPDATE FAILURE (key/name): user5/user5Name with message: Connector error\n"
+                    + "UPDATE FAILURE (key/name): user6/user6Name with message: Connector error\n"), report);
+            Assertions.assertTrue(report.contains("Users created:\n"
+                    + "CREATE SUCCESS (key/name): user0/user0Name \n"
+                    + "... 4 more\n"), report);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import org.apache.syncope.common.lib.to.Item;
+import org.apache.syncope.common.lib.to.Mapping;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PullConnObjectKeyValueTest {
+
+    private static Provision provision(final String extAttrName) {
+        Item item = new Item();
+        item.setIntAttrName("username");
+        item.setExtAttrName(extAttrName);
+        item.setConnObjectKey(true);
+
+        Mapping mapping = new Mapping();
+        mapping.setConnObjectKeyItem(item);
+
+        Provision provision = new Provision();
+        provision.setAnyType(AnyTypeKind.USER.name());
+        provision.setObjectClass(ObjectClass.ACCOUNT_NAME);
+        provision.setMapping(mapping);
+        return provision;
+    }
+
+    private static SyncDelta delta(final SyncDeltaType type, final boolean withObject) {
+        SyncDeltaBuilder builder = new SyncDeltaBuilder().
+                setToken(new SyncToken(1)).
+                setDeltaType(type).
+                setUid(new Uid("1417acbe-cbf6-4277-9372-e75e04f97000"));
+        if (withObject) {
+            builder.setObject(new ConnectorObjectBuilder().
+                    setObjectClass(ObjectClass.ACCOUNT).
+                    setUid("1417acbe-cbf6-4277-9372-e75e04f97000").
+                    setName("uid=rossini,ou=people,o=isp").
+                    addAttribute(AttributeBuilder.build("uid", "rossini")).
+                    build());
+        }
+        return builder.build();
+    }
+
+    @Test
+    void mappedAttribute() {
+        DefaultUserPullResultHandler handler = new DefaultUserPullResultHandler();
+
+        Assertions.assertEquals(
+                "rossini",
+                handler.getConnObjectKeyValue(delta(SyncDeltaType.CREATE_OR_UPDATE, true), provision("uid")));
+        Assertions.assertEquals(
+                "uid=rossini,ou=people,o=isp",
+                handler.getConnObjectKeyValue(delta(SyncDeltaType.CREATE_OR_UPDATE, true), provision("__NAME__")));
+    }
+
+    @Test
+    void fallbackToUid() {
+        DefaultUserPullResultHandler handler = new DefaultUserPullResultHandler();
+
+        Assertions.assertEquals(
+                "1417acbe-cbf6-4277-9372-e75e04f97000",
+                handler.getConnObjectKeyValue(delta(SyncDeltaType.CREATE_OR_UPDATE, true), provision("mail")));
+        Assertions.assertEquals(
+                "1417acbe-cbf6-4277-9372-e75e04f97000",
+                handler.getConnObjectKeyValue(delta(SyncDeltaType.DELETE, false), provision("uid")));
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Optional;
+import org.apache.syncope.common.lib.to.Item;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.MatchType;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.user.LinkedAccount;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.IntAttrName;
+import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
+import org.apache.syncope.core.provisioning.api.pushpull.PullCorrelationIndex;
+import org.apache.syncope.core.provisioning.api.rules.PullCorrelationRule;
+import org.apache.syncope.core.provisioning.api.rules.PullMatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PullCorrelationIndexTest {
+
+    private static final String ROSSINI = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    private static final String VERDI = "74cd8ece-715a-44a4-a736-e17b46c4e7e6";
+
+    private UserDAO userDAO;
+
+    private AnySearchDAO anySearchDAO;
+
+    private ExternalResource resource;
+
+    private Item connObjectKeyItem;
+
+    private InboundMatcher matcher;
+
+    private static User user(final String key, final String username) {
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(key);
+        when(user.getUsername()).thenReturn(username);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        userDAO = mock(UserDAO.class);
+        anySearchDAO = mock(AnySearchDAO.class);
+        resource = mock(ExternalResource.class);
+
+        connObjectKeyItem = new Item();
+        connObjectKeyItem.setIntAttrName("username");
+        connObjectKeyItem.setExtAttrName("uid");
+        connObjectKeyItem.setConnObjectKey(true);
+
+        IntAttrName intAttrName = new IntAttrName();
+        intAttrName.setAnyTypeKind(AnyTypeKind.USER);
+        intAttrName.setField("username");
+        IntAttrNameParser intAttrNameParser = mock(IntAttrNameParser.class);
+        when(intAttrNameParser.parse("username", AnyTypeKind.USER)).thenReturn(intAttrName);
+
+        matcher = new InboundMatcher(
+                userDAO,
+                null,
+                null,
+                anySearchDAO,
+                null,
+                null,
+                null,
+                null,
+                intAttrNameParser,
+                mock(AnyUtilsFactory.class));
+    }
+
+    private List<PullMatch> match(final String value, final boolean ignoreCaseMatch, final PullCorrelationIndex index) {
+        return matcher.matchByConnObjectKeyValue(
+                connObjectKeyItem, value, AnyTypeKind.USER, ignoreCaseMatch, resource, index);
+    }
+
+    @Test
+    void index() {
+        PullCorrelationIndex index = new PullCorrelationIndex(true, 2);
+        index.put("Rossini", ROSSINI);
+        index.put("verdi", VERDI);
+        // same value, other user: ambiguous
+        index.put("VERDI", "c9b2dec2-00a7-4855-97c0-d854842b4b24");
+
+        Assertions.assertEquals(Optional.of(ROSSINI), index.find("ROSSINI"));
+        Assertions.assertTrue(index.covers("rossini"));
+        Assertions.assertFalse(index.covers("Verdi"));
+        Assertions.assertTrue(index.find("verdi").isEmpty());
+        Assertions.assertEquals(1, index.size());
+
+        index.remove("rossini");
+        Assertions.assertTrue(index.find("Rossini").isEmpty());
+
+        PullCorrelationIndex caseSensitive = new PullCorrelationIndex(false, 1);
+        caseSensitive.put("rossini", ROSSINI);
+        Assertions.assertTrue(caseSensitive.find("Rossini").isEmpty());
+    }
+
+    @Test
+    void hit() {
+        User rossini = user(ROSSINI, "rossini");
+        when(userDAO.find(ROSSINI)).thenReturn(rossini);
+
+        PullCorrelationIndex index = new PullCorrelationIndex(false, 1);
+        index.put("rossini", ROSSINI);
+
+        Assertions.assertEquals(List.of(new PullMatch(MatchType.ANY, rossini)), match("rossini", false, index));
+
+        // matched without querying by username
+        verify(userDAO, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void missFallsBackToQuery() {
+        PullCorrelationIndex index = new PullCorrelationIndex(false, 1);
+        index.put("rossini", ROSSINI);
+
+        // created by others after the index was built
+        User verdi = user(VERDI, "verdi");
+        when(userDAO.findByUsername("verdi")).thenReturn(verdi);
+        Assertions.assertEquals(List.of(new PullMatch(MatchType.ANY, verdi)), match("verdi", false, index));
+
+        // not found at all
+        Assertions.assertEquals(List.of(PullCorrelationRule.NO_MATCH), match("puccini", false, index));
+        verify(userDAO).findByUsername("puccini");
+    }
+
+    @Test
+    void staleFallsBackToQuery() {
+        // renamed by others after the index was built, then username taken by another user
+        User renamed = user(ROSSINI, "gioacchino");
+        when(userDAO.find(ROSSINI)).thenReturn(renamed);
+        User verdi = user(VERDI, "rossini");
+        when(userDAO.findByUsername("rossini")).thenReturn(verdi);
+
+        PullCorrelationIndex index = new PullCorrelationIndex(false, 1);
+        index.put("rossini", ROSSINI);
+
+        Assertions.assertEquals(List.of(new PullMatch(MatchType.ANY, verdi)), match("rossini", false, index));
+    }
+
+    @Test
+    void ignoreCaseMissFallsBackToQuery() {
+        User verdi = user(VERDI, "verdi");
+        doReturn(List.of(verdi)).when(anySearchDAO).search(any(SearchCond.class), eq(AnyTypeKind.USER));
+
+        PullCorrelationIndex index = new PullCorrelationIndex(true, 1);
+        index.put("rossini", ROSSINI);
+
+        Assertions.assertEquals(List.of(new PullMatch(MatchType.ANY, verdi)), match("VERDI", true, index));
+        verify(userDAO, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void linkedAccount() {
+        PullCorrelationIndex index = new PullCorrelationIndex(true, 1);
+        index.put("rossini", ROSSINI);
+
+        // created by others after the index was built: still matched
+        LinkedAccount account = mock(LinkedAccount.class);
+        doReturn(Optional.of(account)).when(userDAO).findLinkedAccount(resource, "Puccini");
+
+        Assertions.assertEquals(
+                List.of(new PullMatch(MatchType.LINKED_ACCOUNT, account)), match("Puccini", true, index));
+        verify(userDAO).findLinkedAccount(resource, "Puccini");
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PushPartitionTest {
+
+    private static final SearchCond ALL;
+
+    static {
+        AnyCond usernameCond = new AnyCond(AttrCond.Type.ISNOTNULL);
+        usernameCond.setSchema("username");
+        ALL = SearchCond.getLeaf(usernameCond);
+    }
+
+    // translates the key ranges found in the given condition into a predicate on keys
+    private static Predicate<String> keyRange(final SearchCond cond) {
+        switch (cond.getType()) {
+            case AND:
+                return keyRange(cond.getLeft()).and(keyRange(cond.getRight()));
+
+            case LEAF:
+                return cond.getLeaf(AnyCond.class).filter(anyCond -> "key".equals(anyCond.getSchema())).
+                        <Predicate<String>>map(anyCond -> {
+                            String bound = anyCond.getExpression();
+                            switch (anyCond.getType()) {
+                                case GT:
+                                    return key -> key.compareTo(bound) > 0;
+
+                                case GE:
+                                    return key -> key.compareTo(bound) >= 0;
+
+                                case LT:
+                                    return key -> key.compareTo(bound) < 0;
+
+                                default:
+                                    throw new IllegalArgumentException(anyCond.getType().name());
+                            }
+                        }).orElse(key -> true);
+
+            default:
+                throw new IllegalArgumentException(cond.getType().name());
+        }
+    }
+
+    private static List<String> keys(final int size) {
+        return IntStream.range(0, size).mapToObj(i -> UUID.randomUUID().toString()).sorted().
+                collect(Collectors.toList());
+    }
+
+    private static AnySearchDAO searchDAO(final List<String> keys) {
+        AnySearchDAO searchDAO = mock(AnySearchDAO.class);
+        when(searchDAO.count(any(Realm.class), anyBoolean(), anySet(), any(SearchCond.class), any(AnyTypeKind.class))).
+                thenReturn(keys.size());
+        when(searchDAO.searchKeys(
+                any(Realm.class),
+                anyBoolean(),
+                anySet(),
+                any(SearchCond.class),
+                anyInt(),
+                anyInt(),
+                anyList(),
+                any(AnyTypeKind.class))).thenAnswer(ic -> {
+                    SearchCond cond = ic.getArgument(3);
+                    int page = ic.getArgument(4);
+                    int itemsPerPage = ic.getArgument(5);
+                    return keys.stream().filter(keyRange(cond)).
+                            skip((long) (page - 1) * itemsPerPage).limit(itemsPerPage).
+                            collect(Collectors.toList());
+                });
+        return searchDAO;
+    }
+
+    private static PushJobDelegate delegate(final AnySearchDAO searchDAO) {
+        Realm realm = mock(Realm.class);
+        when(realm.getFullPath()).thenReturn("/");
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getProvisioningTraceLevel()).thenReturn(TraceLevel.NONE);
+
+        PushTask task = mock(PushTask.class);
+        when(task.getKey()).thenReturn("af558be4-9d2f-4359-bf85-a554e6e90be1");
+        when(task.getSourceRealm()).thenReturn(realm);
+        when(task.getResource()).thenReturn(resource);
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        ReflectionTestUtils.setField(delegate, "searchDAO", searchDAO);
+        ReflectionTestUtils.setField(delegate, "provisioningProperties", new ProvisioningProperties());
+        ReflectionTestUtils.setField(delegate, "profile", new ProvisioningProfile<>(mock(Connector.class), task));
+        return delegate;
+    }
+
+    @Test
+    void partitionsCoverKeySpaceOnce() {
+        List<String> keys = keys(2345);
+        AnySearchDAO searchDAO = searchDAO(keys);
+
+        List<SearchCond> partitions = delegate(searchDAO).partition(AnyTypeKind.USER, ALL, 4);
+        Assertions.assertEquals(4, partitions.size());
+
+        List<Predicate<String>> ranges = partitions.stream().map(PushPartitionTest::keyRange).
+                collect(Collectors.toList());
+        keys.forEach(key -> Assertions.assertEquals(
+                1, ranges.stream().filter(range -> range.test(key)).count(), key));
+        ranges.forEach(range -> Assertions.assertTrue(
+                keys.stream().filter(range).count() >= AnyDAO.DEFAULT_PAGE_SIZE));
+
+        // bounds are found by a single keyset pass, never by offset
+        verify(searchDAO, never()).searchKeys(
+                any(Realm.class),
+                anyBoolean(),
+                anySet(),
+                any(SearchCond.class),
+                intThat(page -> page > 1),
+                anyInt(),
+                anyList(),
+                any(AnyTypeKind.class));
+    }
+
+    @Test
+    void partitionsHoldAtLeastOnePage() {
+        List<String> keys = keys(AnyDAO.DEFAULT_PAGE_SIZE * 2 - 1);
+
+        List<SearchCond> partitions = delegate(searchDAO(keys)).partition(AnyTypeKind.USER, ALL, 8);
+        Assertions.assertEquals(List.of(ALL), partitions);
+    }
+
+    @Test
+    void pushPartitionedHandlesEachKeyOnce() throws Exception {
+        List<String> keys = keys(3210);
+
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        PushResultHandlerDispatcher dispatcher = mock(PushResultHandlerDispatcher.class);
+        when(dispatcher.handle(anyString(), anyString())).thenAnswer(ic -> handled.add(ic.getArgument(1)));
+
+        AnyType anyType = mock(AnyType.class);
+        when(anyType.getKey()).thenReturn(AnyTypeKind.USER.name());
+        when(anyType.getKind()).thenReturn(AnyTypeKind.USER);
+
+        Assertions.assertTrue(delegate(searchDAO(keys)).pushPartitioned(anyType, ALL, 5, dispatcher));
+
+        List<String> sorted = new ArrayList<>(handled);
+        Collections.sort(sorted);
+        Assertions.assertEquals(keys, sorted);
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.apache.syncope.common.lib.to.Item;
+import org.apache.syncope.common.lib.to.Mapping;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.MatchingRule;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyTombstone;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.AnyUtils;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PushTombstoneTest {
+
+    private PushTask task;
+
+    private PushActions action;
+
+    private OutboundMatcher outboundMatcher;
+
+    private PropagationTaskExecutor taskExecutor;
+
+    private DefaultUserPushResultHandler handler;
+
+    private Provision provision;
+
+    private AnyTombstone tombstone;
+
+    private static Provision provision(final String connObjectKey) {
+        Item item = new Item();
+        item.setIntAttrName(connObjectKey);
+        item.setExtAttrName("__NAME__");
+        item.setConnObjectKey(true);
+
+        Mapping mapping = new Mapping();
+        mapping.setConnObjectKeyItem(item);
+
+        Provision provision = new Provision();
+        provision.setAnyType(AnyTypeKind.USER.name());
+        provision.setObjectClass(ObjectClass.ACCOUNT_NAME);
+        provision.setMapping(mapping);
+        return provision;
+    }
+
+    private static ConnectorObject connObj(final String name) {
+        return new ConnectorObjectBuilder().
+                setObjectClass(ObjectClass.ACCOUNT).
+                setUid("uid-" + name).
+                setName(name).
+                build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn("resource-ldap");
+        when(resource.getProvisioningTraceLevel()).thenReturn(TraceLevel.ALL);
+
+        task = mock(PushTask.class);
+        when(task.getResource()).thenReturn(resource);
+        when(task.isPerformDelete()).thenReturn(true);
+        when(task.getMatchingRule()).thenReturn(MatchingRule.DEPROVISION);
+
+        action = mock(PushActions.class);
+
+        ProvisioningProfile<PushTask, PushActions> profile =
+                new ProvisioningProfile<>(mock(Connector.class), task, true);
+        profile.getActions().add(action);
+        profile.setExecutor("admin");
+
+        outboundMatcher = mock(OutboundMatcher.class);
+        taskExecutor = mock(PropagationTaskExecutor.class);
+
+        AnyUtils anyUtils = mock(AnyUtils.class);
+        when(anyUtils.anyTypeKind()).thenReturn(AnyTypeKind.USER);
+        AnyUtilsFactory anyUtilsFactory = mock(AnyUtilsFactory.class);
+        when(anyUtilsFactory.getInstance(AnyTypeKind.USER)).thenReturn(anyUtils);
+
+        handler = new DefaultUserPushResultHandler();
+        handler.outboundMatcher = outboundMatcher;
+        handler.taskExecutor = taskExecutor;
+        handler.anyUtilsFactory = anyUtilsFactory;
+        handler.notificationManager = mock(NotificationManager.class);
+        handler.auditManager = mock(AuditManager.class);
+        handler.setProfile(profile);
+
+        provision = provision("username");
+
+        tombstone = mock(AnyTombstone.class);
+        when(tombstone.getAnyType()).thenReturn(AnyTypeKind.USER.name());
+        when(tombstone.getAnyKey()).thenReturn("c9b2dec2-00a7-4855-97c0-d854842b4b24");
+        when(tombstone.getName()).thenReturn("bellini");
+    }
+
+    private void remoteObject(final ConnectorObject connObj) {
+        when(outboundMatcher.matchByConnObjectKeyValue(
+                any(), any(), eq("bellini"), any(), any(), any(), any())).
+                thenReturn(Optional.ofNullable(connObj));
+    }
+
+    private ProvisioningReport report() {
+        List<ProvisioningReport> reports = handler.profile.getResults().asList();
+        Assertions.assertEquals(1, reports.size());
+        return reports.get(0);
+    }
+
+    @Test
+    void deprovision() throws Exception {
+        remoteObject(connObj("bellini"));
+
+        Assertions.assertTrue(handler.handle(tombstone, provision));
+
+        ArgumentCaptor<PropagationTaskInfo> taskInfo = ArgumentCaptor.forClass(PropagationTaskInfo.class);
+        verify(taskExecutor).execute(taskInfo.capture(), any(), eq("admin"));
+        Assertions.assertEquals(ResourceOperation.DELETE, taskInfo.getValue().getOperation());
+        Assertions.assertEquals(tombstone.getAnyKey(), taskInfo.getValue().getEntityKey());
+        Assertions.assertEquals(
+                "uid-bellini", taskInfo.getValue().getBeforeObj().orElseThrow().getUid().getUidValue());
+
+        verify(action).beforeDeprovision(any(), eq(tombstone));
+        verify(action).after(any(), eq(tombstone), any());
+
+        ProvisioningReport report = report();
+        Assertions.assertEquals(ResourceOperation.DELETE, report.getOperation());
+        Assertions.assertEquals(ProvisioningReport.Status.SUCCESS, report.getStatus());
+        Assertions.assertEquals("uid-bellini", report.getUidValue());
+    }
+
+    @Test
+    void unassign() throws Exception {
+        when(task.getMatchingRule()).thenReturn(MatchingRule.UNASSIGN);
+        remoteObject(connObj("bellini"));
+
+        Assertions.assertTrue(handler.handle(tombstone, provision));
+
+        verify(taskExecutor).execute(any(), any(), anyString());
+        verify(action).beforeUnassign(any(), eq(tombstone));
+        Assertions.assertEquals(ResourceOperation.DELETE, report().getOperation());
+    }
+
+    @Test
+    void notAllowedToDelete() throws Exception {
+        when(task.isPerformDelete()).thenReturn(false);
+        remoteObject(connObj("bellini"));
+
+        Assertions.assertTrue(handler.handle(tombstone, provision));
+
+        verify(taskExecutor, never()).execute(any(), any(), anyString());
+        Assertions.assertEquals(ProvisioningReport.Status.IGNORE, report().getStatus());
+    }
+
+    @Test
+    void matchingRuleNotRemoving() throws Exception {
+        for (MatchingRule rule : List.of(MatchingRule.UPDATE, MatchingRule.LINK, MatchingRule.UNLINK)) {
+            when(task.getMatchingRule()).thenReturn(rule);
+            remoteObject(connObj("bellini"));
+
+            Assertions.assertTrue(handler.handle(tombstone, provision));
+        }
+
+        verify(taskExecutor, never()).execute(any(), any(), anyString());
+        verify(action, never()).beforeDeprovision(any(), any());
+        handler.profile.getResults().asList().forEach(report -> {
+            Assertions.assertEquals(ResourceOperation.NONE, report.getOperation());
+            Assertions.assertEquals(ProvisioningReport.Status.IGNORE, report.getStatus());
+        });
+    }
+
+    @Test
+    void noRemoteObject() {
+        remoteObject(null);
+
+        Assertions.assertTrue(handler.handle(tombstone, provision));
+
+        verify(taskExecutor, never()).execute(any(), any(), anyString());
+        Assertions.assertEquals(ProvisioningReport.Status.IGNORE, report().getStatus());
+    }
+
+    @Test
+    void connObjectKeyNotComputable() {
+        Assertions.assertTrue(handler.handle(tombstone, provision("email")));
+
+        verify(outboundMatcher, never()).matchByConnObjectKeyValue(
+                any(), any(), any(), any(), any(), any(), any());
+        Assertions.assertEquals(ProvisioningReport.Status.IGNORE, report().getStatus());
+    }
+
+    @Test
+    void dryRun() {
+        handler.profile.setDryRun(true);
+        remoteObject(connObj("bellini"));
+
+        Assertions.assertTrue(handler.handle(tombstone, provision));
+
+        verify(taskExecutor, never()).execute(any(), any(), anyString());
+        Assertions.assertEquals(ResourceOperation.DELETE, report().getOperation());
+        Assertions.assertEquals(ProvisioningReport.Status.SUCCESS, report().getStatus());
+    }
+
+    @Test
+    void tombstonesNeededSince() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        ProvisioningProperties props = new ProvisioningProperties();
+        props.setPushTombstoneMaxAge(3600);
+
+        AnyType user = mock(AnyType.class);
+        when(user.getKey()).thenReturn(AnyTypeKind.USER.name());
+        AnyType group = mock(AnyType.class);
+        when(group.getKey()).thenReturn(AnyTypeKind.GROUP.name());
+        AnyTypeDAO anyTypeDAO = mock(AnyTypeDAO.class);
+        when(anyTypeDAO.findAll()).thenReturn(List.of(user, group));
+
+        PushTask recent = mock(PushTask.class);
+        when(recent.isIncremental()).thenReturn(true);
+        when(recent.getWatermark(anyString())).thenReturn(Optional.of(now.minusMinutes(5)));
+
+        PushTask stale = mock(PushTask.class);
+        when(stale.isIncremental()).thenReturn(true);
+        when(stale.getWatermark(AnyTypeKind.USER.name())).thenReturn(Optional.of(now.minusDays(1)));
+        when(stale.getWatermark(AnyTypeKind.GROUP.name())).thenReturn(Optional.of(now.minusDays(40)));
+
+        PushTask full = mock(PushTask.class);
+        when(full.isIncremental()).thenReturn(false);
+        when(full.getWatermark(anyString())).thenReturn(Optional.of(now.minusDays(400)));
+
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        when(taskDAO.<SchedTask>findAll(TaskType.PUSH)).thenReturn(List.of(recent, full));
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        delegate.provisioningProperties = props;
+        delegate.anyTypeDAO = anyTypeDAO;
+        ReflectionTestUtils.setField(delegate, "taskDAO", taskDAO);
+
+        // no incremental task needs tombstones older than the max age
+        Assertions.assertEquals(now.minusHours(1), delegate.tombstonesNeededSince(now));
+
+        // tombstones are kept until the least recently executed incremental task has seen them, margin included
+        when(taskDAO.<SchedTask>findAll(TaskType.PUSH)).thenReturn(List.of(recent, stale, full));
+        Assertions.assertEquals(now.minusDays(40).minusSeconds(60), delegate.tombstonesNeededSince(now));
+    }
+
+    @Test
+    void since() {
+        OffsetDateTime watermark = OffsetDateTime.now();
+
+        ProvisioningProperties props = new ProvisioningProperties();
+        props.setPushWatermarkMargin(120);
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        delegate.provisioningProperties = props;
+
+        PushTask incremental = mock(PushTask.class);
+        when(incremental.isIncremental()).thenReturn(true);
+        when(incremental.getWatermark(AnyTypeKind.USER.name())).thenReturn(Optional.of(watermark));
+        when(incremental.getWatermark(AnyTypeKind.GROUP.name())).thenReturn(Optional.empty());
+
+        // changes committed late, or timestamped by lagging clocks, are still seen
+        Assertions.assertEquals(
+                Optional.of(watermark.minusMinutes(2)), delegate.since(incremental, AnyTypeKind.USER.name()));
+        // never executed: all entities
+        Assertions.assertTrue(delegate.since(incremental, AnyTypeKind.GROUP.name()).isEmpty());
+
+        PushTask full = mock(PushTask.class);
+        when(full.isIncremental()).thenReturn(false);
+        when(full.getWatermark(anyString())).thenReturn(Optional.of(watermark));
+        Assertions.assertTrue(delegate.since(full, AnyTypeKind.USER.name()).isEmpty());
+    }
+}
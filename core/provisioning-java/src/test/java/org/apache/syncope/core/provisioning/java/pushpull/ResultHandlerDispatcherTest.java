@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.types.ThreadPoolSettings;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ResultHandlerDispatcherTest {
+
+    private static PushResultHandlerDispatcher dispatcher(final int corePoolSize, final int queueCapacity) {
+        ThreadPoolSettings settings = new ThreadPoolSettings();
+        settings.setCorePoolSize(corePoolSize);
+        settings.setQueueCapacity(queueCapacity);
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getProvisioningTraceLevel()).thenReturn(TraceLevel.NONE);
+
+        PushTask task = mock(PushTask.class);
+        when(task.getKey()).thenReturn("c4f7e6a3-8c3e-4a5b-9f2d-1d2e3f4a5b6c");
+        when(task.getResource()).thenReturn(resource);
+        when(task.getConcurrentSettings()).thenReturn(settings);
+
+        return new PushResultHandlerDispatcher(
+                new ProvisioningProfile<>(mock(Connector.class), task), mock(SyncopePushExecutor.class), false);
+    }
+
+    @Test
+    void perKeyOrdering() {
+        PushResultHandlerDispatcher dispatcher = dispatcher(4, 16);
+
+        List<String> keys = IntStream.range(0, 8).mapToObj(i -> "key" + i).collect(Collectors.toList());
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+        Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        for (int seq = 0; seq < 100; seq++) {
+            for (String key : keys) {
+                int current = seq;
+                dispatcher.submit(key, () -> {
+                    threads.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).
+                            add(Thread.currentThread().getName());
+                    Thread.yield();
+                    handled.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(current);
+                });
+            }
+        }
+        dispatcher.cleanup();
+
+        List<Integer> expected = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        keys.forEach(key -> {
+            Assertions.assertEquals(expected, handled.get(key), key);
+            Assertions.assertEquals(1, threads.get(key).size(), key);
+        });
+    }
+
+    @Test
+    void backPressure() throws Exception {
+        PushResultHandlerDispatcher dispatcher = dispatcher(1, 2);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        dispatcher.submit("key", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.incrementAndGet();
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // fills the lane queue
+        dispatcher.submit("key", completed::incrementAndGet);
+        dispatcher.submit("key", completed::incrementAndGet);
+
+        // the caller waits for room, rather than running the work by itself
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+                () -> dispatcher.submit("key", completed::incrementAndGet));
+        Assertions.assertThrows(TimeoutException.class, () -> blocked.get(300, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(0, completed.get());
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        dispatcher.cleanup();
+
+        Assertions.assertEquals(4, completed.get());
+    }
+
+    @Test
+    void rejectedAfterCleanup() {
+        PushResultHandlerDispatcher dispatcher = dispatcher(2, 4);
+        dispatcher.cleanup();
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> dispatcher.submit("key", () -> {
+        }));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.utils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationBulkheads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class VirtualThreadsTest {
+
+    private static final String PREFIX = "VirtualThreadsTest-";
+
+    private static boolean isVirtual(final Thread thread) {
+        try {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            return (Boolean) isVirtual.invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ThreadPoolTaskExecutor executor;
+
+    private ThreadPoolTaskExecutor executor(final boolean expected) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix(PREFIX);
+        Assertions.assertEquals(expected, VirtualThreads.configure(executor));
+        executor.initialize();
+        return executor;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void supported() {
+        int feature = Runtime.version().feature();
+        if (feature < 19) {
+            Assertions.assertFalse(VirtualThreads.isSupported());
+        } else if (feature >= 21) {
+            Assertions.assertTrue(VirtualThreads.isSupported());
+        }
+        Assertions.assertEquals(VirtualThreads.isSupported(), VirtualThreads.factory(PREFIX).isPresent());
+    }
+
+    @Test
+    void configure() throws Exception {
+        // on Java 17 the executor is left untouched, and runs tasks on platform threads
+        Thread thread = executor(VirtualThreads.isSupported()).submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(thread.getName().startsWith(PREFIX), thread.getName());
+        Assertions.assertEquals(VirtualThreads.isSupported(), isVirtual(thread));
+    }
+
+    @Test
+    void timeoutAndCancel() throws Exception {
+        executor(VirtualThreads.isSupported());
+
+        // as connector calls: wait for the result up to a timeout, then cancel
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<Boolean> future = executor.submit(() -> {
+            try {
+                return never.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        Assertions.assertThrows(TimeoutException.class, () -> future.get(200, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(future.cancel(true));
+        Assertions.assertTrue(future.isCancelled());
+        // the blocked task is interrupted, its thread is released
+        Assertions.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals("done", executor.submit(() -> "done").get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void bulkhead() throws Exception {
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn("resource-testdb");
+        when(resource.getPropagationConcurrency()).thenReturn(2);
+
+        PropagationBulkheads bulkheads = new PropagationBulkheads(0, true);
+        try {
+            Thread thread = bulkheads.getExecutor(resource).orElseThrow().
+                    submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+            Assertions.assertTrue(thread.getName().startsWith("PropagationTaskExecutor-resource-testdb-"));
+            Assertions.assertEquals(VirtualThreads.isSupported(), isVirtual(thread));
+        } finally {
+            bulkheads.destroy();
+        }
+    }
+}
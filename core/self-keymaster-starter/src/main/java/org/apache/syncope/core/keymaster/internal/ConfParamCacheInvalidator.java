@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.keymaster.internal;
+
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.entity.ConfParam;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Discards the local conf params snapshot of the affected domain as soon as any conf param is changed via this node,
+ * so that changes are visible here without waiting for the next refresh.
+ */
+public class ConfParamCacheInvalidator {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ConfParamCacheInvalidator.class);
+
+    protected final ConfParamOps confParamOps;
+
+    public ConfParamCacheInvalidator(final ConfParamOps confParamOps) {
+        this.confParamOps = confParamOps;
+    }
+
+    @TransactionalEventListener
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (event.getEntity() instanceof ConfParam && confParamOps instanceof CachingConfParamOps) {
+            LOG.debug("Conf param {} was {}: invalidating snapshot for domain {}",
+                    event.getEntity().getKey(), event.getType(), event.getDomain());
+
+            ((CachingConfParamOps) confParamOps).invalidate(event.getDomain());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.KeymasterProperties;
 import org.apache.syncope.core.logic.ConfParamLogic;
@@ -54,6 +55,15 @@ public class SelfKeymasterInternalConfParamOps implements ConfParamOps {
                 () -> logic.list());
     }
 
+    @Override
+    public Optional<String> version(final String domain) {
+        return Optional.of(AuthContextUtils.callAs(
+                domain,
+                props.getUsername(),
+                List.of(),
+                () -> logic.version()));
+    }
+
     @Override
     public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
         JsonNode valueNode = AuthContextUtils.callAs(
@@ -50,6 +50,11 @@ public class ConfParamServiceImpl implements ConfParamService {
         return logic.list();
     }
 
+    @Override
+    public Response version() {
+        return Response.ok().tag(logic.version()).build();
+    }
+
     @Override
     public Response get(final String key) {
         return Response.ok(logic.get(key)).build();
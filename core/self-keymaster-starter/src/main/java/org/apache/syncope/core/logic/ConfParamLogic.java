@@ -22,6 +22,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -30,6 +33,10 @@ import org.apache.syncope.core.persistence.api.dao.ConfParamDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.entity.ConfParam;
 import org.apache.syncope.core.persistence.api.entity.SelfKeymasterEntityFactory;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,9 +48,16 @@ public class ConfParamLogic extends AbstractTransactionalLogic<EntityTO> {
 
     protected final SelfKeymasterEntityFactory entityFactory;
 
-    public ConfParamLogic(final ConfParamDAO confParamDAO, final SelfKeymasterEntityFactory entityFactory) {
+    protected final ApplicationEventPublisher publisher;
+
+    public ConfParamLogic(
+            final ConfParamDAO confParamDAO,
+            final SelfKeymasterEntityFactory entityFactory,
+            final ApplicationEventPublisher publisher) {
+
         this.confParamDAO = confParamDAO;
         this.entityFactory = entityFactory;
+        this.publisher = publisher;
     }
 
     @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name and not(isAnonymous())")
@@ -60,6 +74,20 @@ public class ConfParamLogic extends AbstractTransactionalLogic<EntityTO> {
         return params;
     }
 
+    @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name and not(isAnonymous())")
+    @Transactional(readOnly = true)
+    public String version() {
+        Map<String, JsonNode> params = new TreeMap<>();
+        confParamDAO.findAll().forEach(param -> params.put(param.getKey(), param.getValue()));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(MAPPER.writeValueAsBytes(params)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not compute conf params version", e);
+        }
+    }
+
     @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name and not(isAnonymous())")
     @Transactional(readOnly = true)
     public JsonNode get(final String key) {
@@ -81,12 +109,22 @@ public class ConfParamLogic extends AbstractTransactionalLogic<EntityTO> {
         }
 
         param.setValue(value);
-        confParamDAO.save(param);
+        param = confParamDAO.save(param);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, param, AuthContextUtils.getDomain()));
     }
 
     @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name and not(isAnonymous())")
     public void remove(final String key) {
+        ConfParam param = confParamDAO.find(key);
+
         confParamDAO.delete(key);
+
+        if (param != null) {
+            publisher.publishEvent(
+                    new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, param, AuthContextUtils.getDomain()));
+        }
     }
 
     @Override
@@ -28,6 +28,7 @@ import org.apache.cxf.jaxrs.spring.JAXRSServerFactoryBeanDefinitionParser.Spring
 import org.apache.cxf.jaxrs.validation.JAXRSBeanValidationInInterceptor;
 import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
 import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.DomainWatcher;
@@ -36,6 +37,7 @@ import org.apache.syncope.common.keymaster.client.api.ServiceOps;
 import org.apache.syncope.common.keymaster.rest.api.service.ConfParamService;
 import org.apache.syncope.common.keymaster.rest.api.service.DomainService;
 import org.apache.syncope.common.keymaster.rest.api.service.NetworkServiceService;
+import org.apache.syncope.core.keymaster.internal.ConfParamCacheInvalidator;
 import org.apache.syncope.core.keymaster.internal.SelfKeymasterInternalConfParamOps;
 import org.apache.syncope.core.keymaster.internal.SelfKeymasterInternalDomainOps;
 import org.apache.syncope.core.keymaster.internal.SelfKeymasterInternalServiceOps;
@@ -61,12 +63,14 @@ import org.apache.syncope.core.spring.security.DefaultCredentialChecker;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.spring.security.UsernamePasswordAuthenticationProvider;
 import org.apache.syncope.core.spring.security.WebSecurityContext;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Conditional;
@@ -146,7 +150,16 @@ public class SelfKeymasterContext {
     @Conditional(SelfKeymasterCondition.class)
     @Bean
     public ConfParamOps internalConfParamOps(final ConfParamLogic confParamLogic, final KeymasterProperties props) {
-        return new SelfKeymasterInternalConfParamOps(confParamLogic, props);
+        return CachingConfParamOps.wrap(new SelfKeymasterInternalConfParamOps(confParamLogic, props), props);
+    }
+
+    @Conditional(SelfKeymasterCondition.class)
+    @Bean
+    public ConfParamCacheInvalidator confParamCacheInvalidator(
+            @Qualifier("internalConfParamOps")
+            final ConfParamOps internalConfParamOps) {
+
+        return new ConfParamCacheInvalidator(internalConfParamOps);
     }
 
     @Conditional(SelfKeymasterCondition.class)
@@ -168,9 +181,10 @@ public class SelfKeymasterContext {
     @Bean
     public ConfParamLogic confParamLogic(
             final ConfParamDAO confParamDAO,
-            final SelfKeymasterEntityFactory selfKeymasterEntityFactory) {
+            final SelfKeymasterEntityFactory selfKeymasterEntityFactory,
+            final ApplicationEventPublisher publisher) {
 
-        return new ConfParamLogic(confParamDAO, selfKeymasterEntityFactory);
+        return new ConfParamLogic(confParamDAO, selfKeymasterEntityFactory, publisher);
     }
 
     @ConditionalOnMissingBean
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-only view over a breached password index, as written by {@link BreachedPasswordIndexBuilder}.
+ *
+ * The index file is made by a fixed-size header followed by the sorted, distinct SHA-1 digests of the breached
+ * passwords, {@link #RECORD_SIZE} bytes each; it is memory-mapped, so that lookups are binary searches which do not
+ * allocate nor load the index on heap. The optional Bloom filter, stored next to the index with
+ * {@link #BLOOM_FILTER_SUFFIX} suffix, is memory-mapped as well and allows to rule out most non-breached passwords
+ * without touching the index. Both are mapped in segments, so that their size is not bound to 2 GB.
+ */
+public final class BreachedPasswordIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BreachedPasswordIndex.class);
+
+    public static final String BLOOM_FILTER_SUFFIX = ".bloom";
+
+    public static final int RECORD_SIZE = 20;
+
+    static final int INDEX_MAGIC = 0x53425049;
+
+    static final int BLOOM_FILTER_MAGIC = 0x53425046;
+
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * Magic, format version and number of records.
+     */
+    static final int INDEX_HEADER_SIZE = 16;
+
+    /**
+     * Magic, number of hash functions and number of bits.
+     */
+    static final int BLOOM_FILTER_HEADER_SIZE = 16;
+
+    /**
+     * Records mapped by each segment: a single mapping cannot exceed {@link Integer#MAX_VALUE} bytes.
+     */
+    static final int SEGMENT_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    /**
+     * Bloom filter bytes mapped by each segment, as for the index.
+     */
+    static final int BLOOM_FILTER_SEGMENT_BYTES = 1 << 30;
+
+    private static final long RELOAD_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Map<Path, BreachedPasswordIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the index available at the given path, re-mapping it when the file was replaced since last time it was
+     * mapped.
+     *
+     * @param indexFile index file path
+     * @return index, or empty if no index was found at the given path
+     * @throws IOException if the index could not be read
+     */
+    public static Optional<BreachedPasswordIndex> get(final Path indexFile) throws IOException {
+        Path path = indexFile.toAbsolutePath().normalize();
+
+        BreachedPasswordIndex index = INDEXES.get(path);
+        if (index == null || index.shouldReload()) {
+            synchronized (INDEXES) {
+                index = INDEXES.get(path);
+                if (index == null || index.shouldReload()) {
+                    try {
+                        index = open(path);
+                        INDEXES.put(path, index);
+                    } catch (NoSuchFileException e) {
+                        INDEXES.remove(path);
+                        return Optional.empty();
+                    }
+                }
+            }
+        }
+        return Optional.of(index);
+    }
+
+    static BreachedPasswordIndex open(final Path path) throws IOException {
+        return open(path, SEGMENT_RECORDS, BLOOM_FILTER_SEGMENT_BYTES);
+    }
+
+    private static MappedByteBuffer[] map(
+            final FileChannel channel,
+            final long position,
+            final long size,
+            final long segmentSize) throws IOException {
+
+        MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = i * segmentSize;
+            segments[i] = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position + first, Math.min(segmentSize, size - first));
+        }
+        return segments;
+    }
+
+    static BreachedPasswordIndex open(
+            final Path path,
+            final int segmentRecords,
+            final int bloomFilterSegmentBytes) throws IOException {
+
+        FileTime lastModified = Files.getLastModifiedTime(path);
+
+        MappedByteBuffer[] segments;
+        long records;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel, INDEX_HEADER_SIZE);
+            if (header.getInt() != INDEX_MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException(path + " is not a breached password index");
+            }
+            records = header.getLong();
+            if (channel.size() != INDEX_HEADER_SIZE + records * RECORD_SIZE) {
+                throw new IOException(path + " is truncated: " + records + " records expected");
+            }
+
+            segments = map(
+                    channel, INDEX_HEADER_SIZE, records * RECORD_SIZE, (long) segmentRecords * RECORD_SIZE);
+        }
+
+        MappedByteBuffer[] bloomFilter = null;
+        int hashFunctions = 0;
+        long bits = 0;
+        Path bloomFilterFile = path.resolveSibling(path.getFileName() + BLOOM_FILTER_SUFFIX);
+        if (Files.isRegularFile(bloomFilterFile)
+                && !Files.getLastModifiedTime(bloomFilterFile).toInstant().isBefore(lastModified.toInstant())) {
+
+            try (FileChannel channel = FileChannel.open(bloomFilterFile, StandardOpenOption.READ)) {
+                ByteBuffer header = readHeader(channel, BLOOM_FILTER_HEADER_SIZE);
+                int magic = header.getInt();
+                hashFunctions = header.getInt();
+                bits = header.getLong();
+                if (magic != BLOOM_FILTER_MAGIC || hashFunctions <= 0 || bits <= 0) {
+                    LOG.warn("{} is not a breached password Bloom filter, ignoring", bloomFilterFile);
+                } else if (channel.size() < BLOOM_FILTER_HEADER_SIZE + (bits + 7) / 8) {
+                    LOG.warn("{} is truncated: {} bits expected, ignoring", bloomFilterFile, bits);
+                } else {
+                    bloomFilter = map(channel, BLOOM_FILTER_HEADER_SIZE, (bits + 7) / 8, bloomFilterSegmentBytes);
+                }
+            }
+        }
+
+        LOG.info("Mapped breached password index {} with {} records{}",
+                path, records, bloomFilter == null ? "" : " and Bloom filter of " + bits + " bits");
+        return new BreachedPasswordIndex(
+                path,
+                lastModified,
+                segments,
+                segmentRecords,
+                records,
+                bloomFilter,
+                bloomFilterSegmentBytes,
+                hashFunctions,
+                bits);
+    }
+
+    private static ByteBuffer readHeader(final FileChannel channel, final int size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(size);
+        while (header.hasRemaining()) {
+            if (channel.read(header) < 0) {
+                throw new IOException("Unexpected end of file while reading header");
+            }
+        }
+        return header.flip();
+    }
+
+    /**
+     * Computes the bit positions of the given digest in a Bloom filter, by double hashing: being the digest uniformly
+     * distributed, its first two 64-bit words are used as independent hashes.
+     *
+     * @param digest SHA-1 digest
+     * @param hashFunctions number of hash functions
+     * @param bits Bloom filter size, in bits
+     * @return bit positions
+     */
+    static long[] bloomFilterPositions(final ByteBuffer digest, final int hashFunctions, final long bits) {
+        long h1 = digest.getLong(0);
+        long h2 = digest.getLong(Long.BYTES) | 1L;
+
+        long[] positions = new long[hashFunctions];
+        for (int i = 0; i < hashFunctions; i++) {
+            positions[i] = Long.remainderUnsigned(h1 + i * h2, bits);
+        }
+        return positions;
+    }
+
+    private final Path path;
+
+    private final FileTime lastModified;
+
+    private final MappedByteBuffer[] segments;
+
+    private final int segmentRecords;
+
+    private final long records;
+
+    private final MappedByteBuffer[] bloomFilter;
+
+    private final int bloomFilterSegmentBytes;
+
+    private final int hashFunctions;
+
+    private final long bits;
+
+    private volatile long lastReloadCheck = System.currentTimeMillis();
+
+    private BreachedPasswordIndex(
+            final Path path,
+            final FileTime lastModified,
+            final MappedByteBuffer[] segments,
+            final int segmentRecords,
+            final long records,
+            final MappedByteBuffer[] bloomFilter,
+            final int bloomFilterSegmentBytes,
+            final int hashFunctions,
+            final long bits) {
+
+        this.path = path;
+        this.lastModified = lastModified;
+        this.segments = segments;
+        this.segmentRecords = segmentRecords;
+        this.records = records;
+        this.bloomFilter = bloomFilter;
+        this.bloomFilterSegmentBytes = bloomFilterSegmentBytes;
+        this.hashFunctions = hashFunctions;
+        this.bits = bits;
+    }
+
+    private boolean shouldReload() {
+        long now = System.currentTimeMillis();
+        if (now - lastReloadCheck < RELOAD_CHECK_INTERVAL) {
+            return false;
+        }
+        lastReloadCheck = now;
+
+        try {
+            return !lastModified.equals(Files.getLastModifiedTime(path));
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public boolean hasBloomFilter() {
+        return bloomFilter != null;
+    }
+
+    /**
+     * Checks whether the given SHA-1 digest is found in this index.
+     *
+     * @param sha1 SHA-1 digest
+     * @param useBloomFilter whether the Bloom filter, if available, shall be checked first
+     * @return whether the given digest is found in this index
+     */
+    public boolean contains(final byte[] sha1, final boolean useBloomFilter) {
+        if (sha1.length != RECORD_SIZE) {
+            throw new IllegalArgumentException("SHA-1 digest expected, got " + sha1.length + " bytes");
+        }
+        ByteBuffer digest = ByteBuffer.wrap(sha1);
+
+        if (useBloomFilter && bloomFilter != null) {
+            for (long position : bloomFilterPositions(digest, hashFunctions, bits)) {
+                long index = position >>> 3;
+                MappedByteBuffer segment = bloomFilter[(int) (index / bloomFilterSegmentBytes)];
+                if ((segment.get((int) (index % bloomFilterSegmentBytes)) & (1 << (position & 7))) == 0) {
+                    return false;
+                }
+            }
+        }
+
+        long high = digest.getLong(0);
+        long middle = digest.getLong(Long.BYTES);
+        int low = digest.getInt(Long.BYTES * 2);
+
+        long from = 0;
+        long to = records - 1;
+        while (from <= to) {
+            long mid = (from + to) >>> 1;
+            MappedByteBuffer segment = segments[(int) (mid / segmentRecords)];
+            int offset = (int) (mid % segmentRecords) * RECORD_SIZE;
+
+            int cmp = Long.compareUnsigned(segment.getLong(offset), high);
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(segment.getLong(offset + Long.BYTES), middle);
+            }
+            if (cmp == 0) {
+                cmp = Integer.compareUnsigned(segment.getInt(offset + Long.BYTES * 2), low);
+            }
+
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds a {@link BreachedPasswordIndex} out of a text file listing SHA-1 digests as published by
+ * <a href="https://haveibeenpwned.com/Passwords">Have I Been Pwned?</a>, one {@code HASH[:COUNT]} per line, in any
+ * order.
+ *
+ * Digests are sorted externally, in runs of fixed size, so that heap usage does not depend on the size of the source
+ * list; the resulting index and Bloom filter are written next to the target path and then atomically moved in place.
+ */
+public class BreachedPasswordIndexBuilder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BreachedPasswordIndexBuilder.class);
+
+    public static final int DEFAULT_RUN_RECORDS = 1 << 20;
+
+    /**
+     * The Bloom filter is written through a single mapping, hence it is capped to 2 GB: about 17 billion bits, enough
+     * for a 1% false positive probability over more than 1.7 billion digests.
+     */
+    private static final long MAX_BLOOM_FILTER_BITS =
+            (Integer.MAX_VALUE - BreachedPasswordIndex.BLOOM_FILTER_HEADER_SIZE) * 8L;
+
+    private static final Comparator<byte[]> DIGEST_COMPARATOR = Arrays::compareUnsigned;
+
+    public static class Result {
+
+        private final long records;
+
+        private final long invalid;
+
+        private final long bloomFilterBits;
+
+        Result(final long records, final long invalid, final long bloomFilterBits) {
+            this.records = records;
+            this.invalid = invalid;
+            this.bloomFilterBits = bloomFilterBits;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getInvalid() {
+            return invalid;
+        }
+
+        public long getBloomFilterBits() {
+            return bloomFilterBits;
+        }
+
+        @Override
+        public String toString() {
+            return records + " breached password digests indexed, " + invalid + " invalid lines skipped"
+                    + (bloomFilterBits > 0 ? ", Bloom filter of " + bloomFilterBits + " bits" : "");
+        }
+    }
+
+    private static final class Run implements Closeable {
+
+        private final DataInputStream input;
+
+        private byte[] current;
+
+        Run(final Path file) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            next();
+        }
+
+        boolean next() throws IOException {
+            byte[] record = new byte[BreachedPasswordIndex.RECORD_SIZE];
+            try {
+                input.readFully(record);
+                current = record;
+            } catch (EOFException e) {
+                current = null;
+            }
+            return current != null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    private final double bloomFilterFpp;
+
+    private final int runRecords;
+
+    /**
+     * @param bloomFilterFpp expected false positive probability of the Bloom filter, not built if not in (0, 1)
+     * @param runRecords digests sorted in memory at once
+     */
+    public BreachedPasswordIndexBuilder(final double bloomFilterFpp, final int runRecords) {
+        this.bloomFilterFpp = bloomFilterFpp;
+        this.runRecords = runRecords;
+    }
+
+    public BreachedPasswordIndexBuilder(final double bloomFilterFpp) {
+        this(bloomFilterFpp, DEFAULT_RUN_RECORDS);
+    }
+
+    public Result build(final Path source, final Path target, final BooleanSupplier interrupted) throws IOException {
+        Path indexTmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Path bloomFilter = target.resolveSibling(target.getFileName() + BreachedPasswordIndex.BLOOM_FILTER_SUFFIX);
+        Path bloomFilterTmp = bloomFilter.resolveSibling(bloomFilter.getFileName() + ".tmp");
+
+        List<Path> runs = new ArrayList<>();
+        try {
+            long invalid = sortRuns(source, target, runs, interrupted);
+            long records = merge(runs, indexTmp, interrupted);
+
+            long bits = 0;
+            if (bloomFilterFpp > 0 && bloomFilterFpp < 1 && records > 0) {
+                bits = buildBloomFilter(indexTmp, records, bloomFilterTmp, interrupted);
+            }
+
+            // move the index first: readers ignore Bloom filters older than the index
+            Files.move(indexTmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (bits > 0) {
+                Files.move(bloomFilterTmp, bloomFilter,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.deleteIfExists(bloomFilter);
+            }
+
+            Result result = new Result(records, invalid, bits);
+            LOG.info("Breached password index {} built from {}: {}", target, source, result);
+            return result;
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            Files.deleteIfExists(indexTmp);
+            Files.deleteIfExists(bloomFilterTmp);
+        }
+    }
+
+    protected static byte[] parse(final String line) {
+        String hash = StringUtils.substringBefore(line, ":").trim();
+        if (hash.length() != BreachedPasswordIndex.RECORD_SIZE * 2) {
+            return null;
+        }
+        try {
+            return HexFormat.of().parseHex(hash);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void checkInterrupted(final BooleanSupplier interrupted) throws InterruptedIOException {
+        if (interrupted.getAsBoolean()) {
+            throw new InterruptedIOException("Breached password index build interrupted");
+        }
+    }
+
+    protected long sortRuns(
+            final Path source,
+            final Path target,
+            final List<Path> runs,
+            final BooleanSupplier interrupted) throws IOException {
+
+        long invalid = 0;
+
+        byte[][] run = new byte[runRecords][];
+        int size = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+
+                byte[] digest = parse(line);
+                if (digest == null) {
+                    invalid++;
+                } else {
+                    run[size++] = digest;
+                    if (size == runRecords) {
+                        checkInterrupted(interrupted);
+                        runs.add(writeRun(run, size, target));
+                        size = 0;
+                    }
+                }
+            }
+        }
+        if (size > 0) {
+            runs.add(writeRun(run, size, target));
+        }
+
+        return invalid;
+    }
+
+    protected static Path writeRun(final byte[][] run, final int size, final Path target) throws IOException {
+        Arrays.sort(run, 0, size, DIGEST_COMPARATOR);
+
+        Path file = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName() + ".", ".run");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+
+            for (int i = 0; i < size; i++) {
+                output.write(run[i]);
+                run[i] = null;
+            }
+        }
+        return file;
+    }
+
+    protected static long merge(
+            final List<Path> runs,
+            final Path indexTmp,
+            final BooleanSupplier interrupted) throws IOException {
+
+        long records = 0;
+
+        PriorityQueue<Run> queue = new PriorityQueue<>(
+                Math.max(1, runs.size()), Comparator.comparing(run -> run.current, DIGEST_COMPARATOR));
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(indexTmp)))) {
+
+            // the number of records is set once known
+            output.writeInt(BreachedPasswordIndex.INDEX_MAGIC);
+            output.writeInt(BreachedPasswordIndex.FORMAT_VERSION);
+            output.writeLong(0);
+
+            for (Path file : runs) {
+                Run run = new Run(file);
+                if (run.current == null) {
+                    run.close();
+                } else {
+                    queue.add(run);
+                }
+            }
+
+            byte[] last = null;
+            while (!queue.isEmpty()) {
+                Run run = queue.poll();
+                if (last == null || !Arrays.equals(last, run.current)) {
+                    last = run.current;
+                    output.write(last);
+                    records++;
+
+                    if (records % DEFAULT_RUN_RECORDS == 0) {
+                        checkInterrupted(interrupted);
+                    }
+                }
+
+                if (run.next()) {
+                    queue.add(run);
+                } else {
+                    run.close();
+                }
+            }
+        } finally {
+            for (Run run : queue) {
+                run.close();
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(indexTmp, StandardOpenOption.WRITE)) {
+            ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(records).flip();
+            channel.write(count, Integer.BYTES * 2);
+            channel.force(true);
+        }
+
+        return records;
+    }
+
+    protected long buildBloomFilter(
+            final Path indexTmp,
+            final long records,
+            final Path bloomFilterTmp,
+            final BooleanSupplier interrupted) throws IOException {
+
+        double ln2 = Math.log(2);
+        long bits = Math.min(
+                MAX_BLOOM_FILTER_BITS,
+                Math.max(Long.SIZE, (long) Math.ceil(-records * Math.log(bloomFilterFpp) / (ln2 * ln2))));
+        int hashFunctions = (int) Math.max(1, Math.round((double) bits / records * ln2));
+
+        try (FileChannel channel = FileChannel.open(bloomFilterTmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexTmp)))) {
+
+            MappedByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_WRITE, 0, BreachedPasswordIndex.BLOOM_FILTER_HEADER_SIZE + (bits + 7) / 8);
+            buffer.putInt(BreachedPasswordIndex.BLOOM_FILTER_MAGIC).putInt(hashFunctions).putLong(bits);
+            ByteBuffer bitSet = buffer.slice();
+
+            input.skipNBytes(BreachedPasswordIndex.INDEX_HEADER_SIZE);
+            byte[] record = new byte[BreachedPasswordIndex.RECORD_SIZE];
+            ByteBuffer digest = ByteBuffer.wrap(record);
+            for (long i = 0; i < records; i++) {
+                input.readFully(record);
+                for (long position : BreachedPasswordIndex.bloomFilterPositions(digest, hashFunctions, bits)) {
+                    int index = (int) (position >>> 3);
+                    bitSet.put(index, (byte) (bitSet.get(index) | (1 << (position & 7))));
+                }
+
+                if (i % DEFAULT_RUN_RECORDS == 0) {
+                    checkInterrupted(interrupted);
+                }
+            }
+
+            buffer.force();
+        }
+
+        return bits;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.policy.OfflineBreachedPasswordRuleConf;
+import org.apache.syncope.common.lib.policy.PasswordRuleConf;
+import org.apache.syncope.core.persistence.api.entity.user.LinkedAccount;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.rules.PasswordRule;
+import org.apache.syncope.core.provisioning.api.rules.PasswordRuleConfClass;
+import org.apache.syncope.core.spring.security.Encryptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks the provided password values against a local {@link BreachedPasswordIndex}, as alternative to
+ * {@link HaveIBeenPwnedPasswordRule} which does not require outbound connections.
+ */
+@PasswordRuleConfClass(OfflineBreachedPasswordRuleConf.class)
+public class OfflineBreachedPasswordRule implements PasswordRule {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(OfflineBreachedPasswordRule.class);
+
+    private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
+
+    private OfflineBreachedPasswordRuleConf conf;
+
+    @Override
+    public OfflineBreachedPasswordRuleConf getConf() {
+        return conf;
+    }
+
+    @Override
+    public void setConf(final PasswordRuleConf conf) {
+        if (conf instanceof OfflineBreachedPasswordRuleConf) {
+            this.conf = (OfflineBreachedPasswordRuleConf) conf;
+        } else {
+            throw new IllegalArgumentException(
+                    OfflineBreachedPasswordRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
+        }
+    }
+
+    protected void enforce(final String clearPassword) {
+        if (StringUtils.isBlank(conf.getIndexFile())) {
+            LOG.error("No breached password index configured");
+            return;
+        }
+
+        try {
+            Optional<BreachedPasswordIndex> index = BreachedPasswordIndex.get(Path.of(conf.getIndexFile()));
+            if (index.isEmpty()) {
+                LOG.error("Breached password index {} not found", conf.getIndexFile());
+                return;
+            }
+
+            byte[] sha1 = MessageDigest.getInstance("SHA-1").digest(clearPassword.getBytes(StandardCharsets.UTF_8));
+            if (index.get().contains(sha1, conf.isBloomFilter())) {
+                throw new PasswordPolicyException("Password pwned");
+            }
+        } catch (NoSuchAlgorithmException e) {
+            LOG.error("Could not encode the password value as SHA1", e);
+        } catch (IOException e) {
+            LOG.error("Could not read the breached password index {}", conf.getIndexFile(), e);
+        }
+    }
+
+    @Override
+    public void enforce(final String username, final String clearPassword) {
+        Optional.ofNullable(clearPassword).ifPresent(this::enforce);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void enforce(final User user, final String clearPassword) {
+        Optional.ofNullable(clearPassword).ifPresent(this::enforce);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void enforce(final LinkedAccount account) {
+        if (account.getPassword() != null) {
+            String clearPassword = null;
+            if (account.canDecodeSecrets()) {
+                try {
+                    clearPassword = ENCRYPTOR.decode(account.getPassword(), account.getCipherAlgorithm());
+                } catch (Exception e) {
+                    LOG.error("Could not decode password for {}", account, e);
+                }
+            }
+
+            if (clearPassword != null) {
+                enforce(clearPassword);
+            }
+        }
+    }
+}
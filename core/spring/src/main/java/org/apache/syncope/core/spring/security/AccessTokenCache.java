@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+/**
+ * Cache of JWTs resolved by {@link AuthDataAccessor}, keyed by JWT ID; entries are never returned past the
+ * expiration of the JWT they were resolved for.
+ */
+public interface AccessTokenCache {
+
+    void setCacheSpec(String cacheSpec);
+
+    /**
+     * Retrieve cached value. Return null in case of JWT not cached or cached for different expiration.
+     *
+     * @param domain domain
+     * @param jwtId JWT ID
+     * @param expiration JWT expiration, as milliseconds since the epoch
+     * @return cached value or null if not cached
+     */
+    AccessTokenCacheValue get(String domain, String jwtId, long expiration);
+
+    /**
+     * Current generation for the given domain: to be read before resolving a JWT, and then passed to
+     * {@link #put(String, AccessTokenCacheValue, long)}.
+     *
+     * @param domain domain
+     * @return current generation, changing whenever any entry for the given domain is expired
+     */
+    long generation(String domain);
+
+    /**
+     * Cache value, unless any entry for the given domain was expired since the given generation was read, as the
+     * value might have been resolved from data which is now stale.
+     *
+     * @param domain domain
+     * @param value value
+     * @param generation generation read before resolving value
+     * @return whether the value was cached
+     */
+    boolean put(String domain, AccessTokenCacheValue value, long generation);
+
+    /**
+     * Force expiring of the entry for the given JWT ID.
+     *
+     * @param domain domain
+     * @param jwtId JWT ID
+     */
+    void expire(String domain, String jwtId);
+
+    /**
+     * Force expiring of all entries for the given domain, on all nodes.
+     *
+     * @param domain domain
+     */
+    void expire(String domain);
+}
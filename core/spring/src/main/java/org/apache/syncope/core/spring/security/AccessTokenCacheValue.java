@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cache entry value: outcome of JWT resolution, before any request-specific check.
+ */
+public class AccessTokenCacheValue {
+
+    private final String jwtId;
+
+    private final long expiration;
+
+    private final String username;
+
+    private final String userKey;
+
+    private final Set<SyncopeGrantedAuthority> authorities;
+
+    private final String status;
+
+    private final Boolean suspended;
+
+    private final Boolean mustChangePassword;
+
+    public AccessTokenCacheValue(
+            final String jwtId,
+            final long expiration,
+            final String username,
+            final String userKey,
+            final Set<SyncopeGrantedAuthority> authorities,
+            final String status,
+            final Boolean suspended,
+            final Boolean mustChangePassword) {
+
+        this.jwtId = jwtId;
+        this.expiration = expiration;
+        this.username = username;
+        this.userKey = userKey;
+        this.authorities = authorities;
+        this.status = status;
+        this.suspended = suspended;
+        this.mustChangePassword = mustChangePassword;
+    }
+
+    public String getJwtId() {
+        return jwtId;
+    }
+
+    public long getExpiration() {
+        return expiration;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return User key, or null for admin
+     */
+    public String getUserKey() {
+        return userKey;
+    }
+
+    /**
+     * @return copies of cached authorities, as these are mutable
+     */
+    public Set<SyncopeGrantedAuthority> getAuthorities() {
+        return authorities == null
+                ? null
+                : authorities.stream().map(authority -> {
+                    SyncopeGrantedAuthority copy = new SyncopeGrantedAuthority(authority.getAuthority());
+                    copy.addRealms(authority.getRealms());
+                    return copy;
+                }).collect(Collectors.toSet());
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Boolean isSuspended() {
+        return suspended;
+    }
+
+    public Boolean isMustChangePassword() {
+        return mustChangePassword;
+    }
+}
@@ -18,7 +18,9 @@
  */
 package org.apache.syncope.core.spring.security;
 
+import com.nimbusds.jwt.JWTClaimsSet;
 import java.time.OffsetDateTime;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import javax.security.auth.login.AccountNotFoundException;
 import org.apache.commons.lang3.ArrayUtils;
@@ -67,6 +70,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -120,6 +124,10 @@ public class AuthDataAccessor {
 
     protected final ImplementationLookup implementationLookup;
 
+    protected final AccessTokenCache accessTokenCache;
+
+    protected final PasswordHashingExecutor passwordHashingExecutor;
+
     private Map<String, JWTSSOProvider> jwtSSOProviders;
 
     public AuthDataAccessor(
@@ -135,7 +143,9 @@ public class AuthDataAccessor {
             final ConnectorManager connectorManager,
             final AuditManager auditManager,
             final MappingManager mappingManager,
-            final ImplementationLookup implementationLookup) {
+            final ImplementationLookup implementationLookup,
+            final AccessTokenCache accessTokenCache,
+            final PasswordHashingExecutor passwordHashingExecutor) {
 
         this.securityProperties = securityProperties;
         this.realmDAO = realmDAO;
@@ -150,6 +160,8 @@ public class AuthDataAccessor {
         this.auditManager = auditManager;
         this.mappingManager = mappingManager;
         this.implementationLookup = implementationLookup;
+        this.accessTokenCache = accessTokenCache;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
     public JWTSSOProvider getJWTSSOProvider(final String issuer) {
@@ -274,7 +286,12 @@ public class AuthDataAccessor {
     }
 
     protected boolean authenticate(final User user, final String password) {
-        boolean authenticated = ENCRYPTOR.verify(password, user.getCipherAlgorithm(), user.getPassword());
+        boolean authenticated;
+        try {
+            authenticated = passwordHashingExecutor.verify(password, user.getCipherAlgorithm(), user.getPassword());
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Too many concurrent authentications, please retry later", e);
+        }
         LOG.debug("{} authenticated on internal storage: {}", user.getUsername(), authenticated);
 
         for (Iterator<? extends ExternalResource> itor = getPassthroughResources(user).iterator();
@@ -444,58 +461,92 @@ public class AuthDataAccessor {
         return authorities;
     }
 
-    @Transactional
-    public Pair<String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
-        String username;
-        Set<SyncopeGrantedAuthority> authorities;
+    protected AccessTokenCacheValue resolve(final JWTAuthentication authentication) {
+        JWTClaimsSet claims = authentication.getClaims();
+        long expiration = Optional.ofNullable(claims.getExpirationTime()).map(Date::getTime).orElse(Long.MAX_VALUE);
 
-        if (securityProperties.getAdminUser().equals(authentication.getClaims().getSubject())) {
-            AccessToken accessToken = accessTokenDAO.find(authentication.getClaims().getJWTID());
+        if (securityProperties.getAdminUser().equals(claims.getSubject())) {
+            AccessToken accessToken = accessTokenDAO.find(claims.getJWTID());
             if (accessToken == null) {
                 throw new AuthenticationCredentialsNotFoundException(
-                        "Could not find an Access Token for JWT " + authentication.getClaims().getJWTID());
+                        "Could not find an Access Token for JWT " + claims.getJWTID());
             }
 
-            username = securityProperties.getAdminUser();
-            authorities = getAdminAuthorities();
-        } else {
-            JWTSSOProvider jwtSSOProvider = getJWTSSOProvider(authentication.getClaims().getIssuer());
-            Pair<User, Set<SyncopeGrantedAuthority>> resolved = jwtSSOProvider.resolve(authentication.getClaims());
-            if (resolved == null || resolved.getLeft() == null) {
-                throw new AuthenticationCredentialsNotFoundException(
-                        "Could not find User " + authentication.getClaims().getSubject()
-                        + " for JWT " + authentication.getClaims().getJWTID());
-            }
+            return new AccessTokenCacheValue(
+                    claims.getJWTID(), expiration, securityProperties.getAdminUser(), null, null, null, null, null);
+        }
 
-            User user = resolved.getLeft();
-            String delegationKey = getDelegationKey(authentication.getDetails(), user.getKey());
-            username = user.getUsername();
-            authorities = resolved.getRight() == null
-                    ? Set.of()
-                    : delegationKey == null
-                            ? resolved.getRight()
-                            : getAuthorities(username, delegationKey);
-            LOG.debug("JWT {} issued by {} resolved to User {} with authorities {}",
-                    authentication.getClaims().getJWTID(),
-                    authentication.getClaims().getIssuer(),
-                    username + Optional.ofNullable(delegationKey).
-                            map(d -> " [under delegation " + delegationKey + "]").orElse(StringUtils.EMPTY),
-                    authorities);
-
-            if (BooleanUtils.isTrue(user.isSuspended())) {
-                throw new DisabledException("User " + username + " is suspended");
-            }
+        JWTSSOProvider jwtSSOProvider = getJWTSSOProvider(claims.getIssuer());
+        Pair<User, Set<SyncopeGrantedAuthority>> resolved = jwtSSOProvider.resolve(claims);
+        if (resolved == null || resolved.getLeft() == null) {
+            throw new AuthenticationCredentialsNotFoundException(
+                    "Could not find User " + claims.getSubject() + " for JWT " + claims.getJWTID());
+        }
 
-            List<String> authStatuses = List.of(confParamOps.get(authentication.getDetails().getDomain(),
-                    "authentication.statuses", new String[] {}, String[].class));
-            if (!authStatuses.contains(user.getStatus())) {
-                throw new DisabledException("User " + username + " not allowed to authenticate");
-            }
+        User user = resolved.getLeft();
+        return new AccessTokenCacheValue(
+                claims.getJWTID(),
+                expiration,
+                user.getUsername(),
+                user.getKey(),
+                resolved.getRight(),
+                user.getStatus(),
+                user.isSuspended(),
+                user.isMustChangePassword());
+    }
 
-            if (BooleanUtils.isTrue(user.isMustChangePassword())) {
-                LOG.debug("User {} must change password, resetting authorities", username);
-                authorities = MUST_CHANGE_PASSWORD_AUTHORITIES;
+    @Transactional
+    public Pair<String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
+        JWTClaimsSet claims = authentication.getClaims();
+        String domain = authentication.getDetails().getDomain();
+
+        // only JWTs issued by Syncope itself can be cached, since their removal is tracked via AccessToken
+        boolean cacheable = securityProperties.getJwtIssuer().equals(claims.getIssuer())
+                && claims.getJWTID() != null && claims.getExpirationTime() != null;
+
+        AccessTokenCacheValue resolved;
+        if (cacheable) {
+            long generation = accessTokenCache.generation(domain);
+            resolved = accessTokenCache.get(domain, claims.getJWTID(), claims.getExpirationTime().getTime());
+            if (resolved == null) {
+                resolved = resolve(authentication);
+                accessTokenCache.put(domain, resolved, generation);
             }
+        } else {
+            resolved = resolve(authentication);
+        }
+
+        if (resolved.getUserKey() == null) {
+            return Pair.of(resolved.getUsername(), getAdminAuthorities());
+        }
+
+        String delegationKey = getDelegationKey(authentication.getDetails(), resolved.getUserKey());
+        String username = resolved.getUsername();
+        Set<SyncopeGrantedAuthority> authorities = resolved.getAuthorities() == null
+                ? Set.of()
+                : delegationKey == null
+                        ? resolved.getAuthorities()
+                        : getAuthorities(username, delegationKey);
+        LOG.debug("JWT {} issued by {} resolved to User {} with authorities {}",
+                claims.getJWTID(),
+                claims.getIssuer(),
+                username + Optional.ofNullable(delegationKey).
+                        map(d -> " [under delegation " + delegationKey + "]").orElse(StringUtils.EMPTY),
+                authorities);
+
+        if (BooleanUtils.isTrue(resolved.isSuspended())) {
+            throw new DisabledException("User " + username + " is suspended");
+        }
+
+        List<String> authStatuses = List.of(confParamOps.get(domain,
+                "authentication.statuses", new String[] {}, String[].class));
+        if (!authStatuses.contains(resolved.getStatus())) {
+            throw new DisabledException("User " + username + " not allowed to authenticate");
+        }
+
+        if (BooleanUtils.isTrue(resolved.isMustChangePassword())) {
+            LOG.debug("User {} must change password, resetting authorities", username);
+            authorities = MUST_CHANGE_PASSWORD_AUTHORITIES;
         }
 
         return Pair.of(username, authorities);
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Runs {@link Encryptor} verifications on a dedicated, bounded pool, so that CPU-intensive algorithms (as BCrypt)
+ * are admission-controlled rather than competing freely for CPU with request threads; also keeps track of
+ * verification latency.
+ */
+public class PasswordHashingExecutor {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    protected static final Encryptor ENCRYPTOR = Encryptor.getInstance();
+
+    protected final ThreadPoolTaskExecutor executor;
+
+    protected final LongAdder verifications = new LongAdder();
+
+    protected final LongAdder totalNanos = new LongAdder();
+
+    protected final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    protected final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingExecutor(final ThreadPoolTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    protected boolean timedVerify(final String value, final CipherAlgorithm cipherAlgorithm, final String encoded) {
+        long start = System.nanoTime();
+        try {
+            return ENCRYPTOR.verify(value, cipherAlgorithm, encoded);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            verifications.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+        }
+    }
+
+    protected static boolean get(final Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Could not verify password", e.getCause());
+        }
+    }
+
+    /**
+     * Verifies the given value against the given encoded value, on the hashing pool.
+     *
+     * @param value clear value
+     * @param cipherAlgorithm cipher algorithm
+     * @param encoded encoded value
+     * @return whether value matches
+     * @throws RejectedExecutionException if the hashing pool is saturated
+     */
+    public boolean verify(final String value, final CipherAlgorithm cipherAlgorithm, final String encoded) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> timedVerify(value, cipherAlgorithm, encoded));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        return get(future);
+    }
+
+    /**
+     * Verifies the given value against all the given encoded values in parallel, on the hashing pool, returning
+     * as soon as any match is found; pending verifications are then cancelled.
+     * Verifications which cannot be admitted on the hashing pool are performed on the calling thread.
+     *
+     * @param value clear value
+     * @param cipherAlgorithm cipher algorithm
+     * @param encoded encoded values
+     * @return whether value matches any of the encoded values
+     */
+    public boolean anyMatch(
+            final String value,
+            final CipherAlgorithm cipherAlgorithm,
+            final Collection<String> encoded) {
+
+        CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> futures = new ArrayList<>(encoded.size());
+        boolean matching = false;
+        try {
+            for (Iterator<String> itor = encoded.iterator(); itor.hasNext() && !matching;) {
+                String item = itor.next();
+                try {
+                    futures.add(completionService.submit(() -> timedVerify(value, cipherAlgorithm, item)));
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    LOG.debug("Hashing pool saturated, verifying on calling thread");
+                    matching = timedVerify(value, cipherAlgorithm, item);
+                }
+            }
+
+            for (int i = 0; i < futures.size() && !matching; i++) {
+                matching = get(completionService.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return matching;
+    }
+
+    public Map<String, Object> getStatistics() {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        long count = verifications.sum();
+        return Map.of(
+                "verifications", count,
+                "rejected", rejected.sum(),
+                "averageMillis", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count),
+                "maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()),
+                "poolSize", pool.getPoolSize(),
+                "activeCount", pool.getActiveCount(),
+                "queueSize", pool.getQueue().size());
+    }
+}
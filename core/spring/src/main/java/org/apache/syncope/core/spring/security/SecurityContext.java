@@ -23,6 +23,7 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.KeyLengthException;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
@@ -32,10 +33,12 @@ import org.apache.syncope.core.spring.security.jws.AccessTokenJWSSigner;
 import org.apache.syncope.core.spring.security.jws.AccessTokenJWSVerifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.config.core.GrantedAuthorityDefaults;
 
 @EnableConfigurationProperties(SecurityProperties.class)
@@ -109,6 +112,27 @@ public class SecurityContext {
         return new AccessTokenJWSSigner(jwsAlgorithm, jwsKey(jwsAlgorithm, props));
     }
 
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingTaskExecutor(final SecurityProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getPasswordHashing().getCorePoolSize());
+        executor.setMaxPoolSize(props.getPasswordHashing().getMaxPoolSize());
+        executor.setQueueCapacity(props.getPasswordHashing().getQueueCapacity());
+        executor.setThreadNamePrefix("PasswordHashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PasswordHashingExecutor passwordHashingExecutor(
+            @Qualifier("passwordHashingTaskExecutor")
+            final ThreadPoolTaskExecutor passwordHashingTaskExecutor) {
+
+        return new PasswordHashingExecutor(passwordHashingTaskExecutor);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public PasswordGenerator passwordGenerator() {
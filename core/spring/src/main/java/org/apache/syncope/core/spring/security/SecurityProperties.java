@@ -25,6 +25,39 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties("security")
 public class SecurityProperties {
 
+    public static class PasswordHashingProperties {
+
+        private int corePoolSize = Runtime.getRuntime().availableProcessors();
+
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors();
+
+        private int queueCapacity = 100;
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(final int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(final int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
     public static class DigesterProperties {
 
         private int saltIterations = 1;
@@ -100,8 +133,12 @@ public class SecurityProperties {
 
     private String secretKey;
 
+    private String accessTokenCacheSpec = "maximumSize=10000,expireAfterWrite=5m";
+
     private final DigesterProperties digester = new DigesterProperties();
 
+    private final PasswordHashingProperties passwordHashing = new PasswordHashingProperties();
+
     public String getAdminUser() {
         return adminUser;
     }
@@ -174,7 +211,19 @@ public class SecurityProperties {
         this.secretKey = secretKey;
     }
 
+    public String getAccessTokenCacheSpec() {
+        return accessTokenCacheSpec;
+    }
+
+    public void setAccessTokenCacheSpec(final String accessTokenCacheSpec) {
+        this.accessTokenCacheSpec = accessTokenCacheSpec;
+    }
+
     public DigesterProperties getDigester() {
         return digester;
     }
+
+    public PasswordHashingProperties getPasswordHashing() {
+        return passwordHashing;
+    }
 }
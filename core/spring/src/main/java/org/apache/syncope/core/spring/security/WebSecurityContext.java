@@ -166,7 +166,9 @@ public class WebSecurityContext {
             final ConnectorManager connectorManager,
             final AuditManager auditManager,
             final MappingManager mappingManager,
-            final ImplementationLookup implementationLookup) {
+            final ImplementationLookup implementationLookup,
+            final AccessTokenCache accessTokenCache,
+            final PasswordHashingExecutor passwordHashingExecutor) {
 
         return new AuthDataAccessor(
                 securityProperties,
@@ -181,6 +183,8 @@ public class WebSecurityContext {
                 connectorManager,
                 auditManager,
                 mappingManager,
-                implementationLookup);
+                implementationLookup,
+                accessTokenCache,
+                passwordHashingExecutor);
     }
 }
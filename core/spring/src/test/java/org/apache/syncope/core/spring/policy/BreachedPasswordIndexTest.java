@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BreachedPasswordIndexTest {
+
+    private static final int BREACHED = 1000;
+
+    private static byte[] sha1(final String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TempDir
+    Path dir;
+
+    private Path source;
+
+    private Path target;
+
+    @BeforeEach
+    void source() throws IOException {
+        List<String> lines = new ArrayList<>();
+        // in reverse order, with duplicates and invalid lines
+        for (int i = BREACHED - 1; i >= 0; i--) {
+            lines.add(HexFormat.of().withUpperCase().formatHex(sha1("breached" + i)) + ':' + (i + 1));
+            if (i % 10 == 0) {
+                lines.add(HexFormat.of().formatHex(sha1("breached" + i)));
+                lines.add("not a digest");
+            }
+        }
+        lines.add("");
+
+        source = dir.resolve("pwned-passwords-sha1.txt");
+        Files.write(source, lines, StandardCharsets.US_ASCII);
+        target = dir.resolve("breached.idx");
+    }
+
+    private static void assertLookups(final BreachedPasswordIndex index) {
+        Assertions.assertEquals(BREACHED, index.getRecords());
+        IntStream.range(0, BREACHED).forEach(i -> {
+            Assertions.assertTrue(index.contains(sha1("breached" + i), true), "breached" + i);
+            Assertions.assertTrue(index.contains(sha1("breached" + i), false), "breached" + i);
+        });
+        IntStream.range(0, BREACHED).forEach(i -> {
+            Assertions.assertFalse(index.contains(sha1("safe" + i), true), "safe" + i);
+            Assertions.assertFalse(index.contains(sha1("safe" + i), false), "safe" + i);
+        });
+    }
+
+    @Test
+    void build() throws IOException {
+        // small runs, to go through the external merge
+        BreachedPasswordIndexBuilder.Result result =
+                new BreachedPasswordIndexBuilder(0.01, 64).build(source, target, () -> false);
+        Assertions.assertEquals(BREACHED, result.getRecords());
+        Assertions.assertEquals(BREACHED / 10, result.getInvalid());
+        Assertions.assertTrue(result.getBloomFilterBits() > 0);
+
+        // only the index and its Bloom filter are left
+        Assertions.assertEquals(
+                List.of("breached.idx", "breached.idx" + BreachedPasswordIndex.BLOOM_FILTER_SUFFIX,
+                        "pwned-passwords-sha1.txt"),
+                Files.list(dir).map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList()));
+
+        BreachedPasswordIndex index = BreachedPasswordIndex.open(target);
+        Assertions.assertTrue(index.hasBloomFilter());
+        assertLookups(index);
+    }
+
+    @Test
+    void segments() throws IOException {
+        new BreachedPasswordIndexBuilder(0.01, 64).build(source, target, () -> false);
+
+        // both the index and the Bloom filter spread over many segments, as for files exceeding 2 GB
+        BreachedPasswordIndex index = BreachedPasswordIndex.open(target, 7, 16);
+        Assertions.assertTrue(index.hasBloomFilter());
+        assertLookups(index);
+    }
+
+    @Test
+    void withoutBloomFilter() throws IOException {
+        BreachedPasswordIndexBuilder.Result result =
+                new BreachedPasswordIndexBuilder(0, 64).build(source, target, () -> false);
+        Assertions.assertEquals(0, result.getBloomFilterBits());
+
+        BreachedPasswordIndex index = BreachedPasswordIndex.open(target);
+        Assertions.assertFalse(index.hasBloomFilter());
+        assertLookups(index);
+    }
+
+    @Test
+    void truncatedBloomFilter() throws IOException {
+        new BreachedPasswordIndexBuilder(0.01, 64).build(source, target, () -> false);
+
+        Path bloomFilter = target.resolveSibling(target.getFileName() + BreachedPasswordIndex.BLOOM_FILTER_SUFFIX);
+        try (FileChannel channel = FileChannel.open(bloomFilter, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+
+        // ignored, lookups still work
+        BreachedPasswordIndex index = BreachedPasswordIndex.open(target);
+        Assertions.assertFalse(index.hasBloomFilter());
+        assertLookups(index);
+    }
+
+    @Test
+    void truncatedIndex() throws IOException {
+        new BreachedPasswordIndexBuilder(0.01, 64).build(source, target, () -> false);
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        Assertions.assertThrows(IOException.class, () -> BreachedPasswordIndex.open(target));
+    }
+
+    @Test
+    void interrupted() throws IOException {
+        Assertions.assertThrows(
+                InterruptedIOException.class,
+                () -> new BreachedPasswordIndexBuilder(0.01, 64).build(source, target, () -> true));
+
+        // temporary files are removed
+        Assertions.assertEquals(
+                List.of(source),
+                Files.list(dir).collect(Collectors.toList()));
+    }
+}
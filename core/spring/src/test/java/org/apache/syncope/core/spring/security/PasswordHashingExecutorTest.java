@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class PasswordHashingExecutorTest {
+
+    private static final CipherAlgorithm ALGORITHM = CipherAlgorithm.SHA256;
+
+    private static final List<String> HISTORY = new ArrayList<>();
+
+    @BeforeAll
+    static void history() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            HISTORY.add(Encryptor.getInstance().encode("Password" + i, ALGORITHM));
+        }
+    }
+
+    private ThreadPoolTaskExecutor executor;
+
+    private PasswordHashingExecutor hashing(final int poolSize, final int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("PasswordHashingTest-");
+        executor.initialize();
+        return new PasswordHashingExecutor(executor);
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void verify() {
+        PasswordHashingExecutor hashing = hashing(2, 10);
+
+        Assertions.assertTrue(hashing.verify("Password3", ALGORITHM, HISTORY.get(3)));
+        Assertions.assertFalse(hashing.verify("Password3", ALGORITHM, HISTORY.get(4)));
+
+        Assertions.assertEquals(2L, hashing.getStatistics().get("verifications"));
+        Assertions.assertEquals(0L, hashing.getStatistics().get("rejected"));
+    }
+
+    @Test
+    void anyMatch() {
+        PasswordHashingExecutor hashing = hashing(4, 100);
+
+        Assertions.assertTrue(hashing.anyMatch("Password0", ALGORITHM, HISTORY));
+        Assertions.assertTrue(hashing.anyMatch("Password10", ALGORITHM, HISTORY));
+        Assertions.assertTrue(hashing.anyMatch("Password19", ALGORITHM, HISTORY));
+        Assertions.assertFalse(hashing.anyMatch("Password20", ALGORITHM, HISTORY));
+        Assertions.assertFalse(hashing.anyMatch("Password0", ALGORITHM, HISTORY.subList(1, HISTORY.size())));
+        Assertions.assertFalse(hashing.anyMatch("Password0", ALGORITHM, List.of()));
+
+        Assertions.assertEquals(0L, hashing.getStatistics().get("rejected"));
+    }
+
+    @Test
+    void saturated() throws InterruptedException {
+        PasswordHashingExecutor hashing = hashing(1, 1);
+
+        // the only thread is busy and the queue is full
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            busy.countDown();
+            try {
+                release.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assertions.assertTrue(busy.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+
+        try {
+            // login verifications are rejected
+            Assertions.assertThrows(
+                    RejectedExecutionException.class, () -> hashing.verify("Password3", ALGORITHM, HISTORY.get(3)));
+            Assertions.assertEquals(1L, hashing.getStatistics().get("rejected"));
+
+            // history checks are verified on the calling thread instead
+            Assertions.assertTrue(hashing.anyMatch("Password5", ALGORITHM, HISTORY));
+            // stopped at first match
+            Assertions.assertEquals(6L, hashing.getStatistics().get("verifications"));
+            Assertions.assertFalse(hashing.anyMatch("Password20", ALGORITHM, HISTORY));
+            Assertions.assertEquals(26L, hashing.getStatistics().get("verifications"));
+            Assertions.assertEquals(27L, hashing.getStatistics().get("rejected"));
+        } finally {
+            release.countDown();
+        }
+
+        // back to the pool, once the queue is drained
+        for (int i = 0; i < 100 && !executor.getThreadPoolExecutor().getQueue().isEmpty(); i++) {
+            Thread.sleep(100L);
+        }
+        Assertions.assertTrue(hashing.verify("Password3", ALGORITHM, HISTORY.get(3)));
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.QueryPlanCacheDAO;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.dao.SecurityQuestionDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
@@ -42,10 +43,15 @@ import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.ImplementationLookup;
 import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationBulkheads;
+import org.apache.syncope.core.spring.security.PasswordHashingExecutor;
+import org.apache.syncope.core.starter.actuate.ConfParamCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.DefaultSyncopeCoreInfoContributor;
 import org.apache.syncope.core.starter.actuate.DomainsHealthIndicator;
 import org.apache.syncope.core.starter.actuate.EntityCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.ExternalResourcesHealthIndicator;
+import org.apache.syncope.core.starter.actuate.PasswordHashingEndpoint;
+import org.apache.syncope.core.starter.actuate.QueryPlanCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.SyncopeCoreInfoContributor;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -132,6 +138,7 @@ public class SyncopeCoreApplication extends SpringBootServletInitializer {
             final ConfParamOps confParamOps,
             final ConnIdBundleManager bundleManager,
             final ImplementationLookup implLookup,
+            final PropagationBulkheads propagationBulkheads,
             final ApplicationContext ctx) {
 
         return new DefaultSyncopeCoreInfoContributor(
@@ -150,7 +157,8 @@ public class SyncopeCoreApplication extends SpringBootServletInitializer {
                 confParamOps,
                 bundleManager,
                 implLookup,
-                ctx.getBeansOfType(ThreadPoolTaskExecutor.class));
+                ctx.getBeansOfType(ThreadPoolTaskExecutor.class),
+                propagationBulkheads);
     }
 
     @ConditionalOnMissingBean
@@ -183,6 +191,24 @@ public class SyncopeCoreApplication extends SpringBootServletInitializer {
         return new EntityCacheEndpoint(entityCacheDAO);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public ConfParamCacheEndpoint confParamCacheEndpoint(final ConfParamOps confParamOps) {
+        return new ConfParamCacheEndpoint(confParamOps);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PasswordHashingEndpoint passwordHashingEndpoint(final PasswordHashingExecutor passwordHashingExecutor) {
+        return new PasswordHashingEndpoint(passwordHashingExecutor);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public QueryPlanCacheEndpoint queryPlanCacheEndpoint(final QueryPlanCacheDAO queryPlanCacheDAO) {
+        return new QueryPlanCacheEndpoint(queryPlanCacheDAO);
+    }
+
     @Bean
     public SyncopeStarterEventListener syncopeCoreEventListener(
             @Qualifier("syncopeCoreInfoContributor")
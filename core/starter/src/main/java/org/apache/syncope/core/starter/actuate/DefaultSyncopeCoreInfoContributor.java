@@ -57,6 +57,7 @@ import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.ImplementationLookup;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationBulkheads;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -169,6 +170,8 @@ public class DefaultSyncopeCoreInfoContributor implements SyncopeCoreInfoContrib
 
     protected final Map<String, ThreadPoolTaskExecutor> taskExecutors;
 
+    protected final PropagationBulkheads propagationBulkheads;
+
     public DefaultSyncopeCoreInfoContributor(
             final AnyTypeDAO anyTypeDAO,
             final AnyTypeClassDAO anyTypeClassDAO,
@@ -185,7 +188,8 @@ public class DefaultSyncopeCoreInfoContributor implements SyncopeCoreInfoContrib
             final ConfParamOps confParamOps,
             final ConnIdBundleManager bundleManager,
             final ImplementationLookup implLookup,
-            final Map<String, ThreadPoolTaskExecutor> taskExecutors) {
+            final Map<String, ThreadPoolTaskExecutor> taskExecutors,
+            final PropagationBulkheads propagationBulkheads) {
 
         this.anyTypeDAO = anyTypeDAO;
         this.anyTypeClassDAO = anyTypeClassDAO;
@@ -203,6 +207,7 @@ public class DefaultSyncopeCoreInfoContributor implements SyncopeCoreInfoContrib
         this.bundleManager = bundleManager;
         this.implLookup = implLookup;
         this.taskExecutors = taskExecutors;
+        this.propagationBulkheads = propagationBulkheads;
     }
 
     protected boolean isSelfRegAllowed() {
@@ -320,6 +325,8 @@ public class DefaultSyncopeCoreInfoContributor implements SyncopeCoreInfoContrib
 
         taskExecutors.forEach((name, bean) -> numbersInfo.getTaskExecutorInfos().
                 put(name, getTaskExecutorInfo(bean.getThreadPoolExecutor().toString())));
+        propagationBulkheads.getExecutors().forEach((name, executor) -> numbersInfo.getTaskExecutorInfos().
+                put(name, getTaskExecutorInfo(executor.getThreadPoolExecutor().toString())));
 
         return numbersInfo;
     }
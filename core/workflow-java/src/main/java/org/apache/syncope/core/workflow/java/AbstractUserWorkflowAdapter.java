@@ -44,7 +44,7 @@ import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
 import org.apache.syncope.core.spring.policy.AccountPolicyException;
 import org.apache.syncope.core.spring.policy.PasswordPolicyException;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
-import org.apache.syncope.core.spring.security.Encryptor;
+import org.apache.syncope.core.spring.security.PasswordHashingExecutor;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
 import org.slf4j.Logger;
@@ -69,13 +69,16 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
 
     protected final RuleEnforcer ruleEnforcer;
 
+    protected final PasswordHashingExecutor passwordHashingExecutor;
+
     public AbstractUserWorkflowAdapter(
             final UserDataBinder dataBinder,
             final UserDAO userDAO,
             final RealmDAO realmDAO,
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
-            final RuleEnforcer ruleEnforcer) {
+            final RuleEnforcer ruleEnforcer,
+            final PasswordHashingExecutor passwordHashingExecutor) {
 
         this.dataBinder = dataBinder;
         this.userDAO = userDAO;
@@ -83,6 +86,7 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
         this.entityFactory = entityFactory;
         this.securityProperties = securityProperties;
         this.ruleEnforcer = ruleEnforcer;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
     @Override
@@ -121,12 +125,12 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
                     boolean matching = false;
                     if (policy.getHistoryLength() > 0) {
                         List<String> pwdHistory = user.getPasswordHistory();
-                        matching = pwdHistory.subList(policy.getHistoryLength() >= pwdHistory.size()
-                                ? 0
-                                : pwdHistory.size() - policy.getHistoryLength(), pwdHistory.size()).stream().
-                                map(old -> Encryptor.getInstance().verify(
-                                clearPassword, user.getCipherAlgorithm(), old)).
-                                reduce(matching, (accumulator, item) -> accumulator | item);
+                        matching = passwordHashingExecutor.anyMatch(
+                                clearPassword,
+                                user.getCipherAlgorithm(),
+                                pwdHistory.subList(policy.getHistoryLength() >= pwdHistory.size()
+                                        ? 0
+                                        : pwdHistory.size() - policy.getHistoryLength(), pwdHistory.size()));
                     }
                     if (matching) {
                         throw new PasswordPolicyException("Password value was used in the past: not allowed");
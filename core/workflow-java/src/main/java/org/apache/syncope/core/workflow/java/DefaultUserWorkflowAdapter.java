@@ -34,6 +34,7 @@ import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.PasswordHashingExecutor;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.WorkflowException;
 import org.identityconnectors.framework.common.objects.SyncDeltaType;
@@ -55,10 +56,11 @@ public class DefaultUserWorkflowAdapter extends AbstractUserWorkflowAdapter {
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
             final RuleEnforcer ruleEnforcer,
+            final PasswordHashingExecutor passwordHashingExecutor,
             final ConfParamOps confParamOps,
             final ApplicationEventPublisher publisher) {
 
-        super(dataBinder, userDAO, realmDAO, entityFactory, securityProperties, ruleEnforcer);
+        super(dataBinder, userDAO, realmDAO, entityFactory, securityProperties, ruleEnforcer, passwordHashingExecutor);
         this.confParamOps = confParamOps;
         this.publisher = publisher;
     }
@@ -70,7 +70,6 @@ import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
@@ -288,7 +287,7 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
     }
 
     @Override
-    protected <T extends Any<?>> List<T> doSearch(
+    protected List<String> doSearchKeys(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
@@ -318,7 +317,7 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
 
         return CollectionUtils.isEmpty(esResult)
                 ? List.of()
-                : buildResult(esResult.stream().map(Hit::id).collect(Collectors.toList()), kind);
+                : esResult.stream().map(Hit::id).collect(Collectors.toList());
     }
 
     protected Query getQuery(final SearchCond cond, final AnyTypeKind kind) {
@@ -24,6 +24,7 @@ import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import co.elastic.clients.elasticsearch.indices.IndexSettings;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
@@ -113,8 +114,9 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
 
                 int users = userDAO.count();
                 setStatus("Indexing " + users + " users...");
-                for (int page = 1; page <= (users / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String user : userDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
+                List<String> userKeys = userDAO.findAllKeys(null, AnyDAO.DEFAULT_PAGE_SIZE);
+                while (!userKeys.isEmpty()) {
+                    for (String user : userKeys) {
                         IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
                                 index(ElasticsearchUtils.getAnyIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER)).
                                 id(user).
@@ -127,12 +129,17 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
                             LOG.error("Could not create index for {} {}", AnyTypeKind.USER, user, e);
                         }
                     }
+
+                    userKeys = userKeys.size() < AnyDAO.DEFAULT_PAGE_SIZE
+                            ? List.of()
+                            : userDAO.findAllKeys(userKeys.get(userKeys.size() - 1), AnyDAO.DEFAULT_PAGE_SIZE);
                 }
 
                 int groups = groupDAO.count();
                 setStatus("Indexing " + groups + " groups...");
-                for (int page = 1; page <= (groups / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String group : groupDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
+                List<String> groupKeys = groupDAO.findAllKeys(null, AnyDAO.DEFAULT_PAGE_SIZE);
+                while (!groupKeys.isEmpty()) {
+                    for (String group : groupKeys) {
                         IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
                                 index(ElasticsearchUtils.getAnyIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP)).
                                 id(group).
@@ -145,12 +152,17 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
                             LOG.error("Could not create index for {} {}", AnyTypeKind.GROUP, group, e);
                         }
                     }
+
+                    groupKeys = groupKeys.size() < AnyDAO.DEFAULT_PAGE_SIZE
+                            ? List.of()
+                            : groupDAO.findAllKeys(groupKeys.get(groupKeys.size() - 1), AnyDAO.DEFAULT_PAGE_SIZE);
                 }
 
                 int anyObjects = anyObjectDAO.count();
                 setStatus("Indexing " + anyObjects + " any objects...");
-                for (int page = 1; page <= (anyObjects / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String anyObject : anyObjectDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
+                List<String> anyObjectKeys = anyObjectDAO.findAllKeys(null, AnyDAO.DEFAULT_PAGE_SIZE);
+                while (!anyObjectKeys.isEmpty()) {
+                    for (String anyObject : anyObjectKeys) {
                         IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
                                 index(ElasticsearchUtils.getAnyIndex(
                                         AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT)).
@@ -164,6 +176,11 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
                             LOG.error("Could not create index for {} {}", AnyTypeKind.ANY_OBJECT, anyObject, e);
                         }
                     }
+
+                    anyObjectKeys = anyObjectKeys.size() < AnyDAO.DEFAULT_PAGE_SIZE
+                            ? List.of()
+                            : anyObjectDAO.findAllKeys(
+                                    anyObjectKeys.get(anyObjectKeys.size() - 1), AnyDAO.DEFAULT_PAGE_SIZE);
                 }
 
                 indexManager.createAuditIndex(
@@ -46,6 +46,7 @@ import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
+import org.apache.syncope.core.spring.security.PasswordHashingExecutor;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
@@ -175,6 +176,7 @@ public class FlowableWorkflowContext {
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
             final RuleEnforcer ruleEnforcer,
+            final PasswordHashingExecutor passwordHashingExecutor,
             final DomainProcessEngine engine,
             final UserRequestHandler userRequestHandler,
             final ApplicationEventPublisher publisher) {
@@ -186,6 +188,7 @@ public class FlowableWorkflowContext {
                 entityFactory,
                 securityProperties,
                 ruleEnforcer,
+                passwordHashingExecutor,
                 engine,
                 userRequestHandler,
                 publisher);
@@ -45,6 +45,7 @@ import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.event.AnyLifecycleEvent;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.PasswordHashingExecutor;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.WorkflowException;
 import org.apache.syncope.core.workflow.java.AbstractUserWorkflowAdapter;
@@ -74,11 +75,12 @@ public class FlowableUserWorkflowAdapter extends AbstractUserWorkflowAdapter imp
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
             final RuleEnforcer ruleEnforcer,
+            final PasswordHashingExecutor passwordHashingExecutor,
             final DomainProcessEngine engine,
             final UserRequestHandler userRequestHandler,
             final ApplicationEventPublisher publisher) {
 
-        super(dataBinder, userDAO, realmDAO, entityFactory, securityProperties, ruleEnforcer);
+        super(dataBinder, userDAO, realmDAO, entityFactory, securityProperties, ruleEnforcer, passwordHashingExecutor);
         this.engine = engine;
         this.userRequestHandler = userRequestHandler;
         this.publisher = publisher;
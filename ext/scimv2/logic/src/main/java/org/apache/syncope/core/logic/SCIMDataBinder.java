@@ -50,6 +50,7 @@ import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.MembershipTO;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.PatchOperation;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.common.lib.types.StatusRType;
 import org.apache.syncope.core.logic.scim.SCIMConfManager;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
@@ -1014,7 +1015,8 @@ public class SCIMDataBinder {
 
         if (output(attributes, excludedAttributes, "members")) {
             int count = userLogic.search(searchCond,
-                    1, 1, List.of(), SyncopeConstants.ROOT_REALM, true, false).getLeft();
+                    1, 1, List.of(), SyncopeConstants.ROOT_REALM, true, false, List.of("username"),
+                    SearchCountMode.EXACT).getLeft();
 
             for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
                 List<UserTO> users = userLogic.search(
@@ -1024,7 +1026,9 @@ public class SCIMDataBinder {
                         List.of(),
                         SyncopeConstants.ROOT_REALM,
                         true,
-                        false).
+                        false,
+                        List.of("username"),
+                        SearchCountMode.NONE).
                         getRight();
                 users.forEach(userTO -> group.getMembers().add(new Member(
                         userTO.getKey(),
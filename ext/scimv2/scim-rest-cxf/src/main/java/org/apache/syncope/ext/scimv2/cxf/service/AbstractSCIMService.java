@@ -32,6 +32,7 @@ import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.AnyTO;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.core.logic.AbstractAnyLogic;
 import org.apache.syncope.core.logic.GroupLogic;
 import org.apache.syncope.core.logic.SCIMDataBinder;
@@ -182,7 +183,9 @@ abstract class AbstractSCIMService<R extends SCIMResource> {
                 sort,
                 SyncopeConstants.ROOT_REALM,
                 true,
-                false);
+                false,
+                List.of(),
+                SearchCountMode.EXACT);
 
         if (result.getLeft() > confManager.get().getGeneralConf().getFilterMaxResults()) {
             throw new BadRequestException(ErrorType.tooMany, "Too many results found");
@@ -37,6 +37,7 @@ import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.PatchOperation;
+import org.apache.syncope.common.lib.types.SearchCountMode;
 import org.apache.syncope.core.logic.GroupLogic;
 import org.apache.syncope.core.logic.SCIMDataBinder;
 import org.apache.syncope.core.logic.UserLogic;
@@ -122,7 +123,9 @@ public class SCIMGroupServiceImpl extends AbstractSCIMService<SCIMGroup> impleme
         MembershipCond membCond = new MembershipCond();
         membCond.setGroup(group);
         SearchCond searchCond = SearchCond.getLeaf(membCond);
-        int count = userLogic.search(searchCond, 1, 1, List.of(), SyncopeConstants.ROOT_REALM, true, false).getLeft();
+        int count = userLogic.search(
+                searchCond, 1, 1, List.of(), SyncopeConstants.ROOT_REALM, true, false, List.of("key"),
+                SearchCountMode.EXACT).getLeft();
         for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
             members.addAll(userLogic.search(
                     searchCond,
@@ -131,7 +134,9 @@ public class SCIMGroupServiceImpl extends AbstractSCIMService<SCIMGroup> impleme
                     List.of(),
                     SyncopeConstants.ROOT_REALM,
                     true,
-                    false).
+                    false,
+                    List.of("key"),
+                    SearchCountMode.NONE).
                     getRight().stream().map(UserTO::getKey).collect(Collectors.toSet()));
         }
 